@@ -0,0 +1,113 @@
+package za.co.wethinkcode.TradeQuery.Benchmarks;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Compares a JMH JSON result against a baseline and lists every benchmark whose score or
+ * normalised allocation moved the wrong way by more than the threshold. Exits with status
+ * 1 when a regression is found so it can gate a build.
+ *
+ * Usage: BaselineComparison baseline.json result.json [thresholdPercent]
+ */
+public class BaselineComparison {
+
+    private static final double DEFAULT_THRESHOLD_PERCENT = 10.0;
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparison baseline.json result.json [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+        Map<String, JsonObject> baseline = load(args[0]);
+        Map<String, JsonObject> current = load(args[1]);
+
+        int regressions = 0;
+        for (Map.Entry<String, JsonObject> entry : current.entrySet()) {
+            JsonObject before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("NEW         %s%n", entry.getKey());
+                continue;
+            }
+            JsonObject after = entry.getValue();
+            boolean higherIsBetter = "thrpt".equals(after.get("mode").getAsString());
+            double scoreChange = percentChange(score(before), score(after));
+            boolean scoreRegressed = higherIsBetter ? scoreChange < -threshold : scoreChange > threshold;
+
+            Double allocationBefore = allocation(before);
+            Double allocationAfter = allocation(after);
+            double allocationChange = allocationBefore == null || allocationAfter == null ? 0.0
+                : percentChange(allocationBefore, allocationAfter);
+            boolean allocationRegressed = allocationChange > threshold;
+
+            String status = scoreRegressed || allocationRegressed ? "REGRESSION" : "ok";
+            if (scoreRegressed || allocationRegressed) {
+                regressions++;
+            }
+            System.out.printf("%-11s %s  score %+.1f%%  alloc/op %+.1f%%%n", status, entry.getKey(), scoreChange, allocationChange);
+        }
+        System.out.printf("%d regression(s) beyond %.1f%%%n", regressions, threshold);
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, JsonObject> load(String file) throws IOException {
+        Map<String, JsonObject> results = new TreeMap<>();
+        try (Reader reader = Files.newBufferedReader(Paths.get(file))) {
+            JsonArray runs = JsonParser.parseReader(reader).getAsJsonArray();
+            for (JsonElement run : runs) {
+                JsonObject result = run.getAsJsonObject();
+                results.put(key(result), result);
+            }
+        }
+        return results;
+    }
+
+    // Benchmark name, mode and sorted parameters identify a run across reports
+    private static String key(JsonObject result) {
+        Map<String, String> params = new TreeMap<>();
+        if (result.has("params")) {
+            for (Map.Entry<String, JsonElement> param : result.getAsJsonObject("params").entrySet()) {
+                params.put(param.getKey(), param.getValue().getAsString());
+            }
+        }
+        String benchmark = result.get("benchmark").getAsString();
+        return benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1)
+            + " [" + result.get("mode").getAsString() + "] " + params;
+    }
+
+    private static double score(JsonObject result) {
+        return result.getAsJsonObject("primaryMetric").get("score").getAsDouble();
+    }
+
+    private static Double allocation(JsonObject result) {
+        if (!result.has("secondaryMetrics")) {
+            return null;
+        }
+        for (Map.Entry<String, JsonElement> metric : result.getAsJsonObject("secondaryMetrics").entrySet()) {
+            if (metric.getKey().endsWith(ALLOCATION_METRIC)) {
+                return metric.getValue().getAsJsonObject().get("score").getAsDouble();
+            }
+        }
+        return null;
+    }
+
+    private static double percentChange(double before, double after) {
+        if (before == 0.0) {
+            return after == 0.0 ? 0.0 : 100.0;
+        }
+        return (after - before) / before * 100.0;
+    }
+}
@@ -0,0 +1,53 @@
+package za.co.wethinkcode.TradeQuery.Benchmarks;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import za.co.wethinkcode.TradeQuery.StatisticsModule.Difference;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.LeastDeviation;
+
+// The O(n^2) reference path, kept to short series so the suite stays runnable
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class BruteForceLeastDeviationBenchmark {
+
+    @Param({"100", "1000"})
+    public int seriesLength;
+
+    @Param({"2"})
+    public int comparitivePower;
+
+    @Param({"NFLX_(data_intra_day).json"})
+    public String seriesFile;
+
+    private List<BigDecimal> absDifferences;
+
+    @Setup
+    public void setUp() {
+        absDifferences = new Difference(SeriesFixtures.closes(seriesFile, seriesLength + 1)).absoluteDifference();
+    }
+
+    @Benchmark
+    public List<BigDecimal> bruteForceLeastDifference() {
+        LeastDeviation leastDeviation = new LeastDeviation(absDifferences);
+        leastDeviation.setComparitivePower(comparitivePower);
+        return leastDeviation.bruteForceLeastDifference();
+    }
+}
@@ -0,0 +1,76 @@
+package za.co.wethinkcode.TradeQuery.Benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import za.co.wethinkcode.TradeQuery.CorrelationModule.CorrelationEngine;
+import za.co.wethinkcode.TradeQuery.CorrelationModule.CorrelationMatrix;
+import za.co.wethinkcode.TradeQuery.CorrelationModule.RollingCorrelation;
+
+// Synthetic Gaussian returns; the bundled files only hold three symbols
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class CorrelationBenchmark {
+
+    @Param({"50", "500"})
+    public int symbols;
+
+    @Param({"1000", "5000"})
+    public int observations;
+
+    private List<String> names;
+    private double[][] returns;
+    private double[] row;
+    private CorrelationEngine engine;
+    private RollingCorrelation rolling;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        names = new ArrayList<>();
+        returns = new double[symbols][observations];
+        for (int i = 0; i < symbols; i++) {
+            names.add("S" + i);
+            for (int t = 0; t < observations; t++) {
+                returns[i][t] = random.nextGaussian();
+            }
+        }
+        row = new double[symbols];
+        engine = new CorrelationEngine();
+        rolling = new RollingCorrelation(names, 250);
+    }
+
+    @Benchmark
+    public CorrelationMatrix fullHistory() throws InterruptedException {
+        return engine.compute(names, returns);
+    }
+
+    @Benchmark
+    public RollingCorrelation rollingAppend() {
+        int t = next++ % observations;
+        for (int i = 0; i < symbols; i++) {
+            row[i] = returns[i][t];
+        }
+        rolling.append(row);
+        return rolling;
+    }
+}
@@ -0,0 +1,66 @@
+package za.co.wethinkcode.TradeQuery.Benchmarks;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import za.co.wethinkcode.TradeQuery.StatisticsModule.CentralTendency;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.DeviationAndDistribution;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.Difference;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.DoubleCentralTendency;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.DoubleDeviationAndDistribution;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.TendencyFunction;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class DeviationAndDistributionBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int seriesLength;
+
+    @Param({"MEAN", "MEDIAN", "MODE", "MEAN_LEAST_DIFFERENCE"})
+    public TendencyFunction tendency;
+
+    @Param({"NFLX_(data_intra_day).json"})
+    public String seriesFile;
+
+    private List<BigDecimal> absDifferences;
+    private double[] doubleAbsDifferences;
+    private DoubleDeviationAndDistribution doubleDistribution;
+
+    @Setup
+    public void setUp() {
+        absDifferences = new Difference(SeriesFixtures.closes(seriesFile, seriesLength + 1)).absoluteDifference();
+        doubleAbsDifferences = SeriesFixtures.toDoubles(absDifferences);
+        DoubleCentralTendency doubleTendency = new DoubleCentralTendency();
+        doubleDistribution = new DoubleDeviationAndDistribution(doubleTendency, tendency.of(doubleTendency));
+    }
+
+    @Benchmark
+    public List<BigDecimal> deviationAndDistribution() {
+        CentralTendency tendencyInstance = new CentralTendency(absDifferences);
+        return new DeviationAndDistribution(tendencyInstance, tendency.of(tendencyInstance), absDifferences).distribution();
+    }
+
+    @Benchmark
+    public double doubleDeviationAndDistribution() {
+        doubleDistribution.calculate(doubleAbsDifferences, doubleAbsDifferences.length);
+        return doubleDistribution.getUpperBoundTendency();
+    }
+}
@@ -0,0 +1,60 @@
+package za.co.wethinkcode.TradeQuery.Benchmarks;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import za.co.wethinkcode.TradeQuery.ForecastModules.ForecastBase;
+import za.co.wethinkcode.TradeQuery.ForecastModules.PrecisionMode;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.TendencyFunction;
+
+// Each operation builds the forecast from the series, as a new bar would today
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class ForecastBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int seriesLength;
+
+    @Param({"MEAN", "MEDIAN", "MODE", "MEAN_LEAST_DIFFERENCE"})
+    public TendencyFunction tendency;
+
+    @Param({"BIG_DECIMAL", "DOUBLE"})
+    public PrecisionMode precision;
+
+    @Param({"NFLX_(data_intra_day).json"})
+    public String seriesFile;
+
+    private List<BigDecimal> series;
+
+    @Setup
+    public void setUp() {
+        series = SeriesFixtures.closes(seriesFile, seriesLength);
+    }
+
+    @Benchmark
+    public List<BigDecimal> magnitudeWeightedForecast() {
+        return new ForecastBase(tendency, series, precision).magnitudeWeightedForecast();
+    }
+
+    @Benchmark
+    public List<BigDecimal> asymmetricTrendForecast() {
+        return new ForecastBase(tendency, series, precision).asymmetricTrendForecast();
+    }
+}
@@ -0,0 +1,75 @@
+package za.co.wethinkcode.TradeQuery.Benchmarks;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import za.co.wethinkcode.TradeQuery.StatisticsModule.Difference;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.DoubleLeastDeviation;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.LeastDeviation;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class LeastDeviationBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int seriesLength;
+
+    @Param({"1", "2", "3"})
+    public int comparitivePower;
+
+    @Param({"NFLX_(data_intra_day).json"})
+    public String seriesFile;
+
+    private List<BigDecimal> absDifferences;
+    private double[] doubleAbsDifferences;
+    private double[] doubleResult;
+    private DoubleLeastDeviation doubleLeastDeviation;
+    private Difference difference;
+    private BigDecimal variable;
+
+    @Setup
+    public void setUp() {
+        absDifferences = new Difference(SeriesFixtures.closes(seriesFile, seriesLength + 1)).absoluteDifference();
+        doubleAbsDifferences = SeriesFixtures.toDoubles(absDifferences);
+        doubleResult = new double[doubleAbsDifferences.length];
+        doubleLeastDeviation = new DoubleLeastDeviation(doubleAbsDifferences, doubleAbsDifferences.length);
+        doubleLeastDeviation.setComparitivePower(comparitivePower);
+        difference = new Difference(absDifferences);
+        difference.setComparitivePower(comparitivePower);
+        variable = absDifferences.get(absDifferences.size() / 2);
+    }
+
+    @Benchmark
+    public List<BigDecimal> variableLeastDifference() {
+        LeastDeviation leastDeviation = new LeastDeviation(absDifferences);
+        leastDeviation.setComparitivePower(comparitivePower);
+        return leastDeviation.variableLeastDifference();
+    }
+
+    @Benchmark
+    public int doubleVariableLeastDifference() {
+        return doubleLeastDeviation.variableLeastDifference(doubleResult);
+    }
+
+    @Benchmark
+    public BigDecimal sumComparitiveDifference() {
+        return difference.sumComparitiveDifference(variable);
+    }
+}
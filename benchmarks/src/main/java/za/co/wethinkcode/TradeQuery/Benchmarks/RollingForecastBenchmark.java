@@ -0,0 +1,60 @@
+package za.co.wethinkcode.TradeQuery.Benchmarks;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import za.co.wethinkcode.TradeQuery.ForecastModules.RollingForecast;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.TendencyFunction;
+
+// One new bar per operation against a full window, the streaming counterpart of ForecastBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class RollingForecastBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int seriesLength;
+
+    @Param({"MEAN", "MEDIAN", "MODE", "MEAN_LEAST_DIFFERENCE"})
+    public TendencyFunction tendency;
+
+    @Param({"NFLX_(data_intra_day).json"})
+    public String seriesFile;
+
+    // Bars replayed cyclically after the window has been filled
+    private static final int REPLAY_LENGTH = 1000;
+
+    private List<BigDecimal> replay;
+    private RollingForecast rollingForecast;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        List<BigDecimal> series = SeriesFixtures.closes(seriesFile, seriesLength + REPLAY_LENGTH);
+        rollingForecast = new RollingForecast(tendency, seriesLength, series.subList(0, seriesLength));
+        replay = series.subList(seriesLength, series.size());
+    }
+
+    @Benchmark
+    public List<BigDecimal> appendAndForecast() {
+        rollingForecast.append(replay.get(next));
+        next = (next + 1) % replay.size();
+        return rollingForecast.magnitudeWeightedForecast();
+    }
+}
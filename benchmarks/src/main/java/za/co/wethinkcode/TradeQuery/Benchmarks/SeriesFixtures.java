@@ -0,0 +1,90 @@
+package za.co.wethinkcode.TradeQuery.Benchmarks;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Loads the bundled Data/*.json series as realistic benchmark inputs. The directory is
+ * taken from the tradequery.data system property, falling back to the source tree
+ * relative to either the project root or this module.
+ */
+public final class SeriesFixtures {
+
+    public static final String DATA_DIRECTORY_PROPERTY = "tradequery.data";
+    private static final String[] DEFAULT_DIRECTORIES = {
+        "src/main/java/za/co/wethinkcode/TradeQuery/Data",
+        "../src/main/java/za/co/wethinkcode/TradeQuery/Data"
+    };
+    private static final Map<String, List<BigDecimal>> CLOSES = new ConcurrentHashMap<>();
+
+    private SeriesFixtures() {
+    }
+
+    // The most recent `length` closing prices of the file, oldest first
+    public static List<BigDecimal> closes(String fileName, int length) {
+        List<BigDecimal> closes = CLOSES.computeIfAbsent(fileName, SeriesFixtures::loadCloses);
+        if (length > closes.size()) {
+            throw new IllegalArgumentException(fileName + " has only " + closes.size() + " values, " + length + " requested");
+        }
+        return new ArrayList<>(closes.subList(closes.size() - length, closes.size()));
+    }
+
+    public static double[] toDoubles(List<BigDecimal> values) {
+        double[] result = new double[values.size()];
+        for (int n = 0; n < result.length; n++) {
+            result[n] = values.get(n).doubleValue();
+        }
+        return result;
+    }
+
+    public static Path dataDirectory() {
+        String configured = System.getProperty(DATA_DIRECTORY_PROPERTY);
+        if (configured != null) {
+            return Paths.get(configured);
+        }
+        for (String candidate : DEFAULT_DIRECTORIES) {
+            Path path = Paths.get(candidate);
+            if (Files.isDirectory(path)) {
+                return path;
+            }
+        }
+        throw new IllegalStateException("Data directory not found; set -D" + DATA_DIRECTORY_PROPERTY);
+    }
+
+    private static List<BigDecimal> loadCloses(String fileName) {
+        try (Reader reader = Files.newBufferedReader(dataDirectory().resolve(fileName))) {
+            JsonObject root = JsonParser.parseReader(reader).getAsJsonObject();
+            JsonObject series = null;
+            for (Map.Entry<String, JsonElement> entry : root.entrySet()) {
+                if (entry.getKey().startsWith("Time Series")) {
+                    series = entry.getValue().getAsJsonObject();
+                }
+            }
+            if (series == null) {
+                throw new IllegalStateException(fileName + " has no time series");
+            }
+            // Timestamps sort lexicographically in chronological order
+            TreeMap<String, BigDecimal> byTime = new TreeMap<>();
+            for (Map.Entry<String, JsonElement> entry : series.entrySet()) {
+                byTime.put(entry.getKey(), entry.getValue().getAsJsonObject().get("4. close").getAsBigDecimal());
+            }
+            return new ArrayList<>(byTime.values());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package za.co.wethinkcode.TradeQuery.Benchmarks;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+
+import za.co.wethinkcode.TradeQuery.DataModule.AlphaVantageSeriesLoader;
+import za.co.wethinkcode.TradeQuery.DataModule.OhlcvSeries;
+import za.co.wethinkcode.TradeQuery.DataModule.SeriesField;
+
+// Full file loads: the Gson object tree the data used to go through against the streaming loader
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class SeriesLoaderBenchmark {
+
+    @Param({"NFLX_(data_intra_day).json", "USD_(data_intra_day).json"})
+    public String seriesFile;
+
+    private Path file;
+
+    @Setup
+    public void setUp() {
+        file = SeriesFixtures.dataDirectory().resolve(seriesFile);
+    }
+
+    @Benchmark
+    public JsonElement gsonTree() throws IOException {
+        try (Reader reader = Files.newBufferedReader(file)) {
+            return JsonParser.parseReader(reader);
+        }
+    }
+
+    @Benchmark
+    public OhlcvSeries streamingAllFields() throws IOException {
+        return AlphaVantageSeriesLoader.load(file);
+    }
+
+    @Benchmark
+    public OhlcvSeries streamingCloseOnly() throws IOException {
+        return AlphaVantageSeriesLoader.load(file, EnumSet.of(SeriesField.CLOSE));
+    }
+}
@@ -0,0 +1,78 @@
+package za.co.wethinkcode.TradeQuery.Benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import za.co.wethinkcode.TradeQuery.StatisticsModule.DoubleKernels;
+
+// The fork adds the vector module, so "best" is the SIMD implementation
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class VectorKernelsBenchmark {
+
+    @Param({"1000", "10000"})
+    public int seriesLength;
+
+    @Param({"scalar", "best"})
+    public String kernels;
+
+    @Param({"NFLX_(data_intra_day).json"})
+    public String seriesFile;
+
+    private DoubleKernels selected;
+    private double[] closes;
+    private double[] result;
+    private final int[] counts = new int[2];
+    private double mean;
+    private double deviation;
+
+    @Setup
+    public void setUp() {
+        selected = kernels.equals("scalar") ? DoubleKernels.scalar() : DoubleKernels.best();
+        closes = SeriesFixtures.toDoubles(SeriesFixtures.closes(seriesFile, seriesLength));
+        result = new double[seriesLength];
+        mean = DoubleKernels.scalar().sum(closes, closes.length) / closes.length;
+        deviation = Math.sqrt(DoubleKernels.scalar().comparativeSum(closes, closes.length, mean, 2, true) / closes.length);
+    }
+
+    @Benchmark
+    public int difference() {
+        return selected.difference(closes, closes.length, result);
+    }
+
+    @Benchmark
+    public double comparativeSum() {
+        return selected.comparativeSum(closes, closes.length, mean, 2, true);
+    }
+
+    @Benchmark
+    public int countBands() {
+        selected.countBands(closes, closes.length, mean - deviation, mean, mean, mean + deviation, counts);
+        return counts[0] + counts[1];
+    }
+
+    @Benchmark
+    public double sum() {
+        return selected.sum(closes, closes.length);
+    }
+
+    @Benchmark
+    public double range() {
+        return selected.max(closes, closes.length) - selected.min(closes, closes.length);
+    }
+}
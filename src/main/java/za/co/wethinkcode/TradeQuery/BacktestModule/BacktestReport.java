@@ -0,0 +1,65 @@
+package za.co.wethinkcode.TradeQuery.BacktestModule;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import za.co.wethinkcode.TradeQuery.ForecastModules.ForecastKind;
+
+/**
+ * Result of a {@link WalkForwardBacktest} run: a {@link ForecastScore} for each forecast
+ * kind and, when recording was switched on, the forecast made at every step. Step s
+ * trains on prices s to s + window - 1 and is scored against price s + window.
+ */
+public final class BacktestReport {
+
+    private final int windowSize;
+    private final int chunks;
+    private final long elapsedNanos;
+    private final ForecastScore magnitudeWeighted;
+    private final ForecastScore asymmetricTrend;
+    private final List<List<BigDecimal>> magnitudeWeightedForecasts;
+    private final List<List<BigDecimal>> asymmetricTrendForecasts;
+
+    BacktestReport(int windowSize, int chunks, long elapsedNanos, ForecastScore magnitudeWeighted,
+                   ForecastScore asymmetricTrend, List<List<BigDecimal>> magnitudeWeightedForecasts,
+                   List<List<BigDecimal>> asymmetricTrendForecasts) {
+        this.windowSize = windowSize;
+        this.chunks = chunks;
+        this.elapsedNanos = elapsedNanos;
+        this.magnitudeWeighted = magnitudeWeighted;
+        this.asymmetricTrend = asymmetricTrend;
+        this.magnitudeWeightedForecasts = magnitudeWeightedForecasts;
+        this.asymmetricTrendForecasts = asymmetricTrendForecasts;
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    public int getSteps() {
+        return magnitudeWeighted.getSteps();
+    }
+
+    public int getChunks() {
+        return chunks;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public ForecastScore getScore(ForecastKind kind) {
+        return kind == ForecastKind.MAGNITUDE_WEIGHTED ? magnitudeWeighted : asymmetricTrend;
+    }
+
+    // [lower, central, upper] per step, empty unless the backtest recorded forecasts
+    public List<List<BigDecimal>> getForecasts(ForecastKind kind) {
+        return kind == ForecastKind.MAGNITUDE_WEIGHTED ? magnitudeWeightedForecasts : asymmetricTrendForecasts;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("window=%d steps=%d chunks=%d elapsed=%.1f ms%n  magnitude weighted: %s%n  asymmetric trend:   %s",
+                             windowSize, getSteps(), chunks, elapsedNanos / 1e6, magnitudeWeighted, asymmetricTrend);
+    }
+}
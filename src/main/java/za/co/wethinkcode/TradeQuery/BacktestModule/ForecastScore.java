@@ -0,0 +1,66 @@
+package za.co.wethinkcode.TradeQuery.BacktestModule;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * How one kind of forecast scored over a backtest. A step is a band hit when the realised
+ * value lies between the lower and upper forecast, either way round. Directional accuracy
+ * counts only the steps where the price moved, and is a hit when the central forecast
+ * moved the same way.
+ */
+public final class ForecastScore {
+
+    private final int steps;
+    private final int bandHits;
+    private final BigDecimal absoluteErrorSum;
+    private final int directionalSteps;
+    private final int directionalHits;
+
+    ForecastScore(int steps, int bandHits, BigDecimal absoluteErrorSum, int directionalSteps, int directionalHits) {
+        this.steps = steps;
+        this.bandHits = bandHits;
+        this.absoluteErrorSum = absoluteErrorSum;
+        this.directionalSteps = directionalSteps;
+        this.directionalHits = directionalHits;
+    }
+
+    public int getSteps() {
+        return steps;
+    }
+
+    public int getBandHits() {
+        return bandHits;
+    }
+
+    public double getHitRate() {
+        return steps == 0 ? 0.0 : (double) bandHits / steps;
+    }
+
+    // Mean absolute error of the central forecast
+    public BigDecimal getMeanAbsoluteError() {
+        if (steps == 0) {
+            return BigDecimal.ZERO;
+        }
+        return absoluteErrorSum.divide(BigDecimal.valueOf(steps), 10, RoundingMode.HALF_UP);
+    }
+
+    public int getDirectionalSteps() {
+        return directionalSteps;
+    }
+
+    public int getDirectionalHits() {
+        return directionalHits;
+    }
+
+    public double getDirectionalAccuracy() {
+        return directionalSteps == 0 ? 0.0 : (double) directionalHits / directionalSteps;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("steps=%d hitRate=%.4f mae=%s directionalAccuracy=%.4f",
+                             steps, getHitRate(), getMeanAbsoluteError().stripTrailingZeros().toPlainString(),
+                             getDirectionalAccuracy());
+    }
+}
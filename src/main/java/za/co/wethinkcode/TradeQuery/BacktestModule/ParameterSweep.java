@@ -0,0 +1,299 @@
+package za.co.wethinkcode.TradeQuery.BacktestModule;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import za.co.wethinkcode.TradeQuery.DataModule.AlphaVantageSeriesLoader;
+import za.co.wethinkcode.TradeQuery.DataModule.SeriesField;
+import za.co.wethinkcode.TradeQuery.ForecastModules.ForecastConfig;
+import za.co.wethinkcode.TradeQuery.ForecastModules.ForecastKind;
+import za.co.wethinkcode.TradeQuery.ForecastModules.Forecasts;
+import za.co.wethinkcode.TradeQuery.ForecastModules.PreparedSeries;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.DistributionSummary;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.TendencyFunction;
+
+/**
+ * Grid search over {@link ForecastConfig}s. Every combination of tendency function,
+ * probability bias, deviation power, useMean and includeZero is walk forward tested on
+ * one or more series and the configurations are ranked by their {@link ForecastScore}.
+ *
+ * Work is shared rather than repeated per configuration: at each evaluated step the window
+ * is prepared once per includeZero setting, and each distribution summary is computed once
+ * and reused by every bias. The evaluated steps are split into chunks run in parallel, each
+ * chunk scoring the whole grid.
+ */
+public class ParameterSweep {
+
+    public static final int DEFAULT_EVALUATION_POINTS = 500;
+    public static final int MIN_CHUNK_POINTS = 16;
+
+    private final int windowSize;
+    private final ExecutorService executor;
+
+    private TendencyFunction[] tendencyFunctions = TendencyFunction.values();
+    private int[] probabilityBiases = {-1, 0, 1};
+    // The deviation takes the 1 / power root in integer arithmetic, so every power above 1
+    // scores the same; 3 would only repeat the configurations of 2
+    private int[] deviationPowers = {1, 2};
+    private boolean[] useMeanOptions = {true, false};
+    private boolean[] includeZeroOptions = {false, true};
+    private int evaluationPoints = DEFAULT_EVALUATION_POINTS;
+    private SweepRanking ranking = SweepRanking.MEAN_ABSOLUTE_ERROR;
+
+    public ParameterSweep(int windowSize) {
+        this(windowSize, ForkJoinPool.commonPool());
+    }
+
+    public ParameterSweep(int windowSize, ExecutorService executor) {
+        if (windowSize < 2) {
+            throw new IllegalArgumentException("Window size must be at least 2");
+        }
+        this.windowSize = windowSize;
+        this.executor = executor;
+    }
+
+    public void setTendencyFunctions(TendencyFunction... tendencyFunctions) {
+        if (tendencyFunctions.length == 0) {
+            throw new IllegalArgumentException("At least one tendency function is needed");
+        }
+        this.tendencyFunctions = tendencyFunctions.clone();
+    }
+
+    public void setProbabilityBiases(int... probabilityBiases) {
+        if (probabilityBiases.length == 0) {
+            throw new IllegalArgumentException("At least one probability bias is needed");
+        }
+        this.probabilityBiases = probabilityBiases.clone();
+    }
+
+    public void setDeviationPowers(int... deviationPowers) {
+        if (deviationPowers.length == 0) {
+            throw new IllegalArgumentException("At least one deviation power is needed");
+        }
+        this.deviationPowers = deviationPowers.clone();
+    }
+
+    public void setUseMeanOptions(boolean... useMeanOptions) {
+        if (useMeanOptions.length == 0) {
+            throw new IllegalArgumentException("At least one useMean option is needed");
+        }
+        this.useMeanOptions = useMeanOptions.clone();
+    }
+
+    public void setIncludeZeroOptions(boolean... includeZeroOptions) {
+        if (includeZeroOptions.length == 0) {
+            throw new IllegalArgumentException("At least one includeZero option is needed");
+        }
+        this.includeZeroOptions = includeZeroOptions.clone();
+    }
+
+    // Most steps scored per series, spread evenly over it; 0 scores every step
+    public void setEvaluationPoints(int evaluationPoints) {
+        if (evaluationPoints < 0) {
+            throw new IllegalArgumentException("Evaluation points must not be negative");
+        }
+        this.evaluationPoints = evaluationPoints;
+    }
+
+    public void setRanking(SweepRanking ranking) {
+        this.ranking = ranking;
+    }
+
+    // The cross product of the options, in the order the setters list them
+    public List<ForecastConfig> configurations() {
+        List<ForecastConfig> configs = new ArrayList<>();
+        for (TendencyFunction tendencyFunction : tendencyFunctions) {
+            for (int probabilityBias : probabilityBiases) {
+                for (int deviationPower : deviationPowers) {
+                    for (boolean useMean : useMeanOptions) {
+                        for (boolean includeZero : includeZeroOptions) {
+                            configs.add(new ForecastConfig(tendencyFunction)
+                                .withProbabilityBias(probabilityBias)
+                                .withDeviationPower(deviationPower)
+                                .withUseMean(useMean)
+                                .withIncludeZero(includeZero));
+                        }
+                    }
+                }
+            }
+        }
+        return configs;
+    }
+
+    public SweepReport run(List<BigDecimal> prices) throws InterruptedException {
+        return run(Map.of("series", prices));
+    }
+
+    public SweepReport run(Map<String, List<BigDecimal>> series) throws InterruptedException {
+        long start = System.nanoTime();
+        Grid grid = new Grid(configurations());
+        List<Callable<ScoreTally[]>> chunks = new ArrayList<>();
+        int evaluations = 0;
+        for (Map.Entry<String, List<BigDecimal>> entry : series.entrySet()) {
+            List<BigDecimal> prices = entry.getValue();
+            if (prices.size() <= windowSize) {
+                throw new IllegalArgumentException("At least " + (windowSize + 1) + " prices are needed to sweep "
+                                                   + entry.getKey());
+            }
+            int steps = prices.size() - windowSize;
+            // Rounded up, so the points never exceed evaluationPoints
+            int stride = evaluationPoints == 0 ? 1 : Math.max(1, (steps + evaluationPoints - 1) / evaluationPoints);
+            int points = (steps + stride - 1) / stride;
+            int pointsPerChunk = pointsPerChunk(points);
+            for (int first = 0; first < points; first += pointsPerChunk) {
+                int from = first;
+                int to = Math.min(points, first + pointsPerChunk);
+                chunks.add(() -> evaluate(grid, prices, from * stride, to * stride, stride));
+            }
+            evaluations += points;
+        }
+
+        ScoreTally[] tallies = grid.newTallies();
+        try {
+            for (Future<ScoreTally[]> chunk : executor.invokeAll(chunks)) {
+                ScoreTally[] result = chunk.get();
+                for (int n = 0; n < tallies.length; n++) {
+                    tallies[n].merge(result[n]);
+                }
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Sweep chunk failed", e.getCause());
+        }
+        return new SweepReport(windowSize, grid.configs.size(), evaluations, System.nanoTime() - start,
+                               ranking, rank(grid, tallies));
+    }
+
+    private int pointsPerChunk(int points) {
+        int workers = executor instanceof ForkJoinPool pool ? pool.getParallelism()
+            : Runtime.getRuntime().availableProcessors();
+        return Math.max(MIN_CHUNK_POINTS, (points + workers * 4 - 1) / (workers * 4));
+    }
+
+    // Scores the whole grid at steps from, from + stride, ... below to
+    private ScoreTally[] evaluate(Grid grid, List<BigDecimal> prices, int from, int to, int stride) {
+        ScoreTally[] tallies = grid.newTallies();
+        int steps = prices.size() - windowSize;
+        PreparedSeries[] prepared = new PreparedSeries[2];
+        DistributionSummary[][] summaries = new DistributionSummary[grid.groups.size()][];
+        for (int step = from; step < Math.min(to, steps); step += stride) {
+            List<BigDecimal> window = prices.subList(step, step + windowSize);
+            BigDecimal fromValue = prices.get(step + windowSize - 1);
+            BigDecimal actual = prices.get(step + windowSize);
+            prepared[0] = null;
+            prepared[1] = null;
+            for (int g = 0; g < summaries.length; g++) {
+                summaries[g] = null;
+            }
+            for (int c = 0; c < grid.configs.size(); c++) {
+                ForecastConfig config = grid.configs.get(c);
+                int side = config.isIncludeZero() ? 1 : 0;
+                if (prepared[side] == null) {
+                    prepared[side] = PreparedSeries.of(window, config.isIncludeZero());
+                }
+                int group = grid.groupOf[c];
+                if (summaries[group] == null) {
+                    summaries[group] = summarise(prepared[side], config);
+                }
+                DistributionSummary[] summary = summaries[group];
+                tallies[2 * c].add(Forecasts.magnitudeWeighted(prepared[side], summary[0], config.getProbabilityBias()),
+                                   fromValue, actual);
+                tallies[2 * c + 1].add(Forecasts.asymmetricTrend(prepared[side], summary[1], summary[2],
+                                                                 config.getProbabilityBias()),
+                                       fromValue, actual);
+            }
+        }
+        return tallies;
+    }
+
+    // [absolute, positive, negative] summaries; a side without steps stays null
+    private static DistributionSummary[] summarise(PreparedSeries series, ForecastConfig config) {
+        return new DistributionSummary[] {
+            Forecasts.summarise(series.getAbsDifferenceIndex(), config),
+            series.getPosDifferenceData().isEmpty() ? null : Forecasts.summarise(series.getPosDifferenceIndex(), config),
+            series.getNegDifferenceData().isEmpty() ? null : Forecasts.summarise(series.getNegDifferenceIndex(), config)
+        };
+    }
+
+    private List<SweepResult> rank(Grid grid, ScoreTally[] tallies) {
+        record Row(ForecastConfig config, ForecastKind kind, ForecastScore score) {
+        }
+        List<Row> rows = new ArrayList<>(tallies.length);
+        for (int c = 0; c < grid.configs.size(); c++) {
+            rows.add(new Row(grid.configs.get(c), ForecastKind.MAGNITUDE_WEIGHTED, tallies[2 * c].toScore()));
+            rows.add(new Row(grid.configs.get(c), ForecastKind.ASYMMETRIC_TREND, tallies[2 * c + 1].toScore()));
+        }
+        rows.sort(Comparator.comparing(Row::score, ranking.comparator()));
+        List<SweepResult> results = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            results.add(new SweepResult(results.size() + 1, row.config(), row.kind(), row.score()));
+        }
+        return results;
+    }
+
+    // The configurations with, for each, the group of configurations that differ from it only in bias
+    private static final class Grid {
+
+        private final List<ForecastConfig> configs;
+        private final List<ForecastConfig> groups = new ArrayList<>();
+        private final int[] groupOf;
+
+        private Grid(List<ForecastConfig> configs) {
+            this.configs = configs;
+            this.groupOf = new int[configs.size()];
+            Map<ForecastConfig, Integer> groupIndex = new LinkedHashMap<>();
+            for (int c = 0; c < configs.size(); c++) {
+                ForecastConfig unbiased = configs.get(c).withProbabilityBias(0);
+                Integer group = groupIndex.get(unbiased);
+                if (group == null) {
+                    group = groups.size();
+                    groups.add(unbiased);
+                    groupIndex.put(unbiased, group);
+                }
+                groupOf[c] = group;
+            }
+        }
+
+        // Two per configuration: magnitude weighted, then asymmetric trend
+        private ScoreTally[] newTallies() {
+            ScoreTally[] tallies = new ScoreTally[configs.size() * 2];
+            for (int n = 0; n < tallies.length; n++) {
+                tallies[n] = new ScoreTally();
+            }
+            return tallies;
+        }
+    }
+
+    // Sweeps the closing prices of Alpha Vantage files: <window> [file ...]
+    public static void main(String[] args) throws Exception {
+        int window = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        List<String> files = args.length > 1 ? List.of(args).subList(1, args.length)
+            : List.of("src/main/java/za/co/wethinkcode/TradeQuery/Data/NFLX_(data_intra_day).json");
+
+        Map<String, List<BigDecimal>> series = new LinkedHashMap<>();
+        for (String name : files) {
+            Path file = Paths.get(name);
+            double[] closes = AlphaVantageSeriesLoader.load(file, EnumSet.of(SeriesField.CLOSE)).column(SeriesField.CLOSE);
+            List<BigDecimal> prices = new ArrayList<>(closes.length);
+            for (double close : closes) {
+                prices.add(BigDecimal.valueOf(close));
+            }
+            series.put(file.getFileName().toString(), prices);
+        }
+        System.out.println(new ParameterSweep(window).run(series));
+    }
+}
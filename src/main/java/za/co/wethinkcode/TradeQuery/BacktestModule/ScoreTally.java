@@ -0,0 +1,44 @@
+package za.co.wethinkcode.TradeQuery.BacktestModule;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// Running score of one forecast kind, kept per task and merged into a ForecastScore
+final class ScoreTally {
+
+    private int steps;
+    private int bandHits;
+    private BigDecimal absoluteErrorSum = BigDecimal.ZERO;
+    private int directionalSteps;
+    private int directionalHits;
+
+    void add(List<BigDecimal> forecast, BigDecimal fromValue, BigDecimal actual) {
+        BigDecimal lower = forecast.get(0);
+        BigDecimal central = forecast.get(1);
+        BigDecimal upper = forecast.get(2);
+        steps++;
+        if (actual.compareTo(lower.min(upper)) >= 0 && actual.compareTo(lower.max(upper)) <= 0) {
+            bandHits++;
+        }
+        absoluteErrorSum = absoluteErrorSum.add(central.subtract(actual).abs());
+        int move = actual.compareTo(fromValue);
+        if (move != 0) {
+            directionalSteps++;
+            if (central.compareTo(fromValue) == move) {
+                directionalHits++;
+            }
+        }
+    }
+
+    void merge(ScoreTally other) {
+        steps += other.steps;
+        bandHits += other.bandHits;
+        absoluteErrorSum = absoluteErrorSum.add(other.absoluteErrorSum);
+        directionalSteps += other.directionalSteps;
+        directionalHits += other.directionalHits;
+    }
+
+    ForecastScore toScore() {
+        return new ForecastScore(steps, bandHits, absoluteErrorSum, directionalSteps, directionalHits);
+    }
+}
@@ -0,0 +1,21 @@
+package za.co.wethinkcode.TradeQuery.BacktestModule;
+
+import java.util.Comparator;
+
+/**
+ * What a {@link ParameterSweep} ranks configurations by. Each constant orders scores best
+ * first: highest band hit rate, lowest mean absolute error or highest directional accuracy.
+ */
+public enum SweepRanking {
+    HIT_RATE,
+    MEAN_ABSOLUTE_ERROR,
+    DIRECTIONAL_ACCURACY;
+
+    public Comparator<ForecastScore> comparator() {
+        return switch (this) {
+            case HIT_RATE -> Comparator.comparingDouble(ForecastScore::getHitRate).reversed();
+            case MEAN_ABSOLUTE_ERROR -> Comparator.comparing(ForecastScore::getMeanAbsoluteError);
+            case DIRECTIONAL_ACCURACY -> Comparator.comparingDouble(ForecastScore::getDirectionalAccuracy).reversed();
+        };
+    }
+}
@@ -0,0 +1,90 @@
+package za.co.wethinkcode.TradeQuery.BacktestModule;
+
+import java.util.List;
+
+import za.co.wethinkcode.TradeQuery.ForecastModules.ForecastConfig;
+import za.co.wethinkcode.TradeQuery.ForecastModules.ForecastKind;
+
+/**
+ * Result of a {@link ParameterSweep}: one {@link SweepResult} per configuration and
+ * forecast kind, best first by the sweep's {@link SweepRanking}.
+ */
+public final class SweepReport {
+
+    private final int windowSize;
+    private final int configurations;
+    private final int evaluations;
+    private final long elapsedNanos;
+    private final SweepRanking ranking;
+    private final List<SweepResult> results;
+
+    SweepReport(int windowSize, int configurations, int evaluations, long elapsedNanos,
+                SweepRanking ranking, List<SweepResult> results) {
+        this.windowSize = windowSize;
+        this.configurations = configurations;
+        this.evaluations = evaluations;
+        this.elapsedNanos = elapsedNanos;
+        this.ranking = ranking;
+        this.results = List.copyOf(results);
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    public int getConfigurations() {
+        return configurations;
+    }
+
+    // Forecast points scored per configuration, summed over all series
+    public int getEvaluations() {
+        return evaluations;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public SweepRanking getRanking() {
+        return ranking;
+    }
+
+    public List<SweepResult> getResults() {
+        return results;
+    }
+
+    public SweepResult getBest() {
+        return results.getFirst();
+    }
+
+    public SweepResult getResult(ForecastConfig config, ForecastKind kind) {
+        for (SweepResult result : results) {
+            if (result.getKind() == kind && result.getConfig().equals(config)) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Configuration was not part of the sweep: " + config);
+    }
+
+    // The best rows as a fixed width table
+    public String toTable(int limit) {
+        StringBuilder table = new StringBuilder(String.format("%4s  %-18s  %-21s  %4s  %5s  %4s  %4s  %8s  %12s  %8s%n",
+            "rank", "kind", "tendency", "bias", "power", "mean", "zero", "hitRate", "mae", "dirAcc"));
+        for (SweepResult result : results.subList(0, Math.min(limit, results.size()))) {
+            ForecastConfig config = result.getConfig();
+            ForecastScore score = result.getScore();
+            table.append(String.format("%4d  %-18s  %-21s  %4d  %5d  %4s  %4s  %8.4f  %12s  %8.4f%n",
+                result.getRank(), result.getKind(), config.getTendencyFunction(), config.getProbabilityBias(),
+                config.getDeviationPower(), config.isUseMean() ? "y" : "n", config.isIncludeZero() ? "y" : "n",
+                score.getHitRate(), score.getMeanAbsoluteError().stripTrailingZeros().toPlainString(),
+                score.getDirectionalAccuracy()));
+        }
+        return table.toString();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("window=%d configurations=%d evaluations=%d ranking=%s elapsed=%.1f ms%n%s",
+                             windowSize, configurations, evaluations, ranking, elapsedNanos / 1e6, toTable(10));
+    }
+}
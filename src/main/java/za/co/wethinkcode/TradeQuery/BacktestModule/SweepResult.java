@@ -0,0 +1,45 @@
+package za.co.wethinkcode.TradeQuery.BacktestModule;
+
+import za.co.wethinkcode.TradeQuery.ForecastModules.ForecastConfig;
+import za.co.wethinkcode.TradeQuery.ForecastModules.ForecastKind;
+
+/**
+ * One row of a {@link SweepReport}: how a forecast kind scored under one configuration,
+ * over every evaluated step of every series in the sweep.
+ */
+public final class SweepResult {
+
+    private final int rank;
+    private final ForecastConfig config;
+    private final ForecastKind kind;
+    private final ForecastScore score;
+
+    SweepResult(int rank, ForecastConfig config, ForecastKind kind, ForecastScore score) {
+        this.rank = rank;
+        this.config = config;
+        this.kind = kind;
+        this.score = score;
+    }
+
+    // 1 for the best row
+    public int getRank() {
+        return rank;
+    }
+
+    public ForecastConfig getConfig() {
+        return config;
+    }
+
+    public ForecastKind getKind() {
+        return kind;
+    }
+
+    public ForecastScore getScore() {
+        return score;
+    }
+
+    @Override
+    public String toString() {
+        return rank + ". " + kind + " " + config + " " + score;
+    }
+}
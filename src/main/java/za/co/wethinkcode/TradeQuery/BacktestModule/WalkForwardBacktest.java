@@ -0,0 +1,165 @@
+package za.co.wethinkcode.TradeQuery.BacktestModule;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import za.co.wethinkcode.TradeQuery.DataModule.AlphaVantageSeriesLoader;
+import za.co.wethinkcode.TradeQuery.DataModule.SeriesField;
+import za.co.wethinkcode.TradeQuery.ForecastModules.RollingForecast;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.TendencyFunction;
+
+/**
+ * Walk forward backtest of the {@link za.co.wethinkcode.TradeQuery.ForecastModules.ForecastBase}
+ * forecasts. A training window slides over the series one price at a time; at each step
+ * both three point forecasts are made from the window and scored against the next price.
+ *
+ * The steps are split into contiguous chunks evaluated in parallel. Each chunk seeds one
+ * {@link RollingForecast} with its first window and then only appends, so a step costs
+ * O(log n) instead of rebuilding a ForecastBase. Chunk scores are merged in step order,
+ * so the report does not depend on the chunking.
+ */
+public class WalkForwardBacktest {
+
+    public static final int MIN_CHUNK_STEPS = 256;
+
+    private final TendencyFunction tendencyFunction;
+    private final int windowSize;
+    private final ExecutorService executor;
+
+    private int probabilityBias = 0;
+    private int chunkSize = 0;
+    private boolean recordForecasts = false;
+
+    public WalkForwardBacktest(TendencyFunction tendencyFunction, int windowSize) {
+        this(tendencyFunction, windowSize, ForkJoinPool.commonPool());
+    }
+
+    public WalkForwardBacktest(TendencyFunction tendencyFunction, int windowSize, ExecutorService executor) {
+        if (windowSize < 2) {
+            throw new IllegalArgumentException("Window size must be at least 2");
+        }
+        this.tendencyFunction = tendencyFunction;
+        this.windowSize = windowSize;
+        this.executor = executor;
+    }
+
+    public void setProbabilityBias(int probabilityBias) {
+        this.probabilityBias = probabilityBias;
+    }
+
+    // Steps per parallel task; 0 splits the run into a few chunks per worker
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize < 0) {
+            throw new IllegalArgumentException("Chunk size must not be negative");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    // Keeps every step's forecasts in the report, not just the scores
+    public void setRecordForecasts(boolean recordForecasts) {
+        this.recordForecasts = recordForecasts;
+    }
+
+    public BacktestReport run(double[] prices) throws InterruptedException {
+        List<BigDecimal> priceList = new ArrayList<>(prices.length);
+        for (double price : prices) {
+            priceList.add(BigDecimal.valueOf(price));
+        }
+        return run(priceList);
+    }
+
+    public BacktestReport run(List<BigDecimal> prices) throws InterruptedException {
+        if (prices.size() <= windowSize) {
+            throw new IllegalArgumentException("At least " + (windowSize + 1) + " prices are needed to backtest");
+        }
+        long start = System.nanoTime();
+        int steps = prices.size() - windowSize;
+        int stepsPerChunk = stepsPerChunk(steps);
+        // Sized up front; each chunk sets only its own steps
+        List<List<BigDecimal>> magnitudeForecasts = recordForecasts ? new ArrayList<>(Collections.nCopies(steps, null)) : null;
+        List<List<BigDecimal>> trendForecasts = recordForecasts ? new ArrayList<>(Collections.nCopies(steps, null)) : null;
+
+        List<Callable<ScoreTally[]>> chunks = new ArrayList<>();
+        for (int first = 0; first < steps; first += stepsPerChunk) {
+            int from = first;
+            int to = Math.min(steps, first + stepsPerChunk);
+            chunks.add(() -> evaluate(prices, from, to, magnitudeForecasts, trendForecasts));
+        }
+
+        ScoreTally magnitude = new ScoreTally();
+        ScoreTally trend = new ScoreTally();
+        try {
+            for (Future<ScoreTally[]> chunk : executor.invokeAll(chunks)) {
+                ScoreTally[] result = chunk.get();
+                magnitude.merge(result[0]);
+                trend.merge(result[1]);
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Backtest chunk failed", e.getCause());
+        }
+        return new BacktestReport(windowSize, chunks.size(), System.nanoTime() - start,
+                                  magnitude.toScore(), trend.toScore(),
+                                  recorded(magnitudeForecasts), recorded(trendForecasts));
+    }
+
+    private int stepsPerChunk(int steps) {
+        if (chunkSize > 0) {
+            return chunkSize;
+        }
+        int workers = executor instanceof ForkJoinPool pool ? pool.getParallelism()
+            : Runtime.getRuntime().availableProcessors();
+        return Math.max(MIN_CHUNK_STEPS, (steps + workers * 4 - 1) / (workers * 4));
+    }
+
+    private ScoreTally[] evaluate(List<BigDecimal> prices, int from, int to,
+                             List<List<BigDecimal>> magnitudeForecasts, List<List<BigDecimal>> trendForecasts) {
+        RollingForecast rolling = new RollingForecast(tendencyFunction, windowSize, prices.subList(from, from + windowSize));
+        rolling.setProbabilityBias(probabilityBias);
+        ScoreTally magnitude = new ScoreTally();
+        ScoreTally trend = new ScoreTally();
+        for (int step = from; step < to; step++) {
+            BigDecimal fromValue = rolling.returnFromValue();
+            BigDecimal actual = prices.get(step + windowSize);
+            List<BigDecimal> magnitudeForecast = rolling.magnitudeWeightedForecast();
+            List<BigDecimal> trendForecast = rolling.asymmetricTrendForecast();
+            magnitude.add(magnitudeForecast, fromValue, actual);
+            trend.add(trendForecast, fromValue, actual);
+            if (magnitudeForecasts != null) {
+                magnitudeForecasts.set(step, magnitudeForecast);
+                trendForecasts.set(step, trendForecast);
+            }
+            rolling.append(actual);
+        }
+        return new ScoreTally[] {magnitude, trend};
+    }
+
+    private static List<List<BigDecimal>> recorded(List<List<BigDecimal>> forecasts) {
+        return forecasts == null ? List.of() : Collections.unmodifiableList(forecasts);
+    }
+
+    // Backtests the closing prices of an Alpha Vantage file: <file> [window] [tendency function]
+    public static void main(String[] args) throws Exception {
+        Path file = Paths.get(args.length > 0 ? args[0]
+            : "src/main/java/za/co/wethinkcode/TradeQuery/Data/NFLX_(data_intra_day).json");
+        int window = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        TendencyFunction tendency = args.length > 2 ? TendencyFunction.valueOf(args[2]) : TendencyFunction.MEDIAN;
+
+        double[] closes = AlphaVantageSeriesLoader.load(file, EnumSet.of(SeriesField.CLOSE)).column(SeriesField.CLOSE);
+        BacktestReport report = new WalkForwardBacktest(tendency, window).run(closes);
+        System.out.println(file.getFileName() + " " + tendency);
+        System.out.println(report);
+    }
+}
@@ -0,0 +1,115 @@
+package za.co.wethinkcode.TradeQuery.CorrelationModule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import za.co.wethinkcode.TradeQuery.DataModule.OhlcvSeries;
+import za.co.wethinkcode.TradeQuery.DataModule.SeriesField;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.DoubleKernels;
+
+/**
+ * One column of several series kept only at the timestamps every series has, so row t
+ * of every symbol refers to the same bar. Values are stored one contiguous array per
+ * symbol.
+ */
+public final class AlignedSeries {
+
+    private final List<String> symbols;
+    private final long[] timestamps;
+    private final double[][] values;
+
+    public AlignedSeries(List<String> symbols, long[] timestamps, double[][] values) {
+        if (symbols.size() != values.length) {
+            throw new IllegalArgumentException("Every symbol needs one value array");
+        }
+        this.symbols = List.copyOf(symbols);
+        this.timestamps = timestamps;
+        this.values = values;
+    }
+
+    // Intersects the series' timestamps, each of which must be ascending
+    public static AlignedSeries align(Collection<OhlcvSeries> series, SeriesField field) {
+        if (series.isEmpty()) {
+            throw new IllegalArgumentException("At least one series is needed to align");
+        }
+        long[] common = null;
+        for (OhlcvSeries symbolSeries : series) {
+            common = common == null ? symbolSeries.timestamps().clone() : intersect(common, symbolSeries.timestamps());
+        }
+        List<String> symbols = new ArrayList<>(series.size());
+        double[][] values = new double[series.size()][];
+        int row = 0;
+        for (OhlcvSeries symbolSeries : series) {
+            symbols.add(symbolSeries.getSymbol());
+            values[row++] = gather(symbolSeries, field, common);
+        }
+        return new AlignedSeries(symbols, common, values);
+    }
+
+    public List<String> getSymbols() {
+        return symbols;
+    }
+
+    public int symbolCount() {
+        return symbols.size();
+    }
+
+    public int size() {
+        return timestamps.length;
+    }
+
+    public long[] timestamps() {
+        return timestamps;
+    }
+
+    public double[] values(int symbol) {
+        return values[symbol];
+    }
+
+    /**
+     * The {@link za.co.wethinkcode.TradeQuery.StatisticsModule.Difference#difference()}
+     * series of every symbol: value[t + 1] - value[t], one array per symbol.
+     */
+    public double[][] differences() {
+        DoubleKernels kernels = DoubleKernels.best();
+        double[][] differences = new double[values.length][Math.max(0, size() - 1)];
+        for (int symbol = 0; symbol < values.length; symbol++) {
+            kernels.difference(values[symbol], size(), differences[symbol]);
+        }
+        return differences;
+    }
+
+    private static long[] intersect(long[] first, long[] second) {
+        long[] result = new long[Math.min(first.length, second.length)];
+        int count = 0;
+        int a = 0;
+        int b = 0;
+        while (a < first.length && b < second.length) {
+            if (first[a] < second[b]) {
+                a++;
+            } else if (first[a] > second[b]) {
+                b++;
+            } else {
+                result[count++] = first[a];
+                a++;
+                b++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static double[] gather(OhlcvSeries series, SeriesField field, long[] timestamps) {
+        double[] column = series.column(field);
+        double[] result = new double[timestamps.length];
+        int position = 0;
+        for (int row = 0; row < timestamps.length; row++) {
+            while (series.timestamp(position) != timestamps[row]) {
+                position++;
+            }
+            result[row] = column[position];
+        }
+        return result;
+    }
+}
@@ -0,0 +1,139 @@
+package za.co.wethinkcode.TradeQuery.CorrelationModule;
+
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import za.co.wethinkcode.TradeQuery.DataModule.AlphaVantageSeriesLoader;
+import za.co.wethinkcode.TradeQuery.DataModule.OhlcvSeries;
+import za.co.wethinkcode.TradeQuery.DataModule.SeriesField;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.DoubleKernels;
+
+/**
+ * Covariance and correlation matrices of the return series of many symbols. Returns are
+ * {@link AlignedSeries#differences()}: each symbol's price changes between consecutive
+ * shared timestamps.
+ *
+ * The full history matrix centers every return series once and then forms all pairwise
+ * dot products. Symbols are split into blocks of {@link #SYMBOL_BLOCK} and time into
+ * spans of {@link #TIME_BLOCK}, so the rows of two blocks stay in cache while every pair
+ * between them is summed. Each pair of blocks is one task on the executor, and each
+ * product is summed by one task, so the result does not depend on scheduling.
+ */
+public class CorrelationEngine {
+
+    public static final int SYMBOL_BLOCK = 32;
+    public static final int TIME_BLOCK = 2048;
+
+    private final ExecutorService executor;
+    private final DoubleKernels kernels = DoubleKernels.best();
+
+    public CorrelationEngine() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public CorrelationEngine(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    // Closing price returns over the timestamps every series shares
+    public CorrelationMatrix fullHistory(Collection<OhlcvSeries> series) throws InterruptedException {
+        AlignedSeries aligned = AlignedSeries.align(series, SeriesField.CLOSE);
+        return compute(aligned.getSymbols(), aligned.differences());
+    }
+
+    /**
+     * Matrix of returns[symbol][t], every array of the same length. The arrays are
+     * read but not changed.
+     */
+    public CorrelationMatrix compute(List<String> symbols, double[][] returns) throws InterruptedException {
+        int n = returns.length;
+        int observations = n == 0 ? 0 : returns[0].length;
+        if (observations < 2) {
+            throw new IllegalArgumentException("At least two returns are needed for a covariance");
+        }
+        double[][] centered = new double[n][];
+        for (int symbol = 0; symbol < n; symbol++) {
+            if (returns[symbol].length != observations) {
+                throw new IllegalArgumentException("Every symbol needs the same number of returns");
+            }
+            double mean = kernels.sum(returns[symbol], observations) / observations;
+            centered[symbol] = new double[observations];
+            for (int t = 0; t < observations; t++) {
+                centered[symbol][t] = returns[symbol][t] - mean;
+            }
+        }
+
+        double[] products = new double[n * n];
+        List<Callable<Void>> tiles = new ArrayList<>();
+        for (int first = 0; first < n; first += SYMBOL_BLOCK) {
+            for (int second = first; second < n; second += SYMBOL_BLOCK) {
+                int firstBlock = first;
+                int secondBlock = second;
+                tiles.add(() -> {
+                    sumTile(centered, products, firstBlock, secondBlock, observations);
+                    return null;
+                });
+            }
+        }
+        try {
+            for (Future<Void> tile : executor.invokeAll(tiles)) {
+                tile.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Correlation tile failed", e.getCause());
+        }
+        return CorrelationMatrix.fromCenteredProducts(symbols, observations, products);
+    }
+
+    public RollingCorrelation rolling(AlignedSeries aligned, int window) {
+        RollingCorrelation rolling = new RollingCorrelation(aligned.getSymbols(), window);
+        double[][] returns = aligned.differences();
+        double[] row = new double[returns.length];
+        for (int t = Math.max(0, aligned.size() - 1 - window); t < aligned.size() - 1; t++) {
+            for (int symbol = 0; symbol < returns.length; symbol++) {
+                row[symbol] = returns[symbol][t];
+            }
+            rolling.append(row);
+        }
+        return rolling;
+    }
+
+    // Upper triangle of products for every pair between two symbol blocks
+    private void sumTile(double[][] centered, double[] products, int firstBlock, int secondBlock, int observations) {
+        int n = centered.length;
+        int firstEnd = Math.min(n, firstBlock + SYMBOL_BLOCK);
+        int secondEnd = Math.min(n, secondBlock + SYMBOL_BLOCK);
+        for (int from = 0; from < observations; from += TIME_BLOCK) {
+            int to = Math.min(observations, from + TIME_BLOCK);
+            for (int i = firstBlock; i < firstEnd; i++) {
+                for (int j = Math.max(i, secondBlock); j < secondEnd; j++) {
+                    products[i * n + j] += kernels.dot(centered[i], centered[j], from, to);
+                }
+            }
+        }
+    }
+
+    // Correlations of the intraday closes in Data/: [data directory]
+    public static void main(String[] args) throws Exception {
+        Path directory = Paths.get(args.length > 0 ? args[0] : "src/main/java/za/co/wethinkcode/TradeQuery/Data");
+        List<OhlcvSeries> series = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*_(data_intra_day).json")) {
+            for (Path file : files) {
+                series.add(AlphaVantageSeriesLoader.load(file));
+            }
+        }
+        CorrelationMatrix matrix = new CorrelationEngine().fullHistory(series);
+        System.out.println(matrix.getObservations() + " shared returns");
+        System.out.println(matrix);
+    }
+}
@@ -0,0 +1,96 @@
+package za.co.wethinkcode.TradeQuery.CorrelationModule;
+
+import java.util.List;
+
+/**
+ * Sample covariance and Pearson correlation of every pair of symbols, each stored as a
+ * full row major n by n array. A symbol whose returns never change has NaN correlations.
+ */
+public final class CorrelationMatrix {
+
+    private final List<String> symbols;
+    private final int observations;
+    private final double[] covariance;
+    private final double[] correlation;
+
+    CorrelationMatrix(List<String> symbols, int observations, double[] covariance) {
+        int n = symbols.size();
+        this.symbols = List.copyOf(symbols);
+        this.observations = observations;
+        this.covariance = covariance;
+        this.correlation = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                double scale = Math.sqrt(covariance[i * n + i] * covariance[j * n + j]);
+                correlation[i * n + j] = scale == 0 ? Double.NaN : covariance[i * n + j] / scale;
+            }
+        }
+    }
+
+    // Scales the sums of centered products by 1 / (observations - 1)
+    static CorrelationMatrix fromCenteredProducts(List<String> symbols, int observations, double[] products) {
+        double scale = 1.0 / (observations - 1);
+        int n = symbols.size();
+        double[] covariance = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            for (int j = i; j < n; j++) {
+                double value = products[i * n + j] * scale;
+                covariance[i * n + j] = value;
+                covariance[j * n + i] = value;
+            }
+        }
+        return new CorrelationMatrix(symbols, observations, covariance);
+    }
+
+    public List<String> getSymbols() {
+        return symbols;
+    }
+
+    public int size() {
+        return symbols.size();
+    }
+
+    // Number of returns the matrix was computed from
+    public int getObservations() {
+        return observations;
+    }
+
+    public double getCovariance(int first, int second) {
+        return covariance[first * size() + second];
+    }
+
+    public double getCorrelation(int first, int second) {
+        return correlation[first * size() + second];
+    }
+
+    public double getCovariance(String first, String second) {
+        return getCovariance(indexOf(first), indexOf(second));
+    }
+
+    public double getCorrelation(String first, String second) {
+        return getCorrelation(indexOf(first), indexOf(second));
+    }
+
+    private int indexOf(String symbol) {
+        int index = symbols.indexOf(symbol);
+        if (index < 0) {
+            throw new IllegalArgumentException("No symbol " + symbol);
+        }
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder table = new StringBuilder(String.format("%-8s", ""));
+        for (String symbol : symbols) {
+            table.append(String.format("%9s", symbol));
+        }
+        for (int i = 0; i < size(); i++) {
+            table.append(String.format("%n%-8s", symbols.get(i)));
+            for (int j = 0; j < size(); j++) {
+                table.append(String.format("%9.4f", getCorrelation(i, j)));
+            }
+        }
+        return table.toString();
+    }
+}
@@ -0,0 +1,111 @@
+package za.co.wethinkcode.TradeQuery.CorrelationModule;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Covariance and correlation over the last window returns, updated in O(n²) per new row
+ * of n symbols' returns. Running sums of each symbol and of each pair's products are kept,
+ * and the row leaving the window is read back from a ring and subtracted. The sums are
+ * re-added from the ring once per lap, so rounding error does not build up.
+ *
+ * The sums are of each value less a fixed reference per symbol, the first row and then the
+ * window mean at each lap. Raw products of values around 1e5 are around 1e10, and taking
+ * the mean's share back off them would cancel most of the digits a small spread needs;
+ * shifted values stay near zero, so the covariance keeps the precision of a two pass one.
+ */
+public class RollingCorrelation {
+
+    private final List<String> symbols;
+    private final int window;
+    private final int n;
+    private final double[][] ring;
+    private final double[] shift;
+    private final double[] sums;
+    private final double[] products;
+    private int position;
+    private int count;
+
+    public RollingCorrelation(List<String> symbols, int window) {
+        if (window < 2) {
+            throw new IllegalArgumentException("Window must be at least 2");
+        }
+        this.symbols = List.copyOf(symbols);
+        this.window = window;
+        this.n = symbols.size();
+        this.ring = new double[window][n];
+        this.shift = new double[n];
+        this.sums = new double[n];
+        this.products = new double[n * n];
+    }
+
+    // One return per symbol, in the order of the symbols
+    public void append(double[] returns) {
+        if (returns.length != n) {
+            throw new IllegalArgumentException("Expected " + n + " returns");
+        }
+        if (count == 0) {
+            System.arraycopy(returns, 0, shift, 0, n);
+        }
+        double[] evicted = ring[position];
+        boolean full = count == window;
+        if (full) {
+            update(evicted, -1);
+        }
+        System.arraycopy(returns, 0, evicted, 0, n);
+        position = (position + 1) % window;
+        count = Math.min(window, count + 1);
+        if (full && position == 0) {
+            resum();
+        } else {
+            update(evicted, 1);
+        }
+    }
+
+    public boolean isReady() {
+        return count == window;
+    }
+
+    public int getWindow() {
+        return window;
+    }
+
+    // Matrix of the returns currently in the window
+    public CorrelationMatrix matrix() {
+        if (count < 2) {
+            throw new IllegalStateException("At least two returns are needed for a covariance");
+        }
+        double[] centered = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            for (int j = i; j < n; j++) {
+                centered[i * n + j] = products[i * n + j] - sums[i] * sums[j] / count;
+            }
+        }
+        return CorrelationMatrix.fromCenteredProducts(symbols, count, centered);
+    }
+
+    private void update(double[] row, int sign) {
+        for (int i = 0; i < n; i++) {
+            double value = sign * (row[i] - shift[i]);
+            sums[i] += value;
+            int offset = i * n;
+            for (int j = i; j < n; j++) {
+                products[offset + j] += value * (row[j] - shift[j]);
+            }
+        }
+    }
+
+    private void resum() {
+        Arrays.fill(shift, 0);
+        for (double[] row : ring) {
+            for (int i = 0; i < n; i++) {
+                shift[i] += row[i] / window;
+            }
+        }
+        Arrays.fill(sums, 0);
+        Arrays.fill(products, 0);
+        for (double[] row : ring) {
+            update(row, 1);
+        }
+    }
+}
@@ -0,0 +1,491 @@
+package za.co.wethinkcode.TradeQuery.DataModule;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+import za.co.wethinkcode.TradeQuery.MetricsModule.Metrics;
+import za.co.wethinkcode.TradeQuery.MetricsModule.MetricsSpan;
+import za.co.wethinkcode.TradeQuery.MetricsModule.PipelineStage;
+
+/**
+ * Streaming loader for the Alpha Vantage style files in Data/. The file is memory mapped
+ * and scanned once at byte level straight into columnar arrays: timestamps become epoch
+ * seconds and prices are parsed without creating a String or a boxed value per field.
+ * Fields that were not requested are skipped without being parsed. Bars with a malformed
+ * timestamp, a malformed or empty value, or a requested field missing are dropped and
+ * counted rather than failing the whole file. A truncated or structurally broken file
+ * fails with an IOException naming the byte offset where parsing stopped.
+ */
+public class AlphaVantageSeriesLoader {
+
+    private static final byte[] META_DATA_KEY = "Meta Data".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TIME_SERIES_KEY = "Time Series".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[][] FIELD_KEYS = new byte[SeriesField.values().length][];
+    private static final double[] POWERS_OF_TEN = new double[23];
+    // Mantissas up to 2^53 and powers up to 10^22 are exact, so one division rounds correctly
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    // Rough size of one pretty printed bar, used to presize the columns
+    private static final int BYTES_PER_ROW_ESTIMATE = 150;
+    // Offsets are looked up once per quarter hour of local time
+    private static final int OFFSET_CACHE_SECONDS = 900;
+
+    static {
+        for (SeriesField field : SeriesField.values()) {
+            FIELD_KEYS[field.ordinal()] = field.jsonKey().getBytes(StandardCharsets.US_ASCII);
+        }
+        POWERS_OF_TEN[0] = 1.0;
+        for (int n = 1; n < POWERS_OF_TEN.length; n++) {
+            POWERS_OF_TEN[n] = POWERS_OF_TEN[n - 1] * 10.0;
+        }
+    }
+
+    public static OhlcvSeries load(Path file) throws IOException {
+        return load(file, EnumSet.allOf(SeriesField.class));
+    }
+
+    public static OhlcvSeries load(Path file, Set<SeriesField> fields) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             MetricsSpan span = Metrics.span(PipelineStage.LOAD, channel.size())) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            Parser parser = new Parser(buffer, fields);
+            parser.parseDocument();
+            String symbol = parser.symbol != null ? parser.symbol : symbolFromFileName(file);
+            return parser.toSeries(symbol);
+        }
+    }
+
+    private static String symbolFromFileName(Path file) {
+        String name = file.getFileName().toString();
+        int end = name.indexOf('_');
+        return end > 0 ? name.substring(0, end) : name;
+    }
+
+    private static final class Parser {
+        private final ByteBuffer buffer;
+        private final int limit;
+        private final boolean[] selected = new boolean[SeriesField.values().length];
+        private int position;
+        private int tokenStart;
+        private int tokenEnd;
+
+        private String symbol;
+        private String interval;
+        private String timeZone;
+        private int size;
+        private int skippedRows;
+        private boolean rowValid;
+        // One bit per selected field, and the selected fields seen in the current bar
+        private int selectedFields;
+        private int seenFields;
+        private long[] timestamps;
+        private final double[][] columns = new double[SeriesField.values().length][];
+
+        private Parser(ByteBuffer buffer, Set<SeriesField> fields) {
+            this.buffer = buffer;
+            this.limit = buffer.limit();
+            int capacity = limit / BYTES_PER_ROW_ESTIMATE + 16;
+            this.timestamps = new long[capacity];
+            for (SeriesField field : fields) {
+                selected[field.ordinal()] = true;
+                selectedFields |= 1 << field.ordinal();
+                columns[field.ordinal()] = new double[capacity];
+            }
+        }
+
+        private void parseDocument() throws IOException {
+            expect('{');
+            while (peek() != '}') {
+                readString();
+                expect(':');
+                if (tokenEquals(META_DATA_KEY)) {
+                    parseMetaData();
+                } else if (tokenStartsWith(TIME_SERIES_KEY)) {
+                    if (interval == null) {
+                        interval = intervalFromSeriesKey();
+                    }
+                    parseSeries();
+                } else {
+                    skipValue();
+                }
+                skipComma();
+            }
+        }
+
+        private void parseMetaData() throws IOException {
+            expect('{');
+            while (peek() != '}') {
+                readString();
+                String key = tokenString();
+                expect(':');
+                readString();
+                if (key.endsWith("Symbol")) {
+                    symbol = tokenString();
+                } else if (key.endsWith("Interval")) {
+                    interval = tokenString();
+                } else if (key.endsWith("Time Zone")) {
+                    timeZone = tokenString();
+                }
+                skipComma();
+            }
+            position++;
+        }
+
+        private void parseSeries() throws IOException {
+            expect('{');
+            while (peek() != '}') {
+                readString();
+                if (size == timestamps.length) {
+                    grow();
+                }
+                rowValid = true;
+                seenFields = 0;
+                timestamps[size] = parseLocalEpochSeconds(tokenStart, tokenEnd);
+                expect(':');
+                expect('{');
+                while (peek() != '}') {
+                    readString();
+                    int field = fieldIndex();
+                    expect(':');
+                    if (field >= 0) {
+                        readNumberToken();
+                        columns[field][size] = parseDouble(tokenStart, tokenEnd);
+                        seenFields |= 1 << field;
+                    } else {
+                        skipValue();
+                    }
+                    skipComma();
+                }
+                position++;
+                if (rowValid && seenFields == selectedFields) {
+                    size++;
+                } else {
+                    clearRow();
+                    skippedRows++;
+                }
+                skipComma();
+            }
+            position++;
+        }
+
+        private int fieldIndex() {
+            for (int field = 0; field < FIELD_KEYS.length; field++) {
+                if (selected[field] && tokenEquals(FIELD_KEYS[field])) {
+                    return field;
+                }
+            }
+            return -1;
+        }
+
+        private void clearRow() {
+            for (double[] column : columns) {
+                if (column != null) {
+                    column[size] = 0.0;
+                }
+            }
+        }
+
+        private OhlcvSeries toSeries(String symbol) {
+            long[] times = Arrays.copyOf(timestamps, size);
+            double[][] trimmed = new double[columns.length][];
+            for (int field = 0; field < columns.length; field++) {
+                if (columns[field] != null) {
+                    trimmed[field] = Arrays.copyOf(columns[field], size);
+                }
+            }
+            String zone = timeZone != null ? timeZone : "UTC";
+            toUtc(times, ZoneId.of(zone).getRules());
+            orderAscending(times, trimmed);
+            return new OhlcvSeries(symbol, interval != null ? interval : "unknown", zone, times, trimmed, skippedRows);
+        }
+
+        private String intervalFromSeriesKey() {
+            String key = tokenString();
+            int open = key.indexOf('(');
+            int close = key.indexOf(')', open + 1);
+            return open >= 0 && close > open ? key.substring(open + 1, close).toLowerCase() : null;
+        }
+
+        private void grow() {
+            int capacity = timestamps.length * 2;
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            for (int field = 0; field < columns.length; field++) {
+                if (columns[field] != null) {
+                    columns[field] = Arrays.copyOf(columns[field], capacity);
+                }
+            }
+        }
+
+        // Tokenising
+
+        private byte peek() throws IOException {
+            while (position < limit) {
+                byte current = buffer.get(position);
+                if (current != ' ' && current != '\n' && current != '\r' && current != '\t') {
+                    return current;
+                }
+                position++;
+            }
+            throw new IOException("Unexpected end of input at byte " + position);
+        }
+
+        private void expect(char expected) throws IOException {
+            if (peek() != expected) {
+                throw new IOException("Expected '" + expected + "' at byte " + position);
+            }
+            position++;
+        }
+
+        private void skipComma() throws IOException {
+            if (peek() == ',') {
+                position++;
+            }
+        }
+
+        private void readString() throws IOException {
+            expect('"');
+            tokenStart = position;
+            while (position < limit && buffer.get(position) != '"') {
+                if (buffer.get(position) == '\\') {
+                    position++;
+                }
+                position++;
+            }
+            if (position >= limit) {
+                throw new IOException("Unterminated string starting at byte " + (tokenStart - 1));
+            }
+            tokenEnd = position;
+            position++;
+        }
+
+        // Numbers arrive quoted in these files but bare JSON numbers are accepted too
+        private void readNumberToken() throws IOException {
+            if (peek() == '"') {
+                readString();
+                return;
+            }
+            tokenStart = position;
+            while (position < limit && isNumberByte(buffer.get(position))) {
+                position++;
+            }
+            tokenEnd = position;
+        }
+
+        private void skipValue() throws IOException {
+            byte current = peek();
+            if (current == '"') {
+                readString();
+            } else if (current == '{' || current == '[') {
+                int depth = 0;
+                do {
+                    if (position >= limit) {
+                        throw new IOException("Unterminated value at byte " + position);
+                    }
+                    current = buffer.get(position);
+                    if (current == '"') {
+                        readString();
+                        continue;
+                    }
+                    if (current == '{' || current == '[') {
+                        depth++;
+                    } else if (current == '}' || current == ']') {
+                        depth--;
+                    }
+                    position++;
+                } while (depth > 0);
+            } else {
+                while (position < limit && buffer.get(position) != ',' && buffer.get(position) != '}' && buffer.get(position) != ']') {
+                    position++;
+                }
+            }
+        }
+
+        private boolean tokenEquals(byte[] expected) {
+            return tokenEnd - tokenStart == expected.length && tokenStartsWith(expected);
+        }
+
+        private boolean tokenStartsWith(byte[] prefix) {
+            if (tokenEnd - tokenStart < prefix.length) {
+                return false;
+            }
+            for (int n = 0; n < prefix.length; n++) {
+                if (buffer.get(tokenStart + n) != prefix[n]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private String tokenString() {
+            byte[] bytes = new byte[tokenEnd - tokenStart];
+            buffer.get(tokenStart, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        // Values
+
+        private double parseDouble(int start, int end) {
+            int index = start;
+            boolean negative = false;
+            if (index < end && (buffer.get(index) == '-' || buffer.get(index) == '+')) {
+                negative = buffer.get(index) == '-';
+                index++;
+            }
+            long mantissa = 0;
+            int fractionDigits = 0;
+            boolean fraction = false;
+            boolean digits = false;
+            for (; index < end; index++) {
+                byte current = buffer.get(index);
+                if (current == '.' && !fraction) {
+                    fraction = true;
+                } else if (current >= '0' && current <= '9' && mantissa < MAX_EXACT_MANTISSA) {
+                    digits = true;
+                    mantissa = mantissa * 10 + (current - '0');
+                    if (fraction) {
+                        fractionDigits++;
+                    }
+                } else {
+                    return parseSlow(start, end);
+                }
+            }
+            // An empty token, a lone sign or a lone point is left to parseSlow to reject
+            if (!digits || mantissa > MAX_EXACT_MANTISSA || fractionDigits >= POWERS_OF_TEN.length) {
+                return parseSlow(start, end);
+            }
+            double value = mantissa / POWERS_OF_TEN[fractionDigits];
+            return negative ? -value : value;
+        }
+
+        private double parseSlow(int start, int end) {
+            try {
+                return Double.parseDouble(tokenStringAt(start, end));
+            } catch (NumberFormatException e) {
+                rowValid = false;
+                return Double.NaN;
+            }
+        }
+
+        private String tokenStringAt(int start, int end) {
+            byte[] bytes = new byte[end - start];
+            buffer.get(start, bytes);
+            return new String(bytes, StandardCharsets.US_ASCII);
+        }
+
+        // "yyyy-MM-dd" or "yyyy-MM-dd HH:mm[:ss]" read as if the local time were UTC
+        private long parseLocalEpochSeconds(int start, int end) {
+            if (end - start < 10) {
+                rowValid = false;
+                return 0;
+            }
+            int year = digits(start, 4);
+            int month = digits(start + 5, 2);
+            int day = digits(start + 8, 2);
+            long seconds = daysFromCivil(year, month, day) * 86400L;
+            if (end - start >= 16) {
+                seconds += digits(start + 11, 2) * 3600L + digits(start + 14, 2) * 60L;
+            }
+            if (end - start >= 19) {
+                seconds += digits(start + 17, 2);
+            }
+            return seconds;
+        }
+
+        private int digits(int start, int count) {
+            int value = 0;
+            for (int n = 0; n < count; n++) {
+                byte current = buffer.get(start + n);
+                if (current < '0' || current > '9') {
+                    rowValid = false;
+                    return 0;
+                }
+                value = value * 10 + (current - '0');
+            }
+            return value;
+        }
+
+        private static boolean isNumberByte(byte value) {
+            return value >= '0' && value <= '9' || value == '-' || value == '+' || value == '.' || value == 'e' || value == 'E';
+        }
+    }
+
+    // Days since 1970-01-01 for a proleptic Gregorian date
+    static long daysFromCivil(int year, int month, int day) {
+        year -= month <= 2 ? 1 : 0;
+        int era = (year >= 0 ? year : year - 399) / 400;
+        int yearOfEra = year - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - 719468;
+    }
+
+    private static void toUtc(long[] localSeconds, ZoneRules rules) {
+        long cachedKey = Long.MIN_VALUE;
+        int cachedOffset = 0;
+        for (int n = 0; n < localSeconds.length; n++) {
+            long key = Math.floorDiv(localSeconds[n], OFFSET_CACHE_SECONDS);
+            if (key != cachedKey) {
+                LocalDateTime local = LocalDateTime.ofEpochSecond(key * OFFSET_CACHE_SECONDS, 0, ZoneOffset.UTC);
+                cachedOffset = rules.getOffset(local).getTotalSeconds();
+                cachedKey = key;
+            }
+            localSeconds[n] -= cachedOffset;
+        }
+    }
+
+    // The files list the newest bar first; columns are returned oldest first
+    private static void orderAscending(long[] timestamps, double[][] columns) {
+        int size = timestamps.length;
+        boolean ascending = true;
+        boolean descending = true;
+        for (int n = 1; n < size; n++) {
+            ascending &= timestamps[n - 1] <= timestamps[n];
+            descending &= timestamps[n - 1] >= timestamps[n];
+        }
+        if (ascending) {
+            return;
+        }
+        if (descending) {
+            for (int low = 0, high = size - 1; low < high; low++, high--) {
+                long time = timestamps[low];
+                timestamps[low] = timestamps[high];
+                timestamps[high] = time;
+                for (double[] column : columns) {
+                    if (column != null) {
+                        double value = column[low];
+                        column[low] = column[high];
+                        column[high] = value;
+                    }
+                }
+            }
+            return;
+        }
+        Integer[] order = new Integer[size];
+        for (int n = 0; n < size; n++) {
+            order[n] = n;
+        }
+        long[] original = timestamps.clone();
+        Arrays.sort(order, (first, second) -> Long.compare(original[first], original[second]));
+        for (int n = 0; n < size; n++) {
+            timestamps[n] = original[order[n]];
+        }
+        for (double[] column : columns) {
+            if (column != null) {
+                double[] values = column.clone();
+                for (int n = 0; n < size; n++) {
+                    column[n] = values[order[n]];
+                }
+            }
+        }
+    }
+}
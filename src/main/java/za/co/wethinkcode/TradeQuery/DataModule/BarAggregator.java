@@ -0,0 +1,229 @@
+package za.co.wethinkcode.TradeQuery.DataModule;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Streaming OHLCV resampler. Bars are added in ascending time order and folded into the
+ * open bucket: first open, highest high, lowest low, last close and summed volume. When
+ * a bar falls past the open bucket, the bucket is appended to the completed bars, so the
+ * aggregator holds one bucket of state however long the stream runs.
+ *
+ * Buckets follow the local clock of the series' time zone: daily bars run from local
+ * midnight to midnight, and minute intervals that divide a day start at local midnight.
+ * A completed bar is stamped with the epoch second of its bucket's local start, taken at
+ * the offset in force at that local time. With intervals of whole hours, an hour repeated
+ * when clocks go back falls into one bucket; shorter intervals give that hour's buckets
+ * twice, once at each offset. The UTC offset of a bar is only looked up again when a bar
+ * crosses the zone's next transition.
+ *
+ * The same instance keeps accepting bars after {@link #toSeries}, so a live feed can add
+ * each new minute as it arrives and re-read the coarser series.
+ */
+public class BarAggregator {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final BarInterval interval;
+    private final ZoneId zone;
+    private final ZoneRules rules;
+    private final Set<SeriesField> fields;
+    private final String symbol;
+
+    // Completed bars
+    private long[] timestamps = new long[INITIAL_CAPACITY];
+    private final double[][] columns = new double[SeriesField.values().length][INITIAL_CAPACITY];
+    private int size;
+
+    // Open bucket
+    private boolean open;
+    private long bucket;
+    private long bucketStart;
+    private double bucketOpen;
+    private double bucketHigh;
+    private double bucketLow;
+    private double bucketClose;
+    private double bucketVolume;
+    private long lastTimestamp = Long.MIN_VALUE;
+
+    // UTC offset in force between offsetFrom (inclusive) and offsetUntil (exclusive)
+    private int offsetSeconds;
+    private long offsetFrom = Long.MAX_VALUE;
+    private long offsetUntil = Long.MIN_VALUE;
+
+    public BarAggregator(String symbol, BarInterval interval, ZoneId zone) {
+        this(symbol, interval, zone, EnumSet.allOf(SeriesField.class));
+    }
+
+    // fields are the columns the resampled series will carry
+    public BarAggregator(String symbol, BarInterval interval, ZoneId zone, Set<SeriesField> fields) {
+        this.symbol = Objects.requireNonNull(symbol);
+        this.interval = interval;
+        this.zone = zone;
+        this.rules = zone.getRules();
+        this.fields = EnumSet.copyOf(fields);
+    }
+
+    // Resamples a whole series in one pass, dropping a trailing partial bucket
+    public static OhlcvSeries resample(OhlcvSeries series, BarInterval interval) {
+        EnumSet<SeriesField> fields = EnumSet.noneOf(SeriesField.class);
+        for (SeriesField field : SeriesField.values()) {
+            if (series.has(field)) {
+                fields.add(field);
+            }
+        }
+        BarAggregator aggregator = new BarAggregator(series.getSymbol(), interval, ZoneId.of(series.getTimeZone()), fields);
+        aggregator.addAll(series);
+        return aggregator.toSeries(false);
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public BarInterval getInterval() {
+        return interval;
+    }
+
+    // Completed bars, not counting the open bucket
+    public int size() {
+        return size;
+    }
+
+    public boolean hasOpenBar() {
+        return open;
+    }
+
+    /**
+     * Folds one bar into the aggregation. Returns true when the bar closed the previous
+     * bucket, so one more completed bar is available. Columns outside this aggregator's
+     * fields may be passed as NaN.
+     */
+    public boolean add(long timestamp, double openPrice, double high, double low, double close, double volume) {
+        if (timestamp <= lastTimestamp) {
+            throw new IllegalArgumentException("Bars must be added in ascending time order");
+        }
+        lastTimestamp = timestamp;
+        if (timestamp < offsetFrom || timestamp >= offsetUntil) {
+            refreshOffset(timestamp);
+        }
+        long localSecond = timestamp + offsetSeconds;
+        long bar = Math.floorDiv(localSecond, interval.getSeconds());
+
+        if (open && bar == bucket) {
+            bucketHigh = Math.max(bucketHigh, high);
+            bucketLow = Math.min(bucketLow, low);
+            bucketClose = close;
+            bucketVolume += volume;
+            return false;
+        }
+        boolean completed = open;
+        if (open) {
+            append(bucketStart, bucketOpen, bucketHigh, bucketLow, bucketClose, bucketVolume);
+        }
+        open = true;
+        bucket = bar;
+        bucketStart = localStartEpochSecond(bar * interval.getSeconds());
+        bucketOpen = openPrice;
+        bucketHigh = high;
+        bucketLow = low;
+        bucketClose = close;
+        bucketVolume = volume;
+        return completed;
+    }
+
+    // Adds every bar of a finer series of the same symbol; the series' interval must divide this one
+    public void addAll(OhlcvSeries series) {
+        if (!series.getSymbol().equals(symbol)) {
+            throw new IllegalArgumentException("Cannot add " + series.getSymbol() + " bars to " + symbol + " bars");
+        }
+        if (series.getInterval().endsWith("min") && !interval.isMultipleOf(BarInterval.parse(series.getInterval()))) {
+            throw new IllegalArgumentException("Cannot resample " + series.getInterval() + " bars into " + interval);
+        }
+        double[] opens = columnOrNull(series, SeriesField.OPEN);
+        double[] highs = columnOrNull(series, SeriesField.HIGH);
+        double[] lows = columnOrNull(series, SeriesField.LOW);
+        double[] closes = columnOrNull(series, SeriesField.CLOSE);
+        double[] volumes = columnOrNull(series, SeriesField.VOLUME);
+        for (int n = 0; n < series.size(); n++) {
+            add(series.timestamp(n),
+                opens == null ? Double.NaN : opens[n],
+                highs == null ? Double.NaN : highs[n],
+                lows == null ? Double.NaN : lows[n],
+                closes == null ? Double.NaN : closes[n],
+                volumes == null ? Double.NaN : volumes[n]);
+        }
+    }
+
+    /**
+     * The completed bars as a series, copied so later additions do not change it. With
+     * includeOpenBar the bucket still being filled is added as the last bar.
+     */
+    public OhlcvSeries toSeries(boolean includeOpenBar) {
+        int count = size + (includeOpenBar && open ? 1 : 0);
+        long[] seriesTimestamps = Arrays.copyOf(timestamps, count);
+        double[][] seriesColumns = new double[SeriesField.values().length][];
+        for (SeriesField field : fields) {
+            seriesColumns[field.ordinal()] = Arrays.copyOf(columns[field.ordinal()], count);
+        }
+        if (count > size) {
+            seriesTimestamps[size] = bucketStart;
+            double[] openBar = {bucketOpen, bucketHigh, bucketLow, bucketClose, bucketVolume};
+            for (SeriesField field : fields) {
+                seriesColumns[field.ordinal()][size] = openBar[field.ordinal()];
+            }
+        }
+        return new OhlcvSeries(symbol, interval.getLabel(), zone.getId(), seriesTimestamps, seriesColumns);
+    }
+
+    private void append(long timestamp, double openPrice, double high, double low, double close, double volume) {
+        if (size == timestamps.length) {
+            int capacity = size * 2;
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            for (int field = 0; field < columns.length; field++) {
+                columns[field] = Arrays.copyOf(columns[field], capacity);
+            }
+        }
+        timestamps[size] = timestamp;
+        columns[SeriesField.OPEN.ordinal()][size] = openPrice;
+        columns[SeriesField.HIGH.ordinal()][size] = high;
+        columns[SeriesField.LOW.ordinal()][size] = low;
+        columns[SeriesField.CLOSE.ordinal()][size] = close;
+        columns[SeriesField.VOLUME.ordinal()][size] = volume;
+        size++;
+    }
+
+    private void refreshOffset(long timestamp) {
+        Instant instant = Instant.ofEpochSecond(timestamp);
+        offsetSeconds = rules.getOffset(instant).getTotalSeconds();
+        if (rules.isFixedOffset()) {
+            offsetFrom = Long.MIN_VALUE;
+            offsetUntil = Long.MAX_VALUE;
+            return;
+        }
+        ZoneOffsetTransition previous = rules.previousTransition(instant.plusSeconds(1));
+        ZoneOffsetTransition next = rules.nextTransition(instant);
+        offsetFrom = previous == null ? Long.MIN_VALUE : previous.toEpochSecond();
+        offsetUntil = next == null ? Long.MAX_VALUE : next.toEpochSecond();
+    }
+
+    // A local start skipped by the clocks going forward resolves to the first instant after
+    // the gap, and one repeated when they go back prefers the offset of the opening bar
+    private long localStartEpochSecond(long localStart) {
+        LocalDateTime start = LocalDateTime.ofEpochSecond(localStart, 0, ZoneOffset.UTC);
+        return ZonedDateTime.ofLocal(start, zone, ZoneOffset.ofTotalSeconds(offsetSeconds)).toEpochSecond();
+    }
+
+    private static double[] columnOrNull(OhlcvSeries series, SeriesField field) {
+        return series.has(field) ? series.column(field) : null;
+    }
+}
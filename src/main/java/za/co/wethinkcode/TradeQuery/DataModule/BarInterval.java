@@ -0,0 +1,79 @@
+package za.co.wethinkcode.TradeQuery.DataModule;
+
+/**
+ * Width of the bars a {@link BarAggregator} produces: a whole number of minutes, or a
+ * calendar day. The labels match the interval names the loader reads from the series
+ * files, such as {@code 5min} or {@code daily}.
+ */
+public final class BarInterval {
+
+    public static final int SECONDS_PER_DAY = 86_400;
+
+    public static final BarInterval ONE_MINUTE = ofMinutes(1);
+    public static final BarInterval FIVE_MINUTES = ofMinutes(5);
+    public static final BarInterval FIFTEEN_MINUTES = ofMinutes(15);
+    public static final BarInterval ONE_HOUR = ofMinutes(60);
+    public static final BarInterval DAILY = new BarInterval(SECONDS_PER_DAY, "daily");
+
+    private final int seconds;
+    private final String label;
+
+    private BarInterval(int seconds, String label) {
+        this.seconds = seconds;
+        this.label = label;
+    }
+
+    public static BarInterval ofMinutes(int minutes) {
+        if (minutes < 1) {
+            throw new IllegalArgumentException("Minutes must be at least 1");
+        }
+        if (minutes > SECONDS_PER_DAY / 60) {
+            throw new IllegalArgumentException("Intervals longer than a day are not supported");
+        }
+        return new BarInterval(minutes * 60, minutes + "min");
+    }
+
+    // Reads "5min" or "daily" as written in the series metadata
+    public static BarInterval parse(String interval) {
+        String text = interval.trim().toLowerCase();
+        if (text.equals("daily")) {
+            return DAILY;
+        }
+        if (text.endsWith("min")) {
+            try {
+                return ofMinutes(Integer.parseInt(text.substring(0, text.length() - 3)));
+            } catch (NumberFormatException e) {
+                // Falls through to the error below
+            }
+        }
+        throw new IllegalArgumentException("Unknown interval: " + interval);
+    }
+
+    public int getSeconds() {
+        return seconds;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    // True when every bar of this interval is made of whole bars of the other
+    public boolean isMultipleOf(BarInterval other) {
+        return seconds % other.seconds == 0;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof BarInterval interval && seconds == interval.seconds;
+    }
+
+    @Override
+    public int hashCode() {
+        return Integer.hashCode(seconds);
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
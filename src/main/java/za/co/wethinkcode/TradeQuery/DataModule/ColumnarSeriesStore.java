@@ -0,0 +1,189 @@
+package za.co.wethinkcode.TradeQuery.DataModule;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Native on-disk format for price series. A file is a 128 byte header followed by fixed
+ * width little endian columns: one long column of epoch seconds and one double column
+ * per stored field, each {@code rowCount} values long.
+ *
+ * <pre>
+ * offset  size  content
+ *      0     4  magic "TQCS"
+ *      4     4  format version
+ *      8     8  row count
+ *     16     4  bit mask of stored SeriesField ordinals
+ *     20    12  reserved
+ *     32    32  symbol, UTF-8, zero padded
+ *     64    16  interval
+ *     80    32  time zone
+ *    112    16  reserved
+ * </pre>
+ *
+ * Files are opened with {@link FileChannel#map} and read through buffer views, so a
+ * series of any length opens in constant time.
+ */
+public class ColumnarSeriesStore {
+
+    public static final String EXTENSION = ".tqcs";
+
+    private static final int MAGIC = 0x53435154; // "TQCS" read little endian
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 128;
+    private static final int SYMBOL_OFFSET = 32;
+    private static final int SYMBOL_BYTES = 32;
+    private static final int INTERVAL_OFFSET = 64;
+    private static final int INTERVAL_BYTES = 16;
+    private static final int ZONE_OFFSET = 80;
+    private static final int ZONE_BYTES = 32;
+
+    public static void write(OhlcvSeries series, Path file) throws IOException {
+        int mask = 0;
+        int columnCount = 0;
+        for (SeriesField field : SeriesField.values()) {
+            if (series.has(field)) {
+                mask |= 1 << field.ordinal();
+                columnCount++;
+            }
+        }
+        long rows = series.size();
+        long length = HEADER_BYTES + rows * Long.BYTES * (1 + columnCount);
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Series for " + series.getSymbol() + " is too large for one mapped file");
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putLong(8, rows);
+            buffer.putInt(16, mask);
+            putText(buffer, SYMBOL_OFFSET, SYMBOL_BYTES, series.getSymbol());
+            putText(buffer, INTERVAL_OFFSET, INTERVAL_BYTES, series.getInterval());
+            putText(buffer, ZONE_OFFSET, ZONE_BYTES, series.getTimeZone());
+
+            buffer.position(HEADER_BYTES);
+            buffer.slice().order(ByteOrder.LITTLE_ENDIAN).asLongBuffer().put(series.timestamps());
+            long offset = HEADER_BYTES + rows * Long.BYTES;
+            for (SeriesField field : SeriesField.values()) {
+                if (series.has(field)) {
+                    buffer.position((int) offset);
+                    buffer.slice().order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().put(series.column(field));
+                    offset += rows * Double.BYTES;
+                }
+            }
+            buffer.force();
+        }
+    }
+
+    public static MappedOhlcvSeries open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException(file + " is too short to be a series file");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException(file + " is not a series file");
+            }
+            if (buffer.getInt(4) != VERSION) {
+                throw new IOException(file + " has unsupported version " + buffer.getInt(4));
+            }
+            long rowCount = buffer.getLong(8);
+            int mask = buffer.getInt(16);
+            int columnCount = Integer.bitCount(mask);
+            if (channel.size() != HEADER_BYTES + rowCount * Long.BYTES * (1 + columnCount)) {
+                throw new IOException(file + " does not match the row count in its header");
+            }
+            int rows = (int) rowCount;
+
+            LongBuffer timestamps = view(buffer, HEADER_BYTES, rows).asLongBuffer();
+            DoubleBuffer[] columns = new DoubleBuffer[SeriesField.values().length];
+            long offset = HEADER_BYTES + rowCount * Long.BYTES;
+            for (SeriesField field : SeriesField.values()) {
+                if ((mask & 1 << field.ordinal()) != 0) {
+                    columns[field.ordinal()] = view(buffer, offset, rows).asDoubleBuffer();
+                    offset += rowCount * Double.BYTES;
+                }
+            }
+            return new MappedOhlcvSeries(
+                getText(buffer, SYMBOL_OFFSET, SYMBOL_BYTES),
+                getText(buffer, INTERVAL_OFFSET, INTERVAL_BYTES),
+                getText(buffer, ZONE_OFFSET, ZONE_BYTES),
+                timestamps,
+                columns
+            );
+        }
+    }
+
+    /**
+     * Converts every Alpha Vantage style series file in {@code dataDirectory} into a
+     * store file in {@code storeDirectory}, named after the source file. Files that are
+     * not series, such as the exchange rate files, are skipped.
+     */
+    public static List<Path> convertDirectory(Path dataDirectory, Path storeDirectory) throws IOException {
+        Files.createDirectories(storeDirectory);
+        List<Path> written = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dataDirectory, "*.json")) {
+            for (Path file : files) {
+                OhlcvSeries series;
+                try {
+                    series = AlphaVantageSeriesLoader.load(file);
+                } catch (IllegalStateException e) {
+                    continue;
+                }
+                String name = file.getFileName().toString();
+                Path target = storeDirectory.resolve(name.substring(0, name.length() - ".json".length()) + EXTENSION);
+                write(series, target);
+                written.add(target);
+            }
+        }
+        return written;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path dataDirectory = Paths.get(args.length > 0 ? args[0] : "src/main/java/za/co/wethinkcode/TradeQuery/Data");
+        Path storeDirectory = Paths.get(args.length > 1 ? args[1] : "data-store");
+        for (Path file : convertDirectory(dataDirectory, storeDirectory)) {
+            System.out.println("Wrote " + file);
+        }
+    }
+
+    private static ByteBuffer view(MappedByteBuffer buffer, long offset, int rows) {
+        return buffer.slice((int) offset, rows * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static void putText(ByteBuffer buffer, int offset, int width, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > width) {
+            throw new IllegalArgumentException("'" + text + "' is longer than " + width + " bytes");
+        }
+        buffer.put(offset, bytes);
+    }
+
+    private static String getText(ByteBuffer buffer, int offset, int width) {
+        int length = 0;
+        while (length < width && buffer.get(offset + length) != 0) {
+            length++;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,124 @@
+package za.co.wethinkcode.TradeQuery.DataModule;
+
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
+
+/**
+ * Read only view over a series written by {@link ColumnarSeriesStore}. Timestamps and
+ * columns are buffer views straight onto the mapped file, so reads, lookups and
+ * {@link #range(long, long)} slices do not copy or allocate per row.
+ */
+public class MappedOhlcvSeries {
+
+    private final String symbol;
+    private final String interval;
+    private final String timeZone;
+    private final LongBuffer timestamps;
+    private final DoubleBuffer[] columns;
+
+    MappedOhlcvSeries(String symbol, String interval, String timeZone, LongBuffer timestamps, DoubleBuffer[] columns) {
+        this.symbol = symbol;
+        this.interval = interval;
+        this.timeZone = timeZone;
+        this.timestamps = timestamps;
+        this.columns = columns;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public String getInterval() {
+        return interval;
+    }
+
+    public String getTimeZone() {
+        return timeZone;
+    }
+
+    public int size() {
+        return timestamps.limit();
+    }
+
+    public long timestamp(int index) {
+        return timestamps.get(index);
+    }
+
+    public boolean has(SeriesField field) {
+        return columns[field.ordinal()] != null;
+    }
+
+    public double get(SeriesField field, int index) {
+        return column(field).get(index);
+    }
+
+    // Fresh buffer positioned at zero, so callers may move it freely
+    public LongBuffer timestamps() {
+        return timestamps.duplicate();
+    }
+
+    public DoubleBuffer column(SeriesField field) {
+        DoubleBuffer column = columns[field.ordinal()];
+        if (column == null) {
+            throw new IllegalStateException(field + " was not stored for " + symbol);
+        }
+        return column.duplicate();
+    }
+
+    /**
+     * Index of the first bar at or after {@code epochSecond}, or {@link #size()} when
+     * every bar is earlier.
+     */
+    public int indexOf(long epochSecond) {
+        int low = 0;
+        int high = size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (timestamps.get(middle) < epochSecond) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    // Bars with from <= timestamp < to, sharing the mapped memory of this series
+    public MappedOhlcvSeries range(long fromEpochSecond, long toEpochSecond) {
+        int from = indexOf(fromEpochSecond);
+        int to = Math.max(from, indexOf(toEpochSecond));
+        return slice(from, to - from);
+    }
+
+    public MappedOhlcvSeries slice(int index, int length) {
+        if (index < 0 || length < 0 || index + length > size()) {
+            throw new IndexOutOfBoundsException("Slice " + index + "+" + length + " outside " + size() + " bars");
+        }
+        DoubleBuffer[] sliced = new DoubleBuffer[columns.length];
+        for (int field = 0; field < columns.length; field++) {
+            if (columns[field] != null) {
+                sliced[field] = columns[field].slice(index, length);
+            }
+        }
+        return new MappedOhlcvSeries(symbol, interval, timeZone, timestamps.slice(index, length), sliced);
+    }
+
+    // Heap copy, for code that works on OhlcvSeries arrays
+    public OhlcvSeries toSeries() {
+        long[] times = new long[size()];
+        timestamps.get(0, times);
+        double[][] copies = new double[columns.length][];
+        for (int field = 0; field < columns.length; field++) {
+            if (columns[field] != null) {
+                copies[field] = new double[size()];
+                columns[field].get(0, copies[field]);
+            }
+        }
+        return new OhlcvSeries(symbol, interval, timeZone, times, copies);
+    }
+
+    @Override
+    public String toString() {
+        return "MappedOhlcvSeries{symbol=" + symbol + ", interval=" + interval + ", size=" + size() + "}";
+    }
+}
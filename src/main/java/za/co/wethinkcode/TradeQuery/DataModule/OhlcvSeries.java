@@ -0,0 +1,100 @@
+package za.co.wethinkcode.TradeQuery.DataModule;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Columnar price series: epoch second timestamps in ascending order plus one double
+ * column per loaded {@link SeriesField}. Columns that were not requested are null.
+ */
+public class OhlcvSeries {
+
+    private final String symbol;
+    private final String interval;
+    private final String timeZone;
+    private final long[] timestamps;
+    private final double[][] columns;
+    private final int skippedRows;
+
+    public OhlcvSeries(String symbol, String interval, String timeZone, long[] timestamps, double[][] columns) {
+        this(symbol, interval, timeZone, timestamps, columns, 0);
+    }
+
+    public OhlcvSeries(String symbol, String interval, String timeZone, long[] timestamps, double[][] columns, int skippedRows) {
+        if (columns.length != SeriesField.values().length) {
+            throw new IllegalArgumentException("Expected one column slot per field");
+        }
+        for (double[] column : columns) {
+            if (column != null && column.length != timestamps.length) {
+                throw new IllegalArgumentException("Every column must have one value per timestamp");
+            }
+        }
+        this.symbol = symbol;
+        this.interval = interval;
+        this.timeZone = timeZone;
+        this.timestamps = timestamps;
+        this.columns = columns;
+        this.skippedRows = skippedRows;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public String getInterval() {
+        return interval;
+    }
+
+    public String getTimeZone() {
+        return timeZone;
+    }
+
+    // Bars the loader dropped because their timestamp or a value was malformed
+    public int getSkippedRows() {
+        return skippedRows;
+    }
+
+    public int size() {
+        return timestamps.length;
+    }
+
+    public long[] timestamps() {
+        return timestamps;
+    }
+
+    public long timestamp(int index) {
+        return timestamps[index];
+    }
+
+    public boolean has(SeriesField field) {
+        return columns[field.ordinal()] != null;
+    }
+
+    public double[] column(SeriesField field) {
+        double[] column = columns[field.ordinal()];
+        if (column == null) {
+            throw new IllegalStateException(field + " was not loaded for " + symbol);
+        }
+        return column;
+    }
+
+    public double get(SeriesField field, int index) {
+        return column(field)[index];
+    }
+
+    // Boxes a column for the BigDecimal statistics classes
+    public List<BigDecimal> decimalColumn(SeriesField field) {
+        double[] column = column(field);
+        List<BigDecimal> values = new ArrayList<>(column.length);
+        for (double value : column) {
+            values.add(BigDecimal.valueOf(value));
+        }
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return "OhlcvSeries{symbol=" + symbol + ", interval=" + interval + ", size=" + size() + "}";
+    }
+}
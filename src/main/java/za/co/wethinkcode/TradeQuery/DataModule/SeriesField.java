@@ -0,0 +1,23 @@
+package za.co.wethinkcode.TradeQuery.DataModule;
+
+/**
+ * The per-bar fields of the Alpha Vantage style series, with the key each one has
+ * in the JSON files.
+ */
+public enum SeriesField {
+    OPEN("1. open"),
+    HIGH("2. high"),
+    LOW("3. low"),
+    CLOSE("4. close"),
+    VOLUME("5. volume");
+
+    private final String jsonKey;
+
+    SeriesField(String jsonKey) {
+        this.jsonKey = jsonKey;
+    }
+
+    public String jsonKey() {
+        return jsonKey;
+    }
+}
@@ -0,0 +1,160 @@
+package za.co.wethinkcode.TradeQuery.ForecastModules;
+
+import java.nio.DoubleBuffer;
+
+import za.co.wethinkcode.TradeQuery.StatisticsModule.DoubleCentralTendency;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.DoubleDeviationAndDistribution;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.DoubleDifference;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.DoubleExpectation;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.TendencyFunction;
+
+/**
+ * Primitive counterpart of {@link ForecastBase}. Forecasts are written into a caller
+ * supplied {@code [lower, central, upper]} array; once the buffers have grown to the
+ * series length, {@link #setData(double[], int)} and the forecasts do not allocate.
+ * {@link #setData(DoubleBuffer)} reads a mapped column in place, see
+ * {@link za.co.wethinkcode.TradeQuery.DataModule.MappedOhlcvSeries}.
+ */
+public class DoubleForecastBase {
+
+    // Class Instances
+    private final DoubleDifference differenceInstance = new DoubleDifference(new double[0], 0);
+    private final DoubleCentralTendency tendencyInstance = new DoubleCentralTendency();
+    private final DoubleDeviationAndDistribution deviationDistrInstance;
+
+    // Probaility Bias
+    private int probailityBias = 0;
+
+    // Data parameters
+    private double[] posDifferenceData = new double[0];
+    private double[] negDifferenceData = new double[0];
+    private double[] absDifferenceData = new double[0];
+    private int differenceSize;
+    private int posDifferenceSize;
+    private int negDifferenceSize;
+
+    // Value parameters
+    private double fromValue;
+    private double negDiffProbability;
+    private double posDiffProbability;
+
+    public DoubleForecastBase(TendencyFunction tendencyFunction) {
+        this.deviationDistrInstance = new DoubleDeviationAndDistribution(tendencyInstance, tendencyFunction.of(tendencyInstance));
+        differenceInstance.setIncludeZero(false);
+    }
+
+    public DoubleForecastBase(TendencyFunction tendencyFunction, double[] dataList) {
+        this(tendencyFunction);
+        setData(dataList, dataList.length);
+    }
+
+    public void setData(double[] dataList, int size) {
+        if (size < 2) {
+            throw new IllegalArgumentException("At least two values are needed to forecast");
+        }
+        ensureCapacity(size - 1);
+        this.fromValue = dataList[size - 1];
+        differenceInstance.setData(dataList, size);
+        this.differenceSize = differenceInstance.absoluteDifference(absDifferenceData);
+        this.posDifferenceSize = differenceInstance.positiveDifference(posDifferenceData);
+        this.negDifferenceSize = differenceInstance.negativeDifference(negDifferenceData);
+        calculateProbailities();
+        applyBiasToProbability();
+    }
+
+    // Uses the values between the buffer's position and limit, without copying them first
+    public void setData(DoubleBuffer dataList) {
+        int start = dataList.position();
+        int size = dataList.remaining();
+        if (size < 2) {
+            throw new IllegalArgumentException("At least two values are needed to forecast");
+        }
+        ensureCapacity(size - 1);
+        int posCount = 0;
+        int negCount = 0;
+        double previous = dataList.get(start);
+        for (int n = 1; n < size; n++) {
+            double current = dataList.get(start + n);
+            double difference = current - previous;
+            absDifferenceData[n - 1] = Math.abs(difference);
+            if (difference > 0) {
+                posDifferenceData[posCount++] = difference;
+            } else if (difference < 0) {
+                negDifferenceData[negCount++] = difference;
+            }
+            previous = current;
+        }
+        this.fromValue = previous;
+        this.differenceSize = size - 1;
+        this.posDifferenceSize = posCount;
+        this.negDifferenceSize = negCount;
+        calculateProbailities();
+        applyBiasToProbability();
+    }
+
+    public void setProbabilityBias(int biasArgument){
+        this.probailityBias = biasArgument;
+        applyBiasToProbability();
+    }
+
+    public void setFromValue(double fromArg){
+        this.fromValue = fromArg;
+    }
+
+    public void magnitudeWeightedForecast(double[] result){
+        deviationDistrInstance.calculate(absDifferenceData, differenceSize);
+        double central = deviationDistrInstance.getDistributionTendency();
+        double lower = deviationDistrInstance.getLowerBoundTendency();
+        double upper = deviationDistrInstance.getUpperBoundTendency();
+        result[0] = fromValue + DoubleExpectation.expectation(-lower, lower, negDiffProbability, posDiffProbability);
+        result[1] = fromValue + DoubleExpectation.expectation(-central, central, negDiffProbability, posDiffProbability);
+        result[2] = fromValue + DoubleExpectation.expectation(-upper, upper, negDiffProbability, posDiffProbability);
+    }
+
+    public void asymmetricTrendForecast(double[] result){
+        double posLower = 0.0;
+        double posCentral = 0.0;
+        double posUpper = 0.0;
+        double negLower = 0.0;
+        double negCentral = 0.0;
+        double negUpper = 0.0;
+
+        if (posDifferenceSize > 0) {
+            deviationDistrInstance.calculate(posDifferenceData, posDifferenceSize);
+            posLower = deviationDistrInstance.getLowerBoundTendency();
+            posCentral = deviationDistrInstance.getDistributionTendency();
+            posUpper = deviationDistrInstance.getUpperBoundTendency();
+        }
+        if (negDifferenceSize > 0) {
+            deviationDistrInstance.calculate(negDifferenceData, negDifferenceSize);
+            negLower = deviationDistrInstance.getLowerBoundTendency();
+            negCentral = deviationDistrInstance.getDistributionTendency();
+            negUpper = deviationDistrInstance.getUpperBoundTendency();
+        }
+        result[0] = fromValue + DoubleExpectation.expectation(negLower, posLower, negDiffProbability, posDiffProbability);
+        result[1] = fromValue + DoubleExpectation.expectation(negCentral, posCentral, negDiffProbability, posDiffProbability);
+        result[2] = fromValue + DoubleExpectation.expectation(negUpper, posUpper, negDiffProbability, posDiffProbability);
+    }
+
+    private void ensureCapacity(int differences){
+        if (absDifferenceData.length < differences) {
+            absDifferenceData = new double[differences];
+            posDifferenceData = new double[differences];
+            negDifferenceData = new double[differences];
+        }
+    }
+
+    private void calculateProbailities(){
+        this.negDiffProbability = (double) negDifferenceSize / differenceSize;
+        this.posDiffProbability = (double) posDifferenceSize / differenceSize;
+    }
+
+    private void applyBiasToProbability(){
+        boolean comparison = negDiffProbability > posDiffProbability;
+        if(!comparison && probailityBias == -1 || comparison && probailityBias == 1){
+            double temporary = negDiffProbability;
+            negDiffProbability = posDiffProbability;
+            posDiffProbability = temporary;
+        }
+    }
+}
@@ -1,15 +1,20 @@
 package za.co.wethinkcode.TradeQuery.ForecastModules;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.nio.DoubleBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Supplier;
 
+import za.co.wethinkcode.TradeQuery.MetricsModule.Metrics;
+import za.co.wethinkcode.TradeQuery.MetricsModule.MetricsSpan;
+import za.co.wethinkcode.TradeQuery.MetricsModule.PipelineStage;
 import za.co.wethinkcode.TradeQuery.StatisticsModule.CentralTendency;
 import za.co.wethinkcode.TradeQuery.StatisticsModule.DeviationAndDistribution;
 import za.co.wethinkcode.TradeQuery.StatisticsModule.Difference;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.DifferenceSeries;
 import za.co.wethinkcode.TradeQuery.StatisticsModule.Expectation;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.TendencyFunction;
 
 public class ForecastBase {
 
@@ -20,8 +25,15 @@ public class ForecastBase {
     private DeviationAndDistribution posDeviationDistrInstance;
     private DeviationAndDistribution negDeviationDistrInstance;
 
+    private DoubleForecastBase doubleForecastInstance;
+
+    // Stateless path used when built from a TendencyFunction
+    private ForecastConfig config;
+    private PreparedSeries preparedSeries;
+
     // Probaility Bias
     private int probailityBias = 0;
+    private PrecisionMode precisionMode = PrecisionMode.BIG_DECIMAL;
 
     // Data parameters
     private List<BigDecimal> differenceData;
@@ -31,6 +43,7 @@ public class ForecastBase {
 
     // Value parameters
     private BigDecimal fromValue;
+    private int dataSize;
     private BigDecimal negDiffProbability;
     private BigDecimal posDiffProbability;
 
@@ -39,49 +52,129 @@ public class ForecastBase {
 
     
     public ForecastBase(CentralTendency tendencyInstance, Supplier<BigDecimal> tendencyFunction, List<BigDecimal> dataList) {
+        initialise(tendencyInstance, tendencyFunction, dataList);
+    }
+
+    public ForecastBase(TendencyFunction tendencyFunction, List<BigDecimal> dataList, PrecisionMode precisionMode) {
+        this.precisionMode = precisionMode;
+        this.dataSize = dataList.size();
+        if (precisionMode == PrecisionMode.DOUBLE) {
+            double[] values = new double[dataList.size()];
+            for (int n = 0; n < values.length; n++) {
+                values[n] = dataList.get(n).doubleValue();
+            }
+            this.doubleForecastInstance = new DoubleForecastBase(tendencyFunction, values);
+            this.fromValue = dataList.getLast();
+            return;
+        }
+        this.config = new ForecastConfig(tendencyFunction);
+        this.preparedSeries = PreparedSeries.of(dataList, config);
+        this.fromValue = dataList.getLast();
+    }
+
+    // Double precision forecast over a buffer, such as a range of a mapped store column
+    public ForecastBase(TendencyFunction tendencyFunction, DoubleBuffer dataList) {
+        this.precisionMode = PrecisionMode.DOUBLE;
+        this.dataSize = dataList.remaining();
+        this.doubleForecastInstance = new DoubleForecastBase(tendencyFunction);
+        doubleForecastInstance.setData(dataList);
+        this.fromValue = BigDecimal.valueOf(dataList.get(dataList.limit() - 1));
+    }
+
+    private void initialise(CentralTendency tendencyInstance, Supplier<BigDecimal> tendencyFunction, List<BigDecimal> dataList) {
         this.fromValue = dataList.getLast();
+        this.dataSize = dataList.size();
         this.differenceInstance = new Difference(dataList);
         this.tendencyFunction = tendencyFunction;
         this.tendencyInstance = tendencyInstance;
         differenceInstance.setIncludeZero(false);
-        this.differenceData = differenceInstance.difference();
-        this.absDifferenceData = differenceInstance.absoluteDifference();
-        this.posDifferenceData = differenceInstance.positiveDifference();
-        this.negDifferenceData = differenceInstance.negativeDifference();
-        calculateProbailities();
+        DifferenceSeries differenceSeries = differenceInstance.differenceSeries();
+        this.differenceData = differenceSeries.differences();
+        this.absDifferenceData = differenceSeries.absoluteDifferences();
+        this.posDifferenceData = differenceSeries.positiveDifferences();
+        this.negDifferenceData = differenceSeries.negativeDifferences();
+        this.negDiffProbability = differenceSeries.negativeProbability();
+        this.posDiffProbability = differenceSeries.positiveProbability();
         applyBiasToProbability();
     }
 
     public void setProbabilityBias(int biasArgument){
         this.probailityBias = biasArgument;
+        if (precisionMode == PrecisionMode.DOUBLE) {
+            doubleForecastInstance.setProbabilityBias(biasArgument);
+            return;
+        }
+        if (preparedSeries != null) {
+            return;
+        }
         applyBiasToProbability();
     }
 
     public void setFromValue(BigDecimal fromArg){
         this.fromValue = fromArg;
+        if (precisionMode == PrecisionMode.DOUBLE) {
+            doubleForecastInstance.setFromValue(fromArg.doubleValue());
+        } else if (preparedSeries != null) {
+            preparedSeries = preparedSeries.withFromValue(fromArg);
+        }
     }
 
+    public PrecisionMode returnPrecisionMode(){
+        return precisionMode;
+    }
+
+    // Null when built from a TendencyFunction, which keeps no tendency instance
     public CentralTendency returnTendencyInstance(){
         return tendencyInstance;
     }
 
     public List<BigDecimal> magnitudeWeightedForecast(){
+        try (MetricsSpan span = Metrics.span(PipelineStage.FORECAST, dataSize)) {
+            return magnitudeWeighted();
+        }
+    }
+
+    public List<BigDecimal> asymmetricTrendForecast(){
+        try (MetricsSpan span = Metrics.span(PipelineStage.FORECAST, dataSize)) {
+            return asymmetricTrend();
+        }
+    }
+
+    private List<BigDecimal> magnitudeWeighted(){
+        if (precisionMode == PrecisionMode.DOUBLE) {
+            double[] forecast = new double[3];
+            doubleForecastInstance.magnitudeWeightedForecast(forecast);
+            return toBigDecimalList(forecast);
+        }
+        if (preparedSeries != null) {
+            return Forecasts.magnitudeWeighted(preparedSeries, config.withProbabilityBias(probailityBias));
+        }
         tendencyInstance.setData(absDifferenceData);
         this.absDeviationDistrInstance = new DeviationAndDistribution(tendencyInstance, tendencyFunction, absDifferenceData);
         BigDecimal absDiffCentralTendency = absDeviationDistrInstance.getDistributionTendency();
         BigDecimal absDiffLowerBoundTendency = absDeviationDistrInstance.getLowerBoundTendency();
         BigDecimal absDiffUpperBoundTendency  = absDeviationDistrInstance.getUpperBoundTendency();
-        BigDecimal lowerBoundDiffExpecation = new Expectation(absDiffLowerBoundTendency.negate(), absDiffLowerBoundTendency, negDiffProbability, posDiffProbability).expectation();
-        BigDecimal centralDiffExpecation = new Expectation(absDiffCentralTendency.negate(), absDiffCentralTendency, negDiffProbability, posDiffProbability).expectation();
-        BigDecimal upperBoundDiffExpecation = new Expectation(absDiffUpperBoundTendency.negate(), absDiffUpperBoundTendency, negDiffProbability, posDiffProbability).expectation();
-        List<BigDecimal> result = new ArrayList<>();
-        result.add(fromValue.add(lowerBoundDiffExpecation));
-        result.add(fromValue.add(centralDiffExpecation));
-        result.add(fromValue.add(upperBoundDiffExpecation));
-        return result;
+        try (MetricsSpan span = Metrics.span(PipelineStage.EXPECTATION, dataSize)) {
+            BigDecimal lowerBoundDiffExpecation = new Expectation(absDiffLowerBoundTendency.negate(), absDiffLowerBoundTendency, negDiffProbability, posDiffProbability).expectation();
+            BigDecimal centralDiffExpecation = new Expectation(absDiffCentralTendency.negate(), absDiffCentralTendency, negDiffProbability, posDiffProbability).expectation();
+            BigDecimal upperBoundDiffExpecation = new Expectation(absDiffUpperBoundTendency.negate(), absDiffUpperBoundTendency, negDiffProbability, posDiffProbability).expectation();
+            List<BigDecimal> result = new ArrayList<>();
+            result.add(fromValue.add(lowerBoundDiffExpecation));
+            result.add(fromValue.add(centralDiffExpecation));
+            result.add(fromValue.add(upperBoundDiffExpecation));
+            return result;
+        }
     }
 
-    public List<BigDecimal> asymmetricTrendForecast(){
+    private List<BigDecimal> asymmetricTrend(){
+        if (precisionMode == PrecisionMode.DOUBLE) {
+            double[] forecast = new double[3];
+            doubleForecastInstance.asymmetricTrendForecast(forecast);
+            return toBigDecimalList(forecast);
+        }
+        if (preparedSeries != null) {
+            return Forecasts.asymmetricTrend(preparedSeries, config.withProbabilityBias(probailityBias));
+        }
         BigDecimal posDistrLowerBoundTendency = BigDecimal.ZERO;
         BigDecimal posDistrCentralTendency = BigDecimal.ZERO;
         BigDecimal posDistrUpperBoundTendency = BigDecimal.ZERO;
@@ -103,21 +196,25 @@ public class ForecastBase {
             negDistrCentralTendency = negDeviationDistrInstance.getDistributionTendency();
             negDistrUpperBoundTendency = negDeviationDistrInstance.getUpperBoundTendency();
         }
-        BigDecimal lowerBoundDiffExpecation = new Expectation(negDistrLowerBoundTendency, posDistrLowerBoundTendency, negDiffProbability, posDiffProbability).expectation();
-        BigDecimal centralDiffExpecation = new Expectation(negDistrCentralTendency, posDistrCentralTendency, negDiffProbability, posDiffProbability).expectation();
-        BigDecimal upperBoundDiffExpecation = new Expectation(negDistrUpperBoundTendency, posDistrUpperBoundTendency, negDiffProbability, posDiffProbability).expectation();
-        List<BigDecimal> result = new ArrayList<>();
-        result.add(fromValue.add(lowerBoundDiffExpecation));
-        result.add(fromValue.add(centralDiffExpecation));
-        result.add(fromValue.add(upperBoundDiffExpecation));
-        return result;
+        try (MetricsSpan span = Metrics.span(PipelineStage.EXPECTATION, dataSize)) {
+            BigDecimal lowerBoundDiffExpecation = new Expectation(negDistrLowerBoundTendency, posDistrLowerBoundTendency, negDiffProbability, posDiffProbability).expectation();
+            BigDecimal centralDiffExpecation = new Expectation(negDistrCentralTendency, posDistrCentralTendency, negDiffProbability, posDiffProbability).expectation();
+            BigDecimal upperBoundDiffExpecation = new Expectation(negDistrUpperBoundTendency, posDistrUpperBoundTendency, negDiffProbability, posDiffProbability).expectation();
+            List<BigDecimal> result = new ArrayList<>();
+            result.add(fromValue.add(lowerBoundDiffExpecation));
+            result.add(fromValue.add(centralDiffExpecation));
+            result.add(fromValue.add(upperBoundDiffExpecation));
+            return result;
+        }
     }
 
 
-    private void calculateProbailities(){
-        BigDecimal differnceSize = BigDecimal.valueOf(differenceData.size());
-        this.negDiffProbability = BigDecimal.valueOf(negDifferenceData.size()).divide(differnceSize, 10, RoundingMode.HALF_UP);
-        this.posDiffProbability = BigDecimal.valueOf(posDifferenceData.size()).divide(differnceSize, 10, RoundingMode.HALF_UP);
+    private static List<BigDecimal> toBigDecimalList(double[] forecast){
+        List<BigDecimal> result = new ArrayList<>();
+        for (double value : forecast) {
+            result.add(BigDecimal.valueOf(value));
+        }
+        return result;
     }
 
     private void applyBiasToProbability(){
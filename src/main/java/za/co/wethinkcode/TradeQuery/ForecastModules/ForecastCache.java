@@ -0,0 +1,209 @@
+package za.co.wethinkcode.TradeQuery.ForecastModules;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of forecast results. Entries are keyed on the symbol, a
+ * {@link SeriesFingerprint} of the input series, the {@link ForecastConfig}, the forecast
+ * kind and the precision mode, so a dashboard refreshing an unchanged window is answered
+ * without rerunning the least difference work. A hit trusts the fingerprint and does not
+ * compare the series, so the cache is exact only up to the fingerprint's 64 bit collision
+ * odds.
+ *
+ * A series that gains a bar has a new fingerprint, so its old entries can no longer be
+ * hit and age out under LRU. Call {@link #invalidate} when a bar arrives to free them
+ * straight away. Forecasts are computed outside the lock. A result computed while its
+ * symbol was being invalidated is returned but not stored.
+ */
+public class ForecastCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 1024;
+
+    private final int maxEntries;
+    private final LinkedHashMap<Key, List<BigDecimal>> entries;
+    private final Map<String, Long> generations = new HashMap<>();
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    public ForecastCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public ForecastCache(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Cache size must be at least 1");
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, List<BigDecimal>> eldest) {
+                if (size() <= ForecastCache.this.maxEntries) {
+                    return false;
+                }
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+    public List<BigDecimal> magnitudeWeighted(String symbol, List<BigDecimal> dataList, ForecastConfig config) {
+        return get(symbol, SeriesFingerprint.of(dataList), config, ForecastKind.MAGNITUDE_WEIGHTED, PrecisionMode.BIG_DECIMAL,
+                   () -> Forecasts.magnitudeWeighted(PreparedSeries.of(dataList, config), config));
+    }
+
+    public List<BigDecimal> asymmetricTrend(String symbol, List<BigDecimal> dataList, ForecastConfig config) {
+        return get(symbol, SeriesFingerprint.of(dataList), config, ForecastKind.ASYMMETRIC_TREND, PrecisionMode.BIG_DECIMAL,
+                   () -> Forecasts.asymmetricTrend(PreparedSeries.of(dataList, config), config));
+    }
+
+    /**
+     * Returns the cached forecast for this key, or runs {@code forecaster} and caches its
+     * result. The caller is trusted to pass the fingerprint of the series the forecaster
+     * reads.
+     */
+    public List<BigDecimal> get(String symbol, SeriesFingerprint fingerprint, ForecastConfig config, ForecastKind kind,
+                                PrecisionMode precisionMode, Supplier<List<BigDecimal>> forecaster) {
+        Key key = new Key(symbol, fingerprint, config, kind, precisionMode);
+        long generation;
+        synchronized (this) {
+            generation = generations.getOrDefault(symbol, 0L);
+            List<BigDecimal> cached = entries.get(key);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+        }
+        List<BigDecimal> result = List.copyOf(forecaster.get());
+        synchronized (this) {
+            if (generations.getOrDefault(symbol, 0L) == generation) {
+                entries.put(key, result);
+            }
+        }
+        return result;
+    }
+
+    // Drops every entry of the symbol, called when it gains a bar or its bars are corrected
+    public synchronized void invalidate(String symbol) {
+        generations.merge(symbol, 1L, Long::sum);
+        Iterator<Key> keys = entries.keySet().iterator();
+        while (keys.hasNext()) {
+            if (keys.next().symbol.equals(symbol)) {
+                keys.remove();
+                invalidations++;
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        generations.replaceAll((symbol, generation) -> generation + 1);
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized CacheStats stats() {
+        return new CacheStats(maxEntries, entries.size(), hits, misses, evictions, invalidations);
+    }
+
+    private static final class Key {
+        private final String symbol;
+        private final SeriesFingerprint fingerprint;
+        private final ForecastConfig config;
+        private final ForecastKind kind;
+        private final PrecisionMode precisionMode;
+
+        private Key(String symbol, SeriesFingerprint fingerprint, ForecastConfig config, ForecastKind kind,
+                    PrecisionMode precisionMode) {
+            this.symbol = Objects.requireNonNull(symbol);
+            this.fingerprint = Objects.requireNonNull(fingerprint);
+            this.config = Objects.requireNonNull(config);
+            this.kind = Objects.requireNonNull(kind);
+            this.precisionMode = Objects.requireNonNull(precisionMode);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key key)) {
+                return false;
+            }
+            return symbol.equals(key.symbol) && fingerprint.equals(key.fingerprint) && config.equals(key.config)
+                && kind == key.kind && precisionMode == key.precisionMode;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(symbol, fingerprint, config, kind, precisionMode);
+        }
+    }
+
+    public static class CacheStats {
+        private final int maxEntries;
+        private final int size;
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long invalidations;
+
+        CacheStats(int maxEntries, int size, long hits, long misses, long evictions, long invalidations) {
+            this.maxEntries = maxEntries;
+            this.size = size;
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.invalidations = invalidations;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public long getInvalidations() {
+            return invalidations;
+        }
+
+        public double getHitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+
+        public double getMissRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) misses / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("size=%d/%d hits=%d misses=%d hitRate=%.3f evictions=%d invalidations=%d",
+                                 size, maxEntries, hits, misses, getHitRate(), evictions, invalidations);
+        }
+    }
+}
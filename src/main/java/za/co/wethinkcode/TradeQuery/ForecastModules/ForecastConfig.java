@@ -0,0 +1,97 @@
+package za.co.wethinkcode.TradeQuery.ForecastModules;
+
+import java.util.Objects;
+
+import za.co.wethinkcode.TradeQuery.StatisticsModule.TendencyFunction;
+
+/**
+ * Immutable forecast settings. The {@code with} methods return a modified copy, so one
+ * configuration can be shared between threads and used as a cache key.
+ */
+public final class ForecastConfig {
+
+    private final TendencyFunction tendencyFunction;
+    private final int probabilityBias;
+    private final int deviationPower;
+    private final boolean useMean;
+    private final boolean includeZero;
+
+    public ForecastConfig(TendencyFunction tendencyFunction) {
+        this(tendencyFunction, 0, 2, true, false);
+    }
+
+    private ForecastConfig(TendencyFunction tendencyFunction, int probabilityBias, int deviationPower,
+                           boolean useMean, boolean includeZero) {
+        if (deviationPower < 1) {
+            throw new IllegalArgumentException("Power must be at least 1");
+        }
+        this.tendencyFunction = Objects.requireNonNull(tendencyFunction);
+        this.probabilityBias = probabilityBias;
+        this.deviationPower = deviationPower;
+        this.useMean = useMean;
+        this.includeZero = includeZero;
+    }
+
+    public ForecastConfig withTendencyFunction(TendencyFunction tendencyFunction) {
+        return new ForecastConfig(tendencyFunction, probabilityBias, deviationPower, useMean, includeZero);
+    }
+
+    public ForecastConfig withProbabilityBias(int probabilityBias) {
+        return new ForecastConfig(tendencyFunction, probabilityBias, deviationPower, useMean, includeZero);
+    }
+
+    public ForecastConfig withDeviationPower(int deviationPower) {
+        return new ForecastConfig(tendencyFunction, probabilityBias, deviationPower, useMean, includeZero);
+    }
+
+    public ForecastConfig withUseMean(boolean useMean) {
+        return new ForecastConfig(tendencyFunction, probabilityBias, deviationPower, useMean, includeZero);
+    }
+
+    public ForecastConfig withIncludeZero(boolean includeZero) {
+        return new ForecastConfig(tendencyFunction, probabilityBias, deviationPower, useMean, includeZero);
+    }
+
+    public TendencyFunction getTendencyFunction() {
+        return tendencyFunction;
+    }
+
+    public int getProbabilityBias() {
+        return probabilityBias;
+    }
+
+    public int getDeviationPower() {
+        return deviationPower;
+    }
+
+    public boolean isUseMean() {
+        return useMean;
+    }
+
+    public boolean isIncludeZero() {
+        return includeZero;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof ForecastConfig config)) {
+            return false;
+        }
+        return tendencyFunction == config.tendencyFunction && probabilityBias == config.probabilityBias
+            && deviationPower == config.deviationPower && useMean == config.useMean && includeZero == config.includeZero;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(tendencyFunction, probabilityBias, deviationPower, useMean, includeZero);
+    }
+
+    @Override
+    public String toString() {
+        return "ForecastConfig{tendency=" + tendencyFunction + ", bias=" + probabilityBias + ", deviationPower="
+            + deviationPower + ", useMean=" + useMean + ", includeZero=" + includeZero + "}";
+    }
+}
@@ -0,0 +1,10 @@
+package za.co.wethinkcode.TradeQuery.ForecastModules;
+
+/**
+ * The two three point forecasts {@link ForecastBase} produces, for code that handles
+ * either one, such as the forecast cache and the backtests.
+ */
+public enum ForecastKind {
+    MAGNITUDE_WEIGHTED,
+    ASYMMETRIC_TREND
+}
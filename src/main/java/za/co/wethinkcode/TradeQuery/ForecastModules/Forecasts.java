@@ -0,0 +1,97 @@
+package za.co.wethinkcode.TradeQuery.ForecastModules;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+import za.co.wethinkcode.TradeQuery.MetricsModule.Metrics;
+import za.co.wethinkcode.TradeQuery.MetricsModule.MetricsSpan;
+import za.co.wethinkcode.TradeQuery.MetricsModule.PipelineStage;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.DistributionSummary;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.Expectation;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.SortedSeriesIndex;
+
+/**
+ * Stateless forecasts: a {@link PreparedSeries} and a {@link ForecastConfig} in, a
+ * {@code [lower, central, upper]} forecast out. Both inputs are immutable, so any number
+ * of threads can forecast the same series at once. Results match {@link ForecastBase}.
+ */
+public final class Forecasts {
+
+    private Forecasts() {
+    }
+
+    public static List<BigDecimal> magnitudeWeighted(PreparedSeries series, ForecastConfig config) {
+        return magnitudeWeighted(series, summarise(series.getAbsDifferenceIndex(), config), config.getProbabilityBias());
+    }
+
+    public static List<BigDecimal> asymmetricTrend(PreparedSeries series, ForecastConfig config) {
+        DistributionSummary positive = null;
+        DistributionSummary negative = null;
+        if (!series.getPosDifferenceData().isEmpty()) {
+            positive = summarise(series.getPosDifferenceIndex(), config);
+        }
+        if (!series.getNegDifferenceData().isEmpty()) {
+            negative = summarise(series.getNegDifferenceIndex(), config);
+        }
+        return asymmetricTrend(series, positive, negative, config.getProbabilityBias());
+    }
+
+    // Forecast from a summary of the absolute differences made earlier, so configurations
+    // that only differ in probability bias can share it
+    public static List<BigDecimal> magnitudeWeighted(PreparedSeries series, DistributionSummary absolute, int probabilityBias) {
+        try (MetricsSpan span = Metrics.span(PipelineStage.EXPECTATION, series.getDifferenceCount())) {
+            BigDecimal[] probabilities = probabilities(series, probabilityBias);
+            BigDecimal lower = absolute.getLowerBoundTendency();
+            BigDecimal central = absolute.getDistributionTendency();
+            BigDecimal upper = absolute.getUpperBoundTendency();
+            return List.of(
+                series.getFromValue().add(new Expectation(lower.negate(), lower, probabilities[0], probabilities[1]).expectation()),
+                series.getFromValue().add(new Expectation(central.negate(), central, probabilities[0], probabilities[1]).expectation()),
+                series.getFromValue().add(new Expectation(upper.negate(), upper, probabilities[0], probabilities[1]).expectation())
+            );
+        }
+    }
+
+    // As above for the positive and negative summaries; null stands for a side with no steps
+    public static List<BigDecimal> asymmetricTrend(PreparedSeries series, DistributionSummary positiveSummary,
+                                                   DistributionSummary negativeSummary, int probabilityBias) {
+        try (MetricsSpan span = Metrics.span(PipelineStage.EXPECTATION, series.getDifferenceCount())) {
+            BigDecimal[] probabilities = probabilities(series, probabilityBias);
+            BigDecimal[] positive = positiveSummary == null ? zeros() : bounds(positiveSummary);
+            BigDecimal[] negative = negativeSummary == null ? zeros() : bounds(negativeSummary);
+            return List.of(
+                series.getFromValue().add(new Expectation(negative[0], positive[0], probabilities[0], probabilities[1]).expectation()),
+                series.getFromValue().add(new Expectation(negative[1], positive[1], probabilities[0], probabilities[1]).expectation()),
+                series.getFromValue().add(new Expectation(negative[2], positive[2], probabilities[0], probabilities[1]).expectation())
+            );
+        }
+    }
+
+    // Summary of one set of differences under the tendency, power and mean settings of config
+    public static DistributionSummary summarise(SortedSeriesIndex differences, ForecastConfig config) {
+        return DistributionSummary.of(differences, config.getTendencyFunction(), config.getDeviationPower(), config.isUseMean());
+    }
+
+    private static BigDecimal[] zeros() {
+        return new BigDecimal[] {BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO};
+    }
+
+    private static BigDecimal[] bounds(DistributionSummary summary) {
+        return new BigDecimal[] {
+            summary.getLowerBoundTendency(), summary.getDistributionTendency(), summary.getUpperBoundTendency()
+        };
+    }
+
+    // [negative, positive] step probabilities, swapped when they disagree with the bias
+    static BigDecimal[] probabilities(PreparedSeries series, int probabilityBias) {
+        BigDecimal differenceSize = BigDecimal.valueOf(series.getDifferenceCount());
+        BigDecimal negative = BigDecimal.valueOf(series.getNegDifferenceData().size()).divide(differenceSize, 10, RoundingMode.HALF_UP);
+        BigDecimal positive = BigDecimal.valueOf(series.getPosDifferenceData().size()).divide(differenceSize, 10, RoundingMode.HALF_UP);
+        boolean comparison = negative.compareTo(positive) > 0;
+        if (!comparison && probabilityBias == -1 || comparison && probabilityBias == 1) {
+            return new BigDecimal[] {positive, negative};
+        }
+        return new BigDecimal[] {negative, positive};
+    }
+}
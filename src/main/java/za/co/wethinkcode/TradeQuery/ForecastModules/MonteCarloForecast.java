@@ -0,0 +1,231 @@
+package za.co.wethinkcode.TradeQuery.ForecastModules;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import za.co.wethinkcode.TradeQuery.DataModule.AlphaVantageSeriesLoader;
+import za.co.wethinkcode.TradeQuery.DataModule.SeriesField;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.TendencyFunction;
+
+/**
+ * Bootstrap simulation of price paths from the from value. Each step is a negative
+ * difference with the negative probability, a positive difference with the positive
+ * probability, and no change otherwise. Probabilities and their bias swap are those of
+ * the three point forecasts, and the difference is drawn uniformly from the series'
+ * own positive or negative differences. A side with no differences adds nothing.
+ *
+ * Paths are split over a fixed number of tasks, each drawing from its own split of one
+ * SplittableRandom, so a seed gives the same fan on any number of threads. Every task
+ * folds its paths into one histogram per step, so memory depends on the horizon and bin
+ * count, not on the number of paths.
+ */
+public class MonteCarloForecast {
+
+    public static final int TASKS = 16;
+
+    private final double fromValue;
+    private final double[] negativeDifferences;
+    private final double[] positiveDifferences;
+    private final double negativeProbability;
+    private final double positiveProbability;
+    private final ExecutorService executor;
+
+    private long paths = 100_000;
+    private int horizon = 60;
+    private int bins = 1024;
+    private long seed = 42;
+
+    public MonteCarloForecast(PreparedSeries series, ForecastConfig config) {
+        this(series, config, ForkJoinPool.commonPool());
+    }
+
+    public MonteCarloForecast(PreparedSeries series, ForecastConfig config, ExecutorService executor) {
+        this.fromValue = series.getFromValue().doubleValue();
+        this.negativeDifferences = toDoubles(series.getNegDifferenceData());
+        this.positiveDifferences = toDoubles(series.getPosDifferenceData());
+        BigDecimal[] probabilities = Forecasts.probabilities(series, config.getProbabilityBias());
+        double negative = probabilities[0].doubleValue();
+        double positive = probabilities[1].doubleValue();
+        // With includeZero a zero step counts on both sides, so the two can add up past 1
+        double total = Math.max(1, negative + positive);
+        this.negativeProbability = negative / total;
+        this.positiveProbability = positive / total;
+        this.executor = executor;
+    }
+
+    public static MonteCarloForecast of(List<BigDecimal> dataList, ForecastConfig config) {
+        return new MonteCarloForecast(PreparedSeries.of(dataList, config), config);
+    }
+
+    public void setPaths(long paths) {
+        if (paths < 1) {
+            throw new IllegalArgumentException("Paths must be at least 1");
+        }
+        this.paths = paths;
+    }
+
+    public void setHorizon(int horizon) {
+        if (horizon < 1) {
+            throw new IllegalArgumentException("Horizon must be at least 1");
+        }
+        this.horizon = horizon;
+    }
+
+    // Histogram bins per step; more bins narrow the percentile error and cost memory
+    public void setBins(int bins) {
+        if (bins < 1) {
+            throw new IllegalArgumentException("Bins must be at least 1");
+        }
+        this.bins = bins;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public PercentileFan simulate() throws InterruptedException {
+        // Step s can reach no further than s times the largest move either way
+        double largestFall = Math.min(0, Math.min(min(negativeDifferences), min(positiveDifferences)));
+        double largestRise = Math.max(0, Math.max(max(negativeDifferences), max(positiveDifferences)));
+        double[] lower = new double[horizon];
+        double[] binWidth = new double[horizon];
+        for (int step = 0; step < horizon; step++) {
+            lower[step] = fromValue + (step + 1) * largestFall;
+            binWidth[step] = (step + 1) * (largestRise - largestFall) / bins;
+        }
+
+        SplittableRandom root = new SplittableRandom(seed);
+        List<Callable<Tally>> tasks = new ArrayList<>();
+        for (int task = 0; task < TASKS; task++) {
+            long taskPaths = paths / TASKS + (task < paths % TASKS ? 1 : 0);
+            SplittableRandom random = root.split();
+            tasks.add(() -> simulate(random, taskPaths, lower, binWidth));
+        }
+
+        Tally total = new Tally(horizon, bins);
+        try {
+            for (Future<Tally> task : executor.invokeAll(tasks)) {
+                total.merge(task.get());
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation task failed", e.getCause());
+        }
+        return new PercentileFan(fromValue, horizon, bins, paths, lower, binWidth,
+                                 total.counts, total.sums, total.minimums, total.maximums);
+    }
+
+    private Tally simulate(SplittableRandom random, long taskPaths, double[] lower, double[] binWidth) {
+        Tally tally = new Tally(horizon, bins);
+        double negativeThreshold = negativeProbability;
+        double positiveThreshold = negativeProbability + positiveProbability;
+        for (long path = 0; path < taskPaths; path++) {
+            double price = fromValue;
+            for (int step = 0; step < horizon; step++) {
+                double draw = random.nextDouble();
+                if (draw < negativeThreshold) {
+                    price += pick(random, negativeDifferences);
+                } else if (draw < positiveThreshold) {
+                    price += pick(random, positiveDifferences);
+                }
+                int bin = binWidth[step] == 0 ? 0 : (int) ((price - lower[step]) / binWidth[step]);
+                tally.add(step, Math.max(0, Math.min(bins - 1, bin)), price);
+            }
+        }
+        return tally;
+    }
+
+    private static double pick(SplittableRandom random, double[] differences) {
+        return differences.length == 0 ? 0 : differences[random.nextInt(differences.length)];
+    }
+
+    private static double[] toDoubles(List<BigDecimal> values) {
+        double[] result = new double[values.size()];
+        for (int n = 0; n < result.length; n++) {
+            result[n] = values.get(n).doubleValue();
+        }
+        return result;
+    }
+
+    private static double min(double[] values) {
+        return Arrays.stream(values).min().orElse(0);
+    }
+
+    private static double max(double[] values) {
+        return Arrays.stream(values).max().orElse(0);
+    }
+
+    // Histogram counts, price sums and extremes per step of one task
+    private static final class Tally {
+        private final int bins;
+        private final long[] counts;
+        private final double[] sums;
+        private final double[] minimums;
+        private final double[] maximums;
+
+        private Tally(int horizon, int bins) {
+            this.bins = bins;
+            this.counts = new long[horizon * bins];
+            this.sums = new double[horizon];
+            this.minimums = new double[horizon];
+            this.maximums = new double[horizon];
+            Arrays.fill(minimums, Double.POSITIVE_INFINITY);
+            Arrays.fill(maximums, Double.NEGATIVE_INFINITY);
+        }
+
+        private void add(int step, int bin, double price) {
+            counts[step * bins + bin]++;
+            sums[step] += price;
+            if (price < minimums[step]) {
+                minimums[step] = price;
+            }
+            if (price > maximums[step]) {
+                maximums[step] = price;
+            }
+        }
+
+        private void merge(Tally other) {
+            for (int n = 0; n < counts.length; n++) {
+                counts[n] += other.counts[n];
+            }
+            for (int step = 0; step < sums.length; step++) {
+                sums[step] += other.sums[step];
+                minimums[step] = Math.min(minimums[step], other.minimums[step]);
+                maximums[step] = Math.max(maximums[step], other.maximums[step]);
+            }
+        }
+    }
+
+    // Fan of an Alpha Vantage file's last closes: <file> [window] [paths] [horizon] [bias]
+    public static void main(String[] args) throws Exception {
+        Path file = Paths.get(args.length > 0 ? args[0]
+            : "src/main/java/za/co/wethinkcode/TradeQuery/Data/NFLX_(data_intra_day).json");
+        int window = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        long paths = args.length > 2 ? Long.parseLong(args[2]) : 1_000_000;
+        int horizon = args.length > 3 ? Integer.parseInt(args[3]) : 60;
+        int bias = args.length > 4 ? Integer.parseInt(args[4]) : 0;
+
+        double[] closes = AlphaVantageSeriesLoader.load(file, EnumSet.of(SeriesField.CLOSE)).column(SeriesField.CLOSE);
+        List<BigDecimal> dataList = new ArrayList<>();
+        for (int n = Math.max(0, closes.length - window); n < closes.length; n++) {
+            dataList.add(BigDecimal.valueOf(closes[n]));
+        }
+        MonteCarloForecast forecast = of(dataList, new ForecastConfig(TendencyFunction.MEDIAN).withProbabilityBias(bias));
+        forecast.setPaths(paths);
+        forecast.setHorizon(horizon);
+        long start = System.nanoTime();
+        PercentileFan fan = forecast.simulate();
+        System.out.println(fan);
+        System.out.printf("%d x %d steps in %.0f ms%n", paths, horizon, (System.nanoTime() - start) / 1e6);
+    }
+}
@@ -0,0 +1,228 @@
+package za.co.wethinkcode.TradeQuery.ForecastModules;
+
+import java.math.BigDecimal;
+import java.nio.DoubleBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import za.co.wethinkcode.TradeQuery.StatisticsModule.TendencyFunction;
+
+/**
+ * Forecasts many symbols concurrently. Each symbol is loaded through a {@link SeriesSource}
+ * and forecast with its own {@link ForecastBase} on its own task. Tasks run one virtual
+ * thread per symbol by default, or on a supplied pool such as a
+ * {@link java.util.concurrent.ForkJoinPool}. Results are handed back on the calling thread
+ * in completion order.
+ *
+ * A symbol's timeout starts when its task starts running, so symbols queued on a sized
+ * pool get their full time. A symbol that times out is reported as failed at once and its
+ * task is interrupted. Loading stops there; forecast arithmetic already under way runs on
+ * in the background.
+ */
+public class MultiSymbolForecastRunner implements AutoCloseable {
+
+    @FunctionalInterface
+    public interface SeriesSource {
+        double[] load(String symbol) throws Exception;
+    }
+
+    private final SeriesSource source;
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+
+    private TendencyFunction tendencyFunction = TendencyFunction.MEAN_LEAST_DIFFERENCE;
+    private PrecisionMode precisionMode = PrecisionMode.DOUBLE;
+    private int probabilityBias = 0;
+    private Duration timeout = Duration.ofSeconds(30);
+    private ForecastCache forecastCache;
+
+    public MultiSymbolForecastRunner(SeriesSource source) {
+        this(source, Executors.newVirtualThreadPerTaskExecutor(), true);
+    }
+
+    public MultiSymbolForecastRunner(SeriesSource source, ExecutorService executor) {
+        this(source, executor, false);
+    }
+
+    private MultiSymbolForecastRunner(SeriesSource source, ExecutorService executor, boolean ownsExecutor) {
+        this.source = source;
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    public void setTendencyFunction(TendencyFunction tendencyFunction) {
+        this.tendencyFunction = tendencyFunction;
+    }
+
+    public void setPrecisionMode(PrecisionMode precisionMode) {
+        this.precisionMode = precisionMode;
+    }
+
+    public void setProbabilityBias(int probabilityBias) {
+        this.probabilityBias = probabilityBias;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    // Reuses forecasts of series that have not changed since the last run
+    public void setForecastCache(ForecastCache forecastCache) {
+        this.forecastCache = forecastCache;
+    }
+
+    /**
+     * Forecasts every symbol and passes each result to {@code onResult} as soon as it is
+     * ready. Returns once every symbol has succeeded, failed or timed out.
+     */
+    public void run(Collection<String> symbols, Consumer<SymbolForecast> onResult) throws InterruptedException {
+        BlockingQueue<SymbolForecast> completed = new LinkedBlockingQueue<>();
+        for (String symbol : symbols) {
+            submit(symbol, completed);
+        }
+        for (int n = 0; n < symbols.size(); n++) {
+            onResult.accept(completed.take());
+        }
+    }
+
+    // Results in completion order
+    public List<SymbolForecast> runAll(Collection<String> symbols) throws InterruptedException {
+        List<SymbolForecast> results = new ArrayList<>(symbols.size());
+        run(symbols, results::add);
+        return results;
+    }
+
+    private void submit(String symbol, BlockingQueue<SymbolForecast> completed) {
+        AtomicLong start = new AtomicLong();
+        CompletableFuture<SymbolForecast> promise = new CompletableFuture<>();
+        Future<?> task = executor.submit(() -> {
+            start.set(System.nanoTime());
+            promise.orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            try {
+                promise.complete(forecast(symbol, start.get()));
+            } catch (Throwable e) {
+                promise.completeExceptionally(e);
+            }
+        });
+        promise.whenComplete((result, error) -> {
+            if (error == null) {
+                completed.add(result);
+                return;
+            }
+            if (error instanceof TimeoutException) {
+                task.cancel(true);
+                error = new TimeoutException(symbol + " did not finish within " + timeout);
+            }
+            completed.add(SymbolForecast.failed(symbol, error, System.nanoTime() - start.get()));
+        });
+    }
+
+    private SymbolForecast forecast(String symbol, long start) throws Exception {
+        double[] values = source.load(symbol);
+        if (forecastCache == null) {
+            ForecastBase forecast = forecastBase(values);
+            List<BigDecimal> magnitudeWeighted = forecast.magnitudeWeightedForecast();
+            List<BigDecimal> asymmetricTrend = forecast.asymmetricTrendForecast();
+            return new SymbolForecast(symbol, magnitudeWeighted, asymmetricTrend, null, System.nanoTime() - start);
+        }
+        SeriesFingerprint fingerprint = SeriesFingerprint.of(values);
+        ForecastConfig config = new ForecastConfig(tendencyFunction).withProbabilityBias(probabilityBias);
+        // Building the ForecastBase only takes the differences, the forecasts are the expensive part
+        List<BigDecimal> magnitudeWeighted = forecastCache.get(symbol, fingerprint, config, ForecastKind.MAGNITUDE_WEIGHTED,
+            precisionMode, () -> forecastBase(values).magnitudeWeightedForecast());
+        List<BigDecimal> asymmetricTrend = forecastCache.get(symbol, fingerprint, config, ForecastKind.ASYMMETRIC_TREND,
+            precisionMode, () -> forecastBase(values).asymmetricTrendForecast());
+        return new SymbolForecast(symbol, magnitudeWeighted, asymmetricTrend, null, System.nanoTime() - start);
+    }
+
+    private ForecastBase forecastBase(double[] values) {
+        ForecastBase forecast;
+        if (precisionMode == PrecisionMode.DOUBLE) {
+            forecast = new ForecastBase(tendencyFunction, DoubleBuffer.wrap(values));
+        } else {
+            List<BigDecimal> dataList = new ArrayList<>(values.length);
+            for (double value : values) {
+                dataList.add(BigDecimal.valueOf(value));
+            }
+            forecast = new ForecastBase(tendencyFunction, dataList, PrecisionMode.BIG_DECIMAL);
+        }
+        forecast.setProbabilityBias(probabilityBias);
+        return forecast;
+    }
+
+    @Override
+    public void close() {
+        if (ownsExecutor) {
+            executor.shutdownNow();
+        }
+    }
+
+    public static class SymbolForecast {
+        private final String symbol;
+        private final List<BigDecimal> magnitudeWeightedForecast;
+        private final List<BigDecimal> asymmetricTrendForecast;
+        private final Throwable error;
+        private final long elapsedNanos;
+
+        SymbolForecast(String symbol, List<BigDecimal> magnitudeWeightedForecast, List<BigDecimal> asymmetricTrendForecast,
+                       Throwable error, long elapsedNanos) {
+            this.symbol = symbol;
+            this.magnitudeWeightedForecast = magnitudeWeightedForecast;
+            this.asymmetricTrendForecast = asymmetricTrendForecast;
+            this.error = error;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        static SymbolForecast failed(String symbol, Throwable error, long elapsedNanos) {
+            return new SymbolForecast(symbol, null, null, error, elapsedNanos);
+        }
+
+        public String getSymbol() {
+            return symbol;
+        }
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+
+        public boolean isTimedOut() {
+            return error instanceof TimeoutException;
+        }
+
+        public List<BigDecimal> getMagnitudeWeightedForecast() {
+            return magnitudeWeightedForecast;
+        }
+
+        public List<BigDecimal> getAsymmetricTrendForecast() {
+            return asymmetricTrendForecast;
+        }
+
+        public Throwable getError() {
+            return error;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            if (!isSuccess()) {
+                return symbol + ": failed (" + error.getMessage() + ")";
+            }
+            return symbol + ": " + magnitudeWeightedForecast + " / " + asymmetricTrendForecast;
+        }
+    }
+}
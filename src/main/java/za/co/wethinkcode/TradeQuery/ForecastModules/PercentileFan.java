@@ -0,0 +1,106 @@
+package za.co.wethinkcode.TradeQuery.ForecastModules;
+
+/**
+ * Distribution of simulated prices at each step of a {@link MonteCarloForecast} horizon,
+ * kept as a fixed-bin histogram per step rather than as paths. Percentiles are linearly
+ * interpolated within a bin, so they are exact to within one bin width of that step.
+ * Steps count from 1, the price one step after the from value.
+ */
+public final class PercentileFan {
+
+    private final double fromValue;
+    private final int horizon;
+    private final int bins;
+    private final long paths;
+    private final double[] lower;
+    private final double[] binWidth;
+    private final long[] counts;
+    private final double[] sums;
+    private final double[] minimums;
+    private final double[] maximums;
+
+    PercentileFan(double fromValue, int horizon, int bins, long paths, double[] lower, double[] binWidth,
+                  long[] counts, double[] sums, double[] minimums, double[] maximums) {
+        this.fromValue = fromValue;
+        this.horizon = horizon;
+        this.bins = bins;
+        this.paths = paths;
+        this.lower = lower;
+        this.binWidth = binWidth;
+        this.counts = counts;
+        this.sums = sums;
+        this.minimums = minimums;
+        this.maximums = maximums;
+    }
+
+    public double getFromValue() {
+        return fromValue;
+    }
+
+    public int getHorizon() {
+        return horizon;
+    }
+
+    public long getPaths() {
+        return paths;
+    }
+
+    public double getMean(int step) {
+        return sums[index(step)] / paths;
+    }
+
+    public double getMinimum(int step) {
+        return minimums[index(step)];
+    }
+
+    public double getMaximum(int step) {
+        return maximums[index(step)];
+    }
+
+    public double getPercentile(int step, double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        int row = index(step);
+        double target = paths * percentile / 100;
+        long seen = 0;
+        for (int bin = 0; bin < bins; bin++) {
+            long count = counts[row * bins + bin];
+            if (count > 0 && seen + count >= target) {
+                double within = (target - seen) / count;
+                double value = lower[row] + binWidth[row] * (bin + within);
+                return Math.max(minimums[row], Math.min(maximums[row], value));
+            }
+            seen += count;
+        }
+        return maximums[row];
+    }
+
+    // The given percentile at every step, index 0 being step 1
+    public double[] getBand(double percentile) {
+        double[] band = new double[horizon];
+        for (int step = 1; step <= horizon; step++) {
+            band[step - 1] = getPercentile(step, percentile);
+        }
+        return band;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder table = new StringBuilder(String.format("%d paths from %.4f%n%5s %12s %12s %12s %12s %12s %12s",
+            paths, fromValue, "step", "p5", "p25", "p50", "p75", "p95", "mean"));
+        for (int step = 1; step <= horizon; step++) {
+            table.append(String.format("%n%5d %12.4f %12.4f %12.4f %12.4f %12.4f %12.4f", step,
+                getPercentile(step, 5), getPercentile(step, 25), getPercentile(step, 50),
+                getPercentile(step, 75), getPercentile(step, 95), getMean(step)));
+        }
+        return table.toString();
+    }
+
+    private int index(int step) {
+        if (step < 1 || step > horizon) {
+            throw new IllegalArgumentException("Step must be between 1 and " + horizon);
+        }
+        return step - 1;
+    }
+}
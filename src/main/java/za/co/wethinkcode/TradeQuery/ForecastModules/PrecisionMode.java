@@ -0,0 +1,10 @@
+package za.co.wethinkcode.TradeQuery.ForecastModules;
+
+/**
+ * Arithmetic used by {@link ForecastBase}. BIG_DECIMAL is exact and stays the default for
+ * audit runs; DOUBLE trades exactness for an allocation free primitive path.
+ */
+public enum PrecisionMode {
+    BIG_DECIMAL,
+    DOUBLE
+}
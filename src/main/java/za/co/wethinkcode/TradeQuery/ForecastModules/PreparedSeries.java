@@ -0,0 +1,104 @@
+package za.co.wethinkcode.TradeQuery.ForecastModules;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import za.co.wethinkcode.TradeQuery.StatisticsModule.Difference;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.DifferenceSeries;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.SortedSeriesIndex;
+
+/**
+ * Immutable view of a series in the form the forecasts consume: the value to forecast
+ * from and the absolute, positive and negative step differences, each with its
+ * {@link SortedSeriesIndex}. Prepare a series once and forecast it under as many
+ * {@link ForecastConfig}s as needed; only the first forecast pays for the sort.
+ */
+public final class PreparedSeries {
+
+    private final BigDecimal fromValue;
+    private final int differenceCount;
+    private final List<BigDecimal> absDifferenceData;
+    private final List<BigDecimal> posDifferenceData;
+    private final List<BigDecimal> negDifferenceData;
+    private final SortedSeriesIndex absDifferenceIndex;
+    private final SortedSeriesIndex posDifferenceIndex;
+    private final SortedSeriesIndex negDifferenceIndex;
+
+    private PreparedSeries(BigDecimal fromValue, int differenceCount, List<BigDecimal> absDifferenceData,
+                           List<BigDecimal> posDifferenceData, List<BigDecimal> negDifferenceData) {
+        this(fromValue, differenceCount, absDifferenceData, posDifferenceData, negDifferenceData,
+             SortedSeriesIndex.of(absDifferenceData), SortedSeriesIndex.of(posDifferenceData),
+             SortedSeriesIndex.of(negDifferenceData));
+    }
+
+    private PreparedSeries(BigDecimal fromValue, int differenceCount, List<BigDecimal> absDifferenceData,
+                           List<BigDecimal> posDifferenceData, List<BigDecimal> negDifferenceData,
+                           SortedSeriesIndex absDifferenceIndex, SortedSeriesIndex posDifferenceIndex,
+                           SortedSeriesIndex negDifferenceIndex) {
+        this.fromValue = fromValue;
+        this.differenceCount = differenceCount;
+        this.absDifferenceData = absDifferenceData;
+        this.posDifferenceData = posDifferenceData;
+        this.negDifferenceData = negDifferenceData;
+        this.absDifferenceIndex = absDifferenceIndex;
+        this.posDifferenceIndex = posDifferenceIndex;
+        this.negDifferenceIndex = negDifferenceIndex;
+    }
+
+    public static PreparedSeries of(List<BigDecimal> dataList, boolean includeZero) {
+        if (dataList.size() < 2) {
+            throw new IllegalArgumentException("At least two values are needed to forecast");
+        }
+        Difference differenceInstance = new Difference(dataList);
+        differenceInstance.setIncludeZero(includeZero);
+        DifferenceSeries differenceSeries = differenceInstance.differenceSeries();
+        return new PreparedSeries(
+            dataList.getLast(),
+            differenceSeries.size(),
+            differenceSeries.absoluteDifferences(),
+            differenceSeries.positiveDifferences(),
+            differenceSeries.negativeDifferences()
+        );
+    }
+
+    public static PreparedSeries of(List<BigDecimal> dataList, ForecastConfig config) {
+        return of(dataList, config.isIncludeZero());
+    }
+
+    public PreparedSeries withFromValue(BigDecimal fromValue) {
+        return new PreparedSeries(fromValue, differenceCount, absDifferenceData, posDifferenceData, negDifferenceData,
+                                  absDifferenceIndex, posDifferenceIndex, negDifferenceIndex);
+    }
+
+    public BigDecimal getFromValue() {
+        return fromValue;
+    }
+
+    public int getDifferenceCount() {
+        return differenceCount;
+    }
+
+    public List<BigDecimal> getAbsDifferenceData() {
+        return absDifferenceData;
+    }
+
+    public List<BigDecimal> getPosDifferenceData() {
+        return posDifferenceData;
+    }
+
+    public List<BigDecimal> getNegDifferenceData() {
+        return negDifferenceData;
+    }
+
+    public SortedSeriesIndex getAbsDifferenceIndex() {
+        return absDifferenceIndex;
+    }
+
+    public SortedSeriesIndex getPosDifferenceIndex() {
+        return posDifferenceIndex;
+    }
+
+    public SortedSeriesIndex getNegDifferenceIndex() {
+        return negDifferenceIndex;
+    }
+}
@@ -0,0 +1,210 @@
+package za.co.wethinkcode.TradeQuery.ForecastModules;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+import za.co.wethinkcode.TradeQuery.StatisticsModule.Expectation;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.OrderStatisticTree;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.TendencyFunction;
+
+/**
+ * Streaming form of {@link ForecastBase} over a fixed size sliding window of prices.
+ * The absolute, positive and negative differences live in order statistic trees, so
+ * {@link #append(BigDecimal)} and {@link #evict()} cost O(log n) and each forecast is
+ * answered from the trees without rebuilding the window. Forecasts equal those of a
+ * ForecastBase built over the current window with the same tendency function.
+ */
+public class RollingForecast {
+
+    // ForecastBase always uses DeviationAndDistribution's default comparative power
+    private static final int DEVIATION_POWER = 2;
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+
+    private final TendencyFunction tendencyFunction;
+    private final int windowSize;
+    private final ArrayDeque<BigDecimal> window = new ArrayDeque<>();
+
+    private final OrderStatisticTree absDifferenceData = new OrderStatisticTree();
+    private final OrderStatisticTree posDifferenceData = new OrderStatisticTree();
+    private final OrderStatisticTree negDifferenceData = new OrderStatisticTree();
+
+    // Probaility Bias
+    private int probailityBias = 0;
+
+    public RollingForecast(TendencyFunction tendencyFunction, int windowSize) {
+        if (windowSize < 2) {
+            throw new IllegalArgumentException("Window size must be at least 2");
+        }
+        this.tendencyFunction = tendencyFunction;
+        this.windowSize = windowSize;
+    }
+
+    public RollingForecast(TendencyFunction tendencyFunction, int windowSize, List<BigDecimal> dataList) {
+        this(tendencyFunction, windowSize);
+        for (BigDecimal value : dataList) {
+            append(value);
+        }
+    }
+
+    public void setProbabilityBias(int biasArgument){
+        this.probailityBias = biasArgument;
+    }
+
+    public int size() {
+        return window.size();
+    }
+
+    public int windowSize() {
+        return windowSize;
+    }
+
+    public BigDecimal returnFromValue() {
+        return window.peekLast();
+    }
+
+    // Adds the newest price, evicting the oldest once the window is full
+    public void append(BigDecimal price) {
+        BigDecimal previous = window.peekLast();
+        window.addLast(price);
+        if (previous != null) {
+            addDifference(price.subtract(previous));
+        }
+        if (window.size() > windowSize) {
+            evict();
+        }
+    }
+
+    // Drops the oldest price and the difference leading out of it
+    public BigDecimal evict() {
+        BigDecimal oldest = window.pollFirst();
+        if (oldest == null) {
+            throw new IllegalStateException("Window is empty");
+        }
+        BigDecimal next = window.peekFirst();
+        if (next != null) {
+            removeDifference(next.subtract(oldest));
+        }
+        return oldest;
+    }
+
+    public List<BigDecimal> magnitudeWeightedForecast(){
+        BigDecimal[] probabilities = probabilities();
+        BigDecimal[] absDistribution = boundaryTendencies(absDifferenceData);
+        List<BigDecimal> result = new ArrayList<>();
+        for (BigDecimal tendency : absDistribution) {
+            BigDecimal expectation = new Expectation(tendency.negate(), tendency, probabilities[0], probabilities[1]).expectation();
+            result.add(returnFromValue().add(expectation));
+        }
+        return result;
+    }
+
+    public List<BigDecimal> asymmetricTrendForecast(){
+        BigDecimal[] probabilities = probabilities();
+        BigDecimal[] zeros = {BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO};
+        BigDecimal[] posDistribution = posDifferenceData.isEmpty() ? zeros : boundaryTendencies(posDifferenceData);
+        BigDecimal[] negDistribution = negDifferenceData.isEmpty() ? zeros : boundaryTendencies(negDifferenceData);
+        List<BigDecimal> result = new ArrayList<>();
+        for (int n = 0; n < 3; n++) {
+            BigDecimal expectation = new Expectation(negDistribution[n], posDistribution[n], probabilities[0], probabilities[1]).expectation();
+            result.add(returnFromValue().add(expectation));
+        }
+        return result;
+    }
+
+    private void addDifference(BigDecimal difference) {
+        absDifferenceData.add(difference.abs());
+        if (difference.signum() > 0) {
+            posDifferenceData.add(difference);
+        } else if (difference.signum() < 0) {
+            negDifferenceData.add(difference);
+        }
+    }
+
+    private void removeDifference(BigDecimal difference) {
+        absDifferenceData.remove(difference.abs());
+        if (difference.signum() > 0) {
+            posDifferenceData.remove(difference);
+        } else if (difference.signum() < 0) {
+            negDifferenceData.remove(difference);
+        }
+    }
+
+    // [negative, positive] probability after the bias has been applied
+    private BigDecimal[] probabilities() {
+        if (window.size() < 2) {
+            throw new IllegalStateException("At least two values are needed to forecast");
+        }
+        BigDecimal differenceSize = BigDecimal.valueOf(absDifferenceData.size());
+        BigDecimal negDiffProbability = BigDecimal.valueOf(negDifferenceData.size()).divide(differenceSize, 10, RoundingMode.HALF_UP);
+        BigDecimal posDiffProbability = BigDecimal.valueOf(posDifferenceData.size()).divide(differenceSize, 10, RoundingMode.HALF_UP);
+        boolean comparison = negDiffProbability.compareTo(posDiffProbability) > 0;
+        if(!comparison && probailityBias == -1 || comparison && probailityBias == 1){
+            return new BigDecimal[] {posDiffProbability, negDiffProbability};
+        }
+        return new BigDecimal[] {negDiffProbability, posDiffProbability};
+    }
+
+    // [lower, central, upper] tendencies as DeviationAndDistribution computes them with useMean
+    private BigDecimal[] boundaryTendencies(OrderStatisticTree data) {
+        BigDecimal tendency = tendency(data);
+        BigDecimal size = BigDecimal.valueOf(data.size());
+        BigDecimal squaredDeviation = data.sumOfSquares()
+            .subtract(TWO.multiply(tendency).multiply(data.sum()))
+            .add(size.multiply(tendency).multiply(tendency))
+            .divide(size, 10, RoundingMode.HALF_UP);
+        BigDecimal deviation = squaredDeviation.pow(1 / DEVIATION_POWER, new MathContext(10, RoundingMode.HALF_UP));
+        BigDecimal distributionMin = tendency.subtract(deviation);
+        BigDecimal distributionMax = tendency.add(deviation);
+
+        boolean lowerEmpty = data.countLess(tendency) - data.countLess(distributionMin) == 0;
+        boolean upperEmpty = data.countLessOrEqual(distributionMax) - data.countLessOrEqual(tendency) == 0;
+        BigDecimal lowerBoundTendency = lowerEmpty ? distributionMin
+            : tendency.add(distributionMin).divide(TWO, 10, RoundingMode.HALF_UP);
+        BigDecimal upperBoundTendency = upperEmpty ? distributionMax
+            : tendency.add(distributionMax).divide(TWO, 10, RoundingMode.HALF_UP);
+        return new BigDecimal[] {lowerBoundTendency, tendency, upperBoundTendency};
+    }
+
+    private BigDecimal tendency(OrderStatisticTree data) {
+        int size = data.size();
+        if (size == 0) {
+            return BigDecimal.ZERO;
+        }
+        return switch (tendencyFunction) {
+            case MEAN -> data.sum().divide(BigDecimal.valueOf(size), 10, RoundingMode.HALF_UP);
+            case MEDIAN -> size % 2 == 1 ? data.kth(size / 2)
+                : data.kth(size / 2 - 1).add(data.kth(size / 2)).divide(TWO, 10, RoundingMode.HALF_UP);
+            case MODE -> data.mode();
+            case MEAN_LEAST_DIFFERENCE -> meanLeastDifference(data);
+        };
+    }
+
+    // With squared differences the minimisers are the values closest to the mean sum / n,
+    // found as the floor and ceiling of the mean and compared exactly through n * v - sum.
+    private BigDecimal meanLeastDifference(OrderStatisticTree data) {
+        BigDecimal size = BigDecimal.valueOf(data.size());
+        BigDecimal sum = data.sum();
+        BigDecimal below = data.floorScaled(size, sum);
+        BigDecimal above = data.ceilingScaled(size, sum);
+
+        BigDecimal total = BigDecimal.ZERO;
+        int count = 0;
+        int comparison = below == null ? 1 : above == null ? -1
+            : sum.subtract(below.multiply(size)).compareTo(above.multiply(size).subtract(sum));
+        if (comparison <= 0) {
+            int belowCount = data.countOf(below);
+            total = total.add(below.multiply(BigDecimal.valueOf(belowCount)));
+            count += belowCount;
+        }
+        if (comparison >= 0 && (below == null || above.compareTo(below) != 0)) {
+            int aboveCount = data.countOf(above);
+            total = total.add(above.multiply(BigDecimal.valueOf(aboveCount)));
+            count += aboveCount;
+        }
+        return total.divide(BigDecimal.valueOf(count), 10, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,138 @@
+package za.co.wethinkcode.TradeQuery.ForecastModules;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+
+/**
+ * Polynomial rolling hash of a price series, used to recognise a series that has already
+ * been forecast. {@link #append} adds a bar and {@link #slide} moves a fixed size window
+ * on by one bar, both in O(1), so a live window never needs rehashing. BigDecimal values
+ * hash by unscaled value and scale, the same way {@link BigDecimal#equals} compares them,
+ * and every bar contributes all 64 bits of its mixed value.
+ *
+ * Two different series of the same length share a fingerprint with probability about
+ * 2^-64, so among a billion distinct windows the chance of any collision is still below
+ * one in ten million. Nothing checks the series behind a match.
+ */
+public final class SeriesFingerprint {
+
+    // Odd multiplier so the hash stays invertible modulo 2^64 when a bar slides out
+    private static final long MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    public static final SeriesFingerprint EMPTY = new SeriesFingerprint(0, 0L);
+
+    private final int length;
+    private final long hash;
+
+    private SeriesFingerprint(int length, long hash) {
+        this.length = length;
+        this.hash = hash;
+    }
+
+    public static SeriesFingerprint of(List<BigDecimal> dataList) {
+        long hash = 0L;
+        for (BigDecimal value : dataList) {
+            hash = hash * MULTIPLIER + mix(value);
+        }
+        return new SeriesFingerprint(dataList.size(), hash);
+    }
+
+    public static SeriesFingerprint of(double[] values) {
+        long hash = 0L;
+        for (double value : values) {
+            hash = hash * MULTIPLIER + mix(value);
+        }
+        return new SeriesFingerprint(values.length, hash);
+    }
+
+    public SeriesFingerprint append(BigDecimal value) {
+        return new SeriesFingerprint(length + 1, hash * MULTIPLIER + mix(value));
+    }
+
+    public SeriesFingerprint append(double value) {
+        return new SeriesFingerprint(length + 1, hash * MULTIPLIER + mix(value));
+    }
+
+    // Drops the oldest bar of the window and appends the newest
+    public SeriesFingerprint slide(BigDecimal oldest, BigDecimal newest) {
+        return slide(mix(oldest), mix(newest));
+    }
+
+    public SeriesFingerprint slide(double oldest, double newest) {
+        return slide(mix(oldest), mix(newest));
+    }
+
+    private SeriesFingerprint slide(long oldest, long newest) {
+        if (length == 0) {
+            throw new IllegalStateException("Cannot slide an empty series");
+        }
+        long withoutOldest = hash - oldest * power(length - 1);
+        return new SeriesFingerprint(length, withoutOldest * MULTIPLIER + newest);
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public long hash() {
+        return hash;
+    }
+
+    private static long power(int exponent) {
+        long result = 1L;
+        long base = MULTIPLIER;
+        while (exponent > 0) {
+            if ((exponent & 1) == 1) {
+                result *= base;
+            }
+            base *= base;
+            exponent >>= 1;
+        }
+        return result;
+    }
+
+    private static long mix(BigDecimal value) {
+        BigInteger unscaled = value.unscaledValue();
+        long bits = unscaled.longValue();
+        // Unscaled values wider than a long fold in every byte
+        if (unscaled.bitLength() >= Long.SIZE) {
+            for (byte part : unscaled.toByteArray()) {
+                bits = mix(bits) + part;
+            }
+        }
+        return mix(mix(bits) + value.scale());
+    }
+
+    private static long mix(double value) {
+        return mix(Double.doubleToLongBits(value));
+    }
+
+    // SplitMix64 finaliser, spreads nearby prices across the whole hash
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof SeriesFingerprint fingerprint)) {
+            return false;
+        }
+        return length == fingerprint.length && hash == fingerprint.hash;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(hash) * 31 + length;
+    }
+
+    @Override
+    public String toString() {
+        return "SeriesFingerprint{length=" + length + ", hash=" + Long.toHexString(hash) + "}";
+    }
+}
@@ -0,0 +1,125 @@
+package za.co.wethinkcode.TradeQuery.IndicatorModule;
+
+/**
+ * Bollinger bands: the mean of the last period prices plus and minus a number of
+ * population standard deviations. A running sum and sum of squares are kept, with the
+ * evicted price read back from a ring of the last period prices. Prices are stored less
+ * the first price seen, so the sum of squares does not cancel away the spread at high
+ * price levels, and the sums are re-added from the ring once per lap to stop drift.
+ *
+ * The value is %B, where the last price sits between the lower (0) and upper (1) band.
+ * A close above the upper band is read as bearish and below the lower band as bullish.
+ */
+public class BollingerBands implements Indicator {
+
+    private final int period;
+    private final double width;
+    private final double[] ring;
+    private int position;
+    private int count;
+    private double shift = Double.NaN;
+    private double sum;
+    private double sumOfSquares;
+    private double lastPrice;
+
+    public BollingerBands() {
+        this(20, 2);
+    }
+
+    public BollingerBands(int period, double width) {
+        if (period < 2) {
+            throw new IllegalArgumentException("Period must be at least 2");
+        }
+        this.period = period;
+        this.width = width;
+        this.ring = new double[period];
+    }
+
+    @Override
+    public String getName() {
+        return "BB(" + period + "," + width + ")";
+    }
+
+    @Override
+    public void update(double price) {
+        if (Double.isNaN(shift)) {
+            shift = price;
+        }
+        lastPrice = price;
+        double value = price - shift;
+        double evicted = ring[position];
+        ring[position] = value;
+        position = (position + 1) % period;
+        if (count < period) {
+            count++;
+            sum += value;
+            sumOfSquares += value * value;
+        } else if (position == 0) {
+            resum();
+        } else {
+            sum += value - evicted;
+            sumOfSquares += value * value - evicted * evicted;
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return count == period;
+    }
+
+    public double getMiddle() {
+        return isReady() ? shift + sum / period : Double.NaN;
+    }
+
+    public double getStandardDeviation() {
+        if (!isReady()) {
+            return Double.NaN;
+        }
+        double mean = sum / period;
+        return Math.sqrt(Math.max(0, sumOfSquares / period - mean * mean));
+    }
+
+    public double getUpper() {
+        return getMiddle() + width * getStandardDeviation();
+    }
+
+    public double getLower() {
+        return getMiddle() - width * getStandardDeviation();
+    }
+
+    // %B; 0.5 when the bands have no width
+    @Override
+    public double value() {
+        if (!isReady()) {
+            return Double.NaN;
+        }
+        double lower = getLower();
+        double bandWidth = getUpper() - lower;
+        return bandWidth == 0 ? 0.5 : (lastPrice - lower) / bandWidth;
+    }
+
+    @Override
+    public int bias() {
+        if (!isReady()) {
+            return 0;
+        }
+        if (lastPrice > getUpper()) {
+            return -1;
+        }
+        return lastPrice < getLower() ? 1 : 0;
+    }
+
+    @Override
+    public BollingerBands newInstance() {
+        return new BollingerBands(period, width);
+    }
+
+    private void resum() {
+        sum = 0;
+        sumOfSquares = 0;
+        for (double value : ring) {
+            sum += value;
+            sumOfSquares += value * value;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package za.co.wethinkcode.TradeQuery.IndicatorModule;
+
+/**
+ * Exponential moving average with smoothing 2 / (period + 1), seeded with the simple
+ * average of the first period prices. Bias is the side of the average the last price is on.
+ */
+public class ExponentialMovingAverage implements Indicator {
+
+    private final int period;
+    private final double smoothing;
+    private int count;
+    private double average;
+    private double lastPrice;
+
+    public ExponentialMovingAverage(int period) {
+        if (period < 1) {
+            throw new IllegalArgumentException("Period must be at least 1");
+        }
+        this.period = period;
+        this.smoothing = 2.0 / (period + 1);
+    }
+
+    public int getPeriod() {
+        return period;
+    }
+
+    @Override
+    public String getName() {
+        return "EMA(" + period + ")";
+    }
+
+    @Override
+    public void update(double price) {
+        lastPrice = price;
+        if (count < period) {
+            // Running sum until the seed average is complete
+            average += price;
+            count++;
+            if (count == period) {
+                average /= period;
+            }
+            return;
+        }
+        average += smoothing * (price - average);
+    }
+
+    @Override
+    public boolean isReady() {
+        return count == period;
+    }
+
+    @Override
+    public double value() {
+        return isReady() ? average : Double.NaN;
+    }
+
+    @Override
+    public int bias() {
+        return isReady() ? Double.compare(lastPrice, average) : 0;
+    }
+
+    @Override
+    public ExponentialMovingAverage newInstance() {
+        return new ExponentialMovingAverage(period);
+    }
+}
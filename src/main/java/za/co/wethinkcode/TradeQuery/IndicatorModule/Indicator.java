@@ -0,0 +1,28 @@
+package za.co.wethinkcode.TradeQuery.IndicatorModule;
+
+/**
+ * A technical indicator over a price stream. Each {@link #update(double)} folds one new
+ * price into a fixed amount of running state, so the cost per bar does not grow with the
+ * length of the series.
+ */
+public interface Indicator {
+
+    String getName();
+
+    void update(double price);
+
+    // True once enough prices have arrived for value() to mean something
+    boolean isReady();
+
+    // The indicator's main output, NaN until ready
+    double value();
+
+    /**
+     * The indicator's reading as a forecast probability bias: 1 bullish, -1 bearish and
+     * 0 neutral or not ready. See {@link za.co.wethinkcode.TradeQuery.ForecastModules.ForecastBase#setProbabilityBias(int)}.
+     */
+    int bias();
+
+    // An instance with the same settings and no prices
+    Indicator newInstance();
+}
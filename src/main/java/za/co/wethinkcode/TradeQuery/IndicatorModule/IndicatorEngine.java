@@ -0,0 +1,124 @@
+package za.co.wethinkcode.TradeQuery.IndicatorModule;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import za.co.wethinkcode.TradeQuery.DataModule.OhlcvSeries;
+import za.co.wethinkcode.TradeQuery.DataModule.SeriesField;
+
+/**
+ * Keeps a set of indicators per symbol. Indicators are registered once as prototypes and
+ * each symbol gets its own copies on its first price. {@link #update(String, double)}
+ * feeds one live price to every indicator of a symbol, and {@link #run(Map)} streams
+ * whole series through in one pass per symbol, recording every indicator's value at
+ * every bar. A backfill with run can be followed by live updates on the same state.
+ *
+ * Not thread safe; use one engine per thread or feed it from one thread.
+ */
+public class IndicatorEngine {
+
+    private final Map<String, Indicator> prototypes = new LinkedHashMap<>();
+    private final Map<String, Indicator[]> states = new HashMap<>();
+
+    public IndicatorEngine add(Indicator prototype) {
+        return add(prototype.getName(), prototype);
+    }
+
+    public IndicatorEngine add(String name, Indicator prototype) {
+        if (!states.isEmpty()) {
+            throw new IllegalStateException("Indicators must be added before the first price");
+        }
+        if (prototypes.putIfAbsent(name, prototype.newInstance()) != null) {
+            throw new IllegalArgumentException("Indicator " + name + " is already added");
+        }
+        return this;
+    }
+
+    public List<String> getNames() {
+        return new ArrayList<>(prototypes.keySet());
+    }
+
+    public void update(String symbol, double price) {
+        for (Indicator indicator : stateOf(symbol)) {
+            indicator.update(price);
+        }
+    }
+
+    public Indicator get(String symbol, String name) {
+        Indicator[] state = states.get(symbol);
+        if (state == null) {
+            throw new IllegalArgumentException("No prices for " + symbol);
+        }
+        return state[indexOf(name)];
+    }
+
+    // Sign of the summed biases of the symbol's ready indicators, for ForecastBase.setProbabilityBias
+    public int bias(String symbol) {
+        Indicator[] state = states.get(symbol);
+        return state == null ? 0 : combinedBias(state);
+    }
+
+    // Closing prices of each series
+    public Map<String, IndicatorValues> run(Collection<OhlcvSeries> series) {
+        Map<String, double[]> closes = new LinkedHashMap<>();
+        for (OhlcvSeries symbolSeries : series) {
+            closes.put(symbolSeries.getSymbol(), symbolSeries.column(SeriesField.CLOSE));
+        }
+        return run(closes);
+    }
+
+    public Map<String, IndicatorValues> run(Map<String, double[]> prices) {
+        Map<String, IndicatorValues> results = new LinkedHashMap<>();
+        for (Map.Entry<String, double[]> entry : prices.entrySet()) {
+            double[] series = entry.getValue();
+            Indicator[] state = stateOf(entry.getKey());
+            double[][] values = new double[state.length][series.length];
+            int[] biases = new int[series.length];
+            for (int bar = 0; bar < series.length; bar++) {
+                for (int n = 0; n < state.length; n++) {
+                    state[n].update(series[bar]);
+                    values[n][bar] = state[n].value();
+                }
+                biases[bar] = combinedBias(state);
+            }
+            results.put(entry.getKey(), new IndicatorValues(entry.getKey(), getNames(), values, biases));
+        }
+        return results;
+    }
+
+    private Indicator[] stateOf(String symbol) {
+        Indicator[] state = states.get(symbol);
+        if (state == null) {
+            state = new Indicator[prototypes.size()];
+            int n = 0;
+            for (Indicator prototype : prototypes.values()) {
+                state[n++] = prototype.newInstance();
+            }
+            states.put(symbol, state);
+        }
+        return state;
+    }
+
+    private int indexOf(String name) {
+        int n = 0;
+        for (String known : prototypes.keySet()) {
+            if (known.equals(name)) {
+                return n;
+            }
+            n++;
+        }
+        throw new IllegalArgumentException("No indicator named " + name);
+    }
+
+    private static int combinedBias(Indicator[] state) {
+        int sum = 0;
+        for (Indicator indicator : state) {
+            sum += indicator.bias();
+        }
+        return Integer.signum(sum);
+    }
+}
@@ -0,0 +1,55 @@
+package za.co.wethinkcode.TradeQuery.IndicatorModule;
+
+import java.util.List;
+
+/**
+ * Every indicator value of one symbol at every bar of an {@link IndicatorEngine#run} call,
+ * NaN where an indicator was not ready yet, with the combined bias at each bar.
+ */
+public final class IndicatorValues {
+
+    private final String symbol;
+    private final List<String> names;
+    private final double[][] values;
+    private final int[] biases;
+
+    IndicatorValues(String symbol, List<String> names, double[][] values, int[] biases) {
+        this.symbol = symbol;
+        this.names = List.copyOf(names);
+        this.values = values;
+        this.biases = biases;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public List<String> getNames() {
+        return names;
+    }
+
+    public int size() {
+        return biases.length;
+    }
+
+    // The array itself, not a copy
+    public double[] get(String name) {
+        int index = names.indexOf(name);
+        if (index < 0) {
+            throw new IllegalArgumentException("No indicator named " + name);
+        }
+        return values[index];
+    }
+
+    public double get(String name, int bar) {
+        return get(name)[bar];
+    }
+
+    public int getBias(int bar) {
+        return biases[bar];
+    }
+
+    public int getLastBias() {
+        return biases.length == 0 ? 0 : biases[biases.length - 1];
+    }
+}
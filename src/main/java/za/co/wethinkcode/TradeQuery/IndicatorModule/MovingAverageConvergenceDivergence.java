@@ -0,0 +1,71 @@
+package za.co.wethinkcode.TradeQuery.IndicatorModule;
+
+/**
+ * MACD: the fast price EMA less the slow price EMA, with a signal line that is an EMA of
+ * that difference. The signal EMA only starts once the slow EMA is ready, so the default
+ * 12, 26, 9 settings are ready after 34 prices. Bias follows the sign of the histogram.
+ */
+public class MovingAverageConvergenceDivergence implements Indicator {
+
+    private final ExponentialMovingAverage fast;
+    private final ExponentialMovingAverage slow;
+    private final ExponentialMovingAverage signal;
+    private double macd = Double.NaN;
+
+    public MovingAverageConvergenceDivergence() {
+        this(12, 26, 9);
+    }
+
+    public MovingAverageConvergenceDivergence(int fastPeriod, int slowPeriod, int signalPeriod) {
+        if (fastPeriod >= slowPeriod) {
+            throw new IllegalArgumentException("Fast period must be shorter than the slow period");
+        }
+        this.fast = new ExponentialMovingAverage(fastPeriod);
+        this.slow = new ExponentialMovingAverage(slowPeriod);
+        this.signal = new ExponentialMovingAverage(signalPeriod);
+    }
+
+    @Override
+    public String getName() {
+        return "MACD(" + fast.getPeriod() + "," + slow.getPeriod() + "," + signal.getPeriod() + ")";
+    }
+
+    @Override
+    public void update(double price) {
+        fast.update(price);
+        slow.update(price);
+        if (slow.isReady()) {
+            macd = fast.value() - slow.value();
+            signal.update(macd);
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return signal.isReady();
+    }
+
+    // The MACD line
+    @Override
+    public double value() {
+        return isReady() ? macd : Double.NaN;
+    }
+
+    public double getSignal() {
+        return signal.value();
+    }
+
+    public double getHistogram() {
+        return value() - getSignal();
+    }
+
+    @Override
+    public int bias() {
+        return isReady() ? (int) Math.signum(getHistogram()) : 0;
+    }
+
+    @Override
+    public MovingAverageConvergenceDivergence newInstance() {
+        return new MovingAverageConvergenceDivergence(fast.getPeriod(), slow.getPeriod(), signal.getPeriod());
+    }
+}
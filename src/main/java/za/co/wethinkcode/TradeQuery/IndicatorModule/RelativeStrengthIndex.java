@@ -0,0 +1,108 @@
+package za.co.wethinkcode.TradeQuery.IndicatorModule;
+
+/**
+ * Wilder's relative strength index. Each change between consecutive prices is a gain when
+ * positive and a loss when negative, as {@link za.co.wethinkcode.TradeQuery.StatisticsModule.Difference}
+ * splits them. The first period gains and losses are averaged, and later ones are folded
+ * in with Wilder smoothing: average = (average * (period - 1) + change) / period.
+ *
+ * Above the overbought level the bias is bearish, below the oversold level bullish.
+ */
+public class RelativeStrengthIndex implements Indicator {
+
+    private final int period;
+    private double overbought = 70;
+    private double oversold = 30;
+
+    private boolean started;
+    private double previous;
+    private int changes;
+    private double averageGain;
+    private double averageLoss;
+
+    public RelativeStrengthIndex() {
+        this(14);
+    }
+
+    public RelativeStrengthIndex(int period) {
+        if (period < 1) {
+            throw new IllegalArgumentException("Period must be at least 1");
+        }
+        this.period = period;
+    }
+
+    public void setLevels(double oversold, double overbought) {
+        if (oversold >= overbought) {
+            throw new IllegalArgumentException("Oversold level must be below the overbought level");
+        }
+        this.oversold = oversold;
+        this.overbought = overbought;
+    }
+
+    public int getPeriod() {
+        return period;
+    }
+
+    @Override
+    public String getName() {
+        return "RSI(" + period + ")";
+    }
+
+    @Override
+    public void update(double price) {
+        if (!started) {
+            started = true;
+            previous = price;
+            return;
+        }
+        double change = price - previous;
+        previous = price;
+        double gain = change > 0 ? change : 0;
+        double loss = change < 0 ? -change : 0;
+        if (changes < period) {
+            averageGain += gain;
+            averageLoss += loss;
+            changes++;
+            if (changes == period) {
+                averageGain /= period;
+                averageLoss /= period;
+            }
+            return;
+        }
+        averageGain = (averageGain * (period - 1) + gain) / period;
+        averageLoss = (averageLoss * (period - 1) + loss) / period;
+    }
+
+    @Override
+    public boolean isReady() {
+        return changes == period;
+    }
+
+    // 0 to 100; 100 when there were no losses and 50 when the price has not moved
+    @Override
+    public double value() {
+        if (!isReady()) {
+            return Double.NaN;
+        }
+        if (averageLoss == 0) {
+            return averageGain == 0 ? 50 : 100;
+        }
+        return 100 - 100 / (1 + averageGain / averageLoss);
+    }
+
+    @Override
+    public int bias() {
+        double rsi = value();
+        if (rsi > overbought) {
+            return -1;
+        }
+        return rsi < oversold ? 1 : 0;
+    }
+
+    @Override
+    public RelativeStrengthIndex newInstance() {
+        RelativeStrengthIndex copy = new RelativeStrengthIndex(period);
+        copy.setLevels(oversold, overbought);
+        return copy;
+    }
+}
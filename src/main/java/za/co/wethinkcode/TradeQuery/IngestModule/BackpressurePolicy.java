@@ -0,0 +1,9 @@
+package za.co.wethinkcode.TradeQuery.IngestModule;
+
+// What a publish does when the slowest consumer is a full ring behind
+public enum BackpressurePolicy {
+    // Wait for the slowest consumer; no tick is lost
+    BLOCK,
+    // Discard the new tick and count it; the producer never waits
+    DROP
+}
@@ -0,0 +1,85 @@
+package za.co.wethinkcode.TradeQuery.IngestModule;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import za.co.wethinkcode.TradeQuery.DataModule.BarAggregator;
+import za.co.wethinkcode.TradeQuery.DataModule.BarInterval;
+import za.co.wethinkcode.TradeQuery.DataModule.OhlcvSeries;
+
+/**
+ * Resamples each symbol's ticks into bars of one interval with a {@link BarAggregator}
+ * per symbol, following the local clock of that symbol's own time zone. The bars can be
+ * read while the pipeline runs.
+ */
+public class BarAggregationStage implements TickHandler {
+
+    private final BarInterval interval;
+    private final Function<String, ZoneId> zoneOfSymbol;
+    // Indexed by symbol id
+    private final List<BarAggregator> aggregators = new ArrayList<>();
+    private final Map<String, BarAggregator> bySymbol = new HashMap<>();
+    private long completedBars;
+
+    // Every symbol in the one zone
+    public BarAggregationStage(BarInterval interval, ZoneId zone) {
+        this(interval, symbol -> zone);
+    }
+
+    // Each symbol in its own zone; a tick of a symbol without one is rejected
+    public BarAggregationStage(BarInterval interval, Map<String, ZoneId> zones) {
+        this(interval, Map.copyOf(zones)::get);
+    }
+
+    private BarAggregationStage(BarInterval interval, Function<String, ZoneId> zoneOfSymbol) {
+        this.interval = interval;
+        this.zoneOfSymbol = zoneOfSymbol;
+    }
+
+    @Override
+    public synchronized void onTick(Tick tick) {
+        BarAggregator aggregator = aggregatorOf(tick);
+        if (aggregator.add(tick.getTimestamp(), tick.getOpen(), tick.getHigh(), tick.getLow(), tick.getClose(), tick.getVolume())) {
+            completedBars++;
+        }
+    }
+
+    public synchronized long getCompletedBars() {
+        return completedBars;
+    }
+
+    // Completed bars of the symbol, with the bar still being filled when includeOpenBar
+    public synchronized OhlcvSeries getBars(String symbol, boolean includeOpenBar) {
+        BarAggregator aggregator = bySymbol.get(symbol);
+        if (aggregator == null) {
+            throw new IllegalArgumentException("No ticks for " + symbol);
+        }
+        return aggregator.toSeries(includeOpenBar);
+    }
+
+    private BarAggregator aggregatorOf(Tick tick) {
+        int id = tick.getSymbolId();
+        while (aggregators.size() <= id) {
+            aggregators.add(null);
+        }
+        BarAggregator aggregator = aggregators.get(id);
+        if (aggregator == null) {
+            aggregator = new BarAggregator(tick.getSymbol(), interval, zoneOf(tick.getSymbol()));
+            aggregators.set(id, aggregator);
+            bySymbol.put(tick.getSymbol(), aggregator);
+        }
+        return aggregator;
+    }
+
+    private ZoneId zoneOf(String symbol) {
+        ZoneId symbolZone = zoneOfSymbol.apply(symbol);
+        if (symbolZone == null) {
+            throw new IllegalArgumentException("No time zone for " + symbol);
+        }
+        return symbolZone;
+    }
+}
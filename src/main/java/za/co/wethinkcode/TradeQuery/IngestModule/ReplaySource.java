@@ -0,0 +1,140 @@
+package za.co.wethinkcode.TradeQuery.IngestModule;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+import za.co.wethinkcode.TradeQuery.DataModule.AlphaVantageSeriesLoader;
+import za.co.wethinkcode.TradeQuery.DataModule.BarInterval;
+import za.co.wethinkcode.TradeQuery.DataModule.OhlcvSeries;
+import za.co.wethinkcode.TradeQuery.DataModule.SeriesField;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.TendencyFunction;
+
+/**
+ * Replays Alpha Vantage series files into a {@link TickPipeline} as one tick per bar,
+ * merged across files in timestamp order. With a speed-up the replay keeps to market
+ * time divided by it, so 60 plays an hour of 1-minute bars in a minute; a speed-up of 0
+ * publishes as fast as the pipeline accepts.
+ */
+public class ReplaySource {
+
+    private static final String DATA_DIRECTORY = "src/main/java/za/co/wethinkcode/TradeQuery/Data";
+
+    private final List<OhlcvSeries> series;
+    private double speedUp = 0;
+
+    public ReplaySource(List<OhlcvSeries> series) {
+        this.series = List.copyOf(series);
+    }
+
+    // Every *_(data_intra_day).json file of the directory
+    public static ReplaySource ofDirectory(Path directory) throws IOException {
+        List<OhlcvSeries> series = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*_(data_intra_day).json")) {
+            for (Path file : files) {
+                series.add(AlphaVantageSeriesLoader.load(file));
+            }
+        }
+        return new ReplaySource(series);
+    }
+
+    public void setSpeedUp(double speedUp) {
+        if (speedUp < 0) {
+            throw new IllegalArgumentException("Speed-up must not be negative");
+        }
+        this.speedUp = speedUp;
+    }
+
+    public List<OhlcvSeries> getSeries() {
+        return series;
+    }
+
+    // The time zone each series is quoted in, by symbol
+    public Map<String, ZoneId> getTimeZones() {
+        Map<String, ZoneId> zones = new HashMap<>();
+        for (OhlcvSeries each : series) {
+            zones.putIfAbsent(each.getSymbol(), ZoneId.of(each.getTimeZone()));
+        }
+        return zones;
+    }
+
+    // Publishes every bar and returns how many were offered, dropped ones included
+    public long replay(TickPipeline pipeline) {
+        int[] symbolIds = new int[series.size()];
+        int[] positions = new int[series.size()];
+        long firstTimestamp = Long.MAX_VALUE;
+        for (int n = 0; n < series.size(); n++) {
+            symbolIds[n] = pipeline.symbolId(series.get(n).getSymbol());
+            if (series.get(n).size() > 0) {
+                firstTimestamp = Math.min(firstTimestamp, series.get(n).timestamp(0));
+            }
+        }
+        long start = System.nanoTime();
+        long offered = 0;
+        while (true) {
+            int earliest = -1;
+            for (int n = 0; n < series.size(); n++) {
+                if (positions[n] < series.get(n).size() && (earliest < 0
+                    || series.get(n).timestamp(positions[n]) < series.get(earliest).timestamp(positions[earliest]))) {
+                    earliest = n;
+                }
+            }
+            if (earliest < 0) {
+                return offered;
+            }
+            OhlcvSeries next = series.get(earliest);
+            int position = positions[earliest]++;
+            long timestamp = next.timestamp(position);
+            if (speedUp > 0) {
+                long due = start + (long) ((timestamp - firstTimestamp) * 1e9 / speedUp);
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+            }
+            pipeline.publish(symbolIds[earliest], timestamp, field(next, SeriesField.OPEN, position),
+                             field(next, SeriesField.HIGH, position), field(next, SeriesField.LOW, position),
+                             field(next, SeriesField.CLOSE, position), field(next, SeriesField.VOLUME, position));
+            offered++;
+        }
+    }
+
+    private static double field(OhlcvSeries series, SeriesField field, int position) {
+        return series.has(field) ? series.get(field, position) : Double.NaN;
+    }
+
+    // Replays Data/ through 5-minute bars and forecasts: [speed-up] [window] [data directory]
+    public static void main(String[] args) throws Exception {
+        double speedUp = args.length > 0 ? Double.parseDouble(args[0]) : 0;
+        int window = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        ReplaySource source = ofDirectory(Paths.get(args.length > 2 ? args[2] : DATA_DIRECTORY));
+        source.setSpeedUp(speedUp);
+
+        BarAggregationStage bars = new BarAggregationStage(BarInterval.FIVE_MINUTES, source.getTimeZones());
+        RollingForecastStage forecasts = new RollingForecastStage(TendencyFunction.MEDIAN, window);
+        TickPipeline pipeline = new TickPipeline();
+        pipeline.addStage("bars", bars).addStage("forecasts", forecasts);
+        pipeline.start();
+        long start = System.nanoTime();
+        long offered = source.replay(pipeline);
+        pipeline.close();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%d ticks in %.2f s, %.0f ticks/s, %d dropped%n", offered, seconds, offered / seconds,
+                          pipeline.getDropped());
+        System.out.println("5-minute bars completed: " + bars.getCompletedBars());
+        System.out.println("tick to forecast latency: " + forecasts.getLatency());
+        System.out.println("ticks without a close: " + forecasts.getSkippedTicks());
+        for (OhlcvSeries series : source.getSeries()) {
+            System.out.println(forecasts.getLatest(series.getSymbol()));
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package za.co.wethinkcode.TradeQuery.IngestModule;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import za.co.wethinkcode.TradeQuery.ForecastModules.RollingForecast;
+import za.co.wethinkcode.TradeQuery.MetricsModule.LatencyHistogram;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.TendencyFunction;
+
+/**
+ * Appends each symbol's closes to a {@link RollingForecast} and, once its window is
+ * full, forecasts every forecastEvery ticks. The time from a tick's publish to its
+ * forecast being ready is recorded as the tick to forecast latency. Ticks without a
+ * finite close, such as replayed bars missing the field, are counted and skipped.
+ */
+public class RollingForecastStage implements TickHandler {
+
+    private final TendencyFunction tendencyFunction;
+    private final int windowSize;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder skippedTicks = new LongAdder();
+    private final Map<String, TickForecast> latest = new ConcurrentHashMap<>();
+    // Indexed by symbol id
+    private final List<RollingForecast> forecasts = new ArrayList<>();
+    private final List<int[]> ticksSinceForecast = new ArrayList<>();
+    private int forecastEvery = 1;
+    private int probabilityBias = 0;
+
+    public RollingForecastStage(TendencyFunction tendencyFunction, int windowSize) {
+        if (windowSize < 2) {
+            throw new IllegalArgumentException("Window size must be at least 2");
+        }
+        this.tendencyFunction = tendencyFunction;
+        this.windowSize = windowSize;
+    }
+
+    public void setForecastEvery(int ticks) {
+        if (ticks < 1) {
+            throw new IllegalArgumentException("Ticks between forecasts must be at least 1");
+        }
+        this.forecastEvery = ticks;
+    }
+
+    public void setProbabilityBias(int probabilityBias) {
+        this.probabilityBias = probabilityBias;
+    }
+
+    @Override
+    public void onTick(Tick tick) {
+        if (!Double.isFinite(tick.getClose())) {
+            skippedTicks.increment();
+            return;
+        }
+        int id = tick.getSymbolId();
+        RollingForecast forecast = forecastOf(id);
+        forecast.append(BigDecimal.valueOf(tick.getClose()));
+        int[] ticks = ticksSinceForecast.get(id);
+        if (forecast.size() < windowSize || ++ticks[0] < forecastEvery) {
+            return;
+        }
+        ticks[0] = 0;
+        List<BigDecimal> magnitudeWeighted = forecast.magnitudeWeightedForecast();
+        List<BigDecimal> asymmetricTrend = forecast.asymmetricTrendForecast();
+        long latencyNanos = System.nanoTime() - tick.getPublishNanos();
+        latency.record(latencyNanos);
+        latest.put(tick.getSymbol(), new TickForecast(tick.getSymbol(), tick.getTimestamp(), magnitudeWeighted,
+                                                      asymmetricTrend, latencyNanos));
+    }
+
+    // The most recent forecast of the symbol, null before its window has filled
+    public TickForecast getLatest(String symbol) {
+        return latest.get(symbol);
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public long getSkippedTicks() {
+        return skippedTicks.sum();
+    }
+
+    private RollingForecast forecastOf(int id) {
+        while (forecasts.size() <= id) {
+            forecasts.add(null);
+            ticksSinceForecast.add(new int[1]);
+        }
+        RollingForecast forecast = forecasts.get(id);
+        if (forecast == null) {
+            forecast = new RollingForecast(tendencyFunction, windowSize);
+            forecast.setProbabilityBias(probabilityBias);
+            forecasts.set(id, forecast);
+        }
+        return forecast;
+    }
+
+    public static final class TickForecast {
+        private final String symbol;
+        private final long timestamp;
+        private final List<BigDecimal> magnitudeWeightedForecast;
+        private final List<BigDecimal> asymmetricTrendForecast;
+        private final long latencyNanos;
+
+        TickForecast(String symbol, long timestamp, List<BigDecimal> magnitudeWeightedForecast,
+                     List<BigDecimal> asymmetricTrendForecast, long latencyNanos) {
+            this.symbol = symbol;
+            this.timestamp = timestamp;
+            this.magnitudeWeightedForecast = List.copyOf(magnitudeWeightedForecast);
+            this.asymmetricTrendForecast = List.copyOf(asymmetricTrendForecast);
+            this.latencyNanos = latencyNanos;
+        }
+
+        public String getSymbol() {
+            return symbol;
+        }
+
+        // Timestamp of the tick the forecast was made after
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        public List<BigDecimal> getMagnitudeWeightedForecast() {
+            return magnitudeWeightedForecast;
+        }
+
+        public List<BigDecimal> getAsymmetricTrendForecast() {
+            return asymmetricTrendForecast;
+        }
+
+        public long getLatencyNanos() {
+            return latencyNanos;
+        }
+
+        @Override
+        public String toString() {
+            return symbol + " @" + timestamp + " magnitude=" + magnitudeWeightedForecast + " trend=" + asymmetricTrendForecast;
+        }
+    }
+}
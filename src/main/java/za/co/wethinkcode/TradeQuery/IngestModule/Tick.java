@@ -0,0 +1,64 @@
+package za.co.wethinkcode.TradeQuery.IngestModule;
+
+/**
+ * Reusable view of one slot of a {@link TickRingBuffer}. Each consumer owns one and it is
+ * pointed at the next slot before every {@link TickHandler#onTick} call, so reading a
+ * tick allocates nothing.
+ */
+public final class Tick {
+
+    private final TickRingBuffer ring;
+    private int slot;
+    private long sequence;
+
+    Tick(TickRingBuffer ring) {
+        this.ring = ring;
+    }
+
+    void moveTo(long sequence, int slot) {
+        this.sequence = sequence;
+        this.slot = slot;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public int getSymbolId() {
+        return ring.symbols[slot];
+    }
+
+    public String getSymbol() {
+        return ring.symbolName(ring.symbols[slot]);
+    }
+
+    // Epoch second of the bar or trade
+    public long getTimestamp() {
+        return ring.timestamps[slot];
+    }
+
+    public double getOpen() {
+        return ring.opens[slot];
+    }
+
+    public double getHigh() {
+        return ring.highs[slot];
+    }
+
+    public double getLow() {
+        return ring.lows[slot];
+    }
+
+    public double getClose() {
+        return ring.closes[slot];
+    }
+
+    public double getVolume() {
+        return ring.volumes[slot];
+    }
+
+    // System.nanoTime() when the tick was published, for tick to result latency
+    public long getPublishNanos() {
+        return ring.publishNanos[slot];
+    }
+}
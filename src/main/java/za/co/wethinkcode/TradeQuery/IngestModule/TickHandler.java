@@ -0,0 +1,11 @@
+package za.co.wethinkcode.TradeQuery.IngestModule;
+
+/**
+ * A pipeline stage. Called on the stage's own thread for every tick in publish order.
+ * The {@link Tick} is a view of a ring slot that moves on after the call returns, so
+ * copy out any value that has to be kept.
+ */
+@FunctionalInterface
+public interface TickHandler {
+    void onTick(Tick tick);
+}
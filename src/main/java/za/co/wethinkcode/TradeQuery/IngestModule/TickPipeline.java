@@ -0,0 +1,181 @@
+package za.co.wethinkcode.TradeQuery.IngestModule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs a set of {@link TickHandler} stages over one {@link TickRingBuffer}, each stage on
+ * its own platform thread that spins briefly and then parks while the ring is empty.
+ * Every stage sees every tick, so a slow stage holds the producer back under BLOCK and
+ * loses ticks for every stage under DROP.
+ *
+ * A stage that throws has the error counted and keeps receiving ticks; the first error
+ * is rethrown by {@link #close()}. A stage whose thread dies, on an Error, stops holding
+ * the producer back, and from then on {@link #publish} and {@link #close()} throw.
+ */
+public class TickPipeline implements AutoCloseable {
+
+    public static final int DEFAULT_CAPACITY = 1 << 14;
+
+    private static final int BATCH = 256;
+    private static final int SPINS_BEFORE_PARK = 100;
+    private static final long PARK_NANOS = 50_000;
+
+    private final TickRingBuffer ring;
+    private final List<Stage> stages = new ArrayList<>();
+    private volatile boolean closing;
+    private volatile Stage deadStage;
+    private boolean started;
+
+    public TickPipeline() {
+        this(DEFAULT_CAPACITY, BackpressurePolicy.BLOCK);
+    }
+
+    public TickPipeline(int capacity, BackpressurePolicy policy) {
+        this.ring = new TickRingBuffer(capacity, policy);
+    }
+
+    public TickPipeline addStage(String name, TickHandler handler) {
+        if (started) {
+            throw new IllegalStateException("Stages must be added before the pipeline starts");
+        }
+        stages.add(new Stage(name, handler, ring.addConsumer()));
+        return this;
+    }
+
+    public void start() {
+        if (started) {
+            throw new IllegalStateException("Pipeline is already started");
+        }
+        started = true;
+        for (Stage stage : stages) {
+            stage.thread.start();
+        }
+    }
+
+    public int symbolId(String symbol) {
+        return ring.symbolId(symbol);
+    }
+
+    // Called from one producer thread only; see TickRingBuffer.publish
+    public boolean publish(int symbolId, long timestamp, double open, double high, double low, double close, double volume) {
+        Stage dead = deadStage;
+        if (dead != null) {
+            throw dead.died();
+        }
+        return ring.publish(symbolId, timestamp, open, high, low, close, volume);
+    }
+
+    public boolean publish(String symbol, long timestamp, double price) {
+        return publish(ring.symbolId(symbol), timestamp, price, price, price, price, 0);
+    }
+
+    public TickRingBuffer getRing() {
+        return ring;
+    }
+
+    public long getPublished() {
+        return ring.getPublished();
+    }
+
+    public long getDropped() {
+        return ring.getDropped();
+    }
+
+    public long getErrors(String stageName) {
+        for (Stage stage : stages) {
+            if (stage.name.equals(stageName)) {
+                return stage.errors.sum();
+            }
+        }
+        throw new IllegalArgumentException("No stage named " + stageName);
+    }
+
+    /**
+     * Lets every stage finish the ticks already published, then stops the stage threads.
+     * Publishing after close is not supported. Throws at once if a stage has died. If
+     * interrupted, stops waiting and returns with the interrupt status set.
+     */
+    @Override
+    public void close() {
+        closing = true;
+        for (Stage stage : stages) {
+            if (deadStage != null) {
+                break;
+            }
+            if (started) {
+                try {
+                    stage.thread.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        Stage dead = deadStage;
+        if (dead != null) {
+            throw dead.died();
+        }
+        for (Stage stage : stages) {
+            if (stage.firstError != null) {
+                throw new IllegalStateException("Stage " + stage.name + " failed", stage.firstError);
+            }
+        }
+    }
+
+    private final class Stage implements Runnable {
+        private final String name;
+        private final TickHandler handler;
+        private final TickRingBuffer.Cursor cursor;
+        private final Thread thread;
+        private final LongAdder errors = new LongAdder();
+        private volatile Throwable firstError;
+        private volatile Throwable cause;
+
+        private Stage(String name, TickHandler handler, TickRingBuffer.Cursor cursor) {
+            this.name = name;
+            this.handler = handler;
+            this.cursor = cursor;
+            this.thread = Thread.ofPlatform().name("tick-stage-" + name).daemon().unstarted(this);
+        }
+
+        @Override
+        public void run() {
+            TickHandler guarded = tick -> {
+                try {
+                    handler.onTick(tick);
+                } catch (RuntimeException e) {
+                    errors.increment();
+                    if (firstError == null) {
+                        firstError = e;
+                    }
+                }
+            };
+            int idle = 0;
+            try {
+                while (true) {
+                    if (cursor.poll(guarded, BATCH) > 0) {
+                        idle = 0;
+                    } else if (closing && cursor.isCaughtUp()) {
+                        return;
+                    } else if (++idle < SPINS_BEFORE_PARK) {
+                        Thread.onSpinWait();
+                    } else {
+                        LockSupport.parkNanos(PARK_NANOS);
+                    }
+                }
+            } catch (Throwable e) {
+                // Recorded before the cursor is let go, so a producer it releases sees the failure
+                cause = e;
+                deadStage = this;
+                cursor.detach();
+            }
+        }
+
+        private IllegalStateException died() {
+            return new IllegalStateException("Stage " + name + " died", cause);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package za.co.wethinkcode.TradeQuery.IngestModule;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Pre-allocated single producer, multi consumer ring of ticks. Every consumer sees every
+ * tick. Tick fields live in parallel primitive arrays indexed by slot, so publishing and
+ * consuming allocate nothing. Symbols are interned to int ids.
+ *
+ * The producer writes a slot, then publishes its sequence with a release store. Each
+ * consumer keeps the sequence it last finished, and the producer only reuses a slot once
+ * every consumer is past it. What happens when the slowest consumer is a full ring
+ * behind is set by the {@link BackpressurePolicy}.
+ *
+ * Only one thread may publish. Consumers must be added before the first publish.
+ */
+public class TickRingBuffer {
+
+    private static final int SPINS_BEFORE_PARK = 100;
+    private static final long PARK_NANOS = 20_000;
+
+    private final int capacity;
+    private final int mask;
+    private final BackpressurePolicy policy;
+
+    final int[] symbols;
+    final long[] timestamps;
+    final double[] opens;
+    final double[] highs;
+    final double[] lows;
+    final double[] closes;
+    final double[] volumes;
+    final long[] publishNanos;
+
+    private final AtomicLong published = new AtomicLong(-1);
+    private final List<Cursor> cursors = new CopyOnWriteArrayList<>();
+    private final Map<String, Integer> symbolIds = new ConcurrentHashMap<>();
+    private final List<String> symbolNames = new CopyOnWriteArrayList<>();
+
+    // Producer side only
+    private long next;
+    private long cachedMinConsumed = -1;
+    private volatile long dropped;
+
+    public TickRingBuffer(int capacity, BackpressurePolicy policy) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two of at least 2");
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.policy = policy;
+        this.symbols = new int[capacity];
+        this.timestamps = new long[capacity];
+        this.opens = new double[capacity];
+        this.highs = new double[capacity];
+        this.lows = new double[capacity];
+        this.closes = new double[capacity];
+        this.volumes = new double[capacity];
+        this.publishNanos = new long[capacity];
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public Cursor addConsumer() {
+        if (next > 0) {
+            throw new IllegalStateException("Consumers must be added before the first publish");
+        }
+        Cursor cursor = new Cursor();
+        cursors.add(cursor);
+        return cursor;
+    }
+
+    public synchronized int symbolId(String symbol) {
+        Integer id = symbolIds.get(symbol);
+        if (id == null) {
+            id = symbolNames.size();
+            symbolNames.add(symbol);
+            symbolIds.put(symbol, id);
+        }
+        return id;
+    }
+
+    public String symbolName(int symbolId) {
+        return symbolNames.get(symbolId);
+    }
+
+    /**
+     * Publishes one tick. Returns false when the ring is full and the policy is DROP;
+     * with BLOCK it waits for the slowest consumer and always returns true.
+     */
+    public boolean publish(int symbolId, long timestamp, double open, double high, double low, double close, double volume) {
+        long sequence = next;
+        if (sequence - capacity > cachedMinConsumed) {
+            cachedMinConsumed = minConsumed();
+            if (sequence - capacity > cachedMinConsumed) {
+                if (policy == BackpressurePolicy.DROP) {
+                    dropped++;
+                    return false;
+                }
+                awaitSlot(sequence);
+            }
+        }
+        int slot = (int) (sequence & mask);
+        symbols[slot] = symbolId;
+        timestamps[slot] = timestamp;
+        opens[slot] = open;
+        highs[slot] = high;
+        lows[slot] = low;
+        closes[slot] = close;
+        volumes[slot] = volume;
+        publishNanos[slot] = System.nanoTime();
+        next = sequence + 1;
+        published.lazySet(sequence);
+        return true;
+    }
+
+    // Ticks published so far, not counting dropped ones
+    public long getPublished() {
+        return published.get() + 1;
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+
+    private void awaitSlot(long sequence) {
+        int spins = 0;
+        while (sequence - capacity > (cachedMinConsumed = minConsumed())) {
+            if (++spins < SPINS_BEFORE_PARK) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+    }
+
+    private long minConsumed() {
+        long min = Long.MAX_VALUE;
+        for (Cursor cursor : cursors) {
+            if (!cursor.detached) {
+                min = Math.min(min, cursor.consumed.get());
+            }
+        }
+        return min == Long.MAX_VALUE ? next - 1 : min;
+    }
+
+    /**
+     * One consumer's position in the ring. Only the thread that polls it may use it.
+     */
+    public final class Cursor {
+
+        private final AtomicLong consumed = new AtomicLong(-1);
+        private final Tick tick = new Tick(TickRingBuffer.this);
+        private volatile boolean detached;
+
+        private Cursor() {
+        }
+
+        /**
+         * Hands up to maxBatch published ticks to the handler and returns how many. The
+         * slots are only released to the producer after the whole batch.
+         */
+        public int poll(TickHandler handler, int maxBatch) {
+            long from = consumed.get() + 1;
+            long to = Math.min(published.get(), from + maxBatch - 1);
+            for (long sequence = from; sequence <= to; sequence++) {
+                tick.moveTo(sequence, (int) (sequence & mask));
+                handler.onTick(tick);
+            }
+            if (to >= from) {
+                consumed.lazySet(to);
+            }
+            return (int) Math.max(0, to - from + 1);
+        }
+
+        // True once every published tick has been handed out
+        public boolean isCaughtUp() {
+            return consumed.get() >= published.get();
+        }
+
+        public long getConsumed() {
+            return consumed.get() + 1;
+        }
+
+        // For a consumer that has stopped for good: the producer no longer waits for it
+        public void detach() {
+            detached = true;
+        }
+    }
+}
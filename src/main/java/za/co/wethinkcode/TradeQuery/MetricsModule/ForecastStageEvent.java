@@ -0,0 +1,35 @@
+package za.co.wethinkcode.TradeQuery.MetricsModule;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event for one pipeline stage, committed by {@link JfrMetricsSink}.
+ */
+@Name("za.co.wethinkcode.TradeQuery.ForecastStage")
+@Label("Forecast Stage")
+@Category("TradeQuery")
+@Description("One timed stage of the forecast pipeline")
+@StackTrace(false)
+class ForecastStageEvent extends Event {
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Stage Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long stageNanos;
+
+    @Label("Allocated")
+    @DataAmount(DataAmount.BYTES)
+    long allocatedBytes;
+
+    @Label("Input Size")
+    long inputSize;
+}
@@ -0,0 +1,22 @@
+package za.co.wethinkcode.TradeQuery.MetricsModule;
+
+/**
+ * Emits each stage as a {@code za.co.wethinkcode.TradeQuery.ForecastStage} flight recorder
+ * event, for viewing alongside GC and CPU data in a recording. Does nothing unless a
+ * recording has the event enabled.
+ */
+public final class JfrMetricsSink implements MetricsSink {
+
+    @Override
+    public void record(PipelineStage stage, long nanos, long allocatedBytes, long inputSize) {
+        ForecastStageEvent event = new ForecastStageEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.stage = stage.name();
+        event.stageNanos = nanos;
+        event.allocatedBytes = allocatedBytes;
+        event.inputSize = inputSize;
+        event.commit();
+    }
+}
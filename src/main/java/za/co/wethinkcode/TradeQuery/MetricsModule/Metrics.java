@@ -0,0 +1,70 @@
+package za.co.wethinkcode.TradeQuery.MetricsModule;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Switch for the pipeline instrumentation. Off by default; while off, {@link #span} is a
+ * single field read returning the shared no-op span, so instrumented code costs nothing
+ * measurable. Once a sink is set, each span times its stage and, where the JVM supports
+ * it, counts the bytes the current thread allocated during it.
+ *
+ * <pre>
+ * try (MetricsSpan span = Metrics.span(PipelineStage.DEVIATION, data.size())) {
+ *     ...
+ * }
+ * </pre>
+ */
+public final class Metrics {
+
+    private static final com.sun.management.ThreadMXBean ALLOCATION_BEAN = allocationBean();
+
+    private static volatile MetricsSink sink;
+    private static volatile boolean trackAllocations = ALLOCATION_BEAN != null;
+
+    private Metrics() {
+    }
+
+    public static void enable(MetricsSink metricsSink) {
+        if (metricsSink == null) {
+            throw new IllegalArgumentException("Sink must not be null");
+        }
+        sink = metricsSink;
+    }
+
+    public static void disable() {
+        sink = null;
+    }
+
+    public static boolean isEnabled() {
+        return sink != null;
+    }
+
+    // Allocation counting costs a native call per span; on by default where supported
+    public static void setTrackAllocations(boolean track) {
+        trackAllocations = track && ALLOCATION_BEAN != null;
+    }
+
+    public static MetricsSpan span(PipelineStage stage, long inputSize) {
+        MetricsSink current = sink;
+        if (current == null) {
+            return MetricsSpan.NOOP;
+        }
+        long startBytes = trackAllocations ? allocatedBytes() : -1;
+        return new MetricsSpan(current, stage, inputSize, System.nanoTime(), startBytes);
+    }
+
+    static long allocatedBytes() {
+        return ALLOCATION_BEAN.getCurrentThreadAllocatedBytes();
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean allocationBean
+            && allocationBean.isThreadAllocatedMemorySupported()) {
+            allocationBean.setThreadAllocatedMemoryEnabled(true);
+            return allocationBean;
+        }
+        return null;
+    }
+}
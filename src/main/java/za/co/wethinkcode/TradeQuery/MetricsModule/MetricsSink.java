@@ -0,0 +1,19 @@
+package za.co.wethinkcode.TradeQuery.MetricsModule;
+
+/**
+ * Receives one record per completed {@link MetricsSpan}. Called on the thread that ran the
+ * stage, so implementations must be thread safe and should return quickly.
+ */
+@FunctionalInterface
+public interface MetricsSink {
+
+    // allocatedBytes is -1 when allocation tracking is off or unsupported
+    void record(PipelineStage stage, long nanos, long allocatedBytes, long inputSize);
+
+    default MetricsSink andThen(MetricsSink next) {
+        return (stage, nanos, allocatedBytes, inputSize) -> {
+            record(stage, nanos, allocatedBytes, inputSize);
+            next.record(stage, nanos, allocatedBytes, inputSize);
+        };
+    }
+}
@@ -0,0 +1,37 @@
+package za.co.wethinkcode.TradeQuery.MetricsModule;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Immutable copy of a {@link SnapshotMetricsSink}'s totals at one moment.
+ */
+public final class MetricsSnapshot {
+
+    private static final StageStats EMPTY = new StageStats(0, 0, 0, 0, 0);
+
+    private final Map<PipelineStage, StageStats> stages;
+
+    MetricsSnapshot(EnumMap<PipelineStage, StageStats> stages) {
+        this.stages = Collections.unmodifiableMap(stages);
+    }
+
+    // Zero totals for a stage that never ran
+    public StageStats get(PipelineStage stage) {
+        return stages.getOrDefault(stage, EMPTY);
+    }
+
+    public Map<PipelineStage, StageStats> getStages() {
+        return stages;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        for (Map.Entry<PipelineStage, StageStats> entry : stages.entrySet()) {
+            text.append(String.format("%-17s %s%n", entry.getKey(), entry.getValue()));
+        }
+        return text.toString();
+    }
+}
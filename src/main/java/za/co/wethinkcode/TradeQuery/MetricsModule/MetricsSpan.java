@@ -0,0 +1,34 @@
+package za.co.wethinkcode.TradeQuery.MetricsModule;
+
+/**
+ * One timed run of a {@link PipelineStage}, opened by {@link Metrics#span} and reported to
+ * the sink when closed. While metrics are off every span is the shared no-op instance.
+ */
+public final class MetricsSpan implements AutoCloseable {
+
+    static final MetricsSpan NOOP = new MetricsSpan(null, null, 0, 0, 0);
+
+    private final MetricsSink sink;
+    private final PipelineStage stage;
+    private final long inputSize;
+    private final long startNanos;
+    private final long startBytes;
+
+    MetricsSpan(MetricsSink sink, PipelineStage stage, long inputSize, long startNanos, long startBytes) {
+        this.sink = sink;
+        this.stage = stage;
+        this.inputSize = inputSize;
+        this.startNanos = startNanos;
+        this.startBytes = startBytes;
+    }
+
+    @Override
+    public void close() {
+        if (sink == null) {
+            return;
+        }
+        long nanos = System.nanoTime() - startNanos;
+        long allocatedBytes = startBytes < 0 ? -1 : Metrics.allocatedBytes() - startBytes;
+        sink.record(stage, nanos, allocatedBytes, inputSize);
+    }
+}
@@ -0,0 +1,17 @@
+package za.co.wethinkcode.TradeQuery.MetricsModule;
+
+/**
+ * The timed stages of the forecast pipeline. Stages nest: a FORECAST span contains the
+ * DIFFERENCE, TENDENCY, DEVIATION, BOUNDARY and EXPECTATION spans run inside it, and a
+ * MEAN_LEAST_DIFFERENCE TENDENCY contains a LEAST_DIFFERENCE span.
+ */
+public enum PipelineStage {
+    LOAD,
+    DIFFERENCE,
+    TENDENCY,
+    LEAST_DIFFERENCE,
+    DEVIATION,
+    BOUNDARY,
+    EXPECTATION,
+    FORECAST
+}
@@ -0,0 +1,64 @@
+package za.co.wethinkcode.TradeQuery.MetricsModule;
+
+import java.util.EnumMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps running totals per stage in memory. Recording only adds to striped counters, so
+ * many forecasting threads can share one sink; {@link #snapshot()} reads them out.
+ */
+public final class SnapshotMetricsSink implements MetricsSink {
+
+    private final Totals[] totals = new Totals[PipelineStage.values().length];
+
+    public SnapshotMetricsSink() {
+        for (int n = 0; n < totals.length; n++) {
+            totals[n] = new Totals();
+        }
+    }
+
+    @Override
+    public void record(PipelineStage stage, long nanos, long allocatedBytes, long inputSize) {
+        Totals stageTotals = totals[stage.ordinal()];
+        stageTotals.calls.increment();
+        stageTotals.nanos.add(nanos);
+        stageTotals.maxNanos.accumulate(nanos);
+        if (allocatedBytes > 0) {
+            stageTotals.allocatedBytes.add(allocatedBytes);
+        }
+        stageTotals.inputSize.add(inputSize);
+    }
+
+    // Stages that have run, in pipeline order
+    public MetricsSnapshot snapshot() {
+        EnumMap<PipelineStage, StageStats> stages = new EnumMap<>(PipelineStage.class);
+        for (PipelineStage stage : PipelineStage.values()) {
+            Totals stageTotals = totals[stage.ordinal()];
+            long calls = stageTotals.calls.sum();
+            if (calls > 0) {
+                stages.put(stage, new StageStats(calls, stageTotals.nanos.sum(), stageTotals.maxNanos.get(),
+                                                 stageTotals.allocatedBytes.sum(), stageTotals.inputSize.sum()));
+            }
+        }
+        return new MetricsSnapshot(stages);
+    }
+
+    public void reset() {
+        for (Totals stageTotals : totals) {
+            stageTotals.calls.reset();
+            stageTotals.nanos.reset();
+            stageTotals.maxNanos.reset();
+            stageTotals.allocatedBytes.reset();
+            stageTotals.inputSize.reset();
+        }
+    }
+
+    private static final class Totals {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder allocatedBytes = new LongAdder();
+        private final LongAdder inputSize = new LongAdder();
+    }
+}
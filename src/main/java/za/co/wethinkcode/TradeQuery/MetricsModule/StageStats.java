@@ -0,0 +1,53 @@
+package za.co.wethinkcode.TradeQuery.MetricsModule;
+
+/**
+ * Totals for one {@link PipelineStage} in a {@link MetricsSnapshot}.
+ */
+public final class StageStats {
+
+    private final long calls;
+    private final long totalNanos;
+    private final long maxNanos;
+    private final long allocatedBytes;
+    private final long inputSize;
+
+    StageStats(long calls, long totalNanos, long maxNanos, long allocatedBytes, long inputSize) {
+        this.calls = calls;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+        this.allocatedBytes = allocatedBytes;
+        this.inputSize = inputSize;
+    }
+
+    public long getCalls() {
+        return calls;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    public double getMeanNanos() {
+        return calls == 0 ? 0.0 : (double) totalNanos / calls;
+    }
+
+    // Bytes allocated over all calls; only spans with allocation tracking add to it
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    // Sum of the input sizes the calls reported, such as values differenced or bytes loaded
+    public long getInputSize() {
+        return inputSize;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("calls=%d total=%.3f ms mean=%.1f us max=%.1f us allocated=%d B input=%d",
+                             calls, totalNanos / 1e6, getMeanNanos() / 1e3, maxNanos / 1e3, allocatedBytes, inputSize);
+    }
+}
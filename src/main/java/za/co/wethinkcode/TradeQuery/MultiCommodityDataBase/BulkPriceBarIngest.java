@@ -0,0 +1,193 @@
+package za.co.wethinkcode.TradeQuery.MultiCommodityDataBase;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+import za.co.wethinkcode.TradeQuery.DataModule.AlphaVantageSeriesLoader;
+import za.co.wethinkcode.TradeQuery.DataModule.OhlcvSeries;
+import za.co.wethinkcode.TradeQuery.DataModule.SeriesField;
+
+/**
+ * Bulk loader for {@code price_bars}. All series of one load share a single batched
+ * upsert statement and commit every {@link #setChunkSize(int)} rows. For the duration of
+ * the load the database runs in WAL mode with relaxed {@code synchronous}, and secondary
+ * indexes are dropped and rebuilt once at the end.
+ *
+ * Because chunks commit independently, a failed load can leave part of a series
+ * written; the chunk that failed is rolled back, and rerunning the load is safe since
+ * every row is an upsert.
+ */
+public class BulkPriceBarIngest {
+
+    public static final int DEFAULT_CHUNK_SIZE = 10_000;
+
+    private final Connection connection;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private String synchronousMode = "OFF";
+
+    public BulkPriceBarIngest(Connection connection) {
+        this.connection = connection;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be at least 1");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    // OFF is fastest; NORMAL keeps the database consistent if the machine loses power mid load
+    public void setSynchronousMode(String synchronousMode) {
+        if (!synchronousMode.equalsIgnoreCase("OFF") && !synchronousMode.equalsIgnoreCase("NORMAL")) {
+            throw new IllegalArgumentException("Synchronous mode must be OFF or NORMAL");
+        }
+        this.synchronousMode = synchronousMode.toUpperCase();
+    }
+
+    public IngestReport ingest(OhlcvSeries series) throws SQLException {
+        return ingest(List.of(series));
+    }
+
+    public IngestReport ingestDirectory(Path dataDirectory) throws SQLException, IOException {
+        List<OhlcvSeries> seriesList = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dataDirectory, "*.json")) {
+            for (Path file : files) {
+                try {
+                    seriesList.add(AlphaVantageSeriesLoader.load(file));
+                } catch (IllegalStateException e) {
+                    // Exchange rate files are bare numbers, not bar series
+                }
+            }
+        }
+        return ingest(seriesList);
+    }
+
+    public IngestReport ingest(List<OhlcvSeries> seriesList) throws SQLException {
+        long start = System.nanoTime();
+        PriceBarSchema.createTables(connection);
+        String previousSynchronous = pragma("synchronous");
+        boolean autoCommit = connection.getAutoCommit();
+
+        executePragma("journal_mode = WAL");
+        executePragma("synchronous = " + synchronousMode);
+        PriceBarSchema.dropIndexes(connection);
+        connection.setAutoCommit(false);
+        long rows = 0;
+        try (PreparedStatement seriesStatement = connection.prepareStatement(PriceBarSchema.UPSERT_SERIES);
+             PreparedStatement barStatement = connection.prepareStatement(PriceBarSchema.UPSERT_PRICE_BAR)) {
+            int pending = 0;
+            for (OhlcvSeries series : seriesList) {
+                seriesStatement.setString(1, series.getSymbol());
+                seriesStatement.setString(2, series.getInterval());
+                seriesStatement.setString(3, series.getTimeZone());
+                seriesStatement.executeUpdate();
+
+                for (int row = 0; row < series.size(); row++) {
+                    bindBar(barStatement, series, row);
+                    barStatement.addBatch();
+                    if (++pending == chunkSize) {
+                        barStatement.executeBatch();
+                        connection.commit();
+                        pending = 0;
+                    }
+                }
+                rows += series.size();
+            }
+            barStatement.executeBatch();
+            connection.commit();
+        } catch (SQLException | RuntimeException | Error e) {
+            // Rolled back before auto commit is restored, which would otherwise commit the
+            // open chunk. A failure while cleaning up is kept on e rather than replacing it.
+            try {
+                connection.rollback();
+            } catch (SQLException | RuntimeException rollbackFailure) {
+                e.addSuppressed(rollbackFailure);
+            }
+            try {
+                restore(autoCommit, previousSynchronous);
+            } catch (SQLException | RuntimeException restoreFailure) {
+                e.addSuppressed(restoreFailure);
+            }
+            throw e;
+        }
+        restore(autoCommit, previousSynchronous);
+        return new IngestReport(seriesList.size(), rows, System.nanoTime() - start);
+    }
+
+    static void bindBar(PreparedStatement statement, OhlcvSeries series, int row) throws SQLException {
+        statement.setString(1, series.getSymbol());
+        statement.setString(2, series.getInterval());
+        statement.setLong(3, series.timestamp(row));
+        int index = 4;
+        for (SeriesField field : SeriesField.values()) {
+            if (series.has(field)) {
+                statement.setDouble(index++, series.get(field, row));
+            } else {
+                statement.setNull(index++, Types.REAL);
+            }
+        }
+    }
+
+    private String pragma(String name) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("PRAGMA " + name)) {
+            return resultSet.next() ? resultSet.getString(1) : "";
+        }
+    }
+
+    private void restore(boolean autoCommit, String previousSynchronous) throws SQLException {
+        connection.setAutoCommit(autoCommit);
+        PriceBarSchema.createIndexes(connection);
+        executePragma("synchronous = " + previousSynchronous);
+    }
+
+    private void executePragma(String setting) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA " + setting);
+        }
+    }
+
+    public static class IngestReport {
+        private final int seriesCount;
+        private final long rows;
+        private final long elapsedNanos;
+
+        public IngestReport(int seriesCount, long rows, long elapsedNanos) {
+            this.seriesCount = seriesCount;
+            this.rows = rows;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public int getSeriesCount() {
+            return seriesCount;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public double getRowsPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : rows * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d rows from %d series in %.1f ms (%.0f rows/s)",
+                                 rows, seriesCount, elapsedNanos / 1_000_000.0, getRowsPerSecond());
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package za.co.wethinkcode.TradeQuery.MultiCommodityDataBase;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Long format price storage: one row per symbol, interval and bar, with timestamps in
+ * epoch seconds (UTC). The composite primary key clusters each series by time, so
+ * range lookups are index range scans, and a new bar is an insert rather than a
+ * schema change.
+ */
+public class PriceBarSchema {
+
+    public static final String DB_URL = "jdbc:sqlite:trade_data.db";
+
+    public static final String PRICE_BARS_TABLE = "price_bars";
+    public static final String SERIES_TABLE = "series";
+
+    static final String CREATE_PRICE_BARS =
+        "CREATE TABLE IF NOT EXISTS " + PRICE_BARS_TABLE + " (\n" +
+        "    symbol TEXT NOT NULL,\n" +
+        "    interval TEXT NOT NULL,\n" +
+        "    ts INTEGER NOT NULL,\n" +
+        "    open REAL,\n" +
+        "    high REAL,\n" +
+        "    low REAL,\n" +
+        "    close REAL,\n" +
+        "    volume REAL,\n" +
+        "    PRIMARY KEY (symbol, interval, ts)\n" +
+        ") WITHOUT ROWID";
+
+    // Time zone the source quoted its bars in, needed to turn ts back into trading days
+    static final String CREATE_SERIES =
+        "CREATE TABLE IF NOT EXISTS " + SERIES_TABLE + " (\n" +
+        "    symbol TEXT NOT NULL,\n" +
+        "    interval TEXT NOT NULL,\n" +
+        "    time_zone TEXT NOT NULL,\n" +
+        "    PRIMARY KEY (symbol, interval)\n" +
+        ") WITHOUT ROWID";
+
+    static final String UPSERT_SERIES =
+        "INSERT INTO " + SERIES_TABLE + " (symbol, interval, time_zone) VALUES (?, ?, ?)\n" +
+        "ON CONFLICT (symbol, interval) DO UPDATE SET time_zone = excluded.time_zone";
+
+    static final String UPSERT_PRICE_BAR =
+        "INSERT INTO " + PRICE_BARS_TABLE + " (symbol, interval, ts, open, high, low, close, volume)\n" +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?)\n" +
+        "ON CONFLICT (symbol, interval, ts) DO UPDATE SET\n" +
+        "    open = excluded.open, high = excluded.high, low = excluded.low,\n" +
+        "    close = excluded.close, volume = excluded.volume";
+
+    // Secondary index for cross-symbol lookups at a point in time
+    static final String CREATE_INTERVAL_TS_INDEX =
+        "CREATE INDEX IF NOT EXISTS price_bars_interval_ts ON " + PRICE_BARS_TABLE + " (interval, ts)";
+
+    static final String DROP_INTERVAL_TS_INDEX = "DROP INDEX IF EXISTS price_bars_interval_ts";
+
+    public static void createTables(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_PRICE_BARS);
+            statement.execute(CREATE_SERIES);
+        }
+        createIndexes(connection);
+    }
+
+    public static void createIndexes(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_INTERVAL_TS_INDEX);
+        }
+    }
+
+    // Bulk loads drop these first and rebuild them once the rows are in
+    public static void dropIndexes(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(DROP_INTERVAL_TS_INDEX);
+        }
+    }
+}
@@ -0,0 +1,357 @@
+package za.co.wethinkcode.TradeQuery.MultiCommodityDataBase;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import za.co.wethinkcode.TradeQuery.DataModule.OhlcvSeries;
+import za.co.wethinkcode.TradeQuery.DataModule.SeriesField;
+
+/**
+ * Queries over the long format {@code price_bars} table. Every lookup is bounded by the
+ * (symbol, interval, ts) primary key, so SQLite answers it with an index range scan.
+ * Lookups run on a small pool of read only connections with cached prepared statements,
+ * so the service can be shared by many threads firing small queries.
+ */
+public class PriceBarService implements AutoCloseable {
+
+    public static final int DEFAULT_POOL_SIZE = 4;
+
+    private static final String SELECT_RANGE =
+        "SELECT ts, open, high, low, close, volume FROM " + PriceBarSchema.PRICE_BARS_TABLE + "\n" +
+        "WHERE symbol = ? AND interval = ? AND ts >= ? AND ts < ?\n" +
+        "ORDER BY ts";
+
+    // The symbols are bound as one JSON array, so a universe of any size is one statement.
+    // CROSS JOIN keeps the symbol list as the outer loop, so each symbol is a primary key
+    // range scan rather than a walk of the (interval, ts) index. Rows carry the symbol's
+    // array index instead of its name and need no ORDER BY, as each range comes out by ts.
+    private static final String SELECT_MULTI_RANGE =
+        "SELECT j.key, b.ts, b.open, b.high, b.low, b.close, b.volume\n" +
+        "FROM json_each(?) AS j CROSS JOIN " + PriceBarSchema.PRICE_BARS_TABLE + " AS b\n" +
+        "ON b.symbol = j.value AND b.interval = ? AND b.ts >= ? AND b.ts < ?";
+
+    private static final String SELECT_TIME_ZONES =
+        "SELECT symbol, time_zone FROM " + PriceBarSchema.SERIES_TABLE + "\n" +
+        "WHERE symbol IN (SELECT value FROM json_each(?)) AND interval = ?";
+
+    private static final String SELECT_TIMESTAMPS =
+        "SELECT ts FROM " + PriceBarSchema.PRICE_BARS_TABLE + " WHERE symbol = ? AND interval = ? ORDER BY ts";
+
+    private static final String SELECT_TIME_ZONE =
+        "SELECT time_zone FROM " + PriceBarSchema.SERIES_TABLE + " WHERE symbol = ? AND interval = ?";
+
+    private static final String SELECT_SERIES =
+        "SELECT symbol, interval FROM " + PriceBarSchema.SERIES_TABLE + " ORDER BY symbol, interval";
+
+    private final SqliteConnectionPool pool;
+    private final Map<String, ZoneId> timeZones = new ConcurrentHashMap<>();
+
+    public PriceBarService() {
+        this(PriceBarSchema.DB_URL);
+    }
+
+    public PriceBarService(String dbUrl) {
+        this(dbUrl, DEFAULT_POOL_SIZE);
+    }
+
+    public PriceBarService(String dbUrl, int poolSize) {
+        this.pool = new SqliteConnectionPool(dbUrl, poolSize, true);
+    }
+
+    /**
+     * Bars of one series with {@code fromEpochSecond <= ts < toEpochSecond}, oldest first,
+     * as columns ready for the statistics module.
+     */
+    public OhlcvSeries getBarsForRange(String symbol, String interval, long fromEpochSecond, long toEpochSecond)
+            throws SQLException {
+        String timeZone = timeZoneOf(symbol, interval).getId();
+        try (SqliteConnectionPool.PooledConnection connection = pool.borrow()) {
+            PreparedStatement statement = connection.prepare(SELECT_RANGE);
+            statement.setString(1, symbol);
+            statement.setString(2, interval);
+            statement.setLong(3, fromEpochSecond);
+            statement.setLong(4, toEpochSecond);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return readSeries(resultSet, symbol, interval, timeZone);
+            }
+        }
+    }
+
+    /**
+     * Bars of many series over the same range in a single query, keyed by symbol in the
+     * order asked for. A symbol with no bars in the range maps to an empty series. Time
+     * zones are looked up once per symbol and then cached, so a repeated forecast cycle
+     * over the same universe is one round trip.
+     */
+    public Map<String, OhlcvSeries> getBarsForRange(Collection<String> symbols, String interval,
+                                                    long fromEpochSecond, long toEpochSecond) throws SQLException {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(symbols));
+        String symbolArray = jsonArray(distinct);
+        Map<String, ZoneId> zones = timeZonesOf(distinct, interval, symbolArray);
+
+        SeriesBuilder[] builders = new SeriesBuilder[distinct.size()];
+        for (int n = 0; n < builders.length; n++) {
+            builders[n] = new SeriesBuilder(distinct.get(n));
+        }
+        try (SqliteConnectionPool.PooledConnection connection = pool.borrow()) {
+            PreparedStatement statement = connection.prepare(SELECT_MULTI_RANGE);
+            statement.setString(1, symbolArray);
+            statement.setString(2, interval);
+            statement.setLong(3, fromEpochSecond);
+            statement.setLong(4, toEpochSecond);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    builders[resultSet.getInt(1)].add(resultSet, 2);
+                }
+            }
+        }
+        Map<String, OhlcvSeries> seriesBySymbol = new LinkedHashMap<>();
+        for (SeriesBuilder builder : builders) {
+            seriesBySymbol.put(builder.symbol, builder.build(interval, zones.get(builder.symbol).getId()));
+        }
+        return seriesBySymbol;
+    }
+
+    public Map<String, OhlcvSeries> getAllBars(Collection<String> symbols, String interval) throws SQLException {
+        return getBarsForRange(symbols, interval, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    public OhlcvSeries getAllBars(String symbol, String interval) throws SQLException {
+        return getBarsForRange(symbol, interval, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    // Every bar on the given trading day, in the zone the series was quoted in
+    public OhlcvSeries getBarsForDate(String symbol, String interval, LocalDate date) throws SQLException {
+        return getBarsForDateRange(symbol, interval, date, date);
+    }
+
+    // Bars from the start of fromDate up to the end of toDate, both inclusive
+    public OhlcvSeries getBarsForDateRange(String symbol, String interval, LocalDate fromDate, LocalDate toDate)
+            throws SQLException {
+        ZoneId zone = timeZoneOf(symbol, interval);
+        return getBarsForRange(symbol, interval, fromDate.atStartOfDay(zone).toEpochSecond(),
+                               toDate.plusDays(1).atStartOfDay(zone).toEpochSecond());
+    }
+
+    /**
+     * Value of {@code field} for the bar stamped at the start of {@code date}, which for
+     * daily series is that day's bar. Returns null when there is no such bar.
+     */
+    public BigDecimal getParameterForDate(String symbol, String interval, SeriesField field, LocalDate date)
+            throws SQLException {
+        long start = date.atStartOfDay(timeZoneOf(symbol, interval)).toEpochSecond();
+        OhlcvSeries bar = getBarsForRange(symbol, interval, start, start + 1);
+        if (bar.size() == 0 || Double.isNaN(bar.get(field, 0))) {
+            return null;
+        }
+        return BigDecimal.valueOf(bar.get(field, 0));
+    }
+
+    public List<LocalDate> getAvailableDates(String symbol, String interval) throws SQLException {
+        ZoneId zone = timeZoneOf(symbol, interval);
+        List<LocalDate> dates = new ArrayList<>();
+        try (SqliteConnectionPool.PooledConnection connection = pool.borrow()) {
+            PreparedStatement statement = connection.prepare(SELECT_TIMESTAMPS);
+            statement.setString(1, symbol);
+            statement.setString(2, interval);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    LocalDate date = LocalDate.ofInstant(Instant.ofEpochSecond(resultSet.getLong(1)), zone);
+                    if (dates.isEmpty() || !dates.getLast().equals(date)) {
+                        dates.add(date);
+                    }
+                }
+            }
+        }
+        return dates;
+    }
+
+    // "symbol interval" pairs that have been loaded
+    public List<String[]> getAvailableSeries() throws SQLException {
+        List<String[]> series = new ArrayList<>();
+        try (SqliteConnectionPool.PooledConnection connection = pool.borrow();
+             ResultSet resultSet = connection.prepare(SELECT_SERIES).executeQuery()) {
+            while (resultSet.next()) {
+                series.add(new String[] {resultSet.getString("symbol"), resultSet.getString("interval")});
+            }
+        }
+        return series;
+    }
+
+    public SqliteConnectionPool.PoolMetrics poolMetrics() {
+        return pool.metrics();
+    }
+
+    @Override
+    public void close() {
+        pool.close();
+    }
+
+    private ZoneId timeZoneOf(String symbol, String interval) throws SQLException {
+        String key = symbol + '\u0000' + interval;
+        ZoneId zone = timeZones.get(key);
+        if (zone != null) {
+            return zone;
+        }
+        try (SqliteConnectionPool.PooledConnection connection = pool.borrow()) {
+            PreparedStatement statement = connection.prepare(SELECT_TIME_ZONE);
+            statement.setString(1, symbol);
+            statement.setString(2, interval);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    return ZoneId.of("UTC");
+                }
+                zone = ZoneId.of(resultSet.getString(1));
+            }
+        }
+        timeZones.put(key, zone);
+        return zone;
+    }
+
+    // Cached zones plus one query for the symbols not seen before
+    private Map<String, ZoneId> timeZonesOf(List<String> symbols, String interval, String symbolArray)
+            throws SQLException {
+        Map<String, ZoneId> zones = new HashMap<>();
+        boolean missing = false;
+        for (String symbol : symbols) {
+            ZoneId zone = timeZones.get(symbol + '\u0000' + interval);
+            if (zone == null) {
+                missing = true;
+            } else {
+                zones.put(symbol, zone);
+            }
+        }
+        if (missing) {
+            try (SqliteConnectionPool.PooledConnection connection = pool.borrow()) {
+                PreparedStatement statement = connection.prepare(SELECT_TIME_ZONES);
+                statement.setString(1, symbolArray);
+                statement.setString(2, interval);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        ZoneId zone = ZoneId.of(resultSet.getString(2));
+                        zones.put(resultSet.getString(1), zone);
+                        timeZones.put(resultSet.getString(1) + '\u0000' + interval, zone);
+                    }
+                }
+            }
+        }
+        for (String symbol : symbols) {
+            zones.putIfAbsent(symbol, ZoneId.of("UTC"));
+        }
+        return zones;
+    }
+
+    private static String jsonArray(List<String> values) {
+        StringBuilder json = new StringBuilder("[");
+        for (String value : values) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append('"');
+            for (int n = 0; n < value.length(); n++) {
+                char c = value.charAt(n);
+                if (c == '"' || c == '\\') {
+                    json.append('\\').append(c);
+                } else if (c < 0x20) {
+                    json.append(String.format("\\u%04x", (int) c));
+                } else {
+                    json.append(c);
+                }
+            }
+            json.append('"');
+        }
+        return json.append(']').toString();
+    }
+
+    // Rows arrive ordered by ts; NULL prices are read back as NaN
+    static OhlcvSeries readSeries(ResultSet resultSet, String symbol, String interval, String timeZone)
+            throws SQLException {
+        SeriesBuilder builder = new SeriesBuilder(symbol);
+        while (resultSet.next()) {
+            builder.add(resultSet, 1);
+        }
+        return builder.build(interval, timeZone);
+    }
+
+    // Growable columns for one series read row by row
+    private static final class SeriesBuilder {
+
+        private static final int FIELD_COUNT = SeriesField.values().length;
+
+        private final String symbol;
+        private int size;
+        private boolean ascending = true;
+        private long[] timestamps = new long[256];
+        private double[][] columns = new double[FIELD_COUNT][256];
+
+        private SeriesBuilder(String symbol) {
+            this.symbol = symbol;
+        }
+
+        // Reads ts from column firstColumn followed by open, high, low, close and volume
+        private void add(ResultSet resultSet, int firstColumn) throws SQLException {
+            if (size == timestamps.length) {
+                int capacity = size * 2;
+                timestamps = Arrays.copyOf(timestamps, capacity);
+                for (int field = 0; field < FIELD_COUNT; field++) {
+                    columns[field] = Arrays.copyOf(columns[field], capacity);
+                }
+            }
+            timestamps[size] = resultSet.getLong(firstColumn);
+            if (size > 0 && timestamps[size] < timestamps[size - 1]) {
+                ascending = false;
+            }
+            for (int field = 0; field < FIELD_COUNT; field++) {
+                double value = resultSet.getDouble(firstColumn + 1 + field);
+                columns[field][size] = resultSet.wasNull() ? Double.NaN : value;
+            }
+            size++;
+        }
+
+        private OhlcvSeries build(String interval, String timeZone) {
+            if (!ascending) {
+                sortByTimestamp();
+            }
+            double[][] trimmed = new double[FIELD_COUNT][];
+            for (int field = 0; field < FIELD_COUNT; field++) {
+                trimmed[field] = Arrays.copyOf(columns[field], size);
+            }
+            return new OhlcvSeries(symbol, interval, timeZone, Arrays.copyOf(timestamps, size), trimmed);
+        }
+
+        // Only needed if the planner ever stops reading each symbol in key order
+        private void sortByTimestamp() {
+            Integer[] order = new Integer[size];
+            for (int n = 0; n < size; n++) {
+                order[n] = n;
+            }
+            Arrays.sort(order, (left, right) -> Long.compare(timestamps[left], timestamps[right]));
+            long[] sortedTimestamps = new long[size];
+            for (int n = 0; n < size; n++) {
+                sortedTimestamps[n] = timestamps[order[n]];
+            }
+            timestamps = sortedTimestamps;
+            for (int field = 0; field < FIELD_COUNT; field++) {
+                double[] sorted = new double[size];
+                for (int n = 0; n < size; n++) {
+                    sorted[n] = columns[field][order[n]];
+                }
+                columns[field] = sorted;
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package za.co.wethinkcode.TradeQuery.MultiCommodityDataBase;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Creates the price bar tables and loads every daily and intraday series file in Data/
+ * into them through {@link BulkPriceBarIngest}. Loading is idempotent: bars already
+ * present are updated in place.
+ */
+public class PriceBarTableCreator {
+
+    private static final String DATA_DIRECTORY = "src/main/java/za/co/wethinkcode/TradeQuery/Data";
+
+    public static void main(String[] args) {
+        PriceBarTableCreator creator = new PriceBarTableCreator();
+        try {
+            creator.createTablesAndInsertData(Paths.get(args.length > 0 ? args[0] : DATA_DIRECTORY));
+            System.out.println("Price bar tables created and populated successfully!");
+        } catch (SQLException | IOException e) {
+            System.err.println("Error creating price bar tables: " + e.getMessage());
+        }
+    }
+
+    public void createTablesAndInsertData(Path dataDirectory) throws SQLException, IOException {
+        try (Connection connection = DriverManager.getConnection(PriceBarSchema.DB_URL)) {
+            System.out.println("Connected to database: " + PriceBarSchema.DB_URL);
+            BulkPriceBarIngest ingest = new BulkPriceBarIngest(connection);
+            System.out.println("Loaded " + ingest.ingestDirectory(dataDirectory));
+            verifyData(connection);
+        }
+    }
+
+    private void verifyData(Connection connection) throws SQLException {
+        System.out.println("\n=== Data Verification ===");
+        String query = "SELECT symbol, interval, COUNT(*) AS bars FROM " + PriceBarSchema.PRICE_BARS_TABLE +
+                       " GROUP BY symbol, interval ORDER BY symbol, interval";
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(query)) {
+            while (resultSet.next()) {
+                System.out.printf("%-6s %-6s %d%n", resultSet.getString("symbol"),
+                                  resultSet.getString("interval"), resultSet.getInt("bars"));
+            }
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package za.co.wethinkcode.TradeQuery.MultiCommodityDataBase;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.sqlite.SQLiteConfig;
+
+/**
+ * Small bounded pool of long lived SQLite connections. Connections are opened lazily up
+ * to {@code maxSize}; callers beyond that wait for one to be returned. Each connection
+ * keeps an LRU cache of prepared statements, so repeated lookups skip both connection
+ * setup and statement compilation.
+ *
+ * <pre>
+ * try (SqliteConnectionPool.PooledConnection connection = pool.borrow()) {
+ *     PreparedStatement statement = connection.prepare(sql);
+ *     ...
+ * }
+ * </pre>
+ */
+public class SqliteConnectionPool implements AutoCloseable {
+
+    public static final int DEFAULT_STATEMENT_CACHE_SIZE = 32;
+    public static final long DEFAULT_BORROW_TIMEOUT_MILLIS = 30_000;
+
+    private final String dbUrl;
+    private final SQLiteConfig config;
+    private final int maxSize;
+    private final int statementCacheSize;
+    private final Semaphore permits;
+    private final ConcurrentLinkedDeque<PooledConnection> idle = new ConcurrentLinkedDeque<>();
+    private volatile boolean closed;
+
+    // Metrics
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger opened = new AtomicInteger();
+    private final AtomicLong borrows = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    public SqliteConnectionPool(String dbUrl, int maxSize, boolean readOnly) {
+        this(dbUrl, maxSize, readOnly, DEFAULT_STATEMENT_CACHE_SIZE);
+    }
+
+    public SqliteConnectionPool(String dbUrl, int maxSize, boolean readOnly, int statementCacheSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1");
+        }
+        this.dbUrl = dbUrl;
+        this.maxSize = maxSize;
+        this.statementCacheSize = statementCacheSize;
+        this.permits = new Semaphore(maxSize, true);
+        this.config = new SQLiteConfig();
+        config.setReadOnly(readOnly);
+        config.setBusyTimeout(5_000);
+    }
+
+    public PooledConnection borrow() throws SQLException {
+        return borrow(DEFAULT_BORROW_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public PooledConnection borrow(long timeout, TimeUnit unit) throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(timeout, unit)) {
+                throw new SQLException("Timed out waiting for a connection to " + dbUrl);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted waiting for a connection to " + dbUrl, e);
+        }
+        recordWait(System.nanoTime() - start);
+
+        PooledConnection connection = idle.pollFirst();
+        try {
+            if (connection == null || !connection.isValid()) {
+                if (connection != null) {
+                    connection.closePhysical();
+                }
+                connection = new PooledConnection(config.createConnection(dbUrl));
+                opened.incrementAndGet();
+            }
+        } catch (SQLException e) {
+            permits.release();
+            throw e;
+        }
+        connection.onLoan.set(true);
+        active.incrementAndGet();
+        return connection;
+    }
+
+    private void release(PooledConnection connection) {
+        active.decrementAndGet();
+        if (closed || !connection.reset()) {
+            connection.closePhysical();
+        } else {
+            idle.offerFirst(connection);
+        }
+        permits.release();
+    }
+
+    private void recordWait(long waitNanos) {
+        borrows.incrementAndGet();
+        totalWaitNanos.addAndGet(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    public PoolMetrics metrics() {
+        return new PoolMetrics(maxSize, active.get(), idle.size(), opened.get(), borrows.get(),
+                               totalWaitNanos.get(), maxWaitNanos.get());
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        PooledConnection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            connection.closePhysical();
+        }
+    }
+
+    /**
+     * A connection on loan from the pool. {@link #close()} hands it back rather than
+     * closing it, once per loan: closing again is a no-op, so a second close cannot free
+     * a permit twice or put the connection in the idle queue twice. A transaction the loan
+     * left open is rolled back and autoCommit restored; a connection that cannot be reset
+     * is closed rather than pooled. Statements from {@link #prepare(String)} stay owned by
+     * the cache and must not be closed by the caller.
+     */
+    public class PooledConnection implements AutoCloseable {
+        private final Connection connection;
+        private final Map<String, PreparedStatement> statements;
+        private final AtomicBoolean onLoan = new AtomicBoolean();
+
+        private PooledConnection(Connection connection) {
+            this.connection = connection;
+            this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                    if (size() <= statementCacheSize) {
+                        return false;
+                    }
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+            };
+        }
+
+        public Connection getConnection() {
+            return connection;
+        }
+
+        public PreparedStatement prepare(String sql) throws SQLException {
+            PreparedStatement statement = statements.get(sql);
+            if (statement == null) {
+                statement = connection.prepareStatement(sql);
+                statements.put(sql, statement);
+            } else {
+                statement.clearParameters();
+            }
+            return statement;
+        }
+
+        @Override
+        public void close() {
+            if (onLoan.compareAndSet(true, false)) {
+                release(this);
+            }
+        }
+
+        // Rolls back whatever the loan left uncommitted; false if the connection cannot be reused
+        private boolean reset() {
+            try {
+                if (!connection.getAutoCommit()) {
+                    connection.rollback();
+                    connection.setAutoCommit(true);
+                }
+                return true;
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        private boolean isValid() {
+            try {
+                return !connection.isClosed();
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        private void closePhysical() {
+            for (PreparedStatement statement : statements.values()) {
+                closeQuietly(statement);
+            }
+            statements.clear();
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                // Already unusable; nothing more to release
+            }
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            // Statement is being discarded either way
+        }
+    }
+
+    public static class PoolMetrics {
+        private final int maxSize;
+        private final int active;
+        private final int idle;
+        private final int opened;
+        private final long borrows;
+        private final long totalWaitNanos;
+        private final long maxWaitNanos;
+
+        PoolMetrics(int maxSize, int active, int idle, int opened, long borrows, long totalWaitNanos, long maxWaitNanos) {
+            this.maxSize = maxSize;
+            this.active = active;
+            this.idle = idle;
+            this.opened = opened;
+            this.borrows = borrows;
+            this.totalWaitNanos = totalWaitNanos;
+            this.maxWaitNanos = maxWaitNanos;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public int getActive() {
+            return active;
+        }
+
+        public int getIdle() {
+            return idle;
+        }
+
+        public int getOpened() {
+            return opened;
+        }
+
+        public long getBorrows() {
+            return borrows;
+        }
+
+        public long getTotalWaitNanos() {
+            return totalWaitNanos;
+        }
+
+        public long getMaxWaitNanos() {
+            return maxWaitNanos;
+        }
+
+        public double getAverageWaitMillis() {
+            return borrows == 0 ? 0.0 : totalWaitNanos / (borrows * 1_000_000.0);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("PoolMetrics{active=%d, idle=%d, opened=%d/%d, borrows=%d, avgWait=%.3f ms, maxWait=%.3f ms}",
+                                 active, idle, opened, maxSize, borrows, getAverageWaitMillis(), maxWaitNanos / 1_000_000.0);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package za.co.wethinkcode.TradeQuery.MultiCommodityDataBase;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Moves the one-column-per-date {@code BTC_data_daily} table into {@code price_bars}.
+ * The wide table holds one row per parameter (open, high, low, close, volume) and one
+ * {@code YYYY_MM_DD} column per day; each column becomes one bar stamped at midnight in
+ * the zone the daily file was quoted in. The source table is left untouched.
+ */
+public class WideTableMigration {
+
+    public static final String WIDE_DB_URL = "jdbc:sqlite:btc_data.db";
+    public static final String WIDE_TABLE = "BTC_data_daily";
+
+    private static final String[] PARAMETERS = {"open", "high", "low", "close", "volume"};
+
+    public static void main(String[] args) {
+        try (Connection source = DriverManager.getConnection(WIDE_DB_URL);
+             Connection target = DriverManager.getConnection(PriceBarSchema.DB_URL)) {
+            PriceBarSchema.createTables(target);
+            int bars = migrate(source, target, "BTC", "daily", ZoneId.of("US/Eastern"));
+            System.out.println("Migrated " + bars + " daily bars from " + WIDE_TABLE + " into " + PriceBarSchema.PRICE_BARS_TABLE);
+        } catch (SQLException e) {
+            System.err.println("Migration failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the wide table from {@code source} and upserts it into {@code target} as
+     * {@code symbol}/{@code interval} bars. Returns the number of bars written.
+     */
+    public static int migrate(Connection source, Connection target, String symbol, String interval, ZoneId zone)
+            throws SQLException {
+        Map<String, double[]> days = readWideTable(source);
+
+        boolean autoCommit = target.getAutoCommit();
+        target.setAutoCommit(false);
+        try (PreparedStatement seriesStatement = target.prepareStatement(PriceBarSchema.UPSERT_SERIES);
+             PreparedStatement barStatement = target.prepareStatement(PriceBarSchema.UPSERT_PRICE_BAR)) {
+            seriesStatement.setString(1, symbol);
+            seriesStatement.setString(2, interval);
+            seriesStatement.setString(3, zone.getId());
+            seriesStatement.executeUpdate();
+
+            for (Map.Entry<String, double[]> day : days.entrySet()) {
+                barStatement.setString(1, symbol);
+                barStatement.setString(2, interval);
+                barStatement.setLong(3, LocalDate.parse(day.getKey()).atStartOfDay(zone).toEpochSecond());
+                double[] values = day.getValue();
+                for (int parameter = 0; parameter < PARAMETERS.length; parameter++) {
+                    if (Double.isNaN(values[parameter])) {
+                        barStatement.setNull(4 + parameter, Types.REAL);
+                    } else {
+                        barStatement.setDouble(4 + parameter, values[parameter]);
+                    }
+                }
+                barStatement.addBatch();
+            }
+            barStatement.executeBatch();
+            target.commit();
+            return days.size();
+        } catch (SQLException | RuntimeException | Error e) {
+            // Restoring auto commit below would otherwise commit the series row and any bars
+            target.rollback();
+            throw e;
+        } finally {
+            target.setAutoCommit(autoCommit);
+        }
+    }
+
+    // Pivots the wide table into ISO date -> [open, high, low, close, volume], NaN where empty
+    private static Map<String, double[]> readWideTable(Connection source) throws SQLException {
+        Map<String, double[]> days = new TreeMap<>();
+        try (Statement statement = source.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT * FROM " + WIDE_TABLE)) {
+            ResultSetMetaData metaData = resultSet.getMetaData();
+            while (resultSet.next()) {
+                int parameter = parameterIndex(resultSet.getString("parameter"));
+                if (parameter < 0) {
+                    continue;
+                }
+                for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                    String name = metaData.getColumnName(column);
+                    if (name.equalsIgnoreCase("parameter")) {
+                        continue;
+                    }
+                    double value = resultSet.getDouble(column);
+                    if (resultSet.wasNull()) {
+                        continue;
+                    }
+                    double[] values = days.computeIfAbsent(name.replace('_', '-'), date -> emptyDay());
+                    values[parameter] = value;
+                }
+            }
+        }
+        return days;
+    }
+
+    private static int parameterIndex(String parameter) {
+        for (int n = 0; n < PARAMETERS.length; n++) {
+            if (PARAMETERS[n].equalsIgnoreCase(parameter)) {
+                return n;
+            }
+        }
+        return -1;
+    }
+
+    private static double[] emptyDay() {
+        double[] values = new double[PARAMETERS.length];
+        Arrays.fill(values, Double.NaN);
+        return values;
+    }
+}
@@ -0,0 +1,118 @@
+package za.co.wethinkcode.TradeQuery.ServerModule;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import za.co.wethinkcode.TradeQuery.ForecastModules.ForecastConfig;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.TendencyFunction;
+
+/**
+ * A symbol, a window of its most recent prices and the forecast settings, parsed from a
+ * query string such as {@code symbol=NFLX&window=100&tendency=MEDIAN&bias=1}. Equal
+ * requests are served by one computation, so the class doubles as the coalescing key.
+ */
+public final class ForecastRequest {
+
+    public static final int DEFAULT_WINDOW = 100;
+
+    private final String symbol;
+    private final int window;
+    private final ForecastConfig config;
+
+    public ForecastRequest(String symbol, int window, ForecastConfig config) {
+        if (symbol == null || symbol.isBlank()) {
+            throw new IllegalArgumentException("A symbol is required");
+        }
+        if (window < 2) {
+            throw new IllegalArgumentException("Window must be at least 2");
+        }
+        this.symbol = symbol;
+        this.window = window;
+        this.config = Objects.requireNonNull(config);
+    }
+
+    /**
+     * Parameters: symbol (required), window, tendency (a {@link TendencyFunction} name),
+     * bias, power, useMean and includeZero, defaulting to ForecastConfig's defaults.
+     */
+    public static ForecastRequest parse(String rawQuery) {
+        Map<String, String> parameters = parameters(rawQuery);
+        ForecastConfig config = new ForecastConfig(TendencyFunction.valueOf(
+            parameters.getOrDefault("tendency", TendencyFunction.MEAN_LEAST_DIFFERENCE.name())));
+        if (parameters.containsKey("bias")) {
+            int bias = Integer.parseInt(parameters.get("bias"));
+            if (bias < -1 || bias > 1) {
+                throw new IllegalArgumentException("Bias must be -1, 0 or 1");
+            }
+            config = config.withProbabilityBias(bias);
+        }
+        if (parameters.containsKey("power")) {
+            config = config.withDeviationPower(Integer.parseInt(parameters.get("power")));
+        }
+        if (parameters.containsKey("useMean")) {
+            config = config.withUseMean(Boolean.parseBoolean(parameters.get("useMean")));
+        }
+        if (parameters.containsKey("includeZero")) {
+            config = config.withIncludeZero(Boolean.parseBoolean(parameters.get("includeZero")));
+        }
+        int window = parameters.containsKey("window") ? Integer.parseInt(parameters.get("window")) : DEFAULT_WINDOW;
+        return new ForecastRequest(parameters.get("symbol"), window, config);
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public int getWindow() {
+        return window;
+    }
+
+    public ForecastConfig getConfig() {
+        return config;
+    }
+
+    public String toQuery() {
+        return "symbol=" + URLEncoder.encode(symbol, StandardCharsets.UTF_8) + "&window=" + window + "&tendency=" + config.getTendencyFunction()
+            + "&bias=" + config.getProbabilityBias() + "&power=" + config.getDeviationPower()
+            + "&useMean=" + config.isUseMean() + "&includeZero=" + config.isIncludeZero();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof ForecastRequest request)) {
+            return false;
+        }
+        return symbol.equals(request.symbol) && window == request.window && config.equals(request.config);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(symbol, window, config);
+    }
+
+    @Override
+    public String toString() {
+        return toQuery();
+    }
+
+    private static Map<String, String> parameters(String rawQuery) {
+        Map<String, String> parameters = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return parameters;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            String name = equals < 0 ? pair : pair.substring(0, equals);
+            String value = equals < 0 ? "" : pair.substring(equals + 1);
+            parameters.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return parameters;
+    }
+}
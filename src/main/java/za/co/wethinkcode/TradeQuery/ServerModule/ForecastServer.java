@@ -0,0 +1,279 @@
+package za.co.wethinkcode.TradeQuery.ServerModule;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import za.co.wethinkcode.TradeQuery.DataModule.AlphaVantageSeriesLoader;
+import za.co.wethinkcode.TradeQuery.DataModule.OhlcvSeries;
+import za.co.wethinkcode.TradeQuery.DataModule.SeriesField;
+import za.co.wethinkcode.TradeQuery.ForecastModules.ForecastConfig;
+import za.co.wethinkcode.TradeQuery.ForecastModules.Forecasts;
+import za.co.wethinkcode.TradeQuery.ForecastModules.MultiSymbolForecastRunner.SeriesSource;
+import za.co.wethinkcode.TradeQuery.ForecastModules.PreparedSeries;
+import za.co.wethinkcode.TradeQuery.MetricsModule.LatencyHistogram;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.TendencyFunction;
+
+/**
+ * Forecast service on the JDK's built in HTTP server, one virtual thread per request.
+ *
+ * <ul>
+ *   <li>{@code GET /forecast?symbol=NFLX&window=100&tendency=MEDIAN} returns both
+ *       forecast triples of the window's last prices as JSON; see {@link ForecastRequest}
+ *       for every parameter</li>
+ *   <li>{@code GET /stats} returns request, computation and coalescing counts with the
+ *       p50 and p99 of the forecast latency</li>
+ *   <li>{@code GET /health} answers once warm up has finished</li>
+ * </ul>
+ *
+ * Requests equal to one already being computed wait for its result instead of
+ * computing it again. Before the socket is bound, the forecast path runs on synthetic
+ * prices so the first clients are not served by the interpreter.
+ */
+public class ForecastServer implements AutoCloseable {
+
+    private static final String DATA_DIRECTORY = "src/main/java/za/co/wethinkcode/TradeQuery/Data";
+
+    private final SeriesSource source;
+    private final int port;
+    private final Map<ForecastRequest, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder computations = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    private int warmupIterations = 50;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    // Port 0 binds any free port; see getPort()
+    public ForecastServer(SeriesSource source, int port) {
+        this.source = source;
+        this.port = port;
+    }
+
+    // Forecasts run per tendency function during warm up; 0 skips it
+    public void setWarmupIterations(int warmupIterations) {
+        if (warmupIterations < 0) {
+            throw new IllegalArgumentException("Warm up iterations must not be negative");
+        }
+        this.warmupIterations = warmupIterations;
+    }
+
+    public void start() throws IOException {
+        warmUp();
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext("/forecast", this::handleForecast);
+        server.createContext("/stats", exchange -> respond(exchange, 200, statsJson()));
+        server.createContext("/health", exchange -> respond(exchange, 200, "{\"status\":\"up\"}"));
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getComputations() {
+        return computations.sum();
+    }
+
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    // Computes the forecast or joins the computation of an equal request already running
+    public String forecast(ForecastRequest request) {
+        CompletableFuture<String> mine = new CompletableFuture<>();
+        CompletableFuture<String> running = inFlight.putIfAbsent(request, mine);
+        if (running != null) {
+            coalesced.increment();
+            return running.join();
+        }
+        try {
+            computations.increment();
+            mine.complete(compute(request));
+        } catch (Throwable e) {
+            mine.completeExceptionally(e);
+        } finally {
+            inFlight.remove(request, mine);
+        }
+        return mine.join();
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+
+    private void handleForecast(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        requests.increment();
+        int status = 200;
+        String body;
+        try {
+            body = forecast(ForecastRequest.parse(exchange.getRequestURI().getRawQuery()));
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            status = statusOf(cause);
+            body = errorJson(cause);
+        } catch (RuntimeException e) {
+            status = statusOf(e);
+            body = errorJson(e);
+        }
+        if (status != 200) {
+            failures.increment();
+        }
+        respond(exchange, status, body);
+        latency.record(System.nanoTime() - start);
+    }
+
+    private String compute(ForecastRequest request) throws Exception {
+        double[] prices = source.load(request.getSymbol());
+        if (prices == null) {
+            throw new NoSuchElementException("Unknown symbol " + request.getSymbol());
+        }
+        int from = Math.max(0, prices.length - request.getWindow());
+        List<BigDecimal> window = new ArrayList<>(prices.length - from);
+        for (int n = from; n < prices.length; n++) {
+            window.add(BigDecimal.valueOf(prices[n]));
+        }
+        return forecastJson(request, window);
+    }
+
+    private static String forecastJson(ForecastRequest request, List<BigDecimal> window) {
+        ForecastConfig config = request.getConfig();
+        PreparedSeries series = PreparedSeries.of(window, config);
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"symbol\":\"").append(escape(request.getSymbol()))
+            .append("\",\"window\":").append(window.size())
+            .append(",\"tendency\":\"").append(config.getTendencyFunction())
+            .append("\",\"bias\":").append(config.getProbabilityBias())
+            .append(",\"fromValue\":").append(series.getFromValue().toPlainString())
+            .append(",\"magnitudeWeighted\":");
+        appendArray(json, Forecasts.magnitudeWeighted(series, config));
+        json.append(",\"asymmetricTrend\":");
+        appendArray(json, Forecasts.asymmetricTrend(series, config));
+        return json.append('}').toString();
+    }
+
+    private String statsJson() {
+        return "{\"requests\":" + requests.sum() + ",\"computations\":" + computations.sum()
+            + ",\"coalesced\":" + coalesced.sum() + ",\"failures\":" + failures.sum()
+            + ",\"p50Micros\":" + latency.percentileNanos(50) / 1000
+            + ",\"p99Micros\":" + latency.percentileNanos(99) / 1000
+            + ",\"maxMicros\":" + latency.getMaxNanos() / 1000 + "}";
+    }
+
+    private void warmUp() {
+        Random random = new Random(1);
+        List<BigDecimal> window = new ArrayList<>();
+        int price = 10000;
+        for (int n = 0; n < ForecastRequest.DEFAULT_WINDOW; n++) {
+            price += random.nextInt(21) - 10;
+            window.add(BigDecimal.valueOf(price, 2));
+        }
+        for (int iteration = 0; iteration < warmupIterations; iteration++) {
+            for (TendencyFunction tendency : TendencyFunction.values()) {
+                forecastJson(new ForecastRequest("WARMUP", window.size(), new ForecastConfig(tendency)), window);
+            }
+        }
+    }
+
+    private static int statusOf(Throwable error) {
+        if (error instanceof NoSuchElementException) {
+            return 404;
+        }
+        return error instanceof IllegalArgumentException ? 400 : 500;
+    }
+
+    private static String errorJson(Throwable error) {
+        return "{\"error\":\"" + escape(String.valueOf(error.getMessage())) + "\"}";
+    }
+
+    private static void appendArray(StringBuilder json, List<BigDecimal> values) {
+        json.append('[');
+        for (int n = 0; n < values.size(); n++) {
+            json.append(n == 0 ? "" : ",").append(values.get(n).toPlainString());
+        }
+        json.append(']');
+    }
+
+    // Quotes, backslashes and control characters, so a decoded symbol cannot break the JSON
+    private static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int n = 0; n < value.length(); n++) {
+            char c = value.charAt(n);
+            if (c == '"' || c == '\\') {
+                escaped.append('\\').append(c);
+            } else if (c < 0x20) {
+                escaped.append(String.format("\\u%04x", (int) c));
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    // Serves the closes of every intraday series file: [port] [data directory]
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        Path directory = Paths.get(args.length > 1 ? args[1] : DATA_DIRECTORY);
+        Map<String, double[]> closes = new HashMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*_(data_intra_day).json")) {
+            for (Path file : files) {
+                OhlcvSeries series = AlphaVantageSeriesLoader.load(file, EnumSet.of(SeriesField.CLOSE));
+                closes.put(series.getSymbol(), series.column(SeriesField.CLOSE));
+            }
+        }
+        ForecastServer server = new ForecastServer(closes::get, port);
+        long start = System.nanoTime();
+        server.start();
+        System.out.printf("Serving %s on port %d, warmed up in %.0f ms%n", closes.keySet(), server.getPort(),
+                          (System.nanoTime() - start) / 1e6);
+    }
+}
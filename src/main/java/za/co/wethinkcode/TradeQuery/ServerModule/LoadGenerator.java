@@ -0,0 +1,154 @@
+package za.co.wethinkcode.TradeQuery.ServerModule;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import za.co.wethinkcode.TradeQuery.ForecastModules.ForecastConfig;
+import za.co.wethinkcode.TradeQuery.MetricsModule.LatencyHistogram;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.TendencyFunction;
+
+/**
+ * Drives a {@link ForecastServer} with a number of concurrent clients, each on its own
+ * virtual thread sending one request after another. Requests cycle through the symbols
+ * and tendency functions, so clients overlap on the same request often enough for the
+ * server to coalesce them.
+ */
+public class LoadGenerator {
+
+    private final URI baseUri;
+    private final HttpClient client;
+    private int clients = 16;
+    private int requests = 2000;
+    private int window = ForecastRequest.DEFAULT_WINDOW;
+
+    public LoadGenerator(URI baseUri) {
+        this.baseUri = baseUri;
+        this.client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    public void setClients(int clients) {
+        if (clients < 1) {
+            throw new IllegalArgumentException("Clients must be at least 1");
+        }
+        this.clients = clients;
+    }
+
+    public void setRequests(int requests) {
+        if (requests < 1) {
+            throw new IllegalArgumentException("Requests must be at least 1");
+        }
+        this.requests = requests;
+    }
+
+    public void setWindow(int window) {
+        this.window = window;
+    }
+
+    public LoadReport run(List<String> symbols) throws InterruptedException {
+        List<HttpRequest> cycle = new ArrayList<>();
+        for (String symbol : symbols) {
+            for (TendencyFunction tendency : TendencyFunction.values()) {
+                ForecastRequest request = new ForecastRequest(symbol, window, new ForecastConfig(tendency));
+                cycle.add(HttpRequest.newBuilder(baseUri.resolve("/forecast?" + request.toQuery())).GET().build());
+            }
+        }
+        LatencyHistogram latency = new LatencyHistogram();
+        LongAdder errors = new LongAdder();
+        AtomicInteger next = new AtomicInteger();
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> running = new ArrayList<>();
+            for (int n = 0; n < clients; n++) {
+                running.add(executor.submit(() -> {
+                    for (int sent = next.getAndIncrement(); sent < requests; sent = next.getAndIncrement()) {
+                        long requestStart = System.nanoTime();
+                        try {
+                            HttpResponse<String> response = client.send(cycle.get(sent % cycle.size()),
+                                                                         HttpResponse.BodyHandlers.ofString());
+                            if (response.statusCode() != 200) {
+                                errors.increment();
+                            }
+                        } catch (IOException e) {
+                            errors.increment();
+                        }
+                        latency.record(System.nanoTime() - requestStart);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> task : running) {
+                task.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Load client failed", e.getCause());
+        }
+        return new LoadReport(requests, errors.sum(), System.nanoTime() - start, latency);
+    }
+
+    public String fetchServerStats() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/stats")).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    public static final class LoadReport {
+        private final int requests;
+        private final long errors;
+        private final long elapsedNanos;
+        private final LatencyHistogram latency;
+
+        LoadReport(int requests, long errors, long elapsedNanos, LatencyHistogram latency) {
+            this.requests = requests;
+            this.errors = errors;
+            this.elapsedNanos = elapsedNanos;
+            this.latency = latency;
+        }
+
+        public int getRequests() {
+            return requests;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public double getRequestsPerSecond() {
+            return requests / (elapsedNanos / 1e9);
+        }
+
+        // Client side latency, including the HTTP round trip
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d requests, %d errors, %.0f req/s, %s", requests, errors, getRequestsPerSecond(), latency);
+        }
+    }
+
+    // <base url> [clients] [requests] [symbol ...]
+    public static void main(String[] args) throws Exception {
+        LoadGenerator generator = new LoadGenerator(URI.create(args.length > 0 ? args[0] : "http://localhost:8080"));
+        if (args.length > 1) {
+            generator.setClients(Integer.parseInt(args[1]));
+        }
+        if (args.length > 2) {
+            generator.setRequests(Integer.parseInt(args[2]));
+        }
+        List<String> symbols = args.length > 3 ? Arrays.asList(args).subList(3, args.length) : List.of("NFLX", "BTC", "USD");
+        System.out.println(generator.run(symbols));
+        System.out.println("server " + generator.fetchServerStats());
+    }
+}
@@ -1,18 +1,16 @@
 package za.co.wethinkcode.TradeQuery.StatisticsModule;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.logging.Logger;
 
 public class CentralTendency {
-    Logger logger = Logger.getLogger(CentralTendency.class.getName());
+    static final Logger logger = Logger.getLogger(CentralTendency.class.getName());
     
     private List<BigDecimal> dataList;
+    // Sorted form of dataList for median, mode and least difference, built on first use
+    private SortedSeriesIndex sortedIndex;
     
     public CentralTendency(List<BigDecimal> dataList) {
         this.dataList = new ArrayList<>(dataList); // Create defensive copy
@@ -25,62 +23,52 @@ public class CentralTendency {
 
     public void setData(List<BigDecimal> newDataList){
         this.dataList = new ArrayList<>(newDataList); // Create defensive copy
+        this.sortedIndex = null;
+    }
+
+    // Takes data already sorted, so a band of a distribution is not sorted again
+    void setData(List<BigDecimal> newDataList, SortedSeriesIndex index){
+        this.dataList = new ArrayList<>(newDataList);
+        this.sortedIndex = index;
     }
     
+    boolean holds(List<BigDecimal> data) {
+        return dataList != null && dataList.equals(data);
+    }
+
     public List<BigDecimal> getData() {
         return new ArrayList<>(dataList); // Return defensive copy
     }
     
     public List<BigDecimal> leastDifference() {
-        return new LeastDeviation(dataList).variableLeastDifference();
+        return Tendencies.leastDifference(dataList);
     }
     
     public BigDecimal meanLeastDifference(){
-        List<BigDecimal> leastDiff = leastDifference();
-        if (leastDiff.isEmpty()) {
-            return BigDecimal.ZERO;
-        }
-        BigDecimal sum = BigDecimal.ZERO;
-        for (BigDecimal value : leastDiff) {
-            sum = sum.add(value);
-        }
-        return sum.divide(BigDecimal.valueOf(leastDiff.size()), 10, RoundingMode.HALF_UP);
+        return Tendencies.meanLeastDifference(sortedIndex());
     }
     
     public BigDecimal mean() {
-        if (dataList.isEmpty()) {
-            return BigDecimal.ZERO;
-        }
-        BigDecimal sum = BigDecimal.ZERO;
-        for (BigDecimal value : dataList) {
-            sum = sum.add(value);
-        }
-        return sum.divide(BigDecimal.valueOf(dataList.size()), 10, RoundingMode.HALF_UP);
+        return Tendencies.mean(dataList);
     }
     
     public BigDecimal median() {
-        if (dataList.isEmpty()) {
-            return BigDecimal.ZERO;
-        }
-        List<BigDecimal> sortedList = new ArrayList<>(dataList);
-        Collections.sort(sortedList);
-        int middle = sortedList.size() / 2;
-        if (sortedList.size() % 2 == 1) {
-            return sortedList.get(middle);
-        } else {
-            return sortedList.get(middle - 1).add(sortedList.get(middle))
-                   .divide(BigDecimal.valueOf(2), 10, RoundingMode.HALF_UP);
-        }
+        return sortedIndex().median();
     }
     
+    /**
+     * Most frequent value, ties resolving to the smallest. Values are grouped by compareTo,
+     * so 1.0 and 1.00 count as one value; the one returned is the first of its group in
+     * the series.
+     */
     public BigDecimal mode() {
-        if (dataList.isEmpty()) {
-            return BigDecimal.ZERO;
-        }
-        Map<BigDecimal, Integer> frequencyMap = new HashMap<>();
-        for (BigDecimal value : dataList) {
-            frequencyMap.put(value, frequencyMap.getOrDefault(value, 0) + 1);
+        return sortedIndex().mode();
+    }
+
+    SortedSeriesIndex sortedIndex() {
+        if (sortedIndex == null) {
+            sortedIndex = SortedSeriesIndex.of(dataList);
         }
-        return Collections.max(frequencyMap.entrySet(), Map.Entry.comparingByValue()).getKey();
+        return sortedIndex;
     }
 }
\ No newline at end of file
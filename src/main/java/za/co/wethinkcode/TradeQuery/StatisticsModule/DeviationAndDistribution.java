@@ -10,14 +10,19 @@ import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import za.co.wethinkcode.TradeQuery.MetricsModule.Metrics;
+import za.co.wethinkcode.TradeQuery.MetricsModule.MetricsSpan;
+import za.co.wethinkcode.TradeQuery.MetricsModule.PipelineStage;
+
 public class DeviationAndDistribution {
-    Logger logger = Logger.getLogger(DeviationAndDistribution.class.getName());
+    static final Logger logger = Logger.getLogger(DeviationAndDistribution.class.getName());
     private CentralTendency tendencyInstance;
     private Supplier<BigDecimal> tendencyFunction;
     private List<BigDecimal> dataList;
     private BigDecimal dataListSize;
     private int deviationPower;
     private Difference diffMethods;
+    private SortedSeriesIndex sortedIndex;
     private BigDecimal deviation;
     private BigDecimal distributionTendency;
     private BigDecimal distributionMin;
@@ -28,9 +33,11 @@ public class DeviationAndDistribution {
     private BigDecimal upperBoundTendency;
     private List<BigDecimal> lowerBoundValues;
     private List<BigDecimal> upperBoundValues;
+    private SortedSeriesIndex lowerBand;
+    private SortedSeriesIndex upperBand;
     private boolean useMean = true;
 
-    {
+    static {
         logger.setLevel(Level.OFF);
     }
     public DeviationAndDistribution(CentralTendency tendencyInstance, Supplier<BigDecimal> tendencyFunction, List<BigDecimal> dataList) {
@@ -48,6 +55,10 @@ public class DeviationAndDistribution {
         this.tendencyFunction = tendencyFunction;
         this.dataListSize = BigDecimal.valueOf(dataList.size());
         this.diffMethods = new Difference(dataList);
+        // Callers hand the tendency instance the same data, so its sort is shared rather than repeated
+        this.sortedIndex = tendencyInstance.holds(dataList)
+            ? tendencyInstance.sortedIndex()
+            : SortedSeriesIndex.of(dataList);
         this.deviationPower = diffMethods.returnComparitivePower(); // Fixed method name
         
         // Initialize the lists before using them
@@ -55,10 +66,17 @@ public class DeviationAndDistribution {
         this.upperBoundValues = new ArrayList<>();
         
         // Fixed order: get tendency first, then calculate everything else
-        calculateTendencies();
-        calculateDeviation();
-        calculateDistributionValues();
-        calculateBoundaryValues();
+        int size = dataList.size();
+        try (MetricsSpan span = Metrics.span(PipelineStage.TENDENCY, size)) {
+            calculateTendencies();
+        }
+        try (MetricsSpan span = Metrics.span(PipelineStage.DEVIATION, size)) {
+            calculateDeviation();
+            calculateDistributionValues();
+        }
+        try (MetricsSpan span = Metrics.span(PipelineStage.BOUNDARY, size)) {
+            calculateBoundaryValues();
+        }
     }
 
     public BigDecimal deviation(){
@@ -141,9 +159,8 @@ public class DeviationAndDistribution {
     }
 
     private void calculateDeviation() {
-        List<BigDecimal> sum = diffMethods.comparativeDifference(distributionTendency);
-        BigDecimal mean = sum.stream().reduce(BigDecimal.ZERO, BigDecimal::add)
-            .divide(BigDecimal.valueOf(sum.size()), 10, RoundingMode.HALF_UP);
+        BigDecimal mean = sortedIndex.comparativeSum(distributionTendency, deviationPower)
+            .divide(dataListSize, 10, RoundingMode.HALF_UP);
         this.deviation = mean.pow(1 / deviationPower, new MathContext(10, RoundingMode.HALF_UP));
     }
 
@@ -159,32 +176,22 @@ public class DeviationAndDistribution {
         // Note: boundary tendencies will be calculated after boundary values are calculateed
     }
 
+    // Bands are [min, tendency) and (tendency, max], read off the sorted index in ascending order
     private void calculateBoundaryValues(){
-        int upperCount = 0;
-        int lowerCount = 0;
-        
-        // Clear the lists first
-        this.lowerBoundValues.clear();
-        this.upperBoundValues.clear();
-        
-        for(BigDecimal value: dataList){
-            if(value.compareTo(distributionMin) >= 0 && value.compareTo(distributionTendency) < 0){
-                lowerCount++;
-                lowerBoundValues.add(value);
-                logger.info("Value: " + value + " DistrMin: " + distributionMin + " comparison: " + value.compareTo(distributionMin));
-            }
-            if(value.compareTo(distributionTendency) > 0 && value.compareTo(distributionMax) <= 0){
-                upperCount++;
-                upperBoundValues.add(value);
-                logger.info("Value: " + value + " DistrMax: " + distributionMax + " comparison: " + value.compareTo(distributionMax));
-            }
-        }
-        logger.info("Lower count is: " + lowerCount);
-        logger.info("Upper count is: " + upperCount);
+        this.lowerBand = sortedIndex.range(distributionMin, true, distributionTendency, false);
+        this.upperBand = sortedIndex.range(distributionTendency, false, distributionMax, true);
+        int lowerCount = lowerBand.size();
+        int upperCount = upperBand.size();
+
+        this.lowerBoundValues = new ArrayList<>(lowerBand.values());
+        this.upperBoundValues = new ArrayList<>(upperBand.values());
         this.lowerBoundProbability = BigDecimal.valueOf(lowerCount).divide(dataListSize, 10, RoundingMode.HALF_UP);
         this.upperBoundProbability = BigDecimal.valueOf(upperCount).divide(dataListSize,10,  RoundingMode.HALF_UP);
-        logger.info("Lower probability is: " + lowerBoundProbability);
-        logger.info("Upper probability is: " + upperBoundProbability);
+        // Guarded so the messages are only built when someone is listening
+        if (logger.isLoggable(Level.INFO)) {
+            logger.info("Lower count is: " + lowerCount + ", upper count is: " + upperCount);
+            logger.info("Lower probability is: " + lowerBoundProbability + ", upper probability is: " + upperBoundProbability);
+        }
         
         // Now calculate boundary tendencies after we have the boundary values
         calculateBoundaryTendencies();
@@ -198,7 +205,7 @@ public class DeviationAndDistribution {
                 this.lowerBoundTendency = distributionTendency.add(distributionMin)
                     .divide(BigDecimal.valueOf(2), 10, RoundingMode.HALF_UP);
             } else {
-                this.tendencyInstance.setData(lowerBoundValues);
+                this.tendencyInstance.setData(lowerBoundValues, lowerBand);
                 this.lowerBoundTendency = tendencyFunction.get();
             }
         }
@@ -210,12 +217,12 @@ public class DeviationAndDistribution {
                 this.upperBoundTendency = distributionTendency.add(distributionMax)
                     .divide(BigDecimal.valueOf(2), 10, RoundingMode.HALF_UP);
             } else {
-                this.tendencyInstance.setData(upperBoundValues);
+                this.tendencyInstance.setData(upperBoundValues, upperBand);
                 this.upperBoundTendency = tendencyFunction.get();
             }
         }
         
         // Restore original data to the tendency instance
-        this.tendencyInstance.setData(this.dataList);
+        this.tendencyInstance.setData(this.dataList, sortedIndex);
     }
 }
\ No newline at end of file
@@ -2,9 +2,14 @@ package za.co.wethinkcode.TradeQuery.StatisticsModule;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.function.Function;
 
+import za.co.wethinkcode.TradeQuery.MetricsModule.Metrics;
+import za.co.wethinkcode.TradeQuery.MetricsModule.MetricsSpan;
+import za.co.wethinkcode.TradeQuery.MetricsModule.PipelineStage;
+
 public class Difference{
 
     private List<BigDecimal> dataList;
@@ -67,11 +72,11 @@ public class Difference{
 
     public List<BigDecimal> positiveDifference() {
         List<BigDecimal> differenceList = new ArrayList<>();
-        int min = includeZero ? -1 : 0;
+        BigDecimal min = positiveThreshold();
 
         for (int n = 1; n < dataList.size(); n++) {
             BigDecimal difference = dataList.get(n).subtract(dataList.get(n-1));
-            if (difference.compareTo(BigDecimal.valueOf(min)) > 0) {
+            if (difference.compareTo(min) > 0) {
                 differenceList.add(difference);
             }
         }
@@ -80,17 +85,66 @@ public class Difference{
 
     public List<BigDecimal> negativeDifference() {
         List<BigDecimal> differenceList = new ArrayList<>();
-        int max = includeZero ? 1 : 0;
+        BigDecimal max = negativeThreshold();
 
         for (int n = 1; n < dataList.size(); n++) {
             BigDecimal difference = dataList.get(n).subtract(dataList.get(n-1));
-            if (difference.compareTo(BigDecimal.valueOf(max)) < 0) {
+            if (difference.compareTo(max) < 0) {
                 differenceList.add(difference);
             }
         }
         return differenceList;
     }
 
+    /**
+     * All four difference series with their counts from a single pass, each step
+     * subtracted once. Same values as difference(), absoluteDifference(),
+     * positiveDifference() and negativeDifference().
+     */
+    public DifferenceSeries differenceSeries() {
+        try (MetricsSpan span = Metrics.span(PipelineStage.DIFFERENCE, dataList.size())) {
+            return fusedDifferenceSeries();
+        }
+    }
+
+    private DifferenceSeries fusedDifferenceSeries() {
+        int size = Math.max(0, dataList.size() - 1);
+        BigDecimal[] differences = new BigDecimal[size];
+        BigDecimal[] absoluteDifferences = new BigDecimal[size];
+        BigDecimal[] positiveDifferences = new BigDecimal[size];
+        BigDecimal[] negativeDifferences = new BigDecimal[size];
+        int positiveCount = 0;
+        int negativeCount = 0;
+        BigDecimal min = positiveThreshold();
+        BigDecimal max = negativeThreshold();
+
+        BigDecimal previous = size > 0 ? dataList.get(0) : null;
+        for (int n = 0; n < size; n++) {
+            BigDecimal current = dataList.get(n + 1);
+            BigDecimal difference = current.subtract(previous);
+            differences[n] = difference;
+            absoluteDifferences[n] = difference.abs();
+            if (difference.compareTo(min) > 0) {
+                positiveDifferences[positiveCount++] = difference;
+            }
+            if (difference.compareTo(max) < 0) {
+                negativeDifferences[negativeCount++] = difference;
+            }
+            previous = current;
+        }
+        return new DifferenceSeries(differences, absoluteDifferences, positiveDifferences, positiveCount,
+                                    negativeDifferences, negativeCount);
+    }
+
+    // Bounds a step must beat to count as positive or negative; includeZero admits zero to both
+    private BigDecimal positiveThreshold() {
+        return includeZero ? BigDecimal.valueOf(-1) : BigDecimal.ZERO;
+    }
+
+    private BigDecimal negativeThreshold() {
+        return includeZero ? BigDecimal.ONE : BigDecimal.ZERO;
+    }
+
     public List<BigDecimal> NthOrderDifference(int order, Function<List<BigDecimal>, List<BigDecimal>> function) {
         if (order < 1) {
             throw new IllegalArgumentException("Order must be at least 1");
@@ -101,4 +155,24 @@ public class Difference{
         }
         return result;
     }
-}
\ No newline at end of file
+
+    /**
+     * The order-th difference of the data, computed in place in one array: each order
+     * overwrites the previous one and the series shortens by one. Same values as applying
+     * difference() order times, without a list per order.
+     */
+    public List<BigDecimal> NthOrderDifference(int order) {
+        if (order < 1) {
+            throw new IllegalArgumentException("Order must be at least 1");
+        }
+        BigDecimal[] values = dataList.toArray(new BigDecimal[0]);
+        int length = values.length;
+        for (int n = 0; n < order && length > 0; n++) {
+            for (int i = 0; i < length - 1; i++) {
+                values[i] = values[i + 1].subtract(values[i]);
+            }
+            length--;
+        }
+        return new ArrayList<>(Arrays.asList(values).subList(0, length));
+    }
+}
@@ -0,0 +1,99 @@
+package za.co.wethinkcode.TradeQuery.StatisticsModule;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The step, absolute, positive and negative differences of a series together with their
+ * counts, produced by one pass in {@link Difference#differenceSeries()}. The lists are
+ * read only views over arrays sized once for the whole series. Sums are added up when
+ * asked for, since each BigDecimal addition allocates and most callers need only counts.
+ */
+public final class DifferenceSeries {
+
+    private final BigDecimal[] differences;
+    private final BigDecimal[] absoluteDifferences;
+    private final BigDecimal[] positiveDifferences;
+    private final BigDecimal[] negativeDifferences;
+    private final int positiveCount;
+    private final int negativeCount;
+
+    DifferenceSeries(BigDecimal[] differences, BigDecimal[] absoluteDifferences,
+                     BigDecimal[] positiveDifferences, int positiveCount,
+                     BigDecimal[] negativeDifferences, int negativeCount) {
+        this.differences = differences;
+        this.absoluteDifferences = absoluteDifferences;
+        this.positiveDifferences = positiveDifferences;
+        this.positiveCount = positiveCount;
+        this.negativeDifferences = negativeDifferences;
+        this.negativeCount = negativeCount;
+    }
+
+    public int size() {
+        return differences.length;
+    }
+
+    public int positiveCount() {
+        return positiveCount;
+    }
+
+    public int negativeCount() {
+        return negativeCount;
+    }
+
+    public List<BigDecimal> differences() {
+        return view(differences, differences.length);
+    }
+
+    public List<BigDecimal> absoluteDifferences() {
+        return view(absoluteDifferences, absoluteDifferences.length);
+    }
+
+    public List<BigDecimal> positiveDifferences() {
+        return view(positiveDifferences, positiveCount);
+    }
+
+    public List<BigDecimal> negativeDifferences() {
+        return view(negativeDifferences, negativeCount);
+    }
+
+    public BigDecimal sum() {
+        return sum(differences, differences.length);
+    }
+
+    public BigDecimal absoluteSum() {
+        return sum(absoluteDifferences, absoluteDifferences.length);
+    }
+
+    public BigDecimal positiveSum() {
+        return sum(positiveDifferences, positiveCount);
+    }
+
+    public BigDecimal negativeSum() {
+        return sum(negativeDifferences, negativeCount);
+    }
+
+    // Share of all steps that were positive, as the forecasts weight them
+    public BigDecimal positiveProbability() {
+        return BigDecimal.valueOf(positiveCount).divide(BigDecimal.valueOf(size()), 10, RoundingMode.HALF_UP);
+    }
+
+    public BigDecimal negativeProbability() {
+        return BigDecimal.valueOf(negativeCount).divide(BigDecimal.valueOf(size()), 10, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal sum(BigDecimal[] values, int count) {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (int n = 0; n < count; n++) {
+            sum = sum.add(values[n]);
+        }
+        return sum;
+    }
+
+    private static List<BigDecimal> view(BigDecimal[] values, int count) {
+        return Collections.unmodifiableList(Arrays.asList(values).subList(0, count));
+    }
+}
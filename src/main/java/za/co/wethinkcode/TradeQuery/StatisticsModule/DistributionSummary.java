@@ -0,0 +1,129 @@
+package za.co.wethinkcode.TradeQuery.StatisticsModule;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.function.Function;
+
+import za.co.wethinkcode.TradeQuery.MetricsModule.Metrics;
+import za.co.wethinkcode.TradeQuery.MetricsModule.MetricsSpan;
+import za.co.wethinkcode.TradeQuery.MetricsModule.PipelineStage;
+
+/**
+ * Immutable result of the deviation and distribution computation. {@link #of} performs
+ * the same steps as {@link DeviationAndDistribution} but takes its data and tendency
+ * function as arguments, so one tendency function can serve any number of threads.
+ * The deviation and both bands are read off a {@link SortedSeriesIndex} by binary search.
+ */
+public final class DistributionSummary {
+
+    private final BigDecimal deviation;
+    private final BigDecimal distributionTendency;
+    private final BigDecimal distributionMin;
+    private final BigDecimal distributionMax;
+    private final BigDecimal lowerBoundProbability;
+    private final BigDecimal upperBoundProbability;
+    private final BigDecimal lowerBoundTendency;
+    private final BigDecimal upperBoundTendency;
+
+    private DistributionSummary(BigDecimal deviation, BigDecimal distributionTendency, BigDecimal distributionMin,
+                                BigDecimal distributionMax, BigDecimal lowerBoundProbability, BigDecimal upperBoundProbability,
+                                BigDecimal lowerBoundTendency, BigDecimal upperBoundTendency) {
+        this.deviation = deviation;
+        this.distributionTendency = distributionTendency;
+        this.distributionMin = distributionMin;
+        this.distributionMax = distributionMax;
+        this.lowerBoundProbability = lowerBoundProbability;
+        this.upperBoundProbability = upperBoundProbability;
+        this.lowerBoundTendency = lowerBoundTendency;
+        this.upperBoundTendency = upperBoundTendency;
+    }
+
+    public static DistributionSummary of(List<BigDecimal> dataList, Function<List<BigDecimal>, BigDecimal> tendencyFunction,
+                                         int deviationPower, boolean useMean) {
+        if (tendencyFunction instanceof TendencyFunction function) {
+            return of(SortedSeriesIndex.of(dataList), function, deviationPower, useMean);
+        }
+        return of(SortedSeriesIndex.of(dataList), tendencyFunction.apply(dataList),
+                  band -> tendencyFunction.apply(band.values()), deviationPower, useMean);
+    }
+
+    // For a series forecast under several configurations: the index is built once and reused
+    public static DistributionSummary of(SortedSeriesIndex index, TendencyFunction tendencyFunction,
+                                         int deviationPower, boolean useMean) {
+        BigDecimal tendency;
+        try (MetricsSpan span = Metrics.span(PipelineStage.TENDENCY, index.size())) {
+            tendency = tendencyFunction.apply(index);
+        }
+        return of(index, tendency, tendencyFunction::apply, deviationPower, useMean);
+    }
+
+    private static DistributionSummary of(SortedSeriesIndex index, BigDecimal tendency,
+                                          Function<SortedSeriesIndex, BigDecimal> bandTendency,
+                                          int deviationPower, boolean useMean) {
+        if (deviationPower < 1) {
+            throw new IllegalArgumentException("Power must be at least 1");
+        }
+        BigDecimal size = BigDecimal.valueOf(index.size());
+        BigDecimal deviation;
+        try (MetricsSpan span = Metrics.span(PipelineStage.DEVIATION, index.size())) {
+            BigDecimal mean = index.comparativeSum(tendency, deviationPower).divide(size, 10, RoundingMode.HALF_UP);
+            deviation = mean.pow(1 / deviationPower, new MathContext(10, RoundingMode.HALF_UP));
+        }
+
+        BigDecimal max = tendency.add(deviation);
+        BigDecimal min = tendency.subtract(deviation);
+
+        try (MetricsSpan span = Metrics.span(PipelineStage.BOUNDARY, index.size())) {
+            SortedSeriesIndex lowerBand = index.range(min, true, tendency, false);
+            SortedSeriesIndex upperBand = index.range(tendency, false, max, true);
+            BigDecimal lowerProbability = BigDecimal.valueOf(lowerBand.size()).divide(size, 10, RoundingMode.HALF_UP);
+            BigDecimal upperProbability = BigDecimal.valueOf(upperBand.size()).divide(size, 10, RoundingMode.HALF_UP);
+
+            BigDecimal lowerTendency = boundTendency(lowerBand, min, tendency, bandTendency, useMean);
+            BigDecimal upperTendency = boundTendency(upperBand, max, tendency, bandTendency, useMean);
+            return new DistributionSummary(deviation, tendency, min, max, lowerProbability, upperProbability,
+                                           lowerTendency, upperTendency);
+        }
+    }
+
+    private static BigDecimal boundTendency(SortedSeriesIndex band, BigDecimal bound, BigDecimal tendency,
+                                            Function<SortedSeriesIndex, BigDecimal> bandTendency, boolean useMean) {
+        if (band.isEmpty()) {
+            return bound;
+        }
+        if (useMean) {
+            return tendency.add(bound).divide(BigDecimal.valueOf(2), 10, RoundingMode.HALF_UP);
+        }
+        return bandTendency.apply(band);
+    }
+
+    public BigDecimal deviation() {
+        return deviation;
+    }
+
+    public List<BigDecimal> distribution() {
+        return List.of(distributionMin, distributionTendency, distributionMax);
+    }
+
+    public BigDecimal getDistributionTendency() {
+        return distributionTendency;
+    }
+
+    public BigDecimal getLowerBoundProbability() {
+        return lowerBoundProbability;
+    }
+
+    public BigDecimal getUpperBoundProbability() {
+        return upperBoundProbability;
+    }
+
+    public BigDecimal getLowerBoundTendency() {
+        return lowerBoundTendency;
+    }
+
+    public BigDecimal getUpperBoundTendency() {
+        return upperBoundTendency;
+    }
+}
@@ -0,0 +1,103 @@
+package za.co.wethinkcode.TradeQuery.StatisticsModule;
+
+import java.util.Arrays;
+
+/**
+ * Primitive counterpart of {@link CentralTendency}. The data array is referenced rather
+ * than copied, and sorting happens in a reusable scratch buffer.
+ */
+public class DoubleCentralTendency {
+
+    // Relative distance within which two doubles are taken as the same decimal value: far
+    // below a cent on any price series, far above the rounding error of a difference
+    static final double EQUALITY_TOLERANCE = 1e-8;
+
+    private final DoubleKernels kernels = DoubleKernels.best();
+    private double[] dataList = new double[0];
+    private int size;
+    private double[] sortedData = new double[0];
+    private final DoubleLeastDeviation leastDeviation = new DoubleLeastDeviation();
+
+    public DoubleCentralTendency() {
+    }
+
+    public DoubleCentralTendency(double[] dataList) {
+        setData(dataList, dataList.length);
+    }
+
+    public void setData(double[] dataList, int size) {
+        if (size < 0 || size > dataList.length) {
+            throw new IllegalArgumentException("Size must be between 0 and the array length");
+        }
+        this.dataList = dataList;
+        this.size = size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int leastDifference(double[] result) {
+        leastDeviation.setData(dataList, size);
+        return leastDeviation.variableLeastDifference(result);
+    }
+
+    public double meanLeastDifference() {
+        leastDeviation.setData(dataList, size);
+        return leastDeviation.meanLeastDifference();
+    }
+
+    public double mean() {
+        if (size == 0) {
+            return 0.0;
+        }
+        return kernels.sum(dataList, size) / size;
+    }
+
+    public double median() {
+        if (size == 0) {
+            return 0.0;
+        }
+        sortIntoScratch();
+        int middle = size / 2;
+        if (size % 2 == 1) {
+            return sortedData[middle];
+        }
+        return (sortedData[middle - 1] + sortedData[middle]) / 2;
+    }
+
+    /**
+     * Most frequent value; ties between equally frequent values resolve to the smallest of
+     * them. Differences of decimal prices carry rounding error in double, so 10.07 - 10.00
+     * and 10.17 - 10.10 differ in the last bits. Values within EQUALITY_TOLERANCE of the
+     * largest magnitude are counted as one value, as the BigDecimal path counts them.
+     */
+    public double mode() {
+        if (size == 0) {
+            return 0.0;
+        }
+        sortIntoScratch();
+        double tolerance = EQUALITY_TOLERANCE * Math.max(Math.abs(sortedData[0]), Math.abs(sortedData[size - 1]));
+        double mode = sortedData[0];
+        int modeCount = 0;
+        int runStart = 0;
+        for (int n = 1; n <= size; n++) {
+            if (n == size || sortedData[n] - sortedData[runStart] > tolerance) {
+                if (n - runStart > modeCount) {
+                    modeCount = n - runStart;
+                    mode = sortedData[runStart];
+                }
+                runStart = n;
+            }
+        }
+        return mode;
+    }
+
+    private void sortIntoScratch() {
+        if (sortedData.length < size) {
+            sortedData = new double[size];
+        }
+        System.arraycopy(dataList, 0, sortedData, 0, size);
+        Arrays.sort(sortedData, 0, size);
+    }
+}
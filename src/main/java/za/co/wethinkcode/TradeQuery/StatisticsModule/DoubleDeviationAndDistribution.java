@@ -0,0 +1,199 @@
+package za.co.wethinkcode.TradeQuery.StatisticsModule;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Primitive counterpart of {@link DeviationAndDistribution}. One instance is meant to be
+ * reused: {@link #calculate(double[], int)} recomputes every value in place and the
+ * boundary value buffers only grow when a larger series arrives.
+ */
+public class DoubleDeviationAndDistribution {
+    private final DoubleCentralTendency tendencyInstance;
+    private DoubleSupplier tendencyFunction;
+    private final DoubleKernels kernels = DoubleKernels.best();
+    private final int[] bandCounts = new int[2];
+    private final DoubleDifference diffMethods = new DoubleDifference(new double[0], 0);
+    private double[] dataList = new double[0];
+    private int size;
+    private int deviationPower;
+    private double deviation;
+    private double distributionTendency;
+    private double distributionMin;
+    private double distributionMax;
+    // Values this close to a band boundary count as equal to it, see calculateBoundaryValues
+    private double tolerance;
+    private double lowerBoundProbability;
+    private double upperBoundProbability;
+    private double lowerBoundTendency;
+    private double upperBoundTendency;
+    private double[] lowerBoundValues = new double[0];
+    private double[] upperBoundValues = new double[0];
+    private int lowerCount;
+    private int upperCount;
+    private boolean boundaryValuesCollected;
+    private boolean useMean = true;
+
+    public DoubleDeviationAndDistribution(DoubleCentralTendency tendencyInstance, DoubleSupplier tendencyFunction) {
+        this.tendencyInstance = tendencyInstance;
+        this.tendencyFunction = tendencyFunction;
+        this.deviationPower = diffMethods.returnComparitivePower();
+    }
+
+    public DoubleDeviationAndDistribution(DoubleCentralTendency tendencyInstance, DoubleSupplier tendencyFunction, double[] dataList, int size) {
+        this(tendencyInstance, tendencyFunction);
+        calculate(dataList, size);
+    }
+
+    public void calculate(double[] dataList, int size) {
+        this.dataList = dataList;
+        this.size = size;
+        this.diffMethods.setData(dataList, size);
+        this.tendencyInstance.setData(dataList, size);
+        if (lowerBoundValues.length < size) {
+            lowerBoundValues = new double[size];
+            upperBoundValues = new double[size];
+        }
+        calculateTendencies();
+        calculateDeviation();
+        calculateDistributionValues();
+        calculateBoundaryValues();
+    }
+
+    public double deviation(){
+        return this.deviation;
+    }
+
+    public void setDeviationComparitivePower(int power){
+        if (power < 1) {
+            throw new IllegalArgumentException("Power must be at least 1");
+        }
+        this.deviationPower = power;
+        this.diffMethods.setComparitivePower(power);
+    }
+
+    public int returnDeviationPower(){
+        return deviationPower;
+    }
+
+    public void setUseMean(boolean booleanArg){
+        this.useMean = booleanArg;
+    }
+
+    public void setTendencyFunction(DoubleSupplier tendencyFunction){
+        this.tendencyFunction = tendencyFunction;
+    }
+
+    public void distribution(double[] result) {
+        result[0] = distributionMin;
+        result[1] = distributionTendency;
+        result[2] = distributionMax;
+    }
+
+    public double getLowerBoundProbability() {
+        return lowerBoundProbability;
+    }
+
+    public double getUpperBoundProbability() {
+        return upperBoundProbability;
+    }
+
+    public double getDistributionTendency(){
+        return distributionTendency;
+    }
+
+    public double getLowerBoundTendency() {
+        return lowerBoundTendency;
+    }
+
+    public double getUpperBoundTendency() {
+        return upperBoundTendency;
+    }
+
+    public int getLowerBoundValues(double[] result) {
+        collectBoundaryValues();
+        System.arraycopy(lowerBoundValues, 0, result, 0, lowerCount);
+        return lowerCount;
+    }
+
+    public int getUpperBoundValues(double[] result) {
+        collectBoundaryValues();
+        System.arraycopy(upperBoundValues, 0, result, 0, upperCount);
+        return upperCount;
+    }
+
+    private void calculateTendencies(){
+        this.distributionTendency = tendencyFunction.getAsDouble();
+    }
+
+    // Mirrors DeviationAndDistribution, including its integer exponent 1 / deviationPower
+    private void calculateDeviation() {
+        double mean = diffMethods.sumComparitiveDifference(distributionTendency) / size;
+        this.deviation = Math.pow(mean, 1 / deviationPower);
+    }
+
+    private void calculateDistributionValues(){
+        this.distributionMax = this.distributionTendency + this.deviation;
+        this.distributionMin = this.distributionTendency - this.deviation;
+    }
+
+    /**
+     * Only counts the bands; the values themselves are collected when a tendency or caller
+     * needs them. A value within the tolerance of a boundary is treated as equal to it, so
+     * rounding error in double differences classifies values as the exact BigDecimal
+     * comparisons do: the tendency's own group is in neither band.
+     */
+    private void calculateBoundaryValues(){
+        tolerance = DoubleCentralTendency.EQUALITY_TOLERANCE * Math.max(Math.abs(distributionMin), Math.abs(distributionMax));
+        kernels.countBands(dataList, size, distributionMin - tolerance, distributionTendency - tolerance,
+                           distributionTendency + tolerance, distributionMax + tolerance, bandCounts);
+        lowerCount = bandCounts[0];
+        upperCount = bandCounts[1];
+        boundaryValuesCollected = false;
+        this.lowerBoundProbability = (double) lowerCount / size;
+        this.upperBoundProbability = (double) upperCount / size;
+        calculateBoundaryTendencies();
+    }
+
+    private void collectBoundaryValues() {
+        if (boundaryValuesCollected) {
+            return;
+        }
+        int lower = 0;
+        int upper = 0;
+        for (int n = 0; n < size; n++) {
+            double value = dataList[n];
+            if (value >= distributionMin - tolerance && value < distributionTendency - tolerance) {
+                lowerBoundValues[lower++] = value;
+            }
+            if (value > distributionTendency + tolerance && value <= distributionMax + tolerance) {
+                upperBoundValues[upper++] = value;
+            }
+        }
+        boundaryValuesCollected = true;
+    }
+
+    private void calculateBoundaryTendencies() {
+        if (lowerCount == 0) {
+            this.lowerBoundTendency = distributionMin;
+        } else if (useMean) {
+            this.lowerBoundTendency = (distributionTendency + distributionMin) / 2;
+        } else {
+            collectBoundaryValues();
+            this.tendencyInstance.setData(lowerBoundValues, lowerCount);
+            this.lowerBoundTendency = tendencyFunction.getAsDouble();
+        }
+
+        if (upperCount == 0) {
+            this.upperBoundTendency = distributionMax;
+        } else if (useMean) {
+            this.upperBoundTendency = (distributionTendency + distributionMax) / 2;
+        } else {
+            collectBoundaryValues();
+            this.tendencyInstance.setData(upperBoundValues, upperCount);
+            this.upperBoundTendency = tendencyFunction.getAsDouble();
+        }
+
+        // Restore original data to the tendency instance
+        this.tendencyInstance.setData(this.dataList, this.size);
+    }
+}
@@ -0,0 +1,99 @@
+package za.co.wethinkcode.TradeQuery.StatisticsModule;
+
+/**
+ * Primitive counterpart of {@link Difference}. Results are written into caller supplied
+ * arrays and the number of values written is returned, so repeated calls do not allocate.
+ */
+public class DoubleDifference {
+
+    private final DoubleKernels kernels = DoubleKernels.best();
+    private double[] dataList;
+    private int size;
+    private boolean useComparitiveAbsolute = true;
+    private boolean includeZero = false;
+    private int comparitivePower = 2;
+
+    public DoubleDifference(double[] dataList) {
+        this(dataList, dataList.length);
+    }
+
+    public DoubleDifference(double[] dataList, int size) {
+        setData(dataList, size);
+    }
+
+    public void setData(double[] dataList, int size) {
+        if (size < 0 || size > dataList.length) {
+            throw new IllegalArgumentException("Size must be between 0 and the array length");
+        }
+        this.dataList = dataList;
+        this.size = size;
+    }
+
+    public void setUseAbsolute(boolean useAbsolute) {
+        this.useComparitiveAbsolute = useAbsolute;
+    }
+
+    public void setIncludeZero(boolean argument){
+        this.includeZero = argument;
+    }
+
+    public void setComparitivePower(int power) {
+        if (power < 1) {
+            throw new IllegalArgumentException("Power must be at least 1");
+        }
+        comparitivePower = power;
+    }
+
+    public int returnComparitivePower(){
+        return comparitivePower;
+    }
+
+    public int comparativeDifference(double variable, double[] result) {
+        kernels.comparativeDifference(dataList, size, variable, comparitivePower, useComparitiveAbsolute, result);
+        return size;
+    }
+
+    public double sumComparitiveDifference(double variable) {
+        return kernels.comparativeSum(dataList, size, variable, comparitivePower, useComparitiveAbsolute);
+    }
+
+    public int difference(double[] result) {
+        return kernels.difference(dataList, size, result);
+    }
+
+    public int absoluteDifference(double[] result) {
+        return kernels.absoluteDifference(dataList, size, result);
+    }
+
+    public int positiveDifference(double[] result) {
+        double min = includeZero ? -1 : 0;
+        int count = 0;
+        for (int n = 1; n < size; n++) {
+            double difference = dataList[n] - dataList[n - 1];
+            if (difference > min) {
+                result[count++] = difference;
+            }
+        }
+        return count;
+    }
+
+    public int negativeDifference(double[] result) {
+        double max = includeZero ? 1 : 0;
+        int count = 0;
+        for (int n = 1; n < size; n++) {
+            double difference = dataList[n] - dataList[n - 1];
+            if (difference < max) {
+                result[count++] = difference;
+            }
+        }
+        return count;
+    }
+
+    static double pow(double base, int power) {
+        double result = 1.0;
+        for (int n = 0; n < power; n++) {
+            result *= base;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,32 @@
+package za.co.wethinkcode.TradeQuery.StatisticsModule;
+
+public class DoubleExpectation {
+
+    private double lowerBoundValue;
+    private double upperBoundValue;
+    private double lowerBoundProbability;
+    private double upperBoundProbability;
+
+    public DoubleExpectation(double lowerBoundValue, double upperBoundValue, double lowerBoundProbability, double upperBoundProbability) {
+        this.lowerBoundValue = lowerBoundValue;
+        this.upperBoundValue = upperBoundValue;
+        this.lowerBoundProbability = lowerBoundProbability;
+        this.upperBoundProbability = upperBoundProbability;
+    }
+
+    public DoubleExpectation(DoubleDeviationAndDistribution deviationAndDistributionInstance){
+        this.lowerBoundValue = deviationAndDistributionInstance.getLowerBoundTendency();
+        this.upperBoundValue = deviationAndDistributionInstance.getUpperBoundTendency();
+        this.lowerBoundProbability = deviationAndDistributionInstance.getLowerBoundProbability();
+        this.upperBoundProbability = deviationAndDistributionInstance.getUpperBoundProbability();
+    }
+
+    public double expectation(){
+        return expectation(lowerBoundValue, upperBoundValue, lowerBoundProbability, upperBoundProbability);
+    }
+
+    // Allocation free form for hot loops
+    public static double expectation(double lowerBoundValue, double upperBoundValue, double lowerBoundProbability, double upperBoundProbability){
+        return lowerBoundValue * lowerBoundProbability + upperBoundValue * upperBoundProbability;
+    }
+}
@@ -0,0 +1,48 @@
+package za.co.wethinkcode.TradeQuery.StatisticsModule;
+
+/**
+ * Bulk loops of the double precision statistics classes over the first {@code size}
+ * values of an array. {@link #best()} is the SIMD implementation when the JVM was started
+ * with {@code --add-modules jdk.incubator.vector}, and the plain loops otherwise.
+ *
+ * Element wise results are identical between the two. Sums are added in a different
+ * order by the SIMD version, so they can differ from the scalar ones in the last bits.
+ */
+public interface DoubleKernels {
+
+    static DoubleKernels best() {
+        return KernelSelection.BEST;
+    }
+
+    static DoubleKernels scalar() {
+        return ScalarDoubleKernels.INSTANCE;
+    }
+
+    // result[n] = values[n + 1] - values[n]; returns the size - 1 differences written
+    int difference(double[] values, int size, double[] result);
+
+    // As difference, but absolute
+    int absoluteDifference(double[] values, int size, double[] result);
+
+    // result[n] = (values[n] - variable)^power, made absolute when asked
+    void comparativeDifference(double[] values, int size, double variable, int power, boolean absolute, double[] result);
+
+    // Sum of comparativeDifference without writing the terms out
+    double comparativeSum(double[] values, int size, double variable, int power, boolean absolute);
+
+    /**
+     * Counts values in the lower band [min, lowerEnd) into counts[0] and in the upper
+     * band (upperStart, max] into counts[1]. With lowerEnd and upperStart both the
+     * tendency, these are the bands DeviationAndDistribution classifies values into.
+     */
+    void countBands(double[] values, int size, double min, double lowerEnd, double upperStart, double max, int[] counts);
+
+    double sum(double[] values, int size);
+
+    // Sum of first[n] * second[n] for n in [from, to)
+    double dot(double[] first, double[] second, int from, int to);
+
+    double min(double[] values, int size);
+
+    double max(double[] values, int size);
+}
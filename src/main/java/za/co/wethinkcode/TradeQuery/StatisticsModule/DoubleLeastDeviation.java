@@ -0,0 +1,206 @@
+package za.co.wethinkcode.TradeQuery.StatisticsModule;
+
+import java.util.Arrays;
+
+/**
+ * Primitive counterpart of {@link LeastDeviation}. The scratch arrays are kept between
+ * calls and only grow, so evaluating series of a steady size does not allocate.
+ */
+public class DoubleLeastDeviation {
+
+    // Relative tolerance used to treat two comparative sums as tied
+    private static final double TIE_TOLERANCE = 1e-12;
+
+    private double[] dataList = new double[0];
+    private int size;
+    private int comparitivePower = 2;
+
+    private double[] sortedData = new double[0];
+    private int[] distinctStarts = new int[0];
+    private double[] prefixMoments = new double[0];
+    private double[] binomials = new double[0];
+    private double center;
+    private double rangeLow;
+    private double rangeHigh;
+
+    public DoubleLeastDeviation() {
+    }
+
+    public DoubleLeastDeviation(double[] dataList, int size) {
+        setData(dataList, size);
+    }
+
+    public void setData(double[] dataList, int size) {
+        if (size < 0 || size > dataList.length) {
+            throw new IllegalArgumentException("Size must be between 0 and the array length");
+        }
+        this.dataList = dataList;
+        this.size = size;
+    }
+
+    public void setComparitivePower(int power) {
+        if (power < 1) {
+            throw new IllegalArgumentException("Power must be at least 1");
+        }
+        this.comparitivePower = power;
+    }
+
+    public int returnComparitivePower() {
+        return comparitivePower;
+    }
+
+    public int variableLeastDifference(double[] result) {
+        leastSumRange();
+        int count = 0;
+        for (int n = 0; n < size; n++) {
+            if (dataList[n] >= rangeLow && dataList[n] <= rangeHigh) {
+                result[count++] = dataList[n];
+            }
+        }
+        return count;
+    }
+
+    public double meanLeastDifference() {
+        if (size == 0) {
+            return 0.0;
+        }
+        leastSumRange();
+        double sum = 0.0;
+        int count = 0;
+        for (int n = 0; n < size; n++) {
+            if (dataList[n] >= rangeLow && dataList[n] <= rangeHigh) {
+                sum += dataList[n];
+                count++;
+            }
+        }
+        return sum / count;
+    }
+
+    private void leastSumRange() {
+        if (size == 0) {
+            throw new IllegalStateException("No data to evaluate");
+        }
+        if (sortedData.length < size) {
+            sortedData = new double[size];
+            distinctStarts = new int[size];
+        }
+        System.arraycopy(dataList, 0, sortedData, 0, size);
+        Arrays.sort(sortedData, 0, size);
+
+        if (comparitivePower == 1) {
+            rangeLow = sortedData[size % 2 == 1 ? size / 2 : size / 2 - 1];
+            rangeHigh = sortedData[size / 2];
+            return;
+        }
+        buildPrefixMoments();
+        int distinctCount = 0;
+        for (int n = 0; n < size; n++) {
+            if (n == 0 || sortedData[n] != sortedData[n - 1]) {
+                distinctStarts[distinctCount++] = n;
+            }
+        }
+
+        // Rounding makes neighbouring sums unreliable to compare, so the convex sum is
+        // searched through the sign of its slope instead: find the first value where the
+        // slope is no longer negative, then settle between it and its predecessor.
+        int low = 0;
+        int high = distinctCount - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (slopeAt(distinctStarts[middle]) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        if (low > 0 && comparitiveSumAt(distinctStarts[low - 1]) < comparitiveSumAt(distinctStarts[low])) {
+            low--;
+        }
+
+        double min = comparitiveSumAt(distinctStarts[low]);
+        int first = low;
+        int last = low;
+        while (first > 0 && isTie(min, comparitiveSumAt(distinctStarts[first - 1]))) {
+            first--;
+        }
+        while (last + 1 < distinctCount && isTie(min, comparitiveSumAt(distinctStarts[last + 1]))) {
+            last++;
+        }
+        rangeLow = sortedData[distinctStarts[first]];
+        rangeHigh = sortedData[distinctStarts[last]];
+    }
+
+    private static double tolerance(double first, double second) {
+        return TIE_TOLERANCE * Math.max(Math.abs(first), Math.abs(second));
+    }
+
+    private static boolean isTie(double first, double second) {
+        return Math.abs(first - second) <= tolerance(first, second);
+    }
+
+    // Moments are taken about the mean to keep the binomial expansion well conditioned
+    private void buildPrefixMoments() {
+        int power = comparitivePower;
+        int stride = size + 1;
+        if (prefixMoments.length < (power + 1) * stride) {
+            prefixMoments = new double[(power + 1) * stride];
+        }
+        double sum = 0.0;
+        for (int n = 0; n < size; n++) {
+            sum += sortedData[n];
+        }
+        center = sum / size;
+        for (int k = 0; k <= power; k++) {
+            int offset = k * stride;
+            prefixMoments[offset] = 0.0;
+            for (int n = 0; n < size; n++) {
+                prefixMoments[offset + n + 1] = prefixMoments[offset + n] + DoubleDifference.pow(sortedData[n] - center, k);
+            }
+        }
+        if (binomials.length < (power + 1) * (power + 1)) {
+            binomials = new double[(power + 1) * (power + 1)];
+        }
+        for (int row = 0; row <= power; row++) {
+            binomials[row * (power + 1)] = 1.0;
+            binomials[row * (power + 1) + row] = 1.0;
+            for (int k = 1; k < row; k++) {
+                binomials[row * (power + 1) + k] = binomials[(row - 1) * (power + 1) + k - 1] + binomials[(row - 1) * (power + 1) + k];
+            }
+        }
+    }
+
+    // Sum of |x - v|^p with v the sorted value at split, every earlier value being smaller
+    private double comparitiveSumAt(int split) {
+        return lowerSum(split, comparitivePower) + upperSum(split, comparitivePower);
+    }
+
+    // Derivative of the comparative sum at the sorted value at split, divided by the power
+    private double slopeAt(int split) {
+        return lowerSum(split, comparitivePower - 1) - upperSum(split, comparitivePower - 1);
+    }
+
+    // Sum of (v - x)^power over the values before split, expanded binomially from the moments
+    private double lowerSum(int split, int power) {
+        int stride = size + 1;
+        double variable = sortedData[split] - center;
+        double sum = 0.0;
+        for (int k = 0; k <= power; k++) {
+            double term = binomials[power * (comparitivePower + 1) + k] * DoubleDifference.pow(variable, power - k) * prefixMoments[k * stride + split];
+            sum += k % 2 == 0 ? term : -term;
+        }
+        return sum;
+    }
+
+    // Sum of (x - v)^power over the values from split onwards
+    private double upperSum(int split, int power) {
+        int stride = size + 1;
+        double variable = sortedData[split] - center;
+        double sum = 0.0;
+        for (int k = 0; k <= power; k++) {
+            double moment = prefixMoments[k * stride + size] - prefixMoments[k * stride + split];
+            double term = binomials[power * (comparitivePower + 1) + k] * DoubleDifference.pow(variable, power - k) * moment;
+            sum += (power - k) % 2 == 0 ? term : -term;
+        }
+        return sum;
+    }
+}
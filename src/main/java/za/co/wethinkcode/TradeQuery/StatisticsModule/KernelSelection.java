@@ -0,0 +1,18 @@
+package za.co.wethinkcode.TradeQuery.StatisticsModule;
+
+// Picks the kernels once. VectorDoubleKernels is only loaded when its module is present.
+final class KernelSelection {
+
+    static final DoubleKernels BEST = select();
+
+    private KernelSelection() {
+    }
+
+    private static DoubleKernels select() {
+        if (Boolean.getBoolean("tradequery.scalarKernels")
+            || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return ScalarDoubleKernels.INSTANCE;
+        }
+        return VectorDoubleKernels.INSTANCE;
+    }
+}
@@ -3,20 +3,68 @@ package za.co.wethinkcode.TradeQuery.StatisticsModule;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.NoSuchElementException;
+
+import za.co.wethinkcode.TradeQuery.MetricsModule.Metrics;
+import za.co.wethinkcode.TradeQuery.MetricsModule.MetricsSpan;
+import za.co.wethinkcode.TradeQuery.MetricsModule.PipelineStage;
 
 public class LeastDeviation {
 
+    // Difference's default comparative power
+    public static final int DEFAULT_POWER = 2;
+
     private final Difference diffMethods;
     protected final List<BigDecimal> dataList;
 
+    // Built on first use; keeps its prefix moments for every power asked of it
+    private SortedSeriesIndex sortedIndex;
+
 
     public LeastDeviation(List<BigDecimal> dataList) {
         this.diffMethods = new Difference(dataList);
         this.dataList = dataList;
     }
 
+    public void setComparitivePower(int power) {
+        diffMethods.setComparitivePower(power);
+    }
+
+    public int returnComparitivePower() {
+        return diffMethods.returnComparitivePower();
+    }
+
 
+    /**
+     * Returns every data value whose summed comparative difference to the rest of the
+     * data is minimal, in the original data order. Runs in O(n log n) by evaluating the
+     * sums from prefix moments of the sorted data instead of one pass per value, see
+     * {@link SortedSeriesIndex#leastDifferenceRange}.
+     */
     public List<BigDecimal> variableLeastDifference() {
+        if (dataList.isEmpty()) {
+            throw new NoSuchElementException("No value present");
+        }
+        try (MetricsSpan span = Metrics.span(PipelineStage.LEAST_DIFFERENCE, dataList.size())) {
+            SortedSeriesIndex range = sortedIndex().leastDifferenceRange(comparitivePowerOf());
+            BigDecimal low = range.min();
+            BigDecimal high = range.max();
+
+            List<BigDecimal> variables = new ArrayList<>();
+            for (BigDecimal value : dataList) {
+                if (value.compareTo(low) >= 0 && value.compareTo(high) <= 0) {
+                    variables.add(value);
+                }
+            }
+            return variables;
+        }
+    }
+
+    /**
+     * Reference implementation that sums the comparative differences for every value.
+     * O(n^2); kept as the oracle the sorted evaluation is checked against.
+     */
+    public List<BigDecimal> bruteForceLeastDifference() {
         List<BigDecimal> indices = indicesLeastComparitiveSums();
         List<BigDecimal> variables = new ArrayList<>();
 
@@ -27,6 +75,18 @@ public class LeastDeviation {
     }
 
 
+    private int comparitivePowerOf() {
+        return diffMethods.returnComparitivePower();
+    }
+
+    private SortedSeriesIndex sortedIndex() {
+        if (sortedIndex == null) {
+            sortedIndex = SortedSeriesIndex.of(dataList);
+        }
+        return sortedIndex;
+    }
+
+
     private List<BigDecimal> listComparitiveSums() {
         List<BigDecimal> listSum = new ArrayList<>();
         for (BigDecimal value : dataList) {
@@ -47,4 +107,4 @@ public class LeastDeviation {
         }
         return indices;
     }
-}
\ No newline at end of file
+}
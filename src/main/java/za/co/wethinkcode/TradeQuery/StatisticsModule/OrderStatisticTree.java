@@ -0,0 +1,259 @@
+package za.co.wethinkcode.TradeQuery.StatisticsModule;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Multiset of BigDecimal values kept in a size augmented treap, so insertion, removal,
+ * rank and order statistic queries all take O(log n). Values are grouped by compareTo.
+ * Running sums and a frequency index are maintained alongside for mean and mode.
+ */
+public class OrderStatisticTree {
+
+    private static final class Node {
+        private final BigDecimal key;
+        private final int priority;
+        private int count = 1;
+        private int size = 1;
+        private Node left;
+        private Node right;
+
+        private Node(BigDecimal key, int priority) {
+            this.key = key;
+            this.priority = priority;
+        }
+    }
+
+    private final SplittableRandom random = new SplittableRandom(0x5DEECE66DL);
+    // Frequency -> values seen that many times, for mode lookups
+    private final TreeMap<Integer, TreeSet<BigDecimal>> frequencies = new TreeMap<>();
+    private Node root;
+    private BigDecimal sum = BigDecimal.ZERO;
+    private BigDecimal sumOfSquares = BigDecimal.ZERO;
+
+    public void add(BigDecimal value) {
+        int before = countOf(value);
+        root = insert(root, value);
+        moveFrequency(value, before, before + 1);
+        sum = sum.add(value);
+        sumOfSquares = sumOfSquares.add(value.multiply(value));
+    }
+
+    public boolean remove(BigDecimal value) {
+        int before = countOf(value);
+        if (before == 0) {
+            return false;
+        }
+        root = delete(root, value);
+        moveFrequency(value, before, before - 1);
+        sum = sum.subtract(value);
+        sumOfSquares = sumOfSquares.subtract(value.multiply(value));
+        return true;
+    }
+
+    public int size() {
+        return sizeOf(root);
+    }
+
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    public BigDecimal sum() {
+        return sum;
+    }
+
+    public BigDecimal sumOfSquares() {
+        return sumOfSquares;
+    }
+
+    public int countOf(BigDecimal value) {
+        Node node = root;
+        while (node != null) {
+            int comparison = value.compareTo(node.key);
+            if (comparison == 0) {
+                return node.count;
+            }
+            node = comparison < 0 ? node.left : node.right;
+        }
+        return 0;
+    }
+
+    // Value at zero based position k in ascending order
+    public BigDecimal kth(int k) {
+        if (k < 0 || k >= size()) {
+            throw new IndexOutOfBoundsException("Index " + k + " out of bounds for size " + size());
+        }
+        Node node = root;
+        while (true) {
+            int leftSize = sizeOf(node.left);
+            if (k < leftSize) {
+                node = node.left;
+            } else if (k < leftSize + node.count) {
+                return node.key;
+            } else {
+                k -= leftSize + node.count;
+                node = node.right;
+            }
+        }
+    }
+
+    public int countLess(BigDecimal value) {
+        return countBelow(value, false);
+    }
+
+    public int countLessOrEqual(BigDecimal value) {
+        return countBelow(value, true);
+    }
+
+    // Largest value v with v * scale <= target, or null
+    public BigDecimal floorScaled(BigDecimal scale, BigDecimal target) {
+        BigDecimal candidate = null;
+        Node node = root;
+        while (node != null) {
+            if (node.key.multiply(scale).compareTo(target) <= 0) {
+                candidate = node.key;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return candidate;
+    }
+
+    // Smallest value v with v * scale >= target, or null
+    public BigDecimal ceilingScaled(BigDecimal scale, BigDecimal target) {
+        BigDecimal candidate = null;
+        Node node = root;
+        while (node != null) {
+            if (node.key.multiply(scale).compareTo(target) >= 0) {
+                candidate = node.key;
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return candidate;
+    }
+
+    // Most frequent value; ties resolve to the smallest of them
+    public BigDecimal mode() {
+        if (frequencies.isEmpty()) {
+            throw new IllegalStateException("Tree is empty");
+        }
+        return frequencies.lastEntry().getValue().first();
+    }
+
+    private int countBelow(BigDecimal value, boolean inclusive) {
+        int count = 0;
+        Node node = root;
+        while (node != null) {
+            int comparison = value.compareTo(node.key);
+            if (comparison < 0 || comparison == 0 && !inclusive) {
+                node = node.left;
+            } else {
+                count += sizeOf(node.left) + node.count;
+                if (comparison == 0) {
+                    break;
+                }
+                node = node.right;
+            }
+        }
+        return count;
+    }
+
+    private void moveFrequency(BigDecimal value, int from, int to) {
+        if (from > 0) {
+            TreeSet<BigDecimal> values = frequencies.get(from);
+            values.remove(value);
+            if (values.isEmpty()) {
+                frequencies.remove(from);
+            }
+        }
+        if (to > 0) {
+            frequencies.computeIfAbsent(to, key -> new TreeSet<>()).add(value);
+        }
+    }
+
+    private Node insert(Node node, BigDecimal value) {
+        if (node == null) {
+            return new Node(value, random.nextInt());
+        }
+        int comparison = value.compareTo(node.key);
+        if (comparison == 0) {
+            node.count++;
+        } else if (comparison < 0) {
+            node.left = insert(node.left, value);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, value);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private Node delete(Node node, BigDecimal value) {
+        int comparison = value.compareTo(node.key);
+        if (comparison < 0) {
+            node.left = delete(node.left, value);
+        } else if (comparison > 0) {
+            node.right = delete(node.right, value);
+        } else if (node.count > 1) {
+            node.count--;
+        } else {
+            return merge(node.left, node.right);
+        }
+        update(node);
+        return node;
+    }
+
+    private Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node node) {
+        node.size = sizeOf(node.left) + node.count + sizeOf(node.right);
+    }
+
+    private static int sizeOf(Node node) {
+        return node == null ? 0 : node.size;
+    }
+}
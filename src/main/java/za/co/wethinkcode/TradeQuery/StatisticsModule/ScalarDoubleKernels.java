@@ -0,0 +1,101 @@
+package za.co.wethinkcode.TradeQuery.StatisticsModule;
+
+/**
+ * Plain loop {@link DoubleKernels}, used when the vector module is not available and as
+ * the reference the SIMD kernels are checked against.
+ */
+final class ScalarDoubleKernels implements DoubleKernels {
+
+    static final ScalarDoubleKernels INSTANCE = new ScalarDoubleKernels();
+
+    private ScalarDoubleKernels() {
+    }
+
+    @Override
+    public int difference(double[] values, int size, double[] result) {
+        for (int n = 1; n < size; n++) {
+            result[n - 1] = values[n] - values[n - 1];
+        }
+        return Math.max(size - 1, 0);
+    }
+
+    @Override
+    public int absoluteDifference(double[] values, int size, double[] result) {
+        for (int n = 1; n < size; n++) {
+            result[n - 1] = Math.abs(values[n] - values[n - 1]);
+        }
+        return Math.max(size - 1, 0);
+    }
+
+    @Override
+    public void comparativeDifference(double[] values, int size, double variable, int power, boolean absolute,
+                                      double[] result) {
+        for (int n = 0; n < size; n++) {
+            double diff = DoubleDifference.pow(values[n] - variable, power);
+            result[n] = absolute ? Math.abs(diff) : diff;
+        }
+    }
+
+    @Override
+    public double comparativeSum(double[] values, int size, double variable, int power, boolean absolute) {
+        double sum = 0.0;
+        for (int n = 0; n < size; n++) {
+            double diff = DoubleDifference.pow(values[n] - variable, power);
+            sum += absolute ? Math.abs(diff) : diff;
+        }
+        return sum;
+    }
+
+    @Override
+    public void countBands(double[] values, int size, double min, double lowerEnd, double upperStart, double max, int[] counts) {
+        int lower = 0;
+        int upper = 0;
+        for (int n = 0; n < size; n++) {
+            double value = values[n];
+            if (value >= min && value < lowerEnd) {
+                lower++;
+            }
+            if (value > upperStart && value <= max) {
+                upper++;
+            }
+        }
+        counts[0] = lower;
+        counts[1] = upper;
+    }
+
+    @Override
+    public double sum(double[] values, int size) {
+        double sum = 0.0;
+        for (int n = 0; n < size; n++) {
+            sum += values[n];
+        }
+        return sum;
+    }
+
+    @Override
+    public double dot(double[] first, double[] second, int from, int to) {
+        double sum = 0.0;
+        for (int n = from; n < to; n++) {
+            sum += first[n] * second[n];
+        }
+        return sum;
+    }
+
+    @Override
+    public double min(double[] values, int size) {
+        double min = Double.POSITIVE_INFINITY;
+        for (int n = 0; n < size; n++) {
+            min = Math.min(min, values[n]);
+        }
+        return min;
+    }
+
+    @Override
+    public double max(double[] values, int size) {
+        double max = Double.NEGATIVE_INFINITY;
+        for (int n = 0; n < size; n++) {
+            max = Math.max(max, values[n]);
+        }
+        return max;
+    }
+}
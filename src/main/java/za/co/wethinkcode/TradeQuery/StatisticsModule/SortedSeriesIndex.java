@@ -0,0 +1,290 @@
+package za.co.wethinkcode.TradeQuery.StatisticsModule;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Sorted copy of a series, built once in O(n log n) and then queried by binary search:
+ * order statistics, median and quantiles, mode from run lengths, counts and values in a
+ * value range, and sums of |x - v|^p from prefix moments of the sorted data.
+ * {@link #range} returns a view over a slice of the same sorted array, so the bands of a
+ * distribution are answered without copying. Values are ordered by compareTo; the sort
+ * is stable, so equal values keep their order from the series.
+ *
+ * Immutable. The prefix moments are built on first use and shared by every view.
+ */
+public final class SortedSeriesIndex {
+
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+
+    private final BigDecimal[] sorted;
+    private final int from;
+    private final int to;
+    private final Moments moments;
+
+    private SortedSeriesIndex(BigDecimal[] sorted, int from, int to, Moments moments) {
+        this.sorted = sorted;
+        this.from = from;
+        this.to = to;
+        this.moments = moments;
+    }
+
+    public static SortedSeriesIndex of(List<BigDecimal> dataList) {
+        BigDecimal[] sorted = dataList.toArray(new BigDecimal[0]);
+        Arrays.sort(sorted);
+        return new SortedSeriesIndex(sorted, 0, sorted.length, new Moments());
+    }
+
+    public int size() {
+        return to - from;
+    }
+
+    public boolean isEmpty() {
+        return to == from;
+    }
+
+    // Value at zero based position k in ascending order
+    public BigDecimal get(int k) {
+        if (k < 0 || k >= size()) {
+            throw new IndexOutOfBoundsException("Index " + k + " out of bounds for size " + size());
+        }
+        return sorted[from + k];
+    }
+
+    public BigDecimal min() {
+        return get(0);
+    }
+
+    public BigDecimal max() {
+        return get(size() - 1);
+    }
+
+    // Ascending, read only
+    public List<BigDecimal> values() {
+        return Collections.unmodifiableList(Arrays.asList(sorted).subList(from, to));
+    }
+
+    public int countLess(BigDecimal value) {
+        return search(value, false) - from;
+    }
+
+    public int countLessOrEqual(BigDecimal value) {
+        return search(value, true) - from;
+    }
+
+    public int countBetween(BigDecimal low, boolean lowInclusive, BigDecimal high, boolean highInclusive) {
+        return range(low, lowInclusive, high, highInclusive).size();
+    }
+
+    // View of the values between low and high, each end included or not
+    public SortedSeriesIndex range(BigDecimal low, boolean lowInclusive, BigDecimal high, boolean highInclusive) {
+        int start = search(low, !lowInclusive);
+        int end = Math.max(start, search(high, highInclusive));
+        return new SortedSeriesIndex(sorted, start, end, moments);
+    }
+
+    public BigDecimal sum() {
+        return momentSum(1, from, to);
+    }
+
+    public BigDecimal mean() {
+        if (isEmpty()) {
+            return BigDecimal.ZERO;
+        }
+        return sum().divide(BigDecimal.valueOf(size()), 10, RoundingMode.HALF_UP);
+    }
+
+    public BigDecimal median() {
+        if (isEmpty()) {
+            return BigDecimal.ZERO;
+        }
+        int middle = from + size() / 2;
+        if (size() % 2 == 1) {
+            return sorted[middle];
+        }
+        return sorted[middle - 1].add(sorted[middle]).divide(TWO, 10, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Quantile by linear interpolation between the closest ranks, so {@code quantile(0.5)}
+     * equals the median in value.
+     */
+    public BigDecimal quantile(double probability) {
+        if (isEmpty()) {
+            throw new NoSuchElementException("No value present");
+        }
+        if (probability < 0.0 || probability > 1.0) {
+            throw new IllegalArgumentException("Probability must be between 0 and 1");
+        }
+        double position = (size() - 1) * probability;
+        int lower = (int) Math.floor(position);
+        double fraction = position - lower;
+        if (fraction == 0.0) {
+            return get(lower);
+        }
+        BigDecimal step = get(lower + 1).subtract(get(lower));
+        return get(lower).add(step.multiply(BigDecimal.valueOf(fraction))).setScale(10, RoundingMode.HALF_UP);
+    }
+
+    // Most frequent value; ties between equally frequent values resolve to the smallest of them.
+    // Runs are grouped by compareTo, so 1.0 and 1.00 are one value and the first in the series is returned
+    public BigDecimal mode() {
+        if (isEmpty()) {
+            return BigDecimal.ZERO;
+        }
+        BigDecimal mode = sorted[from];
+        int modeCount = 0;
+        int runStart = from;
+        while (runStart < to) {
+            int runEnd = search(sorted[runStart], true);
+            if (runEnd - runStart > modeCount) {
+                modeCount = runEnd - runStart;
+                mode = sorted[runStart];
+            }
+            runStart = runEnd;
+        }
+        return mode;
+    }
+
+    /**
+     * Sum of |x - v|^p over the values. Values below v contribute (v - x)^p and the rest
+     * (x - v)^p, each expanded binomially over the prefix moments, so a call costs
+     * O(p + log n) once the moments up to p exist.
+     */
+    public BigDecimal comparativeSum(BigDecimal variable, int power) {
+        if (power < 1) {
+            throw new IllegalArgumentException("Power must be at least 1");
+        }
+        int split = search(variable, false);
+        BigDecimal[] coefficients = binomials(power);
+        BigDecimal sum = BigDecimal.ZERO;
+
+        for (int k = 0; k <= power; k++) {
+            BigDecimal below = momentSum(k, from, split);
+            BigDecimal above = momentSum(k, split, to);
+            BigDecimal variablePower = variable.pow(power - k);
+
+            // (v - x)^p term: C(p,k) v^(p-k) (-x)^k
+            BigDecimal lowerTerm = coefficients[k].multiply(variablePower).multiply(below);
+            // (x - v)^p term: C(p,k) x^k (-v)^(p-k)
+            BigDecimal upperTerm = coefficients[k].multiply(variablePower).multiply(above);
+
+            sum = k % 2 == 0 ? sum.add(lowerTerm) : sum.subtract(lowerTerm);
+            sum = (power - k) % 2 == 0 ? sum.add(upperTerm) : sum.subtract(upperTerm);
+        }
+        return sum;
+    }
+
+    /**
+     * View of the values v minimising the sum of |x - v|^p over the data. For power 1 that
+     * is every value between the two middle order statistics. Otherwise the sum is convex
+     * in v, so over the distinct values its steps change sign once: binary search for the
+     * first non-decreasing step, then walk the plateau of equal minima.
+     */
+    public SortedSeriesIndex leastDifferenceRange(int power) {
+        if (isEmpty()) {
+            throw new NoSuchElementException("No value present");
+        }
+        if (power == 1) {
+            int middle = size() / 2;
+            BigDecimal low = size() % 2 == 1 ? get(middle) : get(middle - 1);
+            return range(low, true, get(middle), true);
+        }
+
+        int low = from;
+        int high = lastRunStart();
+        while (low < high) {
+            int middle = runStart((low + high) >>> 1);
+            int next = search(sorted[middle], true);
+            if (comparativeSum(sorted[next], power).compareTo(comparativeSum(sorted[middle], power)) >= 0) {
+                high = middle;
+            } else {
+                low = next;
+            }
+        }
+
+        BigDecimal min = comparativeSum(sorted[low], power);
+        int last = low;
+        int next = search(sorted[last], true);
+        while (next < to && comparativeSum(sorted[next], power).compareTo(min) == 0) {
+            last = next;
+            next = search(sorted[last], true);
+        }
+        return range(sorted[low], true, sorted[last], true);
+    }
+
+    // First position in the view holding a value greater than (or, if not inclusive, at least) value
+    private int search(BigDecimal value, boolean inclusive) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int comparison = sorted[middle].compareTo(value);
+            if (comparison < 0 || comparison == 0 && inclusive) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    // Start of the run of equal values holding position
+    private int runStart(int position) {
+        return Math.max(from, search(sorted[position], false));
+    }
+
+    private int lastRunStart() {
+        return runStart(to - 1);
+    }
+
+    private BigDecimal momentSum(int power, int start, int end) {
+        BigDecimal[] prefix = moments.upTo(sorted, power)[power];
+        return prefix[end].subtract(prefix[start]);
+    }
+
+    private static BigDecimal[] binomials(int power) {
+        BigDecimal[] row = new BigDecimal[power + 1];
+        row[0] = BigDecimal.ONE;
+        for (int k = 1; k <= power; k++) {
+            row[k] = row[k - 1].multiply(BigDecimal.valueOf(power - k + 1)).divide(BigDecimal.valueOf(k));
+        }
+        return row;
+    }
+
+    // prefix[k][i] is the sum of x^k over the first i sorted values of the whole series
+    private static final class Moments {
+        private volatile BigDecimal[][] prefix;
+
+        private BigDecimal[][] upTo(BigDecimal[] sorted, int power) {
+            BigDecimal[][] current = prefix;
+            if (current != null && current.length > power) {
+                return current;
+            }
+            synchronized (this) {
+                current = prefix;
+                if (current != null && current.length > power) {
+                    return current;
+                }
+                BigDecimal[][] built = new BigDecimal[power + 1][];
+                for (int k = 0; k <= power; k++) {
+                    if (current != null && k < current.length) {
+                        built[k] = current[k];
+                        continue;
+                    }
+                    built[k] = new BigDecimal[sorted.length + 1];
+                    built[k][0] = BigDecimal.ZERO;
+                    for (int n = 0; n < sorted.length; n++) {
+                        built[k][n + 1] = built[k][n].add(sorted[n].pow(k));
+                    }
+                }
+                prefix = built;
+                return built;
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package za.co.wethinkcode.TradeQuery.StatisticsModule;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+import za.co.wethinkcode.TradeQuery.MetricsModule.Metrics;
+import za.co.wethinkcode.TradeQuery.MetricsModule.MetricsSpan;
+import za.co.wethinkcode.TradeQuery.MetricsModule.PipelineStage;
+
+/**
+ * Stateless tendency functions. Each takes the data as an argument and keeps nothing
+ * between calls, so they can be shared freely across threads; {@link CentralTendency}
+ * delegates to them. Median, mode and least difference go through a
+ * {@link SortedSeriesIndex}; {@link TendencyFunction#apply(SortedSeriesIndex)} reuses one.
+ */
+public final class Tendencies {
+
+    private Tendencies() {
+    }
+
+    public static BigDecimal mean(List<BigDecimal> dataList) {
+        if (dataList.isEmpty()) {
+            return BigDecimal.ZERO;
+        }
+        BigDecimal sum = BigDecimal.ZERO;
+        for (BigDecimal value : dataList) {
+            sum = sum.add(value);
+        }
+        return sum.divide(BigDecimal.valueOf(dataList.size()), 10, RoundingMode.HALF_UP);
+    }
+
+    public static BigDecimal median(List<BigDecimal> dataList) {
+        return SortedSeriesIndex.of(dataList).median();
+    }
+
+    // Ties between equally frequent values resolve to the smallest of them
+    public static BigDecimal mode(List<BigDecimal> dataList) {
+        return SortedSeriesIndex.of(dataList).mode();
+    }
+
+    public static List<BigDecimal> leastDifference(List<BigDecimal> dataList) {
+        return new LeastDeviation(dataList).variableLeastDifference();
+    }
+
+    public static BigDecimal meanLeastDifference(List<BigDecimal> dataList) {
+        return meanLeastDifference(SortedSeriesIndex.of(dataList));
+    }
+
+    // The least difference values are a contiguous run of the sorted data
+    public static BigDecimal meanLeastDifference(SortedSeriesIndex index) {
+        try (MetricsSpan span = Metrics.span(PipelineStage.LEAST_DIFFERENCE, index.size())) {
+            return index.leastDifferenceRange(LeastDeviation.DEFAULT_POWER).mean();
+        }
+    }
+}
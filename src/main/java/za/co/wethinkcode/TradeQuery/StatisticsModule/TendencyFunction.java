@@ -0,0 +1,57 @@
+package za.co.wethinkcode.TradeQuery.StatisticsModule;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Names the tendency functions so a forecast can bind the same choice to either the
+ * BigDecimal or the double precision statistics classes. As a {@link Function} it is the
+ * stateless form, evaluated straight on the data it is given.
+ */
+public enum TendencyFunction implements Function<List<BigDecimal>, BigDecimal> {
+    MEAN,
+    MEDIAN,
+    MODE,
+    MEAN_LEAST_DIFFERENCE;
+
+    @Override
+    public BigDecimal apply(List<BigDecimal> dataList) {
+        return switch (this) {
+            case MEAN -> Tendencies.mean(dataList);
+            case MEDIAN -> Tendencies.median(dataList);
+            case MODE -> Tendencies.mode(dataList);
+            case MEAN_LEAST_DIFFERENCE -> Tendencies.meanLeastDifference(dataList);
+        };
+    }
+
+    // Same results as apply(List), from an index that is already built
+    public BigDecimal apply(SortedSeriesIndex index) {
+        return switch (this) {
+            case MEAN -> index.mean();
+            case MEDIAN -> index.median();
+            case MODE -> index.mode();
+            case MEAN_LEAST_DIFFERENCE -> Tendencies.meanLeastDifference(index);
+        };
+    }
+
+    public Supplier<BigDecimal> of(CentralTendency tendencyInstance) {
+        return switch (this) {
+            case MEAN -> tendencyInstance::mean;
+            case MEDIAN -> tendencyInstance::median;
+            case MODE -> tendencyInstance::mode;
+            case MEAN_LEAST_DIFFERENCE -> tendencyInstance::meanLeastDifference;
+        };
+    }
+
+    public DoubleSupplier of(DoubleCentralTendency tendencyInstance) {
+        return switch (this) {
+            case MEAN -> tendencyInstance::mean;
+            case MEDIAN -> tendencyInstance::median;
+            case MODE -> tendencyInstance::mode;
+            case MEAN_LEAST_DIFFERENCE -> tendencyInstance::meanLeastDifference;
+        };
+    }
+}
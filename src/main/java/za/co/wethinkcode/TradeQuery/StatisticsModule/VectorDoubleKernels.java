@@ -0,0 +1,182 @@
+package za.co.wethinkcode.TradeQuery.StatisticsModule;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link DoubleKernels} on the incubating Vector API, at the widest lane count the CPU
+ * supports. Each loop runs whole vectors and finishes the remainder with the scalar code.
+ * Only reached through {@link DoubleKernels#best()}, which checks the module is present.
+ */
+final class VectorDoubleKernels implements DoubleKernels {
+
+    static final VectorDoubleKernels INSTANCE = new VectorDoubleKernels();
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private VectorDoubleKernels() {
+    }
+
+    @Override
+    public int difference(double[] values, int size, double[] result) {
+        int count = Math.max(size - 1, 0);
+        int bound = SPECIES.loopBound(count);
+        int n = 0;
+        for (; n < bound; n += SPECIES.length()) {
+            DoubleVector next = DoubleVector.fromArray(SPECIES, values, n + 1);
+            DoubleVector current = DoubleVector.fromArray(SPECIES, values, n);
+            next.sub(current).intoArray(result, n);
+        }
+        for (; n < count; n++) {
+            result[n] = values[n + 1] - values[n];
+        }
+        return count;
+    }
+
+    @Override
+    public int absoluteDifference(double[] values, int size, double[] result) {
+        int count = Math.max(size - 1, 0);
+        int bound = SPECIES.loopBound(count);
+        int n = 0;
+        for (; n < bound; n += SPECIES.length()) {
+            DoubleVector next = DoubleVector.fromArray(SPECIES, values, n + 1);
+            DoubleVector current = DoubleVector.fromArray(SPECIES, values, n);
+            next.sub(current).abs().intoArray(result, n);
+        }
+        for (; n < count; n++) {
+            result[n] = Math.abs(values[n + 1] - values[n]);
+        }
+        return count;
+    }
+
+    @Override
+    public void comparativeDifference(double[] values, int size, double variable, int power, boolean absolute,
+                                      double[] result) {
+        int bound = SPECIES.loopBound(size);
+        int n = 0;
+        for (; n < bound; n += SPECIES.length()) {
+            DoubleVector terms = pow(DoubleVector.fromArray(SPECIES, values, n).sub(variable), power);
+            (absolute ? terms.abs() : terms).intoArray(result, n);
+        }
+        for (; n < size; n++) {
+            double diff = DoubleDifference.pow(values[n] - variable, power);
+            result[n] = absolute ? Math.abs(diff) : diff;
+        }
+    }
+
+    @Override
+    public double comparativeSum(double[] values, int size, double variable, int power, boolean absolute) {
+        int bound = SPECIES.loopBound(size);
+        DoubleVector sums = DoubleVector.zero(SPECIES);
+        int n = 0;
+        for (; n < bound; n += SPECIES.length()) {
+            DoubleVector terms = pow(DoubleVector.fromArray(SPECIES, values, n).sub(variable), power);
+            sums = sums.add(absolute ? terms.abs() : terms);
+        }
+        double sum = sums.reduceLanes(VectorOperators.ADD);
+        for (; n < size; n++) {
+            double diff = DoubleDifference.pow(values[n] - variable, power);
+            sum += absolute ? Math.abs(diff) : diff;
+        }
+        return sum;
+    }
+
+    @Override
+    public void countBands(double[] values, int size, double min, double lowerEnd, double upperStart, double max, int[] counts) {
+        int bound = SPECIES.loopBound(size);
+        int lower = 0;
+        int upper = 0;
+        int n = 0;
+        for (; n < bound; n += SPECIES.length()) {
+            DoubleVector vector = DoubleVector.fromArray(SPECIES, values, n);
+            VectorMask<Double> inLower = vector.compare(VectorOperators.GE, min)
+                .and(vector.compare(VectorOperators.LT, lowerEnd));
+            VectorMask<Double> inUpper = vector.compare(VectorOperators.GT, upperStart)
+                .and(vector.compare(VectorOperators.LE, max));
+            lower += inLower.trueCount();
+            upper += inUpper.trueCount();
+        }
+        for (; n < size; n++) {
+            double value = values[n];
+            if (value >= min && value < lowerEnd) {
+                lower++;
+            }
+            if (value > upperStart && value <= max) {
+                upper++;
+            }
+        }
+        counts[0] = lower;
+        counts[1] = upper;
+    }
+
+    @Override
+    public double sum(double[] values, int size) {
+        int bound = SPECIES.loopBound(size);
+        DoubleVector sums = DoubleVector.zero(SPECIES);
+        int n = 0;
+        for (; n < bound; n += SPECIES.length()) {
+            sums = sums.add(DoubleVector.fromArray(SPECIES, values, n));
+        }
+        double sum = sums.reduceLanes(VectorOperators.ADD);
+        for (; n < size; n++) {
+            sum += values[n];
+        }
+        return sum;
+    }
+
+    @Override
+    public double dot(double[] first, double[] second, int from, int to) {
+        int bound = from + SPECIES.loopBound(to - from);
+        DoubleVector sums = DoubleVector.zero(SPECIES);
+        int n = from;
+        for (; n < bound; n += SPECIES.length()) {
+            sums = DoubleVector.fromArray(SPECIES, first, n).fma(DoubleVector.fromArray(SPECIES, second, n), sums);
+        }
+        double sum = sums.reduceLanes(VectorOperators.ADD);
+        for (; n < to; n++) {
+            sum += first[n] * second[n];
+        }
+        return sum;
+    }
+
+    @Override
+    public double min(double[] values, int size) {
+        int bound = SPECIES.loopBound(size);
+        DoubleVector mins = DoubleVector.broadcast(SPECIES, Double.POSITIVE_INFINITY);
+        int n = 0;
+        for (; n < bound; n += SPECIES.length()) {
+            mins = mins.min(DoubleVector.fromArray(SPECIES, values, n));
+        }
+        double min = mins.reduceLanes(VectorOperators.MIN);
+        for (; n < size; n++) {
+            min = Math.min(min, values[n]);
+        }
+        return min;
+    }
+
+    @Override
+    public double max(double[] values, int size) {
+        int bound = SPECIES.loopBound(size);
+        DoubleVector maxes = DoubleVector.broadcast(SPECIES, Double.NEGATIVE_INFINITY);
+        int n = 0;
+        for (; n < bound; n += SPECIES.length()) {
+            maxes = maxes.max(DoubleVector.fromArray(SPECIES, values, n));
+        }
+        double max = maxes.reduceLanes(VectorOperators.MAX);
+        for (; n < size; n++) {
+            max = Math.max(max, values[n]);
+        }
+        return max;
+    }
+
+    // Same multiplication order as DoubleDifference.pow, so each lane matches the scalar result
+    private static DoubleVector pow(DoubleVector base, int power) {
+        DoubleVector result = DoubleVector.broadcast(SPECIES, 1.0);
+        for (int n = 0; n < power; n++) {
+            result = result.mul(base);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,173 @@
+package za.co.mainTests;
+
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.*;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+import za.co.wethinkcode.TradeQuery.DataModule.AlphaVantageSeriesLoader;
+import za.co.wethinkcode.TradeQuery.DataModule.BarAggregator;
+import za.co.wethinkcode.TradeQuery.DataModule.BarInterval;
+import za.co.wethinkcode.TradeQuery.DataModule.OhlcvSeries;
+import za.co.wethinkcode.TradeQuery.DataModule.SeriesField;
+import za.co.wethinkcode.TradeQuery.ForecastModules.ForecastBase;
+import za.co.wethinkcode.TradeQuery.ForecastModules.PrecisionMode;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.TendencyFunction;
+
+
+public class TestBarAggregator {
+
+    private static final Path NFLX = Paths.get("src/main/java/za/co/wethinkcode/TradeQuery/Data/NFLX_(data_intra_day).json");
+
+    @Test
+    public void testFiveMinuteBarsMatchTheMinutesInsideThem() throws Exception {
+        OhlcvSeries minutes = AlphaVantageSeriesLoader.load(NFLX);
+        OhlcvSeries bars = BarAggregator.resample(minutes, BarInterval.FIVE_MINUTES);
+        assertEquals("5min", bars.getInterval());
+        assertTrue(bars.size() > 0);
+
+        int minute = 0;
+        for (int bar = 0; bar < bars.size(); bar++) {
+            long start = bars.timestamp(bar);
+            assertEquals(0, start % 300);
+            double high = Double.NEGATIVE_INFINITY;
+            double low = Double.POSITIVE_INFINITY;
+            double volume = 0;
+            int first = minute;
+            while (minute < minutes.size() && minutes.timestamp(minute) < start + 300) {
+                high = Math.max(high, minutes.get(SeriesField.HIGH, minute));
+                low = Math.min(low, minutes.get(SeriesField.LOW, minute));
+                volume += minutes.get(SeriesField.VOLUME, minute);
+                minute++;
+            }
+            assertEquals(minutes.get(SeriesField.OPEN, first), bars.get(SeriesField.OPEN, bar));
+            assertEquals(high, bars.get(SeriesField.HIGH, bar));
+            assertEquals(low, bars.get(SeriesField.LOW, bar));
+            assertEquals(minutes.get(SeriesField.CLOSE, minute - 1), bars.get(SeriesField.CLOSE, bar));
+            assertEquals(volume, bars.get(SeriesField.VOLUME, bar), 1e-6);
+        }
+
+        List<BigDecimal> closes = bars.decimalColumn(SeriesField.CLOSE);
+        ForecastBase forecast = new ForecastBase(TendencyFunction.MEDIAN, closes.subList(closes.size() - 100, closes.size()),
+                                                 PrecisionMode.BIG_DECIMAL);
+        assertEquals(3, forecast.magnitudeWeightedForecast().size());
+    }
+
+    @Test
+    public void testIncrementalUpdatesMatchBatchResampling() throws Exception {
+        OhlcvSeries minutes = AlphaVantageSeriesLoader.load(NFLX);
+        OhlcvSeries batch = BarAggregator.resample(minutes, BarInterval.ONE_HOUR);
+
+        BarAggregator live = new BarAggregator(minutes.getSymbol(), BarInterval.ONE_HOUR, ZoneId.of(minutes.getTimeZone()));
+        int completed = 0;
+        for (int n = 0; n < minutes.size(); n++) {
+            if (live.add(minutes.timestamp(n), minutes.get(SeriesField.OPEN, n), minutes.get(SeriesField.HIGH, n),
+                         minutes.get(SeriesField.LOW, n), minutes.get(SeriesField.CLOSE, n),
+                         minutes.get(SeriesField.VOLUME, n))) {
+                completed++;
+            }
+        }
+        assertEquals(batch.size(), completed);
+        OhlcvSeries withOpenBar = live.toSeries(true);
+        assertEquals(batch.size() + 1, withOpenBar.size());
+        assertArrayEquals(batch.column(SeriesField.CLOSE),
+                          live.toSeries(false).column(SeriesField.CLOSE));
+        assertEquals(minutes.get(SeriesField.CLOSE, minutes.size() - 1),
+                     withOpenBar.get(SeriesField.CLOSE, withOpenBar.size() - 1));
+        assertThrows(IllegalArgumentException.class,
+                     () -> live.add(minutes.timestamp(0), 1, 1, 1, 1, 1));
+        assertEquals(minutes.getSymbol(), withOpenBar.getSymbol());
+        assertEquals(minutes.getSymbol(), batch.getSymbol());
+        BarAggregator other = new BarAggregator("OTHER", BarInterval.ONE_HOUR, ZoneId.of(minutes.getTimeZone()));
+        assertThrows(IllegalArgumentException.class, () -> other.addAll(minutes));
+        assertThrows(NullPointerException.class, () -> new BarAggregator(null, BarInterval.ONE_HOUR, ZoneId.of("UTC")));
+    }
+
+    @Test
+    public void testDailyBarsFollowLocalMidnightAcrossDaylightSaving() {
+        ZoneId eastern = ZoneId.of("US/Eastern");
+        BarAggregator daily = new BarAggregator("TEST", BarInterval.DAILY, eastern);
+        // 2025-03-09 is the spring forward day: hourly bars from 8 March 12:00 to 10 March 12:00 local
+        long start = LocalDate.of(2025, 3, 8).atTime(12, 0).atZone(eastern).toEpochSecond();
+        long end = LocalDate.of(2025, 3, 10).atTime(12, 0).atZone(eastern).toEpochSecond();
+        double price = 100;
+        for (long time = start; time <= end; time += 3600) {
+            daily.add(time, price, price + 1, price - 1, price, 10);
+            price++;
+        }
+        OhlcvSeries bars = daily.toSeries(true);
+        assertEquals(3, bars.size());
+        assertEquals(LocalDate.of(2025, 3, 9).atStartOfDay(eastern).toEpochSecond(), bars.timestamp(1));
+        // 23 hours on the day the clocks move forward
+        assertEquals(230, bars.get(SeriesField.VOLUME, 1));
+        assertEquals(120, bars.get(SeriesField.VOLUME, 0));
+        assertEquals(BarInterval.parse("60min"), BarInterval.ONE_HOUR);
+    }
+
+    @Test
+    public void testDailyBarsStampLocalMidnightWhenTheFirstTickFollowsATransition() {
+        ZoneId newYork = ZoneId.of("America/New_York");
+        BarAggregator daily = new BarAggregator("TEST", BarInterval.DAILY, newYork);
+        // First ticks at 04:00 on the spring forward and fall back days of 2024
+        for (LocalDate day : List.of(LocalDate.of(2024, 3, 10), LocalDate.of(2024, 11, 3))) {
+            long first = day.atTime(4, 0).atZone(newYork).toEpochSecond();
+            daily.add(first, 10, 11, 9, 10, 1);
+            daily.add(first + 3600, 10, 11, 9, 10, 1);
+        }
+        OhlcvSeries bars = daily.toSeries(true);
+        assertEquals(2, bars.size());
+        assertEquals(LocalDate.of(2024, 3, 10).atStartOfDay(newYork).toEpochSecond(), bars.timestamp(0));
+        assertEquals(LocalDate.of(2024, 11, 3).atStartOfDay(newYork).toEpochSecond(), bars.timestamp(1));
+    }
+
+    @Test
+    public void testHourlyAndFiveMinuteBarsAroundFallBack() {
+        ZoneId newYork = ZoneId.of("America/New_York");
+        BarAggregator hourly = new BarAggregator("TEST", BarInterval.ONE_HOUR, newYork);
+        BarAggregator fiveMinutes = new BarAggregator("TEST", BarInterval.FIVE_MINUTES, newYork);
+        // Quarter hours from 00:00 EDT to 03:45 EST on 2024-11-03, five hours of ticks
+        long start = LocalDateTime.of(2024, 11, 3, 0, 0).atZone(newYork).toEpochSecond();
+        for (long time = start; time < start + 5 * 3600; time += 900) {
+            hourly.add(time, 10, 11, 9, 10, 1);
+            fiveMinutes.add(time, 10, 11, 9, 10, 1);
+        }
+
+        OhlcvSeries hours = hourly.toSeries(true);
+        assertEquals(4, hours.size());
+        assertEquals(start + 3600, hours.timestamp(1));
+        assertEquals(LocalDateTime.of(2024, 11, 3, 2, 0).atZone(newYork).toEpochSecond(), hours.timestamp(2));
+        // Both passes through 01:00 fall into the 01:00 EDT bar
+        assertEquals(8, hours.get(SeriesField.VOLUME, 1));
+        assertEquals(4, hours.get(SeriesField.VOLUME, 2));
+
+        OhlcvSeries buckets = fiveMinutes.toSeries(true);
+        assertEquals(20, buckets.size());
+        for (int bar = 0; bar < buckets.size(); bar++) {
+            assertEquals(start + bar * 900L, buckets.timestamp(bar));
+        }
+    }
+
+    @Test
+    public void testHourlyBarsAroundSpringForward() {
+        ZoneId newYork = ZoneId.of("America/New_York");
+        BarAggregator hourly = new BarAggregator("TEST", BarInterval.ONE_HOUR, newYork);
+        // 2024-03-10 skips 02:00 to 03:00 local; half hours from 00:00 EST for four hours
+        long start = LocalDateTime.of(2024, 3, 10, 0, 0).atZone(newYork).toEpochSecond();
+        for (long time = start + 1800; time < start + 4 * 3600; time += 1800) {
+            hourly.add(time, 10, 11, 9, 10, 1);
+        }
+        OhlcvSeries hours = hourly.toSeries(true);
+        assertEquals(4, hours.size());
+        for (int bar = 0; bar < hours.size(); bar++) {
+            assertEquals(start + bar * 3600L, hours.timestamp(bar));
+        }
+        assertEquals(1, hours.get(SeriesField.VOLUME, 0));
+        assertEquals(LocalDateTime.of(2024, 3, 10, 3, 0).atZone(newYork).toEpochSecond(), hours.timestamp(2));
+    }
+}
@@ -0,0 +1,110 @@
+package za.co.mainTests;
+
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+import za.co.wethinkcode.TradeQuery.DataModule.OhlcvSeries;
+import za.co.wethinkcode.TradeQuery.DataModule.SeriesField;
+import za.co.wethinkcode.TradeQuery.MultiCommodityDataBase.BulkPriceBarIngest;
+
+
+public class TestBulkPriceBarIngest {
+
+    long[] timestamps = {60, 120, 180, 240, 300, 360, 420};
+
+    @TempDir
+    Path directory;
+
+    private OhlcvSeries series(double lastClose){
+        double[][] columns = new double[SeriesField.values().length][];
+        columns[SeriesField.CLOSE.ordinal()] = new double[] {1.0, 2.0, 1.5, 1.0, 1.5, 2.0, lastClose};
+        return new OhlcvSeries("TEST", "1min", "US/Eastern", timestamps, columns);
+    }
+
+    private double queryDouble(Statement statement, String query) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(query)) {
+            assertTrue(resultSet.next());
+            return resultSet.getDouble(1);
+        }
+    }
+
+    @Test
+    public void testChunkedLoadIsIdempotent() throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + directory.resolve("trade_data.db"));
+             Statement statement = connection.createStatement()) {
+            BulkPriceBarIngest ingest = new BulkPriceBarIngest(connection);
+            ingest.setChunkSize(3);
+
+            BulkPriceBarIngest.IngestReport report = ingest.ingest(series(2.5));
+            assertEquals(7, report.getRows());
+            assertEquals(7, queryDouble(statement, "SELECT COUNT(*) FROM price_bars"));
+
+            ingest.ingest(series(3.0));
+            assertEquals(7, queryDouble(statement, "SELECT COUNT(*) FROM price_bars"));
+            assertEquals(3.0, queryDouble(statement, "SELECT close FROM price_bars WHERE ts = 420"));
+            assertEquals(1, queryDouble(statement, "SELECT COUNT(*) FROM sqlite_master WHERE type = 'index' AND name = 'price_bars_interval_ts'"));
+            try (ResultSet resultSet = statement.executeQuery("PRAGMA journal_mode")) {
+                assertEquals("wal", resultSet.getString(1));
+            }
+        }
+    }
+
+    @Test
+    public void testFailingRowRollsBackItsChunk() throws SQLException {
+        double[][] columns = new double[SeriesField.values().length][];
+        columns[SeriesField.CLOSE.ordinal()] = new double[] {1.0, 2.0, 1.5, 1.0, 1.5, 2.0, 2.5};
+        OhlcvSeries broken = new OhlcvSeries("BROKEN", "1min", "US/Eastern", timestamps, columns) {
+            @Override
+            public double get(SeriesField field, int row) {
+                if (row == 1) {
+                    throw new IllegalStateException("Unreadable row");
+                }
+                return super.get(field, row);
+            }
+        };
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + directory.resolve("trade_data.db"));
+             Statement statement = connection.createStatement()) {
+            BulkPriceBarIngest ingest = new BulkPriceBarIngest(connection);
+            ingest.setChunkSize(3);
+
+            assertThrows(IllegalStateException.class, () -> ingest.ingest(List.of(series(2.5), broken)));
+            assertTrue(connection.getAutoCommit());
+            // Two whole chunks of TEST were committed; its last row and all of BROKEN were not
+            assertEquals(6, queryDouble(statement, "SELECT COUNT(*) FROM price_bars"));
+            assertEquals(0, queryDouble(statement, "SELECT COUNT(*) FROM price_bars WHERE symbol = 'BROKEN'"));
+            assertEquals(0, queryDouble(statement, "SELECT COUNT(*) FROM series WHERE symbol = 'BROKEN'"));
+        }
+    }
+
+    @Test
+    public void testCleanupFailureKeepsTheIngestFailure() throws SQLException {
+        Connection connection = DriverManager.getConnection("jdbc:sqlite:" + directory.resolve("trade_data.db"));
+        double[][] columns = new double[SeriesField.values().length][];
+        columns[SeriesField.CLOSE.ordinal()] = new double[] {1.0, 2.0, 1.5, 1.0, 1.5, 2.0, 2.5};
+        OhlcvSeries broken = new OhlcvSeries("BROKEN", "1min", "US/Eastern", timestamps, columns) {
+            @Override
+            public double get(SeriesField field, int row) {
+                try {
+                    // Leaves the rollback and the index rebuild nothing to work on
+                    connection.close();
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+                throw new IllegalStateException("Unreadable row");
+            }
+        };
+        IllegalStateException failure = assertThrows(IllegalStateException.class,
+                                                     () -> new BulkPriceBarIngest(connection).ingest(List.of(broken)));
+        assertEquals("Unreadable row", failure.getMessage());
+        assertTrue(failure.getSuppressed().length > 0);
+    }
+}
\ No newline at end of file
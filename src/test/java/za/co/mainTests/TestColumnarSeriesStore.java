@@ -0,0 +1,80 @@
+package za.co.mainTests;
+
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.DoubleBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+import za.co.wethinkcode.TradeQuery.DataModule.ColumnarSeriesStore;
+import za.co.wethinkcode.TradeQuery.DataModule.MappedOhlcvSeries;
+import za.co.wethinkcode.TradeQuery.DataModule.OhlcvSeries;
+import za.co.wethinkcode.TradeQuery.DataModule.SeriesField;
+import za.co.wethinkcode.TradeQuery.ForecastModules.ForecastBase;
+import za.co.wethinkcode.TradeQuery.ForecastModules.PrecisionMode;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.TendencyFunction;
+
+
+public class TestColumnarSeriesStore {
+
+    long[] timestamps = {60, 120, 180, 240, 300, 360, 420, 480};
+    double[] closes = {1.0, 2.0, 1.5, 1.0, 1.5, 2.0, 2.5, 3.0};
+
+    @TempDir
+    Path directory;
+
+    private OhlcvSeries series(){
+        double[][] columns = new double[SeriesField.values().length][];
+        columns[SeriesField.CLOSE.ordinal()] = closes;
+        return new OhlcvSeries("TEST", "1min", "US/Eastern", timestamps, columns);
+    }
+
+    @Test
+    public void testRoundTripsThroughMappedFile() throws IOException {
+        Path file = directory.resolve("TEST" + ColumnarSeriesStore.EXTENSION);
+        ColumnarSeriesStore.write(series(), file);
+        MappedOhlcvSeries mapped = ColumnarSeriesStore.open(file);
+
+        assertEquals("TEST", mapped.getSymbol());
+        assertEquals("1min", mapped.getInterval());
+        assertEquals("US/Eastern", mapped.getTimeZone());
+        assertEquals(8, mapped.size());
+        assertTrue(mapped.has(SeriesField.CLOSE));
+        assertFalse(mapped.has(SeriesField.OPEN));
+        assertArrayEquals(closes, mapped.toSeries().column(SeriesField.CLOSE));
+        assertArrayEquals(timestamps, mapped.toSeries().timestamps());
+    }
+
+    @Test
+    public void testRangeSelectsTimestampWindow() throws IOException {
+        Path file = directory.resolve("TEST" + ColumnarSeriesStore.EXTENSION);
+        ColumnarSeriesStore.write(series(), file);
+        MappedOhlcvSeries range = ColumnarSeriesStore.open(file).range(150, 400);
+
+        assertEquals(4, range.size());
+        assertEquals(180, range.timestamp(0));
+        assertEquals(360, range.timestamp(3));
+        assertEquals(1.5, range.get(SeriesField.CLOSE, 0));
+    }
+
+    @Test
+    public void testForecastOverMappedColumnMatchesList() throws IOException {
+        Path file = directory.resolve("TEST" + ColumnarSeriesStore.EXTENSION);
+        ColumnarSeriesStore.write(series(), file);
+        DoubleBuffer column = ColumnarSeriesStore.open(file).range(120, 500).column(SeriesField.CLOSE);
+
+        List<BigDecimal> values = List.of(
+            new BigDecimal("2.0"), new BigDecimal("1.5"), new BigDecimal("1.0"), new BigDecimal("1.5"),
+            new BigDecimal("2.0"), new BigDecimal("2.5"), new BigDecimal("3.0")
+        );
+        ForecastBase expected = new ForecastBase(TendencyFunction.MEDIAN, values, PrecisionMode.DOUBLE);
+        ForecastBase actual = new ForecastBase(TendencyFunction.MEDIAN, column);
+
+        assertEquals(expected.magnitudeWeightedForecast(), actual.magnitudeWeightedForecast());
+        assertEquals(expected.asymmetricTrendForecast(), actual.asymmetricTrendForecast());
+    }
+}
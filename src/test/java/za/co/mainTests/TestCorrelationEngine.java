@@ -0,0 +1,157 @@
+package za.co.mainTests;
+
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import static org.junit.jupiter.api.Assertions.*;
+
+import za.co.wethinkcode.TradeQuery.CorrelationModule.AlignedSeries;
+import za.co.wethinkcode.TradeQuery.CorrelationModule.CorrelationEngine;
+import za.co.wethinkcode.TradeQuery.CorrelationModule.CorrelationMatrix;
+import za.co.wethinkcode.TradeQuery.CorrelationModule.RollingCorrelation;
+import za.co.wethinkcode.TradeQuery.DataModule.OhlcvSeries;
+import za.co.wethinkcode.TradeQuery.DataModule.SeriesField;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.Difference;
+
+
+public class TestCorrelationEngine {
+
+    private double naiveCovariance(double[] first, double[] second) {
+        double firstMean = 0;
+        double secondMean = 0;
+        for (int t = 0; t < first.length; t++) {
+            firstMean += first[t] / first.length;
+            secondMean += second[t] / second.length;
+        }
+        double sum = 0;
+        for (int t = 0; t < first.length; t++) {
+            sum += (first[t] - firstMean) * (second[t] - secondMean);
+        }
+        return sum / (first.length - 1);
+    }
+
+    private OhlcvSeries series(String symbol, long[] timestamps, double[] closes) {
+        double[][] columns = new double[SeriesField.values().length][];
+        columns[SeriesField.CLOSE.ordinal()] = closes;
+        return new OhlcvSeries(symbol, "1min", "UTC", timestamps, columns);
+    }
+
+    @Test
+    public void testAlignsOnSharedTimestampsAndUsesDifferenceReturns() throws InterruptedException {
+        OhlcvSeries btc = series("BTC", new long[] {60, 120, 180, 240, 300, 360}, new double[] {10, 12, 11, 15, 14, 13});
+        OhlcvSeries usd = series("USD", new long[] {0, 60, 180, 240, 300, 360}, new double[] {1, 2, 3, 5, 4, 6});
+        AlignedSeries aligned = AlignedSeries.align(List.of(btc, usd), SeriesField.CLOSE);
+        assertArrayEquals(new long[] {60, 180, 240, 300, 360}, aligned.timestamps());
+        assertArrayEquals(new double[] {2, 3, 5, 4, 6}, aligned.values(1));
+
+        List<BigDecimal> btcCloses = List.of(BigDecimal.valueOf(10), BigDecimal.valueOf(11), BigDecimal.valueOf(15),
+                                             BigDecimal.valueOf(14), BigDecimal.valueOf(13));
+        double[] btcReturns = new Difference(btcCloses).difference().stream().mapToDouble(BigDecimal::doubleValue).toArray();
+        assertArrayEquals(btcReturns, aligned.differences()[0]);
+
+        CorrelationMatrix matrix = new CorrelationEngine().fullHistory(List.of(btc, usd));
+        double covariance = naiveCovariance(btcReturns, aligned.differences()[1]);
+        assertEquals(4, matrix.getObservations());
+        assertEquals(covariance, matrix.getCovariance("BTC", "USD"), 1e-12);
+        assertEquals(covariance / Math.sqrt(matrix.getCovariance(0, 0) * matrix.getCovariance(1, 1)),
+                     matrix.getCorrelation("USD", "BTC"), 1e-12);
+        assertEquals(1.0, matrix.getCorrelation("BTC", "BTC"), 1e-12);
+    }
+
+    @Test
+    public void testBlockedParallelMatrixMatchesPairwiseCovariances() throws InterruptedException {
+        Random random = new Random(9);
+        int symbols = CorrelationEngine.SYMBOL_BLOCK * 2 + 5;
+        int observations = CorrelationEngine.TIME_BLOCK + 300;
+        double[][] returns = new double[symbols][observations];
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < symbols; i++) {
+            names.add("S" + i);
+            for (int t = 0; t < observations; t++) {
+                // Every symbol shares part of a common factor
+                returns[i][t] = random.nextGaussian() + (i % 3) * (i > 0 ? returns[0][t] : 0);
+            }
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            CorrelationMatrix matrix = new CorrelationEngine(executor).compute(names, returns);
+            for (int i = 0; i < symbols; i += 7) {
+                for (int j = 0; j < symbols; j += 5) {
+                    assertEquals(naiveCovariance(returns[i], returns[j]), matrix.getCovariance(i, j), 1e-9);
+                    assertEquals(matrix.getCovariance(i, j), matrix.getCovariance(j, i));
+                    assertTrue(Math.abs(matrix.getCorrelation(i, j)) <= 1 + 1e-12);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testRollingMatrixMatchesFullMatrixOfTheWindow() throws InterruptedException {
+        Random random = new Random(4);
+        List<String> names = List.of("A", "B", "C", "D");
+        int window = 50;
+        RollingCorrelation rolling = new RollingCorrelation(names, window);
+        List<double[]> rows = new ArrayList<>();
+        for (int t = 0; t < 237; t++) {
+            double common = random.nextGaussian();
+            double[] row = {common, common + random.nextGaussian(), -common + 0.5 * random.nextGaussian(), random.nextGaussian()};
+            rows.add(row);
+            rolling.append(row);
+            assertEquals(t >= window - 1, rolling.isReady());
+        }
+        double[][] returns = new double[names.size()][window];
+        for (int t = 0; t < window; t++) {
+            for (int symbol = 0; symbol < names.size(); symbol++) {
+                returns[symbol][t] = rows.get(rows.size() - window + t)[symbol];
+            }
+        }
+        CorrelationMatrix expected = new CorrelationEngine().compute(names, returns);
+        CorrelationMatrix actual = rolling.matrix();
+        for (int i = 0; i < names.size(); i++) {
+            for (int j = 0; j < names.size(); j++) {
+                assertEquals(expected.getCovariance(i, j), actual.getCovariance(i, j), 1e-9);
+                assertEquals(expected.getCorrelation(i, j), actual.getCorrelation(i, j), 1e-9);
+            }
+        }
+        assertTrue(actual.getCorrelation("A", "C") < 0);
+    }
+
+    @Test
+    public void testRollingMatrixKeepsPrecisionFarFromZero() throws InterruptedException {
+        Random random = new Random(9);
+        List<String> names = List.of("A", "B", "C");
+        int window = 40;
+        RollingCorrelation rolling = new RollingCorrelation(names, window);
+        List<double[]> rows = new ArrayList<>();
+        for (int t = 0; t < 157; t++) {
+            // Levels around 1e5 drifting apart, with noise of about 1e-3
+            double common = 1e-3 * random.nextGaussian();
+            double[] row = {1e5 + common + 1e-3 * random.nextGaussian(),
+                            2e5 + t + common,
+                            1e5 - common + 1e-3 * random.nextGaussian()};
+            rows.add(row);
+            rolling.append(row);
+        }
+        double[][] returns = new double[names.size()][window];
+        for (int t = 0; t < window; t++) {
+            for (int symbol = 0; symbol < names.size(); symbol++) {
+                returns[symbol][t] = rows.get(rows.size() - window + t)[symbol];
+            }
+        }
+        CorrelationMatrix expected = new CorrelationEngine().compute(names, returns);
+        CorrelationMatrix actual = rolling.matrix();
+        for (int i = 0; i < names.size(); i++) {
+            for (int j = 0; j < names.size(); j++) {
+                assertEquals(expected.getCovariance(i, j), actual.getCovariance(i, j), 1e-9 * Math.abs(expected.getCovariance(i, j)) + 1e-12);
+                assertEquals(expected.getCorrelation(i, j), actual.getCorrelation(i, j), 1e-6);
+            }
+        }
+    }
+}
\ No newline at end of file
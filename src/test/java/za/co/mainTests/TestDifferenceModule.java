@@ -8,6 +8,7 @@ import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
 
 import za.co.wethinkcode.TradeQuery.StatisticsModule.Difference;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.DifferenceSeries;
 
 
 public class TestDifferenceModule {
@@ -91,4 +92,33 @@ public class TestDifferenceModule {
         assertEquals(expected, result);
         assertEquals(expected2, result2);
     }
+
+    @Test
+    public void testDifferenceSeriesMatchesSeparatePasses(){
+        for (boolean includeZero : new boolean[] {false, true}) {
+            diff.setIncludeZero(includeZero);
+            DifferenceSeries series = diff.differenceSeries();
+            assertEquals(diff.difference(), series.differences());
+            assertEquals(diff.absoluteDifference(), series.absoluteDifferences());
+            assertEquals(diff.positiveDifference(), series.positiveDifferences());
+            assertEquals(diff.negativeDifference(), series.negativeDifferences());
+        }
+        diff.setIncludeZero(false);
+        DifferenceSeries series = diff.differenceSeries();
+        assertEquals(new BigDecimal("1.0"), series.sum());
+        assertEquals(new BigDecimal("7.0"), series.absoluteSum());
+        assertEquals(new BigDecimal("4.0"), series.positiveSum());
+        assertEquals(new BigDecimal("-3.0"), series.negativeSum());
+        assertEquals(new BigDecimal("0.4000000000"), series.positiveProbability());
+    }
+
+    @Test
+    public void testInPlaceNthOrderDifference(){
+        for (int order = 1; order <= 7; order++) {
+            assertEquals(diff.NthOrderDifference(order, values -> new Difference(values).difference()),
+                         diff.NthOrderDifference(order));
+        }
+        assertEquals(List.of(new BigDecimal("-2.0"), new BigDecimal("2.0"), new BigDecimal("-3.0"), new BigDecimal("-1.0")),
+                     diff.NthOrderDifference(2));
+    }
 }
@@ -0,0 +1,73 @@
+package za.co.mainTests;
+
+
+import org.junit.jupiter.api.*;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+import za.co.wethinkcode.TradeQuery.StatisticsModule.DoubleCentralTendency;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.DoubleDeviationAndDistribution;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.DoubleKernels;
+
+
+public class TestDoubleKernels {
+
+    private final DoubleKernels scalar = DoubleKernels.scalar();
+    private final DoubleKernels best = DoubleKernels.best();
+
+    @Test
+    public void testVectorModuleIsUsedWhenPresent() {
+        assertTrue(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent());
+        assertNotSame(scalar, best);
+    }
+
+    @Test
+    public void testMatchesScalarKernelsOnEveryRemainder() {
+        Random random = new Random(3);
+        // Lengths around the lane counts leave every possible remainder for the scalar tail
+        for (int size = 0; size < 70; size++) {
+            double[] values = TestSeries.randomWalkValues(random, size + 1, 2500, 100);
+            double[] expected = new double[size + 1];
+            double[] actual = new double[size + 1];
+
+            assertEquals(scalar.difference(values, size, expected), best.difference(values, size, actual));
+            assertArrayEquals(expected, actual);
+            assertEquals(scalar.absoluteDifference(values, size, expected), best.absoluteDifference(values, size, actual));
+            assertArrayEquals(expected, actual);
+            for (int power = 1; power <= 3; power++) {
+                scalar.comparativeDifference(values, size, 25.5, power, power != 2, expected);
+                best.comparativeDifference(values, size, 25.5, power, power != 2, actual);
+                assertArrayEquals(expected, actual);
+                double sum = scalar.comparativeSum(values, size, 25.5, power, true);
+                assertEquals(sum, best.comparativeSum(values, size, 25.5, power, true), Math.abs(sum) * 1e-12);
+            }
+
+            int[] expectedCounts = new int[2];
+            int[] actualCounts = new int[2];
+            scalar.countBands(values, size, 24, 25, 25.5, 26.5, expectedCounts);
+            best.countBands(values, size, 24, 25, 25.5, 26.5, actualCounts);
+            assertArrayEquals(expectedCounts, actualCounts);
+
+            assertEquals(scalar.sum(values, size), best.sum(values, size), 1e-9);
+            assertEquals(scalar.dot(values, values, 1, size), best.dot(values, values, 1, size), 1e-9);
+            assertEquals(scalar.min(values, size), best.min(values, size));
+            assertEquals(scalar.max(values, size), best.max(values, size));
+        }
+    }
+
+    @Test
+    public void testBoundaryValuesAreCollectedOnRequest() {
+        double[] data = {1, 2, 2, 3, 4, 4, 4, 5, 6, 9};
+        DoubleCentralTendency tendency = new DoubleCentralTendency();
+        DoubleDeviationAndDistribution distribution = new DoubleDeviationAndDistribution(tendency, tendency::mean, data, data.length);
+        // deviation is 1 at power 2, so the bands are [3, 4) and (4, 5]
+        assertEquals(0.1, distribution.getLowerBoundProbability());
+        assertEquals(0.1, distribution.getUpperBoundProbability());
+
+        double[] values = new double[data.length];
+        assertEquals(1, distribution.getLowerBoundValues(values));
+        assertEquals(3.0, values[0]);
+        assertEquals(1, distribution.getUpperBoundValues(values));
+        assertEquals(5.0, values[0]);
+    }
+}
@@ -0,0 +1,86 @@
+package za.co.mainTests;
+
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.*;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+import za.co.wethinkcode.TradeQuery.ForecastModules.ForecastBase;
+import za.co.wethinkcode.TradeQuery.ForecastModules.PrecisionMode;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.CentralTendency;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.DoubleCentralTendency;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.TendencyFunction;
+
+
+public class TestDoublePrecisionPath {
+
+    private static final double TOLERANCE = 1e-6;
+
+    List <BigDecimal> testData = List.of(
+        new BigDecimal("1.0"),
+        new BigDecimal("2.0"),
+        new BigDecimal("1.5"),
+        new BigDecimal("1.0"),
+        new BigDecimal("1.5"),
+        new BigDecimal("2.0"),
+        new BigDecimal("2.5"),
+        new BigDecimal("3.0"),
+        new BigDecimal("3.5"),
+        new BigDecimal("4.0"),
+        new BigDecimal("4.5")
+    );
+
+    private void assertForecastsClose(List<BigDecimal> expected, List<BigDecimal> actual){
+        assertEquals(expected.size(), actual.size());
+        for (int n = 0; n < expected.size(); n++) {
+            assertEquals(expected.get(n).doubleValue(), actual.get(n).doubleValue(), TOLERANCE);
+        }
+    }
+
+    @Test
+    public void testTendenciesMatchBigDecimal(){
+        double[] values = testData.stream().mapToDouble(BigDecimal::doubleValue).toArray();
+        CentralTendency tendency = new CentralTendency(testData);
+        DoubleCentralTendency doubleTendency = new DoubleCentralTendency(values);
+
+        assertEquals(tendency.mean().doubleValue(), doubleTendency.mean(), TOLERANCE);
+        assertEquals(tendency.median().doubleValue(), doubleTendency.median(), TOLERANCE);
+        assertEquals(tendency.meanLeastDifference().doubleValue(), doubleTendency.meanLeastDifference(), TOLERANCE);
+        // 1.0, 1.5 and 2.0 appear twice each, and both paths take the smallest
+        assertEquals(1.0, doubleTendency.mode());
+        assertEquals(new BigDecimal("1.0"), tendency.mode());
+    }
+
+    @Test
+    public void testModeGroupsEqualValuesOfDifferentScale(){
+        List<BigDecimal> mixed = List.of(new BigDecimal("2.0"), new BigDecimal("1.00"), new BigDecimal("2.0"),
+                                         new BigDecimal("1.0"), new BigDecimal("1"));
+        double[] values = mixed.stream().mapToDouble(BigDecimal::doubleValue).toArray();
+        // 1 appears three times once 1.00, 1.0 and 1 are counted as one value
+        assertEquals(new BigDecimal("1.00"), new CentralTendency(mixed).mode());
+        assertEquals(1.0, new DoubleCentralTendency(values).mode());
+    }
+
+    @Test
+    public void testForecastsMatchBigDecimal(){
+        Random random = new Random(7);
+        for (TendencyFunction function : TendencyFunction.values()) {
+            for (int bias = -1; bias <= 1; bias++) {
+                List<BigDecimal> data = TestSeries.randomWalk(random, 200, 1000, 10);
+                if (function == TendencyFunction.MODE) {
+                    // Equal differences of different scales must still be counted together
+                    data = data.stream().map(price -> random.nextBoolean() ? price.stripTrailingZeros() : price).toList();
+                }
+                ForecastBase exact = new ForecastBase(function, data, PrecisionMode.BIG_DECIMAL);
+                ForecastBase primitive = new ForecastBase(function, data, PrecisionMode.DOUBLE);
+                exact.setProbabilityBias(bias);
+                primitive.setProbabilityBias(bias);
+
+                assertForecastsClose(exact.magnitudeWeightedForecast(), primitive.magnitudeWeightedForecast());
+                assertForecastsClose(exact.asymmetricTrendForecast(), primitive.asymmetricTrendForecast());
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package za.co.mainTests;
+
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import org.junit.jupiter.api.*;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+import za.co.wethinkcode.TradeQuery.ForecastModules.ForecastCache;
+import za.co.wethinkcode.TradeQuery.ForecastModules.ForecastConfig;
+import za.co.wethinkcode.TradeQuery.ForecastModules.Forecasts;
+import za.co.wethinkcode.TradeQuery.ForecastModules.PreparedSeries;
+import za.co.wethinkcode.TradeQuery.ForecastModules.SeriesFingerprint;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.TendencyFunction;
+
+
+public class TestForecastCache {
+
+    List<BigDecimal> prices = new ArrayList<>(List.of(
+        BigDecimal.valueOf(1.0), BigDecimal.valueOf(2.0), BigDecimal.valueOf(1.5), BigDecimal.valueOf(1.0),
+        BigDecimal.valueOf(1.5), BigDecimal.valueOf(2.0), BigDecimal.valueOf(2.5), BigDecimal.valueOf(3.0)
+    ));
+
+    @Test
+    public void testHitsMissesAndInvalidation() {
+        ForecastCache cache = new ForecastCache(8);
+        ForecastConfig config = new ForecastConfig(TendencyFunction.MEDIAN);
+
+        List<BigDecimal> first = cache.magnitudeWeighted("UP", prices, config);
+        List<BigDecimal> second = cache.magnitudeWeighted("UP", prices, config);
+        assertSame(first, second);
+        assertEquals(Forecasts.magnitudeWeighted(PreparedSeries.of(prices, config), config), first);
+
+        cache.magnitudeWeighted("UP", prices, config.withProbabilityBias(1));
+        assertEquals(1, cache.stats().getHits());
+        assertEquals(2, cache.stats().getMisses());
+
+        prices.add(BigDecimal.valueOf(3.5));
+        cache.invalidate("UP");
+        assertEquals(0, cache.size());
+        assertEquals(2, cache.stats().getInvalidations());
+        assertEquals(Forecasts.magnitudeWeighted(PreparedSeries.of(prices, config), config),
+                     cache.magnitudeWeighted("UP", prices, config));
+        assertEquals(3, cache.stats().getMisses());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        ForecastCache cache = new ForecastCache(2);
+        ForecastConfig config = new ForecastConfig(TendencyFunction.MEAN);
+        cache.asymmetricTrend("A", prices, config);
+        cache.asymmetricTrend("B", prices, config);
+        cache.asymmetricTrend("A", prices, config);
+        cache.asymmetricTrend("C", prices, config);
+        cache.asymmetricTrend("A", prices, config);
+        cache.asymmetricTrend("B", prices, config);
+
+        assertEquals(2, cache.stats().getHits());
+        assertEquals(4, cache.stats().getMisses());
+        assertEquals(2, cache.stats().getEvictions());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testSlidingFingerprintMatchesRecomputed() {
+        SeriesFingerprint fingerprint = SeriesFingerprint.of(prices.subList(0, 5));
+        for (int i = 5; i < prices.size(); i++) {
+            fingerprint = fingerprint.slide(prices.get(i - 5), prices.get(i));
+            assertEquals(SeriesFingerprint.of(prices.subList(i - 4, i + 1)), fingerprint);
+        }
+        assertEquals(SeriesFingerprint.of(prices), SeriesFingerprint.of(prices.subList(0, 7)).append(prices.get(7)));
+        assertNotEquals(SeriesFingerprint.of(prices.subList(0, 5)), SeriesFingerprint.of(prices.subList(1, 6)));
+    }
+
+    @Test
+    public void testFingerprintSeparatesValuesWithEqualHashCodes() {
+        // 2^32 and 31 share BigInteger.hashCode, and 1E-31 and 2 share BigDecimal.hashCode
+        BigDecimal large = new BigDecimal(BigInteger.ONE.shiftLeft(32), 5);
+        BigDecimal small = new BigDecimal(BigInteger.valueOf(31), 5);
+        assertEquals(large.hashCode(), small.hashCode());
+        assertNotEquals(SeriesFingerprint.of(List.of(BigDecimal.ONE, large)), SeriesFingerprint.of(List.of(BigDecimal.ONE, small)));
+
+        BigDecimal tiny = new BigDecimal(BigInteger.ONE, 31);
+        assertEquals(tiny.hashCode(), BigDecimal.valueOf(2).hashCode());
+        assertNotEquals(SeriesFingerprint.of(List.of(tiny)), SeriesFingerprint.of(List.of(BigDecimal.valueOf(2))));
+        assertNotEquals(SeriesFingerprint.of(List.of(new BigDecimal("1.0"))), SeriesFingerprint.of(List.of(new BigDecimal("1.00"))));
+
+        BigDecimal wide = new BigDecimal(BigInteger.TEN.pow(30).add(BigInteger.ONE), 2);
+        assertNotEquals(SeriesFingerprint.of(List.of(wide)), SeriesFingerprint.of(List.of(wide.add(BigDecimal.ONE))));
+        assertEquals(SeriesFingerprint.of(List.of(wide)), SeriesFingerprint.EMPTY.append(wide));
+    }
+}
@@ -0,0 +1,136 @@
+package za.co.mainTests;
+
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.*;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import static org.junit.jupiter.api.Assertions.*;
+
+import za.co.wethinkcode.TradeQuery.ForecastModules.ForecastConfig;
+import za.co.wethinkcode.TradeQuery.ForecastModules.Forecasts;
+import za.co.wethinkcode.TradeQuery.ForecastModules.PreparedSeries;
+import za.co.wethinkcode.TradeQuery.MetricsModule.LatencyHistogram;
+import za.co.wethinkcode.TradeQuery.ServerModule.ForecastServer;
+import za.co.wethinkcode.TradeQuery.ServerModule.LoadGenerator;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.TendencyFunction;
+
+
+public class TestForecastServer {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private HttpResponse<String> get(ForecastServer server, String path) throws Exception {
+        URI uri = URI.create("http://localhost:" + server.getPort() + path);
+        return client.send(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    public void testServesBothForecastsOfTheLastWindow() throws Exception {
+        double[] prices = TestSeries.randomWalkValues(new Random(2), 300, 10000, 10);
+        try (ForecastServer server = new ForecastServer(Map.of("NFLX", prices)::get, 0)) {
+            server.setWarmupIterations(1);
+            server.start();
+            HttpResponse<String> response = get(server, "/forecast?symbol=NFLX&window=50&tendency=MEDIAN&bias=1");
+            assertEquals(200, response.statusCode());
+
+            List<BigDecimal> window = new ArrayList<>();
+            for (int n = 250; n < 300; n++) {
+                window.add(BigDecimal.valueOf(prices[n]));
+            }
+            ForecastConfig config = new ForecastConfig(TendencyFunction.MEDIAN).withProbabilityBias(1);
+            PreparedSeries series = PreparedSeries.of(window, config);
+            String magnitude = Forecasts.magnitudeWeighted(series, config).stream()
+                .map(BigDecimal::toPlainString).reduce((a, b) -> a + "," + b).orElseThrow();
+            String trend = Forecasts.asymmetricTrend(series, config).stream()
+                .map(BigDecimal::toPlainString).reduce((a, b) -> a + "," + b).orElseThrow();
+            assertTrue(response.body().contains("\"magnitudeWeighted\":[" + magnitude + "]"));
+            assertTrue(response.body().contains("\"asymmetricTrend\":[" + trend + "]"));
+            assertTrue(response.body().startsWith("{\"symbol\":\"NFLX\",\"window\":50,\"tendency\":\"MEDIAN\",\"bias\":1"));
+
+            assertEquals(404, get(server, "/forecast?symbol=ZZZ").statusCode());
+            assertEquals(400, get(server, "/forecast?symbol=NFLX&window=1").statusCode());
+            assertEquals(400, get(server, "/forecast?symbol=NFLX&tendency=AVERAGE").statusCode());
+            assertTrue(get(server, "/stats").body().contains("\"requests\":4"));
+            assertEquals(4, server.getLatency().getCount());
+        }
+    }
+
+    @Test
+    public void testCoalescesConcurrentRequestsForTheSameForecast() throws Exception {
+        double[] prices = TestSeries.randomWalkValues(new Random(4), 200, 10000, 10);
+        CountDownLatch release = new CountDownLatch(1);
+        try (ForecastServer server = new ForecastServer(symbol -> {
+            release.await();
+            return prices;
+        }, 0)) {
+            server.setWarmupIterations(0);
+            server.start();
+            List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+            for (int n = 0; n < 6; n++) {
+                URI uri = URI.create("http://localhost:" + server.getPort() + "/forecast?symbol=BTC&window=100");
+                responses.add(client.sendAsync(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.ofString()));
+            }
+            while (server.getRequests() < 6) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+            String first = responses.get(0).get().body();
+            for (CompletableFuture<HttpResponse<String>> response : responses) {
+                assertEquals(200, response.get().statusCode());
+                assertEquals(first, response.get().body());
+            }
+            assertEquals(1, server.getComputations());
+            assertEquals(5, server.getCoalesced());
+        }
+    }
+
+    @Test
+    public void testEscapesControlCharactersInTheSymbol() throws Exception {
+        double[] prices = TestSeries.randomWalkValues(new Random(5), 100, 10000, 10);
+        try (ForecastServer server = new ForecastServer(symbol -> prices, 0)) {
+            server.setWarmupIterations(0);
+            server.start();
+            HttpResponse<String> response = get(server, "/forecast?symbol=A%22B%5CC%0AD%01&window=50");
+            assertEquals(200, response.statusCode());
+            assertTrue(response.body().startsWith("{\"symbol\":\"A\\\"B\\\\C\\u000aD\\u0001\",\"window\":50,"));
+            for (char c : response.body().toCharArray()) {
+                assertTrue(c >= 0x20);
+            }
+        }
+    }
+
+    @Test
+    public void testLoadGeneratorReportsLatency() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int micros = 1; micros <= 1000; micros++) {
+            histogram.record(micros * 1000L);
+        }
+        assertEquals(500_000, histogram.percentileNanos(50), 500_000 * 0.04);
+        assertEquals(990_000, histogram.percentileNanos(99), 990_000 * 0.04);
+        assertEquals(1_000_000, histogram.percentileNanos(100));
+
+        try (ForecastServer server = new ForecastServer(Map.of("USD", TestSeries.randomWalkValues(new Random(6), 500, 10000, 10))::get, 0)) {
+            server.setWarmupIterations(1);
+            server.start();
+            LoadGenerator generator = new LoadGenerator(URI.create("http://localhost:" + server.getPort()));
+            generator.setClients(4);
+            generator.setRequests(40);
+            LoadGenerator.LoadReport report = generator.run(List.of("USD"));
+            assertEquals(0, report.getErrors());
+            assertEquals(40, report.getLatency().getCount());
+            assertTrue(report.getLatency().percentileNanos(50) <= report.getLatency().percentileNanos(99));
+            assertEquals(40, server.getRequests());
+            assertEquals(40, server.getComputations() + server.getCoalesced());
+            assertTrue(generator.fetchServerStats().contains("\"p99Micros\":"));
+        }
+    }
+}
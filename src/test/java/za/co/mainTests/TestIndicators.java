@@ -0,0 +1,119 @@
+package za.co.mainTests;
+
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.*;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+import za.co.wethinkcode.TradeQuery.ForecastModules.ForecastBase;
+import za.co.wethinkcode.TradeQuery.ForecastModules.PrecisionMode;
+import za.co.wethinkcode.TradeQuery.IndicatorModule.BollingerBands;
+import za.co.wethinkcode.TradeQuery.IndicatorModule.IndicatorEngine;
+import za.co.wethinkcode.TradeQuery.IndicatorModule.IndicatorValues;
+import za.co.wethinkcode.TradeQuery.IndicatorModule.MovingAverageConvergenceDivergence;
+import za.co.wethinkcode.TradeQuery.IndicatorModule.RelativeStrengthIndex;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.CentralTendency;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.Difference;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.TendencyFunction;
+
+
+public class TestIndicators {
+
+    private double[] toDoubles(List<BigDecimal> data){
+        return data.stream().mapToDouble(BigDecimal::doubleValue).toArray();
+    }
+
+    @Test
+    public void testRelativeStrengthIndexMatchesWilderOverDifferences() {
+        List<BigDecimal> prices = TestSeries.randomWalk(new Random(7), 200, 50000, 20);
+        RelativeStrengthIndex rsi = new RelativeStrengthIndex(14);
+        for (int bar = 0; bar < prices.size(); bar++) {
+            rsi.update(prices.get(bar).doubleValue());
+            if (bar < 14) {
+                assertFalse(rsi.isReady());
+                continue;
+            }
+            // Recomputed from the whole history up to this bar
+            List<BigDecimal> changes = new Difference(prices.subList(0, bar + 1)).difference();
+            double gain = 0;
+            double loss = 0;
+            for (int n = 0; n < changes.size(); n++) {
+                double change = changes.get(n).doubleValue();
+                double up = Math.max(change, 0);
+                double down = Math.max(-change, 0);
+                if (n < 14) {
+                    gain += up / 14;
+                    loss += down / 14;
+                } else {
+                    gain = (gain * 13 + up) / 14;
+                    loss = (loss * 13 + down) / 14;
+                }
+            }
+            assertEquals(100 - 100 / (1 + gain / loss), rsi.value(), 1e-9);
+        }
+    }
+
+    @Test
+    public void testBollingerBandsMatchCentralTendencyOverTheWindow() {
+        List<BigDecimal> prices = TestSeries.randomWalk(new Random(3), 300, 50000, 20);
+        BollingerBands bands = new BollingerBands(20, 2);
+        for (int bar = 0; bar < prices.size(); bar++) {
+            bands.update(prices.get(bar).doubleValue());
+            if (bar < 19) {
+                assertFalse(bands.isReady());
+                continue;
+            }
+            List<BigDecimal> window = prices.subList(bar - 19, bar + 1);
+            BigDecimal mean = new CentralTendency(window).mean();
+            Difference difference = new Difference(window);
+            double variance = difference.sumComparitiveDifference(mean).doubleValue() / 20;
+            double deviation = Math.sqrt(variance);
+            assertEquals(mean.doubleValue(), bands.getMiddle(), 1e-9);
+            assertEquals(mean.doubleValue() + 2 * deviation, bands.getUpper(), 1e-7);
+            assertEquals(mean.doubleValue() - 2 * deviation, bands.getLower(), 1e-7);
+        }
+    }
+
+    @Test
+    public void testEngineBackfillThenLiveUpdatesFeedForecastBias() {
+        Random random = new Random(11);
+        List<BigDecimal> nflx = TestSeries.randomWalk(random, 400, 50000, 20);
+        List<BigDecimal> btc = TestSeries.randomWalk(random, 400, 50000, 20);
+        IndicatorEngine whole = new IndicatorEngine()
+            .add(new RelativeStrengthIndex())
+            .add(new MovingAverageConvergenceDivergence())
+            .add("BB", new BollingerBands());
+        IndicatorEngine live = new IndicatorEngine()
+            .add(new RelativeStrengthIndex())
+            .add(new MovingAverageConvergenceDivergence())
+            .add("BB", new BollingerBands());
+        assertEquals(List.of("RSI(14)", "MACD(12,26,9)", "BB"), whole.getNames());
+
+        Map<String, IndicatorValues> results = whole.run(Map.of("NFLX", toDoubles(nflx), "BTC", toDoubles(btc)));
+        live.run(Map.of("NFLX", toDoubles(nflx.subList(0, 250))));
+        for (BigDecimal price : nflx.subList(250, 400)) {
+            live.update("NFLX", price.doubleValue());
+        }
+
+        IndicatorValues values = results.get("NFLX");
+        assertEquals(400, values.size());
+        assertTrue(Double.isNaN(values.get("MACD(12,26,9)", 32)));
+        assertFalse(Double.isNaN(values.get("MACD(12,26,9)", 33)));
+        for (String name : whole.getNames()) {
+            assertEquals(values.get(name, 399), live.get("NFLX", name).value());
+        }
+        assertEquals(values.getLastBias(), live.bias("NFLX"));
+        assertTrue(Arrays.stream(values.get("BB")).skip(19).allMatch(percentB -> !Double.isNaN(percentB)));
+
+        int bias = live.bias("NFLX");
+        assertTrue(bias >= -1 && bias <= 1);
+        ForecastBase forecast = new ForecastBase(TendencyFunction.MEDIAN, nflx.subList(300, 400), PrecisionMode.BIG_DECIMAL);
+        forecast.setProbabilityBias(bias);
+        assertEquals(3, forecast.magnitudeWeightedForecast().size());
+        assertEquals(0, whole.bias("USD"));
+    }
+}
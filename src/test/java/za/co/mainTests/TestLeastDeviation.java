@@ -0,0 +1,64 @@
+package za.co.mainTests;
+
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+import za.co.wethinkcode.TradeQuery.StatisticsModule.CentralTendency;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.LeastDeviation;
+
+
+public class TestLeastDeviation {
+
+    List <BigDecimal> testData = List.of(
+        new BigDecimal("10.0"),
+        new BigDecimal("12.0"),
+        new BigDecimal("12.0"),
+        new BigDecimal("14.0"),
+        new BigDecimal("13.0"),
+        new BigDecimal("11.0")
+    );
+
+    private List<BigDecimal> randomData(Random random, int size, int distinctValues){
+        List<BigDecimal> data = new ArrayList<>();
+        for (int n = 0; n < size; n++) {
+            data.add(BigDecimal.valueOf(random.nextInt(distinctValues) - distinctValues / 2, 1));
+        }
+        return data;
+    }
+
+    @Test
+    public void testLeastDifferenceMatchesBruteForce(){
+        LeastDeviation leastDeviation = new LeastDeviation(testData);
+        List<BigDecimal> expected = List.of(
+            new BigDecimal("12.0"),
+            new BigDecimal("12.0")
+        );
+        assertEquals(expected, leastDeviation.bruteForceLeastDifference());
+        assertEquals(expected, leastDeviation.variableLeastDifference());
+    }
+
+    @Test
+    public void testLeastDifferenceMatchesBruteForceForAllPowers(){
+        Random random = new Random(42);
+        for (int power = 1; power <= 4; power++) {
+            for (int trial = 0; trial < 50; trial++) {
+                List<BigDecimal> data = randomData(random, 1 + random.nextInt(40), 2 + random.nextInt(30));
+                LeastDeviation leastDeviation = new LeastDeviation(data);
+                leastDeviation.setComparitivePower(power);
+                assertEquals(leastDeviation.bruteForceLeastDifference(), leastDeviation.variableLeastDifference(),
+                    "power " + power + " data " + data);
+            }
+        }
+    }
+
+    @Test
+    public void testMeanLeastDifference(){
+        CentralTendency tendency = new CentralTendency(testData);
+        assertEquals(0, new BigDecimal("12.0").compareTo(tendency.meanLeastDifference()));
+    }
+}
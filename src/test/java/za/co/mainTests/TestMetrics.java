@@ -0,0 +1,73 @@
+package za.co.mainTests;
+
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.*;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+import za.co.wethinkcode.TradeQuery.ForecastModules.ForecastBase;
+import za.co.wethinkcode.TradeQuery.ForecastModules.PrecisionMode;
+import za.co.wethinkcode.TradeQuery.MetricsModule.JfrMetricsSink;
+import za.co.wethinkcode.TradeQuery.MetricsModule.Metrics;
+import za.co.wethinkcode.TradeQuery.MetricsModule.MetricsSnapshot;
+import za.co.wethinkcode.TradeQuery.MetricsModule.MetricsSpan;
+import za.co.wethinkcode.TradeQuery.MetricsModule.PipelineStage;
+import za.co.wethinkcode.TradeQuery.MetricsModule.SnapshotMetricsSink;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.CentralTendency;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.TendencyFunction;
+
+
+public class TestMetrics {
+
+    @AfterEach
+    public void disableMetrics() {
+        Metrics.disable();
+    }
+
+    @Test
+    public void testForecastStagesAreRecorded() {
+        SnapshotMetricsSink sink = new SnapshotMetricsSink();
+        Metrics.enable(sink.andThen(new JfrMetricsSink()));
+        List<BigDecimal> data = TestSeries.randomWalk(new Random(1), 200, 1000, 4);
+
+        ForecastBase stateless = new ForecastBase(TendencyFunction.MEAN_LEAST_DIFFERENCE, data, PrecisionMode.BIG_DECIMAL);
+        stateless.magnitudeWeightedForecast();
+        CentralTendency tendency = new CentralTendency();
+        ForecastBase legacy = new ForecastBase(tendency, tendency::median, data);
+        legacy.asymmetricTrendForecast();
+
+        MetricsSnapshot snapshot = sink.snapshot();
+        assertEquals(2, snapshot.get(PipelineStage.FORECAST).getCalls());
+        assertEquals(400, snapshot.get(PipelineStage.FORECAST).getInputSize());
+        assertEquals(2, snapshot.get(PipelineStage.DIFFERENCE).getCalls());
+        assertEquals(1, snapshot.get(PipelineStage.LEAST_DIFFERENCE).getCalls());
+        for (PipelineStage stage : new PipelineStage[] {PipelineStage.TENDENCY, PipelineStage.DEVIATION,
+                                                        PipelineStage.BOUNDARY, PipelineStage.EXPECTATION}) {
+            assertTrue(snapshot.get(stage).getCalls() >= 2, stage.name());
+        }
+        assertTrue(snapshot.get(PipelineStage.FORECAST).getTotalNanos()
+                   >= snapshot.get(PipelineStage.DIFFERENCE).getTotalNanos());
+        assertEquals(0, snapshot.get(PipelineStage.LOAD).getCalls());
+
+        sink.reset();
+        assertTrue(sink.snapshot().getStages().isEmpty());
+    }
+
+    @Test
+    public void testDisabledMetricsRecordNothing() {
+        SnapshotMetricsSink sink = new SnapshotMetricsSink();
+        Metrics.enable(sink);
+        Metrics.disable();
+        assertFalse(Metrics.isEnabled());
+        assertSame(Metrics.span(PipelineStage.FORECAST, 1), Metrics.span(PipelineStage.DEVIATION, 2));
+
+        new ForecastBase(TendencyFunction.MEDIAN, TestSeries.randomWalk(new Random(2), 50, 1000, 4), PrecisionMode.BIG_DECIMAL)
+            .magnitudeWeightedForecast();
+        try (MetricsSpan span = Metrics.span(PipelineStage.LOAD, 10)) {
+            assertNotNull(span);
+        }
+        assertTrue(sink.snapshot().getStages().isEmpty());
+    }
+}
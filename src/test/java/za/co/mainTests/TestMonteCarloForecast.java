@@ -0,0 +1,99 @@
+package za.co.mainTests;
+
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import static org.junit.jupiter.api.Assertions.*;
+
+import za.co.wethinkcode.TradeQuery.ForecastModules.ForecastConfig;
+import za.co.wethinkcode.TradeQuery.ForecastModules.MonteCarloForecast;
+import za.co.wethinkcode.TradeQuery.ForecastModules.PercentileFan;
+import za.co.wethinkcode.TradeQuery.ForecastModules.PreparedSeries;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.TendencyFunction;
+
+
+public class TestMonteCarloForecast {
+
+    @Test
+    public void testSameSeedGivesSameFanOnAnyNumberOfThreads() throws InterruptedException {
+        ForecastConfig config = new ForecastConfig(TendencyFunction.MEDIAN);
+        PreparedSeries series = PreparedSeries.of(TestSeries.randomWalk(new Random(3), 200, 1000, 4), config);
+        ExecutorService single = Executors.newSingleThreadExecutor();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            MonteCarloForecast first = new MonteCarloForecast(series, config, single);
+            MonteCarloForecast second = new MonteCarloForecast(series, config, pool);
+            for (MonteCarloForecast forecast : List.of(first, second)) {
+                forecast.setPaths(20_003);
+                forecast.setHorizon(12);
+                forecast.setSeed(7);
+            }
+            PercentileFan firstFan = first.simulate();
+            PercentileFan secondFan = second.simulate();
+            assertEquals(firstFan.toString(), secondFan.toString());
+            assertEquals(firstFan.getMean(12), secondFan.getMean(12));
+
+            second.setSeed(8);
+            assertNotEquals(firstFan.toString(), second.simulate().toString());
+        } finally {
+            single.shutdown();
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testMeanAndSpreadFollowTheDifferenceDistribution() throws InterruptedException {
+        // Differences of +0.02, -0.01 and 0 in equal shares
+        List<BigDecimal> prices = new ArrayList<>();
+        BigDecimal price = new BigDecimal("10.00");
+        for (int n = 0; n < 300; n++) {
+            prices.add(price);
+            price = price.add(new BigDecimal(n % 3 == 0 ? "0.02" : n % 3 == 1 ? "-0.01" : "0"));
+        }
+        MonteCarloForecast forecast = MonteCarloForecast.of(prices, new ForecastConfig(TendencyFunction.MEAN));
+        forecast.setPaths(200_000);
+        forecast.setHorizon(30);
+        PercentileFan fan = forecast.simulate();
+
+        double from = fan.getFromValue();
+        assertEquals(from + 0.01 / 3, fan.getMean(1), 0.0005);
+        assertEquals(from + 30 * 0.01 / 3, fan.getMean(30), 0.002);
+        assertEquals(from - 0.01, fan.getMinimum(1), 1e-9);
+        assertEquals(from + 0.02, fan.getMaximum(1), 1e-9);
+        double[] lower = fan.getBand(5);
+        double[] upper = fan.getBand(95);
+        assertTrue(upper[29] - lower[29] > upper[0] - lower[0]);
+        for (int step = 1; step <= 30; step++) {
+            assertTrue(fan.getPercentile(step, 25) <= fan.getPercentile(step, 50));
+            assertTrue(fan.getPercentile(step, 50) <= fan.getPercentile(step, 75));
+        }
+    }
+
+    @Test
+    public void testBiasSwapsProbabilitiesLikeThePointForecasts() throws InterruptedException {
+        // Only rises, so a bias towards falling moves all weight to the empty negative side
+        List<BigDecimal> prices = new ArrayList<>();
+        for (int n = 0; n < 50; n++) {
+            prices.add(BigDecimal.valueOf(100 + n));
+        }
+        MonteCarloForecast neutral = MonteCarloForecast.of(prices, new ForecastConfig(TendencyFunction.MEDIAN));
+        neutral.setPaths(1_000);
+        neutral.setHorizon(5);
+        PercentileFan rising = neutral.simulate();
+        assertEquals(154, rising.getPercentile(5, 50), 1e-9);
+        assertEquals(154, rising.getMinimum(5), 1e-9);
+
+        MonteCarloForecast biased = MonteCarloForecast.of(prices,
+            new ForecastConfig(TendencyFunction.MEDIAN).withProbabilityBias(-1));
+        biased.setPaths(1_000);
+        biased.setHorizon(5);
+        PercentileFan flat = biased.simulate();
+        assertEquals(149, flat.getPercentile(5, 50), 1e-9);
+        assertEquals(149, flat.getMaximum(5), 1e-9);
+    }
+}
@@ -0,0 +1,80 @@
+package za.co.mainTests;
+
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.*;
+import java.nio.DoubleBuffer;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import static org.junit.jupiter.api.Assertions.*;
+
+import za.co.wethinkcode.TradeQuery.ForecastModules.ForecastBase;
+import za.co.wethinkcode.TradeQuery.ForecastModules.MultiSymbolForecastRunner;
+import za.co.wethinkcode.TradeQuery.ForecastModules.MultiSymbolForecastRunner.SymbolForecast;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.TendencyFunction;
+
+
+public class TestMultiSymbolForecastRunner {
+
+    double[] rising = {1.0, 2.0, 1.5, 1.0, 1.5, 2.0, 2.5, 3.0, 3.5, 4.0, 4.5};
+    double[] falling = {9.0, 8.5, 8.75, 8.0, 7.5, 7.75, 7.0};
+
+    private double[] load(String symbol) throws Exception {
+        switch (symbol) {
+            case "UP": return rising;
+            case "DOWN": return falling;
+            case "SLOW": Thread.sleep(10_000); return rising;
+            case "NAP1", "NAP2", "NAP3": Thread.sleep(150); return falling;
+            default: throw new IllegalArgumentException("Unknown symbol " + symbol);
+        }
+    }
+
+    @Test
+    public void testForecastsEachSymbolAndReportsFailures() throws InterruptedException {
+        Map<String, SymbolForecast> results = new HashMap<>();
+        try (MultiSymbolForecastRunner runner = new MultiSymbolForecastRunner(this::load)) {
+            runner.setTendencyFunction(TendencyFunction.MEDIAN);
+            runner.setTimeout(Duration.ofMillis(200));
+            for (SymbolForecast result : runner.runAll(List.of("UP", "DOWN", "SLOW", "MISSING"))) {
+                results.put(result.getSymbol(), result);
+            }
+        }
+
+        assertEquals(4, results.size());
+        ForecastBase expected = new ForecastBase(TendencyFunction.MEDIAN, DoubleBuffer.wrap(falling));
+        assertEquals(expected.magnitudeWeightedForecast(), results.get("DOWN").getMagnitudeWeightedForecast());
+        assertEquals(expected.asymmetricTrendForecast(), results.get("DOWN").getAsymmetricTrendForecast());
+        assertTrue(results.get("UP").isSuccess());
+        assertTrue(results.get("SLOW").isTimedOut());
+        assertFalse(results.get("MISSING").isSuccess());
+        assertInstanceOf(IllegalArgumentException.class, results.get("MISSING").getError());
+        List<BigDecimal> forecast = results.get("UP").getMagnitudeWeightedForecast();
+        assertEquals(3, forecast.size());
+    }
+
+    @Test
+    public void testTimeoutStartsWhenTheSymbolRuns() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        // Each symbol takes 150 ms on one thread, so the last finishes 450 ms after submission
+        try (MultiSymbolForecastRunner runner = new MultiSymbolForecastRunner(this::load, executor)) {
+            runner.setTimeout(Duration.ofMillis(400));
+            List<SymbolForecast> results = runner.runAll(List.of("NAP1", "NAP2", "NAP3"));
+            assertEquals(3, results.size());
+            for (SymbolForecast result : results) {
+                assertTrue(result.isSuccess(), result.toString());
+                assertTrue(result.getElapsedNanos() < 400_000_000L);
+            }
+
+            runner.setTimeout(Duration.ofMillis(100));
+            for (SymbolForecast result : runner.runAll(List.of("NAP1", "UP"))) {
+                assertEquals(result.getSymbol().equals("UP"), result.isSuccess(), result.toString());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package za.co.mainTests;
+
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.*;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+import za.co.wethinkcode.TradeQuery.BacktestModule.ParameterSweep;
+import za.co.wethinkcode.TradeQuery.BacktestModule.SweepRanking;
+import za.co.wethinkcode.TradeQuery.BacktestModule.SweepReport;
+import za.co.wethinkcode.TradeQuery.BacktestModule.SweepResult;
+import za.co.wethinkcode.TradeQuery.BacktestModule.WalkForwardBacktest;
+import za.co.wethinkcode.TradeQuery.ForecastModules.ForecastConfig;
+import za.co.wethinkcode.TradeQuery.ForecastModules.ForecastKind;
+import za.co.wethinkcode.TradeQuery.ForecastModules.Forecasts;
+import za.co.wethinkcode.TradeQuery.ForecastModules.PreparedSeries;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.TendencyFunction;
+
+
+public class TestParameterSweep {
+
+    @Test
+    public void testDefaultGridIsRankedBestFirst() throws InterruptedException {
+        ParameterSweep sweep = new ParameterSweep(30);
+        sweep.setEvaluationPoints(20);
+        assertEquals(96, sweep.configurations().size());
+
+        Map<String, List<BigDecimal>> series = new LinkedHashMap<>();
+        series.put("a", TestSeries.randomWalk(new Random(3), 150, 1000, 4));
+        series.put("b", TestSeries.randomWalk(new Random(4), 90, 1000, 4));
+        SweepReport report = sweep.run(series);
+        assertEquals(96, report.getConfigurations());
+        assertEquals(192, report.getResults().size());
+        assertEquals(20 + 20, report.getEvaluations());
+        for (int n = 1; n < report.getResults().size(); n++) {
+            SweepResult previous = report.getResults().get(n - 1);
+            SweepResult current = report.getResults().get(n);
+            assertEquals(n + 1, current.getRank());
+            assertTrue(previous.getScore().getMeanAbsoluteError().compareTo(current.getScore().getMeanAbsoluteError()) <= 0);
+        }
+        assertEquals(1, report.getBest().getRank());
+    }
+
+    @Test
+    public void testScoresMatchWalkForwardBacktest() throws InterruptedException {
+        List<BigDecimal> prices = TestSeries.randomWalk(new Random(8), 200, 1000, 4);
+        ParameterSweep sweep = new ParameterSweep(40);
+        sweep.setTendencyFunctions(TendencyFunction.MEDIAN, TendencyFunction.MODE);
+        sweep.setDeviationPowers(2);
+        sweep.setUseMeanOptions(true);
+        sweep.setIncludeZeroOptions(false);
+        sweep.setEvaluationPoints(0);
+        sweep.setRanking(SweepRanking.HIT_RATE);
+        SweepReport report = sweep.run(prices);
+
+        for (TendencyFunction tendency : new TendencyFunction[] {TendencyFunction.MEDIAN, TendencyFunction.MODE}) {
+            for (int bias = -1; bias <= 1; bias++) {
+                WalkForwardBacktest backtest = new WalkForwardBacktest(tendency, 40);
+                backtest.setProbabilityBias(bias);
+                ForecastConfig config = new ForecastConfig(tendency).withProbabilityBias(bias);
+                for (ForecastKind kind : ForecastKind.values()) {
+                    assertEquals(backtest.run(prices).getScore(kind).toString(),
+                                 report.getResult(config, kind).getScore().toString());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSharedSummariesMatchForecasts() {
+        List<BigDecimal> window = TestSeries.randomWalk(new Random(2), 60, 1000, 4);
+        PreparedSeries series = PreparedSeries.of(window, true);
+        ForecastConfig config = new ForecastConfig(TendencyFunction.MEAN_LEAST_DIFFERENCE).withDeviationPower(1)
+            .withUseMean(false).withIncludeZero(true);
+        for (int bias = -1; bias <= 1; bias++) {
+            assertEquals(Forecasts.magnitudeWeighted(series, config.withProbabilityBias(bias)),
+                         Forecasts.magnitudeWeighted(series, Forecasts.summarise(series.getAbsDifferenceIndex(), config), bias));
+            assertEquals(Forecasts.asymmetricTrend(series, config.withProbabilityBias(bias)),
+                         Forecasts.asymmetricTrend(series, Forecasts.summarise(series.getPosDifferenceIndex(), config),
+                                                   Forecasts.summarise(series.getNegDifferenceIndex(), config), bias));
+        }
+    }
+
+    @Test
+    public void testEvaluationPointsAreACap() throws InterruptedException {
+        ParameterSweep sweep = new ParameterSweep(10);
+        sweep.setTendencyFunctions(TendencyFunction.MEAN);
+        sweep.setProbabilityBiases(0);
+        sweep.setDeviationPowers(1);
+        sweep.setUseMeanOptions(true);
+        sweep.setIncludeZeroOptions(false);
+        // 999 steps, just under twice the default cap of 500
+        assertEquals(500, sweep.run(TestSeries.randomWalk(new Random(5), 1009, 1000, 4)).getEvaluations());
+        assertEquals(500, sweep.run(TestSeries.randomWalk(new Random(5), 1010, 1000, 4)).getEvaluations());
+        sweep.setEvaluationPoints(7);
+        assertEquals(7, sweep.run(TestSeries.randomWalk(new Random(5), 30, 1000, 4)).getEvaluations());
+    }
+}
\ No newline at end of file
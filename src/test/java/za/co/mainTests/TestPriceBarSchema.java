@@ -0,0 +1,143 @@
+package za.co.mainTests;
+
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+
+import za.co.wethinkcode.TradeQuery.DataModule.OhlcvSeries;
+import za.co.wethinkcode.TradeQuery.DataModule.SeriesField;
+import za.co.wethinkcode.TradeQuery.MultiCommodityDataBase.BulkPriceBarIngest;
+import za.co.wethinkcode.TradeQuery.MultiCommodityDataBase.PriceBarSchema;
+import za.co.wethinkcode.TradeQuery.MultiCommodityDataBase.PriceBarService;
+import za.co.wethinkcode.TradeQuery.MultiCommodityDataBase.WideTableMigration;
+
+
+public class TestPriceBarSchema {
+
+    ZoneId eastern = ZoneId.of("US/Eastern");
+
+    @TempDir
+    Path directory;
+
+    private String createWideTable(Path file) throws SQLException {
+        String url = "jdbc:sqlite:" + file;
+        try (Connection connection = DriverManager.getConnection(url);
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE BTC_data_daily (parameter TEXT PRIMARY KEY NOT NULL, " +
+                              "\"2025_03_20\" DECIMAL(15,4), \"2025_03_21\" DECIMAL(15,4), \"2025_03_24\" DECIMAL(15,4))");
+            statement.execute("INSERT INTO BTC_data_daily VALUES ('open', 10.0, 11.0, 12.0)");
+            statement.execute("INSERT INTO BTC_data_daily VALUES ('high', 10.5, 11.5, 12.5)");
+            statement.execute("INSERT INTO BTC_data_daily VALUES ('low', 9.5, 10.5, 11.5)");
+            statement.execute("INSERT INTO BTC_data_daily VALUES ('close', 10.2, 11.2, 12.2)");
+            statement.execute("INSERT INTO BTC_data_daily VALUES ('volume', 100, 200, NULL)");
+        }
+        return url;
+    }
+
+    private long epoch(String date){
+        return LocalDate.parse(date).atStartOfDay(eastern).toEpochSecond();
+    }
+
+    @Test
+    public void testMigratesWideTableIntoBars() throws SQLException {
+        String wideUrl = createWideTable(directory.resolve("btc_data.db"));
+        String url = "jdbc:sqlite:" + directory.resolve("trade_data.db");
+        try (Connection source = DriverManager.getConnection(wideUrl);
+             Connection target = DriverManager.getConnection(url)) {
+            PriceBarSchema.createTables(target);
+            assertEquals(3, WideTableMigration.migrate(source, target, "BTC", "daily", eastern));
+        }
+
+        OhlcvSeries series;
+        try (PriceBarService service = new PriceBarService(url)) {
+            series = service.getBarsForRange("BTC", "daily", epoch("2025-03-21"), epoch("2025-03-25"));
+        }
+        assertEquals(2, series.size());
+        assertEquals("US/Eastern", series.getTimeZone());
+        assertEquals(epoch("2025-03-21"), series.timestamp(0));
+        assertArrayEquals(new double[] {11.2, 12.2}, series.column(SeriesField.CLOSE));
+        assertTrue(Double.isNaN(series.get(SeriesField.VOLUME, 1)));
+    }
+
+    @Test
+    public void testMigrationWithABadDateColumnWritesNothing() throws SQLException {
+        String wideUrl = createWideTable(directory.resolve("btc_data.db"));
+        try (Connection source = DriverManager.getConnection(wideUrl);
+             Statement statement = source.createStatement()) {
+            statement.execute("ALTER TABLE BTC_data_daily ADD COLUMN \"2025_03_99\" DECIMAL(15,4)");
+            statement.execute("UPDATE BTC_data_daily SET \"2025_03_99\" = 1.0");
+        }
+        String url = "jdbc:sqlite:" + directory.resolve("trade_data.db");
+        try (Connection source = DriverManager.getConnection(wideUrl);
+             Connection target = DriverManager.getConnection(url)) {
+            PriceBarSchema.createTables(target);
+            assertThrows(DateTimeParseException.class, () -> WideTableMigration.migrate(source, target, "BTC", "daily", eastern));
+            assertTrue(target.getAutoCommit());
+            try (Statement statement = target.createStatement()) {
+                for (String table : List.of(PriceBarSchema.PRICE_BARS_TABLE, PriceBarSchema.SERIES_TABLE)) {
+                    ResultSet count = statement.executeQuery("SELECT COUNT(*) FROM " + table);
+                    assertEquals(0, count.getInt(1));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRangeQueryUsesPrimaryKey() throws SQLException {
+        String url = "jdbc:sqlite:" + directory.resolve("trade_data.db");
+        try (Connection connection = DriverManager.getConnection(url);
+             Statement statement = connection.createStatement()) {
+            PriceBarSchema.createTables(connection);
+            ResultSet plan = statement.executeQuery("EXPLAIN QUERY PLAN SELECT close FROM price_bars " +
+                                                    "WHERE symbol = 'BTC' AND interval = 'daily' AND ts >= 0 AND ts < 10");
+            assertTrue(plan.next());
+            assertTrue(plan.getString("detail").contains("USING PRIMARY KEY"), plan.getString("detail"));
+        }
+    }
+
+    @Test
+    public void testMultiSymbolRangeIsOneColumnarResultPerSymbol() throws SQLException {
+        String url = "jdbc:sqlite:" + directory.resolve("trade_data.db");
+        try (Connection connection = DriverManager.getConnection(url)) {
+            BulkPriceBarIngest ingest = new BulkPriceBarIngest(connection);
+            for (String symbol : new String[] {"NFLX", "BTC", "USD"}) {
+                double[][] columns = new double[SeriesField.values().length][];
+                columns[SeriesField.CLOSE.ordinal()] = new double[] {symbol.length(), 2.0, 3.0, 4.0};
+                ingest.ingest(new OhlcvSeries(symbol, "1min", symbol.equals("BTC") ? "UTC" : "US/Eastern",
+                                              new long[] {60, 120, 180, 240}, columns));
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet plan = statement.executeQuery("EXPLAIN QUERY PLAN SELECT b.close FROM json_each('[\"BTC\"]') AS j " +
+                     "CROSS JOIN price_bars AS b ON b.symbol = j.value AND b.interval = '1min' AND b.ts >= 0 AND b.ts < 10")) {
+                boolean primaryKey = false;
+                while (plan.next()) {
+                    primaryKey |= plan.getString("detail").contains("USING PRIMARY KEY");
+                }
+                assertTrue(primaryKey);
+            }
+        }
+
+        try (PriceBarService service = new PriceBarService(url)) {
+            Map<String, OhlcvSeries> bars = service.getBarsForRange(List.of("USD", "NONE", "BTC", "USD"), "1min", 120, 240);
+            assertEquals(List.of("USD", "NONE", "BTC"), List.copyOf(bars.keySet()));
+            assertArrayEquals(new double[] {2.0, 3.0}, bars.get("USD").column(SeriesField.CLOSE));
+            assertEquals("US/Eastern", bars.get("USD").getTimeZone());
+            assertEquals("UTC", bars.get("BTC").getTimeZone());
+            assertEquals(0, bars.get("NONE").size());
+            assertArrayEquals(service.getBarsForRange("BTC", "1min", 120, 240).timestamps(), bars.get("BTC").timestamps());
+            assertEquals(4, service.getAllBars(List.of("NFLX"), "1min").get("NFLX").size());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package za.co.mainTests;
+
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+import za.co.wethinkcode.TradeQuery.ForecastModules.ForecastBase;
+import za.co.wethinkcode.TradeQuery.ForecastModules.PrecisionMode;
+import za.co.wethinkcode.TradeQuery.ForecastModules.RollingForecast;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.OrderStatisticTree;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.TendencyFunction;
+
+
+public class TestRollingForecast {
+
+    @Test
+    public void testOrderStatistics(){
+        OrderStatisticTree tree = new OrderStatisticTree();
+        for (String value : List.of("3.0", "1.0", "2.0", "2.0", "5.0")) {
+            tree.add(new BigDecimal(value));
+        }
+        tree.remove(new BigDecimal("5.0"));
+
+        assertEquals(4, tree.size());
+        assertEquals(new BigDecimal("1.0"), tree.kth(0));
+        assertEquals(new BigDecimal("2.0"), tree.kth(2));
+        assertEquals(1, tree.countLess(new BigDecimal("2.0")));
+        assertEquals(3, tree.countLessOrEqual(new BigDecimal("2.0")));
+        assertEquals(new BigDecimal("2.0"), tree.mode());
+        assertEquals(0, new BigDecimal("8.0").compareTo(tree.sum()));
+    }
+
+    @Test
+    public void testRollingForecastMatchesForecastBase(){
+        Random random = new Random(11);
+        int windowSize = 30;
+        for (TendencyFunction function : TendencyFunction.values()) {
+            for (int bias = -1; bias <= 1; bias++) {
+                List<BigDecimal> data = TestSeries.randomWalk(random, 120, 1000, 4);
+                RollingForecast rolling = new RollingForecast(function, windowSize);
+                rolling.setProbabilityBias(bias);
+                for (int n = 0; n < data.size(); n++) {
+                    rolling.append(data.get(n));
+                    if (n < 1) {
+                        continue;
+                    }
+                    List<BigDecimal> window = data.subList(Math.max(0, n + 1 - windowSize), n + 1);
+                    ForecastBase forecast = new ForecastBase(function, window, PrecisionMode.BIG_DECIMAL);
+                    forecast.setProbabilityBias(bias);
+
+                    assertEquals(forecast.magnitudeWeightedForecast(), rolling.magnitudeWeightedForecast());
+                    assertEquals(forecast.asymmetricTrendForecast(), rolling.asymmetricTrendForecast());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRollingModeMatchesForecastBaseOnMixedScales(){
+        // Steps of at most two cents tie often, and stripping zeros gives equal differences
+        // of different scales, such as 0.1 and 0.10
+        Random random = new Random(4);
+        int windowSize = 25;
+        List<BigDecimal> data = new ArrayList<>();
+        for (BigDecimal price : TestSeries.randomWalk(random, 150, 1000, 2)) {
+            data.add(random.nextBoolean() ? price.stripTrailingZeros() : price);
+        }
+        RollingForecast rolling = new RollingForecast(TendencyFunction.MODE, windowSize);
+        for (int n = 0; n < data.size(); n++) {
+            rolling.append(data.get(n));
+            if (n < 1) {
+                continue;
+            }
+            List<BigDecimal> window = data.subList(Math.max(0, n + 1 - windowSize), n + 1);
+            ForecastBase forecast = new ForecastBase(TendencyFunction.MODE, window, PrecisionMode.BIG_DECIMAL);
+            assertEquals(forecast.magnitudeWeightedForecast(), rolling.magnitudeWeightedForecast());
+            assertEquals(forecast.asymmetricTrendForecast(), rolling.asymmetricTrendForecast());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package za.co.mainTests;
+
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+
+/**
+ * Shared price fixtures. Walks are held in hundredths, so every price is an exact two
+ * decimal value whether it is read as a BigDecimal or a double.
+ */
+final class TestSeries {
+
+    private TestSeries() {
+    }
+
+    // Starts at start hundredths and moves up to step hundredths either way per price
+    static List<BigDecimal> randomWalk(Random random, int size, int start, int step){
+        List<BigDecimal> data = new ArrayList<>();
+        int price = start;
+        for (int n = 0; n < size; n++) {
+            price += random.nextInt(2 * step + 1) - step;
+            data.add(BigDecimal.valueOf(price, 2));
+        }
+        return data;
+    }
+
+    // The same walk as doubles
+    static double[] randomWalkValues(Random random, int size, int start, int step){
+        double[] data = new double[size];
+        int price = start;
+        for (int n = 0; n < size; n++) {
+            price += random.nextInt(2 * step + 1) - step;
+            data[n] = price / 100.0;
+        }
+        return data;
+    }
+}
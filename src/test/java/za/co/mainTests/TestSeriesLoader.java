@@ -0,0 +1,119 @@
+package za.co.mainTests;
+
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.EnumSet;
+import static org.junit.jupiter.api.Assertions.*;
+
+import za.co.wethinkcode.TradeQuery.DataModule.AlphaVantageSeriesLoader;
+import za.co.wethinkcode.TradeQuery.DataModule.OhlcvSeries;
+import za.co.wethinkcode.TradeQuery.DataModule.SeriesField;
+
+
+public class TestSeriesLoader {
+
+    String intraday = """
+        {
+            "Meta Data": {
+                "1. Information": "Intraday (1min) open, high, low, close prices and volume",
+                "2. Symbol": "NFLX",
+                "3. Last Refreshed": "2025-03-21 20:00:00",
+                "4. Interval": "1min",
+                "5. Output Size": "Full size",
+                "6. Time Zone": "US/Eastern"
+            },
+            "Time Series (1min)": {
+                "2025-03-21 20:00:00": {
+                    "1. open": "960.0000",
+                    "2. high": "960.3100",
+                    "3. low": "959.1950",
+                    "4. close": "960.3100",
+                    "5. volume": "39"
+                },
+                "2025-03-21 19:59:00": {
+                    "1. open": "959.1900",
+                    "2. high": "960.2999",
+                    "3. low": "959.1900",
+                    "4. close": "960.0000",
+                    "5. volume": "60"
+                }
+            }
+        }
+        """;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testLoadsColumnsOldestFirst() throws IOException {
+        Path file = Files.writeString(directory.resolve("NFLX_(data_intra_day).json"), intraday);
+        OhlcvSeries series = AlphaVantageSeriesLoader.load(file);
+
+        assertEquals("NFLX", series.getSymbol());
+        assertEquals("1min", series.getInterval());
+        assertEquals(2, series.size());
+        assertEquals(Instant.parse("2025-03-21T23:59:00Z").getEpochSecond(), series.timestamp(0));
+        assertEquals(Instant.parse("2025-03-22T00:00:00Z").getEpochSecond(), series.timestamp(1));
+        assertArrayEquals(new double[] {960.0, 960.31}, series.column(SeriesField.CLOSE));
+        assertArrayEquals(new double[] {960.2999, 960.31}, series.column(SeriesField.HIGH));
+        assertArrayEquals(new double[] {60, 39}, series.column(SeriesField.VOLUME));
+    }
+
+    @Test
+    public void testLoadsOnlySelectedFields() throws IOException {
+        Path file = Files.writeString(directory.resolve("NFLX_(data_intra_day).json"), intraday);
+        OhlcvSeries series = AlphaVantageSeriesLoader.load(file, EnumSet.of(SeriesField.CLOSE));
+
+        assertTrue(series.has(SeriesField.CLOSE));
+        assertFalse(series.has(SeriesField.OPEN));
+        assertThrows(IllegalStateException.class, () -> series.column(SeriesField.OPEN));
+    }
+
+    @Test
+    public void testSkipsMalformedBars() throws IOException {
+        String corrupted = intraday.replace("\"2025-03-21 19:59:00\"", "\" 19:59:00\"");
+        Path file = Files.writeString(directory.resolve("NFLX_(data_intra_day).json"), corrupted);
+        OhlcvSeries series = AlphaVantageSeriesLoader.load(file);
+
+        assertEquals(1, series.size());
+        assertEquals(1, series.getSkippedRows());
+        assertArrayEquals(new double[] {960.31}, series.column(SeriesField.CLOSE));
+    }
+
+    @Test
+    public void testSkipsBarsWithEmptyOrMissingValues() throws IOException {
+        for (String token : new String[] {"", "-", "+", "."}) {
+            String empty = intraday.replace("\"4. close\": \"960.3100\"", "\"4. close\": \"" + token + "\"");
+            Path file = Files.writeString(directory.resolve("NFLX_(data_intra_day).json"), empty);
+            OhlcvSeries series = AlphaVantageSeriesLoader.load(file);
+            assertEquals(1, series.size(), token);
+            assertEquals(1, series.getSkippedRows());
+            assertArrayEquals(new double[] {960.0}, series.column(SeriesField.CLOSE));
+        }
+
+        String missing = intraday.replace("\"5. volume\": \"60\"", "\"6. note\": \"none\"");
+        Path file = Files.writeString(directory.resolve("NFLX_(data_intra_day).json"), missing);
+        OhlcvSeries series = AlphaVantageSeriesLoader.load(file);
+        assertEquals(1, series.size());
+        assertArrayEquals(new double[] {960.31}, series.column(SeriesField.CLOSE));
+        // A bar only needs the fields that were asked for
+        assertEquals(2, AlphaVantageSeriesLoader.load(file, EnumSet.of(SeriesField.CLOSE)).size());
+    }
+
+    @Test
+    public void testTruncatedFileFailsWithTheOffset() throws IOException {
+        int cut = intraday.indexOf("\"959.1900\"") + 4;
+        Path file = Files.writeString(directory.resolve("NFLX_(data_intra_day).json"), intraday.substring(0, cut));
+        IOException failure = assertThrows(IOException.class, () -> AlphaVantageSeriesLoader.load(file));
+        assertTrue(failure.getMessage().contains("byte " + intraday.indexOf("\"959.1900\"")), failure.getMessage());
+
+        String unclosed = intraday.substring(0, intraday.indexOf("\"Time Series")) + "\"Time Series (1min)\": {";
+        Path other = Files.writeString(directory.resolve("NFLX_(data_intra_day).json"), unclosed);
+        assertThrows(IOException.class, () -> AlphaVantageSeriesLoader.load(other));
+    }
+}
@@ -0,0 +1,112 @@
+package za.co.mainTests;
+
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+import za.co.wethinkcode.TradeQuery.StatisticsModule.CentralTendency;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.DeviationAndDistribution;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.Difference;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.SortedSeriesIndex;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.Tendencies;
+
+
+public class TestSortedSeriesIndex {
+
+    List<BigDecimal> testData = List.of(
+        new BigDecimal("3.0"),
+        new BigDecimal("1.0"),
+        new BigDecimal("2.0"),
+        new BigDecimal("2.0"),
+        new BigDecimal("4.0"),
+        new BigDecimal("1.0")
+    );
+
+    @Test
+    public void testOrderStatisticsAndMode() {
+        SortedSeriesIndex index = SortedSeriesIndex.of(testData);
+        assertEquals(6, index.size());
+        assertEquals(new BigDecimal("1.0"), index.min());
+        assertEquals(new BigDecimal("4.0"), index.max());
+        assertEquals(0, new BigDecimal("2.0").compareTo(index.median()));
+        assertEquals(0, new BigDecimal("1.25").compareTo(index.quantile(0.25)));
+        assertEquals(new BigDecimal("4.0"), index.quantile(1.0));
+        // 1.0 and 2.0 both appear twice, the smaller wins
+        assertEquals(new BigDecimal("1.0"), index.mode());
+        assertEquals(Tendencies.mean(testData), index.mean());
+    }
+
+    @Test
+    public void testRangeCounts() {
+        SortedSeriesIndex index = SortedSeriesIndex.of(testData);
+        BigDecimal one = new BigDecimal("1.0");
+        BigDecimal three = new BigDecimal("3.0");
+        assertEquals(5, index.countBetween(one, true, three, true));
+        assertEquals(3, index.countBetween(one, false, three, true));
+        assertEquals(2, index.countBetween(one, false, three, false));
+        assertEquals(0, index.countBetween(three, false, one, false));
+        assertEquals(2, index.countLess(new BigDecimal("2")));
+        assertEquals(4, index.countLessOrEqual(new BigDecimal("2")));
+
+        SortedSeriesIndex band = index.range(one, false, three, true);
+        assertEquals(List.of(new BigDecimal("2.0"), new BigDecimal("2.0"), new BigDecimal("3.0")), band.values());
+        assertEquals(new BigDecimal("2.0"), band.mode());
+        assertEquals(new BigDecimal("7.0"), band.sum());
+    }
+
+    @Test
+    public void testComparativeSumMatchesDifference() {
+        Random random = new Random(7);
+        for (int power = 1; power <= 4; power++) {
+            List<BigDecimal> data = new ArrayList<>();
+            for (int n = 0; n < 40; n++) {
+                data.add(BigDecimal.valueOf(random.nextInt(200) - 100, 2));
+            }
+            SortedSeriesIndex index = SortedSeriesIndex.of(data);
+            Difference difference = new Difference(data);
+            difference.setComparitivePower(power);
+            for (BigDecimal variable : List.of(BigDecimal.ZERO, data.get(3), new BigDecimal("-2.5"), new BigDecimal("0.333"))) {
+                assertEquals(0, difference.sumComparitiveDifference(variable).compareTo(index.comparativeSum(variable, power)));
+            }
+        }
+    }
+
+    @Test
+    public void testModeGroupsEqualValuesByCompareTo() {
+        List<BigDecimal> data = List.of(
+            new BigDecimal("2.0"),
+            new BigDecimal("1.00"),
+            new BigDecimal("2.00"),
+            new BigDecimal("1.0"),
+            new BigDecimal("1")
+        );
+        // 1.00, 1.0 and 1 are one value seen three times; the first of them in the series is returned
+        assertEquals(new BigDecimal("1.00"), SortedSeriesIndex.of(data).mode());
+        assertEquals(new BigDecimal("1.00"), new CentralTendency(data).mode());
+    }
+
+    @Test
+    public void testBandsExcludeEveryScaleOfTheMode() {
+        List<BigDecimal> data = List.of(
+            new BigDecimal("1.0"),
+            new BigDecimal("1.05"),
+            new BigDecimal("1.00"),
+            new BigDecimal("0.95"),
+            new BigDecimal("1"),
+            new BigDecimal("1.5")
+        );
+        CentralTendency tendency = new CentralTendency(data);
+        DeviationAndDistribution distribution = new DeviationAndDistribution(tendency, tendency::mode, data);
+        assertEquals(new BigDecimal("1.0"), distribution.getDistributionTendency());
+        assertEquals(List.of(new BigDecimal("0.95")), distribution.getLowerBoundValues());
+        assertEquals(List.of(new BigDecimal("1.05"), new BigDecimal("1.5")), distribution.getUpperBoundValues());
+        assertEquals(new BigDecimal("0.3333333333"), distribution.getUpperBoundProbability());
+        // The tendency instance is left holding the whole series
+        assertEquals(data, tendency.getData());
+        assertEquals(new BigDecimal("1.0"), tendency.mode());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,110 @@
+package za.co.mainTests;
+
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+
+import za.co.wethinkcode.TradeQuery.DataModule.OhlcvSeries;
+import za.co.wethinkcode.TradeQuery.DataModule.SeriesField;
+import za.co.wethinkcode.TradeQuery.MultiCommodityDataBase.BulkPriceBarIngest;
+import za.co.wethinkcode.TradeQuery.MultiCommodityDataBase.PriceBarService;
+import za.co.wethinkcode.TradeQuery.MultiCommodityDataBase.SqliteConnectionPool;
+
+
+public class TestSqliteConnectionPool {
+
+    @TempDir
+    Path directory;
+
+    private String createDatabase() throws SQLException {
+        String url = "jdbc:sqlite:" + directory.resolve("trade_data.db");
+        double[][] columns = new double[SeriesField.values().length][];
+        columns[SeriesField.CLOSE.ordinal()] = new double[] {10.0, 11.0, 12.0};
+        // Midnight US/Eastern on 2025-03-20, 21 and 24
+        long[] timestamps = {1742443200L, 1742529600L, 1742788800L};
+        try (Connection connection = DriverManager.getConnection(url)) {
+            new BulkPriceBarIngest(connection).ingest(new OhlcvSeries("BTC", "daily", "US/Eastern", timestamps, columns));
+        }
+        return url;
+    }
+
+    @Test
+    public void testPoolIsBoundedAndReusesConnections() throws SQLException {
+        try (SqliteConnectionPool pool = new SqliteConnectionPool(createDatabase(), 2, true)) {
+            SqliteConnectionPool.PooledConnection first = pool.borrow();
+            SqliteConnectionPool.PooledConnection second = pool.borrow();
+            assertEquals(2, pool.metrics().getActive());
+            assertThrows(SQLException.class, () -> pool.borrow(10, TimeUnit.MILLISECONDS));
+
+            PreparedStatement statement = first.prepare("SELECT COUNT(*) FROM price_bars");
+            assertSame(statement, first.prepare("SELECT COUNT(*) FROM price_bars"));
+            assertThrows(SQLException.class, () -> second.getConnection().createStatement().execute("DELETE FROM price_bars"));
+
+            second.close();
+            first.close();
+            assertEquals(0, pool.metrics().getActive());
+            assertEquals(2, pool.metrics().getIdle());
+
+            try (SqliteConnectionPool.PooledConnection again = pool.borrow()) {
+                assertSame(statement, again.prepare("SELECT COUNT(*) FROM price_bars"));
+            }
+            assertEquals(2, pool.metrics().getOpened());
+            assertEquals(3, pool.metrics().getBorrows());
+        }
+    }
+
+    @Test
+    public void testClosingTwiceReturnsTheConnectionOnce() throws SQLException {
+        try (SqliteConnectionPool pool = new SqliteConnectionPool(createDatabase(), 1, true)) {
+            SqliteConnectionPool.PooledConnection connection = pool.borrow();
+            connection.close();
+            connection.close();
+            assertEquals(0, pool.metrics().getActive());
+            assertEquals(1, pool.metrics().getIdle());
+
+            // A second permit would let both of these through
+            try (SqliteConnectionPool.PooledConnection again = pool.borrow()) {
+                assertThrows(SQLException.class, () -> pool.borrow(10, TimeUnit.MILLISECONDS));
+            }
+            assertEquals(1, pool.metrics().getOpened());
+        }
+    }
+
+    @Test
+    public void testReleaseRollsBackAnOpenTransaction() throws SQLException {
+        try (SqliteConnectionPool pool = new SqliteConnectionPool(createDatabase(), 1, false)) {
+            try (SqliteConnectionPool.PooledConnection connection = pool.borrow()) {
+                connection.getConnection().setAutoCommit(false);
+                connection.getConnection().createStatement().execute("DELETE FROM price_bars");
+            }
+            try (SqliteConnectionPool.PooledConnection connection = pool.borrow()) {
+                assertTrue(connection.getConnection().getAutoCommit());
+                ResultSet count = connection.prepare("SELECT COUNT(*) FROM price_bars").executeQuery();
+                assertEquals(3, count.getInt(1));
+            }
+        }
+    }
+
+    @Test
+    public void testServiceLookupsByDate() throws SQLException {
+        try (PriceBarService service = new PriceBarService(createDatabase())) {
+            assertEquals(0, new BigDecimal("11.0").compareTo(
+                service.getParameterForDate("BTC", "daily", SeriesField.CLOSE, LocalDate.of(2025, 3, 21))));
+            assertNull(service.getParameterForDate("BTC", "daily", SeriesField.CLOSE, LocalDate.of(2025, 3, 22)));
+            assertEquals(List.of(LocalDate.of(2025, 3, 20), LocalDate.of(2025, 3, 21), LocalDate.of(2025, 3, 24)),
+                         service.getAvailableDates("BTC", "daily"));
+            assertEquals(2, service.getBarsForDateRange("BTC", "daily", LocalDate.of(2025, 3, 21), LocalDate.of(2025, 3, 24)).size());
+        }
+    }
+}
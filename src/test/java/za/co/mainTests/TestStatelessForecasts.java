@@ -0,0 +1,77 @@
+package za.co.mainTests;
+
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import static org.junit.jupiter.api.Assertions.*;
+
+import za.co.wethinkcode.TradeQuery.ForecastModules.ForecastBase;
+import za.co.wethinkcode.TradeQuery.ForecastModules.ForecastConfig;
+import za.co.wethinkcode.TradeQuery.ForecastModules.Forecasts;
+import za.co.wethinkcode.TradeQuery.ForecastModules.PreparedSeries;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.CentralTendency;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.DeviationAndDistribution;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.DistributionSummary;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.TendencyFunction;
+
+
+public class TestStatelessForecasts {
+
+    @Test
+    public void testMatchesStatefulClasses(){
+        Random random = new Random(11);
+        for (TendencyFunction function : TendencyFunction.values()) {
+            for (int bias = -1; bias <= 1; bias++) {
+                List<BigDecimal> data = TestSeries.randomWalk(random, 5 + random.nextInt(60), 1000, 10);
+                CentralTendency tendencyInstance = new CentralTendency();
+                ForecastBase stateful = new ForecastBase(tendencyInstance, function.of(tendencyInstance), data);
+                stateful.setProbabilityBias(bias);
+
+                PreparedSeries series = PreparedSeries.of(data, false);
+                ForecastConfig config = new ForecastConfig(function).withProbabilityBias(bias);
+                assertEquals(stateful.magnitudeWeightedForecast(), Forecasts.magnitudeWeighted(series, config), function + " " + bias);
+                assertEquals(stateful.asymmetricTrendForecast(), Forecasts.asymmetricTrend(series, config), function + " " + bias);
+            }
+        }
+    }
+
+    @Test
+    public void testDistributionSummaryMatchesDeviationAndDistribution(){
+        List<BigDecimal> data = TestSeries.randomWalk(new Random(5), 40, 1000, 10);
+        CentralTendency tendencyInstance = new CentralTendency(data);
+        DeviationAndDistribution stateful = new DeviationAndDistribution(tendencyInstance, tendencyInstance::median, data);
+        DistributionSummary summary = DistributionSummary.of(data, TendencyFunction.MEDIAN, 2, true);
+
+        assertEquals(stateful.distribution(), summary.distribution());
+        assertEquals(stateful.getLowerBoundProbability(), summary.getLowerBoundProbability());
+        assertEquals(stateful.getUpperBoundProbability(), summary.getUpperBoundProbability());
+        assertEquals(stateful.getLowerBoundTendency(), summary.getLowerBoundTendency());
+        assertEquals(stateful.getUpperBoundTendency(), summary.getUpperBoundTendency());
+    }
+
+    @Test
+    public void testSharedSeriesAcrossThreads() throws Exception {
+        PreparedSeries series = PreparedSeries.of(TestSeries.randomWalk(new Random(3), 200, 1000, 10), false);
+        ForecastConfig config = new ForecastConfig(TendencyFunction.MEAN_LEAST_DIFFERENCE);
+        List<BigDecimal> expected = Forecasts.asymmetricTrend(series, config);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<BigDecimal>>> results = new ArrayList<>();
+            for (int n = 0; n < 16; n++) {
+                results.add(executor.submit(() -> Forecasts.asymmetricTrend(series, config)));
+            }
+            for (Future<List<BigDecimal>> result : results) {
+                assertEquals(expected, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package za.co.mainTests;
+
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.*;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.locks.LockSupport;
+import static org.junit.jupiter.api.Assertions.*;
+
+import za.co.wethinkcode.TradeQuery.DataModule.BarAggregator;
+import za.co.wethinkcode.TradeQuery.DataModule.BarInterval;
+import za.co.wethinkcode.TradeQuery.DataModule.OhlcvSeries;
+import za.co.wethinkcode.TradeQuery.DataModule.SeriesField;
+import za.co.wethinkcode.TradeQuery.ForecastModules.ForecastBase;
+import za.co.wethinkcode.TradeQuery.ForecastModules.PrecisionMode;
+import za.co.wethinkcode.TradeQuery.IngestModule.BackpressurePolicy;
+import za.co.wethinkcode.TradeQuery.IngestModule.BarAggregationStage;
+import za.co.wethinkcode.TradeQuery.IngestModule.ReplaySource;
+import za.co.wethinkcode.TradeQuery.IngestModule.RollingForecastStage;
+import za.co.wethinkcode.TradeQuery.IngestModule.TickPipeline;
+import za.co.wethinkcode.TradeQuery.IngestModule.TickRingBuffer;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.TendencyFunction;
+
+
+public class TestTickPipeline {
+
+    @Test
+    public void testDropPolicyDiscardsTicksWhileTheSlowestConsumerIsAFullRingBehind() {
+        TickRingBuffer ring = new TickRingBuffer(8, BackpressurePolicy.DROP);
+        TickRingBuffer.Cursor fast = ring.addConsumer();
+        TickRingBuffer.Cursor slow = ring.addConsumer();
+        int symbol = ring.symbolId("NFLX");
+        List<Double> seen = new ArrayList<>();
+
+        for (int n = 0; n < 10; n++) {
+            boolean accepted = ring.publish(symbol, n, n, n, n, n, 1);
+            assertEquals(n < 8, accepted);
+            assertEquals(accepted ? 1 : 0, fast.poll(tick -> {}, 100));
+        }
+        assertEquals(2, ring.getDropped());
+        assertEquals(8, ring.getPublished());
+
+        assertEquals(3, slow.poll(tick -> seen.add(tick.getClose()), 3));
+        assertTrue(ring.publish(symbol, 10, 10, 10, 10, 10, 1));
+        assertEquals(6, slow.poll(tick -> seen.add(tick.getClose()), 100));
+        assertEquals(List.of(0.0, 1.0, 2.0, 3.0, 4.0, 5.0, 6.0, 7.0, 10.0), seen);
+        assertTrue(slow.isCaughtUp());
+        assertEquals("NFLX", ring.symbolName(symbol));
+    }
+
+    @Test
+    public void testStagesMatchAggregatingAndForecastingDirectly() {
+        Random random = new Random(8);
+        ZoneId zone = ZoneId.of("US/Eastern");
+        BarAggregationStage bars = new BarAggregationStage(BarInterval.FIVE_MINUTES, zone);
+        RollingForecastStage forecasts = new RollingForecastStage(TendencyFunction.MEDIAN, 30);
+        TickPipeline pipeline = new TickPipeline(16, BackpressurePolicy.BLOCK);
+        pipeline.addStage("bars", bars).addStage("forecasts", forecasts);
+        pipeline.start();
+
+        Map<String, BarAggregator> expectedBars = new HashMap<>();
+        Map<String, List<BigDecimal>> closes = new HashMap<>();
+        String[] symbols = {"NFLX", "BTC"};
+        int[] prices = {10000, 5000};
+        for (int minute = 0; minute < 400; minute++) {
+            for (int n = 0; n < symbols.length; n++) {
+                prices[n] += random.nextInt(21) - 10;
+                double price = prices[n] / 100.0;
+                long timestamp = 1_700_000_000L + minute * 60L;
+                assertTrue(pipeline.publish(symbols[n], timestamp, price));
+                expectedBars.computeIfAbsent(symbols[n], symbol -> new BarAggregator(symbol, BarInterval.FIVE_MINUTES, zone))
+                    .add(timestamp, price, price, price, price, 0);
+                closes.computeIfAbsent(symbols[n], symbol -> new ArrayList<>()).add(BigDecimal.valueOf(price));
+            }
+        }
+        pipeline.close();
+
+        assertEquals(800, pipeline.getPublished());
+        assertEquals(0, pipeline.getDropped());
+        for (String symbol : symbols) {
+            OhlcvSeries expected = expectedBars.get(symbol).toSeries(true);
+            OhlcvSeries actual = bars.getBars(symbol, true);
+            assertArrayEquals(expected.timestamps(), actual.timestamps());
+            assertArrayEquals(expected.column(SeriesField.HIGH), actual.column(SeriesField.HIGH));
+
+            List<BigDecimal> window = closes.get(symbol).subList(370, 400);
+            ForecastBase forecast = new ForecastBase(TendencyFunction.MEDIAN, window, PrecisionMode.BIG_DECIMAL);
+            RollingForecastStage.TickForecast latest = forecasts.getLatest(symbol);
+            assertEquals(1_700_000_000L + 399 * 60L, latest.getTimestamp());
+            for (int n = 0; n < 3; n++) {
+                assertEquals(0, forecast.magnitudeWeightedForecast().get(n).compareTo(latest.getMagnitudeWeightedForecast().get(n)));
+                assertEquals(0, forecast.asymmetricTrendForecast().get(n).compareTo(latest.getAsymmetricTrendForecast().get(n)));
+            }
+        }
+        // Windows fill after 30 ticks per symbol
+        assertEquals(2 * 371, forecasts.getLatency().getCount());
+    }
+
+    @Test
+    public void testForecastStageSkipsTicksWithoutAFiniteClose() {
+        RollingForecastStage forecasts = new RollingForecastStage(TendencyFunction.MEAN, 4);
+        TickPipeline pipeline = new TickPipeline(16, BackpressurePolicy.BLOCK);
+        pipeline.addStage("forecasts", forecasts);
+        pipeline.start();
+        double[] closes = {10.0, Double.NaN, 10.5, 10.25, Double.POSITIVE_INFINITY, 10.75};
+        for (int n = 0; n < closes.length; n++) {
+            assertTrue(pipeline.publish("NFLX", 1_700_000_000L + n * 60L, closes[n]));
+        }
+        pipeline.close();
+
+        assertEquals(2, forecasts.getSkippedTicks());
+        List<BigDecimal> window = List.of(BigDecimal.valueOf(10.0), BigDecimal.valueOf(10.5),
+                                          BigDecimal.valueOf(10.25), BigDecimal.valueOf(10.75));
+        ForecastBase forecast = new ForecastBase(TendencyFunction.MEAN, window, PrecisionMode.BIG_DECIMAL);
+        RollingForecastStage.TickForecast latest = forecasts.getLatest("NFLX");
+        assertEquals(1_700_000_000L + 5 * 60L, latest.getTimestamp());
+        assertEquals(0, forecast.magnitudeWeightedForecast().get(1).compareTo(latest.getMagnitudeWeightedForecast().get(1)));
+    }
+
+    @Test
+    public void testBarsFollowEachSymbolsOwnZone() {
+        ZoneId newYork = ZoneId.of("America/New_York");
+        ZoneId tokyo = ZoneId.of("Asia/Tokyo");
+        BarAggregationStage bars = new BarAggregationStage(BarInterval.DAILY, Map.of("NFLX", newYork, "SONY", tokyo));
+        TickPipeline pipeline = new TickPipeline();
+        pipeline.addStage("bars", bars);
+        pipeline.start();
+        // 03:00 and 06:00 UTC on 2 January: either side of midnight in New York, one afternoon in Tokyo
+        long first = LocalDate.of(2024, 1, 2).atTime(3, 0).toEpochSecond(ZoneOffset.UTC);
+        long second = first + 3 * 3600;
+        for (long timestamp : new long[] {first, second}) {
+            pipeline.publish("NFLX", timestamp, 10.0);
+            pipeline.publish("SONY", timestamp, 20.0);
+        }
+        pipeline.publish("OTHER", second, 30.0);
+        IllegalStateException failure = assertThrows(IllegalStateException.class, pipeline::close);
+        assertInstanceOf(IllegalArgumentException.class, failure.getCause());
+
+        OhlcvSeries nflx = bars.getBars("NFLX", true);
+        OhlcvSeries sony = bars.getBars("SONY", true);
+        assertEquals(2, nflx.size());
+        assertEquals(1, sony.size());
+        assertEquals(LocalDate.of(2024, 1, 2).atStartOfDay(tokyo).toEpochSecond(), sony.timestamp(0));
+        assertEquals("Asia/Tokyo", sony.getTimeZone());
+    }
+
+    @Test
+    public void testDeadStageMakesPublishAndCloseFail() {
+        TickPipeline pipeline = new TickPipeline(8, BackpressurePolicy.BLOCK);
+        pipeline.addStage("fine", tick -> {});
+        pipeline.addStage("dies", tick -> {
+            if (tick.getTimestamp() == 3) {
+                throw new AssertionError("stage error");
+            }
+        });
+        pipeline.start();
+        // Without the failure surfacing, BLOCK would wait on the dead stage forever
+        IllegalStateException published = assertTimeoutPreemptively(Duration.ofSeconds(10), () ->
+            assertThrows(IllegalStateException.class, () -> {
+                for (int n = 0; n < 1000; n++) {
+                    pipeline.publish("NFLX", n, 10.0);
+                }
+            }));
+        assertInstanceOf(AssertionError.class, published.getCause());
+        IllegalStateException closed = assertThrows(IllegalStateException.class, pipeline::close);
+        assertEquals("Stage dies died", closed.getMessage());
+    }
+
+    @Test
+    public void testInterruptedCloseKeepsTheInterruptStatus() {
+        TickPipeline pipeline = new TickPipeline();
+        pipeline.addStage("slow", tick -> LockSupport.parkNanos(200_000_000L));
+        pipeline.start();
+        pipeline.publish("NFLX", 0, 10.0);
+        Thread.currentThread().interrupt();
+        pipeline.close();
+        assertTrue(Thread.interrupted());
+    }
+
+    @Test
+    public void testReplayMergesFilesInTimestampOrder() throws Exception {
+        ReplaySource source = ReplaySource.ofDirectory(Paths.get("src/main/java/za/co/wethinkcode/TradeQuery/Data"));
+        long[] previous = {Long.MIN_VALUE};
+        long[] outOfOrder = {0};
+        Map<String, Integer> counts = new HashMap<>();
+        TickPipeline pipeline = new TickPipeline(1024, BackpressurePolicy.BLOCK);
+        pipeline.addStage("order", tick -> {
+            if (tick.getTimestamp() < previous[0]) {
+                outOfOrder[0]++;
+            }
+            previous[0] = tick.getTimestamp();
+            counts.merge(tick.getSymbol(), 1, Integer::sum);
+        });
+        pipeline.start();
+        long offered = source.replay(pipeline);
+        pipeline.close();
+
+        assertEquals(0, outOfOrder[0]);
+        assertEquals(offered, pipeline.getPublished());
+        for (OhlcvSeries series : source.getSeries()) {
+            assertEquals(series.size(), counts.get(series.getSymbol()));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package za.co.mainTests;
+
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import org.junit.jupiter.api.*;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import static org.junit.jupiter.api.Assertions.*;
+
+import za.co.wethinkcode.TradeQuery.BacktestModule.BacktestReport;
+import za.co.wethinkcode.TradeQuery.BacktestModule.ForecastScore;
+import za.co.wethinkcode.TradeQuery.BacktestModule.WalkForwardBacktest;
+import za.co.wethinkcode.TradeQuery.ForecastModules.ForecastBase;
+import za.co.wethinkcode.TradeQuery.ForecastModules.ForecastKind;
+import za.co.wethinkcode.TradeQuery.ForecastModules.PrecisionMode;
+import za.co.wethinkcode.TradeQuery.StatisticsModule.TendencyFunction;
+
+
+public class TestWalkForwardBacktest {
+
+    @Test
+    public void testMatchesRebuildingForecastBaseAtEveryStep() throws InterruptedException {
+        List<BigDecimal> prices = TestSeries.randomWalk(new Random(11), 120, 1000, 4);
+        int window = 30;
+        WalkForwardBacktest backtest = new WalkForwardBacktest(TendencyFunction.MEDIAN, window);
+        backtest.setRecordForecasts(true);
+        backtest.setChunkSize(16);
+        BacktestReport report = backtest.run(prices);
+        assertEquals(90, report.getSteps());
+        assertEquals(6, report.getChunks());
+
+        int hits = 0;
+        int directionalSteps = 0;
+        int directionalHits = 0;
+        BigDecimal errorSum = BigDecimal.ZERO;
+        for (int step = 0; step < report.getSteps(); step++) {
+            ForecastBase forecast = new ForecastBase(TendencyFunction.MEDIAN, prices.subList(step, step + window), PrecisionMode.BIG_DECIMAL);
+            List<BigDecimal> expected = forecast.magnitudeWeightedForecast();
+            List<BigDecimal> actualForecast = report.getForecasts(ForecastKind.MAGNITUDE_WEIGHTED).get(step);
+            for (int n = 0; n < 3; n++) {
+                assertEquals(0, expected.get(n).compareTo(actualForecast.get(n)));
+            }
+            assertEquals(0, forecast.asymmetricTrendForecast().get(1)
+                .compareTo(report.getForecasts(ForecastKind.ASYMMETRIC_TREND).get(step).get(1)));
+
+            BigDecimal from = prices.get(step + window - 1);
+            BigDecimal actual = prices.get(step + window);
+            BigDecimal low = expected.get(0).min(expected.get(2));
+            BigDecimal high = expected.get(0).max(expected.get(2));
+            if (actual.compareTo(low) >= 0 && actual.compareTo(high) <= 0) {
+                hits++;
+            }
+            errorSum = errorSum.add(expected.get(1).subtract(actual).abs());
+            if (actual.compareTo(from) != 0) {
+                directionalSteps++;
+                if (expected.get(1).compareTo(from) == actual.compareTo(from)) {
+                    directionalHits++;
+                }
+            }
+        }
+        ForecastScore score = report.getScore(ForecastKind.MAGNITUDE_WEIGHTED);
+        assertEquals(hits, score.getBandHits());
+        assertEquals(directionalSteps, score.getDirectionalSteps());
+        assertEquals(directionalHits, score.getDirectionalHits());
+        assertEquals(errorSum.divide(BigDecimal.valueOf(90), 10, RoundingMode.HALF_UP), score.getMeanAbsoluteError());
+    }
+
+    @Test
+    public void testScoresDoNotDependOnChunking() throws InterruptedException {
+        List<BigDecimal> prices = TestSeries.randomWalk(new Random(5), 600, 1000, 4);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            WalkForwardBacktest chunked = new WalkForwardBacktest(TendencyFunction.MEAN_LEAST_DIFFERENCE, 40, executor);
+            chunked.setProbabilityBias(1);
+            chunked.setChunkSize(7);
+            WalkForwardBacktest whole = new WalkForwardBacktest(TendencyFunction.MEAN_LEAST_DIFFERENCE, 40, executor);
+            whole.setProbabilityBias(1);
+            whole.setChunkSize(10_000);
+
+            BacktestReport chunkedReport = chunked.run(prices);
+            BacktestReport wholeReport = whole.run(prices);
+            assertEquals(1, wholeReport.getChunks());
+            for (ForecastKind kind : ForecastKind.values()) {
+                assertEquals(wholeReport.getScore(kind).toString(), chunkedReport.getScore(kind).toString());
+                assertEquals(wholeReport.getScore(kind).getMeanAbsoluteError(), chunkedReport.getScore(kind).getMeanAbsoluteError());
+            }
+            assertTrue(wholeReport.getForecasts(ForecastKind.ASYMMETRIC_TREND).isEmpty());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}